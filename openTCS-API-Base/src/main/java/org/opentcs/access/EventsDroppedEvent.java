@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.access;
+
+import java.io.Serializable;
+
+/**
+ * Emitted to a client after events for it have been dropped, e.g. because it did not fetch its
+ * events in time and its event buffer overflowed.
+ * <p>
+ * Since the client has missed events, the object states it knows may be outdated, and objects
+ * may have been created or removed without it having been notified. A client receiving this event
+ * should therefore retrieve the current states of the objects it is interested in again.
+ * </p>
+ */
+public class EventsDroppedEvent
+    implements Serializable {
+
+  /**
+   * The number of events that have been dropped.
+   */
+  private final long droppedEventCount;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param droppedEventCount The number of events that have been dropped.
+   */
+  public EventsDroppedEvent(long droppedEventCount) {
+    this.droppedEventCount = droppedEventCount;
+  }
+
+  /**
+   * Returns the number of events that have been dropped.
+   *
+   * @return The number of events that have been dropped.
+   */
+  public long getDroppedEventCount() {
+    return droppedEventCount;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName()
+        + '{'
+        + "droppedEventCount=" + droppedEventCount
+        + '}';
+  }
+}
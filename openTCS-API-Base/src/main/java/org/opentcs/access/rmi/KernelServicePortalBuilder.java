@@ -39,6 +39,10 @@ public class KernelServicePortalBuilder {
    * The event filter to be applied for the built portal.
    */
   private Predicate<Object> eventFilter = new ClassMatcher(Object.class);
+  /**
+   * Whether the built portal requests events in their compact form.
+   */
+  private boolean compactEvents;
 
   /**
    * Creates a new instance.
@@ -110,6 +114,32 @@ public class KernelServicePortalBuilder {
     return this;
   }
 
+  /**
+   * Indicates whether the built portal requests events in their compact form.
+   *
+   * @return Whether the built portal requests events in their compact form.
+   */
+  public boolean isCompactEvents() {
+    return compactEvents;
+  }
+
+  /**
+   * Sets whether the built portal requests events in their compact form.
+   * <p>
+   * In their compact form, object events do not carry the object's previous state, and only the
+   * properties and history entries that have changed. The portal reconstructs the events' full form
+   * before returning them from {@link KernelServicePortal#fetchEvents(long)}, which reduces the
+   * amount of data transferred and deserialized for every event.
+   * </p>
+   *
+   * @param compactEvents Whether the built portal requests events in their compact form.
+   * @return This instance.
+   */
+  public KernelServicePortalBuilder setCompactEvents(boolean compactEvents) {
+    this.compactEvents = compactEvents;
+    return this;
+  }
+
   /**
    * Builds and returns a {@link KernelServicePortal} with the configured parameters.
    *
@@ -123,6 +153,7 @@ public class KernelServicePortalBuilder {
     return new RemoteKernelServicePortalProxy(userName,
                                               password,
                                               socketFactoryProvider,
-                                              eventFilter);
+                                              eventFilter,
+                                              compactEvents);
   }
 }
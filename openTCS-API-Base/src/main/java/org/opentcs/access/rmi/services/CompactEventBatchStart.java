@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.access.rmi.services;
+
+import java.io.Serializable;
+
+/**
+ * Marks the start of a batch of events encoded by a {@link CompactEventEncoder}.
+ * <p>
+ * Batches are numbered consecutively, starting with 1, so that a {@link CompactEventDecoder} can
+ * detect a batch that has not reached it.
+ * </p>
+ *
+ * @see CompactEventEncoder
+ * @see CompactEventDecoder
+ */
+class CompactEventBatchStart
+    implements Serializable {
+
+  /**
+   * The number of the batch.
+   */
+  private final long batchNumber;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param batchNumber The number of the batch.
+   */
+  CompactEventBatchStart(long batchNumber) {
+    this.batchNumber = batchNumber;
+  }
+
+  public long getBatchNumber() {
+    return batchNumber;
+  }
+}
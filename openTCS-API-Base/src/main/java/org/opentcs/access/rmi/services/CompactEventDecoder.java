@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.access.rmi.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.TCSObjectsRemovedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reconstructs {@link TCSObjectEvent}s from events encoded by a {@link CompactEventEncoder}.
+ * <p>
+ * A decoder keeps the latest state of every object it has received, so that it can provide both
+ * the previous and the current state of an object with every event.
+ * </p>
+ * <p>
+ * A compact event is only applied to a known state if that state was received with the batch the
+ * event refers to. If a batch of events has not reached the decoder (e.g. because the fetching
+ * call failed), events relative to states from that batch are dropped instead, and the decoder
+ * requires a resynchronization, i.e. encoding and decoding to start from scratch again (see
+ * {@link #isResyncRequired()}).
+ * </p>
+ * <p>
+ * Instances of this class are thread-safe.
+ * </p>
+ */
+class CompactEventDecoder {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(CompactEventDecoder.class);
+  /**
+   * The latest state of every object received, mapped by object reference.
+   */
+  private final Map<TCSObjectReference<?>, KnownState> knownStates = new HashMap<>();
+  /**
+   * The number of the last batch of events received, or 0, if none has been received, yet.
+   */
+  private long batchNumber;
+  /**
+   * Whether events could not be decoded since the last reset.
+   */
+  private boolean resyncRequired;
+
+  /**
+   * Creates a new instance.
+   */
+  CompactEventDecoder() {
+  }
+
+  /**
+   * Forgets all known object states, e.g. because the corresponding encoder was replaced.
+   */
+  public synchronized void reset() {
+    knownStates.clear();
+    batchNumber = 0;
+    resyncRequired = false;
+  }
+
+  /**
+   * Checks whether events could not be decoded since the last reset, because they did not match
+   * the known object states.
+   * In this case, the corresponding encoder should be replaced and this decoder reset, so that
+   * the client receives the full object states again.
+   *
+   * @return Whether events could not be decoded since the last reset.
+   */
+  public synchronized boolean isResyncRequired() {
+    return resyncRequired;
+  }
+
+  /**
+   * Decodes the given events, in the order in which they were encoded.
+   *
+   * @param events The events.
+   * @return The decoded events.
+   */
+  @Nonnull
+  public synchronized List<Object> decode(@Nonnull List<Object> events) {
+    requireNonNull(events, "events");
+
+    List<Object> result = new ArrayList<>(events.size());
+    for (Object event : events) {
+      if (event instanceof CompactEventBatchStart) {
+        startBatch((CompactEventBatchStart) event);
+      }
+      else if (event instanceof CompactTCSObjectEvent) {
+        TCSObjectEvent decodedEvent = decode((CompactTCSObjectEvent) event);
+        if (decodedEvent != null) {
+          result.add(decodedEvent);
+        }
+      }
+      else {
+        if (event instanceof TCSObjectEvent) {
+          track((TCSObjectEvent) event);
+        }
+        else if (event instanceof TCSObjectsRemovedEvent) {
+          forget((TCSObjectsRemovedEvent) event);
+        }
+        result.add(event);
+      }
+    }
+    return result;
+  }
+
+  private void startBatch(CompactEventBatchStart batchStart) {
+    if (batchStart.getBatchNumber() != batchNumber + 1) {
+      LOG.warn("Expected batch of events {}, but received {}, resynchronization required.",
+               batchNumber + 1,
+               batchStart.getBatchNumber());
+      resyncRequired = true;
+    }
+    batchNumber = batchStart.getBatchNumber();
+  }
+
+  private void track(TCSObjectEvent event) {
+    if (event.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+      knownStates.remove(event.getPreviousObjectState().getReference());
+    }
+    else {
+      knownStates.put(event.getCurrentObjectState().getReference(),
+                      new KnownState(event.getCurrentObjectState(), batchNumber));
+    }
+  }
+
+  private void forget(TCSObjectsRemovedEvent event) {
+    for (TCSObject<?> removedObject : event.getRemovedObjects()) {
+      knownStates.remove(removedObject.getReference());
+    }
+  }
+
+  private TCSObjectEvent decode(CompactTCSObjectEvent event) {
+    KnownState knownState = knownStates.get(event.getObjectRef());
+    if (knownState == null) {
+      LOG.warn("Dropping event for unknown object {}, resynchronization required.",
+               event.getObjectRef().getName());
+      resyncRequired = true;
+      return null;
+    }
+
+    TCSObject<?> previousState = knownState.getState();
+    if (event.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+      // The object is gone, regardless of the state it was removed in.
+      knownStates.remove(event.getObjectRef());
+      return new TCSObjectEvent(null, previousState, TCSObjectEvent.Type.OBJECT_REMOVED);
+    }
+
+    List<ObjectHistory.Entry> previousEntries = previousState.getHistory().getEntries();
+    if (knownState.getBatchNumber() != event.getBaseBatchNumber()
+        || event.getRetainedHistoryEntries() < 0
+        || event.getRetainedHistoryEntries() > previousEntries.size()) {
+      LOG.warn("Dropping event for object {} not matching its known state, resynchronization "
+          + "required.",
+               event.getObjectRef().getName());
+      knownStates.remove(event.getObjectRef());
+      resyncRequired = true;
+      return null;
+    }
+
+    Map<String, String> properties = new HashMap<>(previousState.getProperties());
+    for (Map.Entry<String, String> entry : event.getChangedProperties().entrySet()) {
+      if (entry.getValue() == null) {
+        properties.remove(entry.getKey());
+      }
+      else {
+        properties.put(entry.getKey(), entry.getValue());
+      }
+    }
+
+    List<ObjectHistory.Entry> entries = new ArrayList<>(
+        previousEntries.subList(previousEntries.size() - event.getRetainedHistoryEntries(),
+                                previousEntries.size())
+    );
+    entries.addAll(event.getAddedHistoryEntries());
+
+    TCSObject<?> currentState = event.getStrippedState()
+        .withProperties(properties)
+        .withHistory(previousState.getHistory().withEntries(entries));
+    knownStates.put(event.getObjectRef(), new KnownState(currentState, batchNumber));
+    return new TCSObjectEvent(currentState, previousState, event.getType());
+  }
+
+  /**
+   * An object's state received, along with the number of the batch it was received with.
+   */
+  private static class KnownState {
+
+    private final TCSObject<?> state;
+    private final long batchNumber;
+
+    KnownState(TCSObject<?> state, long batchNumber) {
+      this.state = state;
+      this.batchNumber = batchNumber;
+    }
+
+    public TCSObject<?> getState() {
+      return state;
+    }
+
+    public long getBatchNumber() {
+      return batchNumber;
+    }
+  }
+}
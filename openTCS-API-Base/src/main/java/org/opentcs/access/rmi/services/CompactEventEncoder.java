@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.access.rmi.services;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.TCSObjectsRemovedEvent;
+
+/**
+ * Encodes {@link TCSObjectEvent}s for a single client into their compact form.
+ * <p>
+ * An encoder keeps the latest state of every object it has sent to the client. A modification of
+ * an object the client already knows is encoded as a {@link CompactTCSObjectEvent} relative to that
+ * state, which is then reconstructed on the client side by a {@link CompactEventDecoder}. Events
+ * for objects the client does not know, yet, and all other events are passed through unchanged.
+ * </p>
+ * <p>
+ * Every batch of encoded events starts with a {@link CompactEventBatchStart}, and every compact
+ * event refers to the batch with which the state it is relative to was sent. This way, the decoder
+ * can detect a batch that got lost on its way to the client (e.g. because the fetching call failed
+ * after the events had been taken from the buffer) and does not apply an event to a state it
+ * does not know.
+ * </p>
+ * <p>
+ * Instances of this class are thread-safe.
+ * </p>
+ */
+public class CompactEventEncoder {
+
+  /**
+   * The latest state of every object sent to the client, mapped by object reference.
+   */
+  private final Map<TCSObjectReference<?>, SentState> sentStates = new HashMap<>();
+  /**
+   * The number of the last batch of events encoded.
+   */
+  private long batchNumber;
+
+  /**
+   * Creates a new instance.
+   */
+  public CompactEventEncoder() {
+  }
+
+  /**
+   * Encodes the given events for being sent to the client.
+   * The encoded events must be delivered to the client in the returned order.
+   *
+   * @param events The events.
+   * @return The encoded events, starting with a {@link CompactEventBatchStart}, or an empty list,
+   * if the given list of events is empty.
+   */
+  @Nonnull
+  public synchronized List<Object> encode(@Nonnull List<Object> events) {
+    requireNonNull(events, "events");
+
+    if (events.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    batchNumber++;
+    List<Object> result = new ArrayList<>(events.size() + 1);
+    result.add(new CompactEventBatchStart(batchNumber));
+    for (Object event : events) {
+      if (event instanceof TCSObjectsRemovedEvent) {
+        forget((TCSObjectsRemovedEvent) event);
+      }
+      result.add(event instanceof TCSObjectEvent ? encode((TCSObjectEvent) event) : event);
+    }
+    return result;
+  }
+
+  private void forget(TCSObjectsRemovedEvent event) {
+    for (TCSObject<?> removedObject : event.getRemovedObjects()) {
+      sentStates.remove(removedObject.getReference());
+    }
+  }
+
+  private Object encode(TCSObjectEvent event) {
+    switch (event.getType()) {
+      case OBJECT_CREATED:
+        sentStates.put(event.getCurrentObjectState().getReference(),
+                       new SentState(event.getCurrentObjectState(), batchNumber));
+        return event;
+      case OBJECT_MODIFIED:
+        TCSObject<?> currentState = event.getCurrentObjectState();
+        SentState sentState = sentStates.put(currentState.getReference(),
+                                             new SentState(currentState, batchNumber));
+        return sentState == null ? event : modification(sentState, currentState);
+      case OBJECT_REMOVED:
+        TCSObjectReference<?> ref = event.getPreviousObjectState().getReference();
+        SentState removedState = sentStates.remove(ref);
+        if (removedState == null) {
+          return event;
+        }
+        return new CompactTCSObjectEvent(ref,
+                                         TCSObjectEvent.Type.OBJECT_REMOVED,
+                                         removedState.getBatchNumber(),
+                                         null,
+                                         Map.of(),
+                                         0,
+                                         List.of());
+      default:
+        return event;
+    }
+  }
+
+  private CompactTCSObjectEvent modification(SentState sentState, TCSObject<?> currentState) {
+    List<ObjectHistory.Entry> sentEntries = sentState.getState().getHistory().getEntries();
+    List<ObjectHistory.Entry> currentEntries = currentState.getHistory().getEntries();
+    int retainedEntries = retainedEntries(sentEntries, currentEntries);
+
+    return new CompactTCSObjectEvent(
+        currentState.getReference(),
+        TCSObjectEvent.Type.OBJECT_MODIFIED,
+        sentState.getBatchNumber(),
+        currentState.withProperties(Map.of()).withHistory(new ObjectHistory()),
+        changedProperties(sentState.getState().getProperties(), currentState.getProperties()),
+        retainedEntries,
+        currentEntries.subList(retainedEntries, currentEntries.size())
+    );
+  }
+
+  /**
+   * Returns the number of entries at the end of the sent history that the current history starts
+   * with.
+   * History entries are appended to and may be dropped from the beginning of a history, but they
+   * are never modified, so entries are compared by identity.
+   */
+  private static int retainedEntries(List<ObjectHistory.Entry> sentEntries,
+                                     List<ObjectHistory.Entry> currentEntries) {
+    if (sentEntries.isEmpty()) {
+      return 0;
+    }
+
+    ObjectHistory.Entry lastSentEntry = sentEntries.get(sentEntries.size() - 1);
+    int overlap = currentEntries.lastIndexOf(lastSentEntry) + 1;
+    if (overlap == 0 || overlap > sentEntries.size()) {
+      return 0;
+    }
+    for (int i = 0; i < overlap; i++) {
+      if (currentEntries.get(i) != sentEntries.get(sentEntries.size() - overlap + i)) {
+        return 0;
+      }
+    }
+    return overlap;
+  }
+
+  private static Map<String, String> changedProperties(Map<String, String> sentProperties,
+                                                       Map<String, String> currentProperties) {
+    if (sentProperties.equals(currentProperties)) {
+      return Map.of();
+    }
+
+    Map<String, String> result = new HashMap<>();
+    for (Map.Entry<String, String> entry : currentProperties.entrySet()) {
+      if (!entry.getValue().equals(sentProperties.get(entry.getKey()))) {
+        result.put(entry.getKey(), entry.getValue());
+      }
+    }
+    for (String key : sentProperties.keySet()) {
+      if (!currentProperties.containsKey(key)) {
+        result.put(key, null);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * An object's state sent to the client, along with the number of the batch it was sent with.
+   */
+  private static class SentState {
+
+    private final TCSObject<?> state;
+    private final long batchNumber;
+
+    SentState(TCSObject<?> state, long batchNumber) {
+      this.state = state;
+      this.batchNumber = batchNumber;
+    }
+
+    public TCSObject<?> getState() {
+      return state;
+    }
+
+    public long getBatchNumber() {
+      return batchNumber;
+    }
+  }
+}
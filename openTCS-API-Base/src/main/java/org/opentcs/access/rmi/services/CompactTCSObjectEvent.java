@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.access.rmi.services;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+
+/**
+ * The compact form of a {@link TCSObjectEvent}, describing an object's state relative to the state
+ * the receiving client already knows.
+ * <p>
+ * Instead of the object's previous and current state, an instance of this class carries only the
+ * current state without properties and history entries, along with the properties that have
+ * changed and the history entries that have been added.
+ * </p>
+ *
+ * @see CompactEventEncoder
+ * @see CompactEventDecoder
+ */
+class CompactTCSObjectEvent
+    implements Serializable {
+
+  /**
+   * A reference to the object for which this event was created.
+   */
+  private final TCSObjectReference<?> objectRef;
+  /**
+   * This event's type.
+   */
+  private final TCSObjectEvent.Type type;
+  /**
+   * The number of the batch with which the object's state this event is relative to was sent.
+   */
+  private final long baseBatchNumber;
+  /**
+   * The current state of the object, without properties and history entries, or {@code null}, if
+   * the object has been removed.
+   */
+  private final TCSObject<?> strippedState;
+  /**
+   * The properties that have changed, mapped to their new values. Properties that have been
+   * removed are mapped to {@code null}.
+   */
+  private final HashMap<String, String> changedProperties;
+  /**
+   * The number of the known history entries (counted from the end) that are still contained in the
+   * object's history.
+   */
+  private final int retainedHistoryEntries;
+  /**
+   * The history entries that have been added to the object's history.
+   */
+  private final ArrayList<ObjectHistory.Entry> addedHistoryEntries;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param objectRef A reference to the object for which this event was created.
+   * @param type This event's type.
+   * @param baseBatchNumber The number of the batch with which the object's state this event is
+   * relative to was sent.
+   * @param strippedState The current state of the object, without properties and history entries,
+   * or {@code null}, if the object has been removed.
+   * @param changedProperties The properties that have changed, mapped to their new values.
+   * @param retainedHistoryEntries The number of the known history entries that are still contained
+   * in the object's history.
+   * @param addedHistoryEntries The history entries that have been added to the object's history.
+   */
+  CompactTCSObjectEvent(@Nonnull TCSObjectReference<?> objectRef,
+                        @Nonnull TCSObjectEvent.Type type,
+                        long baseBatchNumber,
+                        @Nullable TCSObject<?> strippedState,
+                        @Nonnull Map<String, String> changedProperties,
+                        int retainedHistoryEntries,
+                        @Nonnull List<ObjectHistory.Entry> addedHistoryEntries) {
+    this.objectRef = requireNonNull(objectRef, "objectRef");
+    this.type = requireNonNull(type, "type");
+    this.baseBatchNumber = baseBatchNumber;
+    this.strippedState = strippedState;
+    this.changedProperties = new HashMap<>(requireNonNull(changedProperties, "changedProperties"));
+    this.retainedHistoryEntries = retainedHistoryEntries;
+    this.addedHistoryEntries
+        = new ArrayList<>(requireNonNull(addedHistoryEntries, "addedHistoryEntries"));
+  }
+
+  @Nonnull
+  public TCSObjectReference<?> getObjectRef() {
+    return objectRef;
+  }
+
+  @Nonnull
+  public TCSObjectEvent.Type getType() {
+    return type;
+  }
+
+  public long getBaseBatchNumber() {
+    return baseBatchNumber;
+  }
+
+  @Nullable
+  public TCSObject<?> getStrippedState() {
+    return strippedState;
+  }
+
+  @Nonnull
+  public Map<String, String> getChangedProperties() {
+    return changedProperties;
+  }
+
+  public int getRetainedHistoryEntries() {
+    return retainedHistoryEntries;
+  }
+
+  @Nonnull
+  public List<ObjectHistory.Entry> getAddedHistoryEntries() {
+    return addedHistoryEntries;
+  }
+}
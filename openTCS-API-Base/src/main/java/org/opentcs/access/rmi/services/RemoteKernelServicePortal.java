@@ -44,6 +44,17 @@ public interface RemoteKernelServicePortal
   List<Object> fetchEvents(ClientID clientId, long timeout)
       throws RemoteException;
 
+  /**
+   * Lets subsequent calls to {@link #fetchEvents(ClientID, long)} return object events in their
+   * compact form, i.e. encoded relative to the object states the client has already received.
+   *
+   * @param clientId The client's identification object.
+   * @throws RemoteException If there was an RMI-related problem.
+   * @see CompactEventEncoder
+   */
+  void enableCompactEvents(ClientID clientId)
+      throws RemoteException;
+
   void publishEvent(ClientID clientId, Object event)
       throws RemoteException;
 }
@@ -9,6 +9,8 @@ package org.opentcs.access.rmi.services;
 
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
+import java.rmi.ServerException;
+import java.rmi.UnmarshalException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.util.List;
@@ -16,6 +18,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import org.opentcs.access.CredentialsException;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.Kernel;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.access.KernelServicePortal;
@@ -75,6 +78,14 @@ public class RemoteKernelServicePortalProxy
    * The event filter to be applied to events on the server side (before polling).
    */
   private final Predicate<Object> eventFilter;
+  /**
+   * Whether to request events in their compact form.
+   */
+  private final boolean compactEvents;
+  /**
+   * Reconstructs events received in their compact form.
+   */
+  private final CompactEventDecoder eventDecoder = new CompactEventDecoder();
   /**
    * The plant model service.
    */
@@ -140,10 +151,30 @@ public class RemoteKernelServicePortalProxy
       @Nonnull String password,
       @Nonnull SocketFactoryProvider socketFactoryProvider,
       @Nonnull Predicate<Object> eventFilter) {
+    this(userName, password, socketFactoryProvider, eventFilter, false);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param userName The user name used with the remote portal.
+   * @param password The password used with the remote portal.
+   * @param socketFactoryProvider Provides socket factories used for RMI.
+   * @param eventFilter The event filter to be applied to events on the server side.
+   * @param compactEvents Whether to request events in their compact form. Events received in their
+   * compact form are reconstructed transparently.
+   */
+  public RemoteKernelServicePortalProxy(
+      @Nonnull String userName,
+      @Nonnull String password,
+      @Nonnull SocketFactoryProvider socketFactoryProvider,
+      @Nonnull Predicate<Object> eventFilter,
+      boolean compactEvents) {
     this.userName = requireNonNull(userName, "userName");
     this.password = requireNonNull(password, "password");
     this.socketFactoryProvider = requireNonNull(socketFactoryProvider, "socketFactoryProvider");
     this.eventFilter = requireNonNull(eventFilter, "eventFilter");
+    this.compactEvents = compactEvents;
   }
 
   @Override
@@ -176,6 +207,11 @@ public class RemoteKernelServicePortalProxy
       setRemoteService((RemoteKernelServicePortal) registry.lookup(REMOTE_KERNEL_CLIENT_PORTAL));
       // Login and save the client ID.
       setClientId(getRemoteService().login(userName, password, eventFilter));
+      // The kernel starts encoding events for the new client ID from scratch.
+      eventDecoder.reset();
+      if (compactEvents) {
+        enableCompactEvents();
+      }
       // Get notified when a service call on us fails.
       setServiceListener(this);
 
@@ -225,7 +261,18 @@ public class RemoteKernelServicePortalProxy
     checkServiceAvailability();
 
     try {
-      return getRemoteService().fetchEvents(getClientId(), timeout);
+      List<Object> events
+          = eventDecoder.decode(getRemoteService().fetchEvents(getClientId(), timeout));
+      if (eventDecoder.isResyncRequired()
+          || (compactEvents
+              && events.stream().anyMatch(event -> event instanceof EventsDroppedEvent))) {
+        // Some events could not be decoded, e.g. because a previous response got lost, or the
+        // kernel dropped events, so the object states known to the decoder may be outdated. Let
+        // the kernel encode events from scratch again, so we receive full object states.
+        enableCompactEvents();
+        eventDecoder.reset();
+      }
+      return events;
     }
     catch (RemoteException ex) {
       throw findSuitableExceptionFor(ex);
@@ -245,6 +292,17 @@ public class RemoteKernelServicePortalProxy
     }
   }
 
+  private void enableCompactEvents()
+      throws RemoteException {
+    try {
+      getRemoteService().enableCompactEvents(getClientId());
+    }
+    catch (ServerException | UnmarshalException exc) {
+      // Kernels not supporting compact events do not know the method.
+      LOG.warn("Remote kernel does not support compact events, receiving full events.", exc);
+    }
+  }
+
   @Override
   @Nonnull
   public PlantModelService getPlantModelService() {
@@ -7,6 +7,7 @@
  */
 package org.opentcs.components.kernel;
 
+import static java.util.Objects.requireNonNull;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -16,6 +17,7 @@ import org.opentcs.components.Lifecycle;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.TCSResource;
 import org.opentcs.data.model.Vehicle;
+import static org.opentcs.util.Assertions.checkArgument;
 import org.opentcs.util.annotations.ScheduledApiChange;
 
 /**
@@ -157,6 +159,49 @@ public interface Scheduler
   void allocate(@Nonnull Client client, @Nonnull Set<TCSResource<?>> resources)
       throws IllegalArgumentException;
 
+  /**
+   * Requests allocation of the next resource sets in the client's claim sequence at once.
+   * <p>
+   * This is equivalent to calling
+   * {@link #allocate(org.opentcs.components.kernel.Scheduler.Client, java.util.Set) allocate()}
+   * for each of the given resource sets, one after the other, except that the client does not have
+   * to wait for a resource set to be allocated before requesting the next one.
+   * </p>
+   * <p>
+   * The allocation is <em>not</em> atomic: The scheduler allocates as many of the requested
+   * resource sets as it can, in claim order, each of them respecting the same rules as with
+   * <code>allocate()</code>. Resource sets that cannot be allocated immediately are allocated later,
+   * in claim order, while the ones before them may already be in use by the client.
+   * </p>
+   * <p>
+   * The client will be informed via a callback to
+   * {@link Client#allocationSuccessful(java.util.Set)} for every requested resource set, in claim
+   * order.
+   * Schedulers may request allocation of only some of the given resource sets, starting with the
+   * first one. The client then has to request the remaining ones later.
+   * By default, this method requests allocation of only the first resource set via
+   * <code>allocate()</code>.
+   * </p>
+   *
+   * @param client The client requesting the resources.
+   * @param resources The resource sets to be allocated, which must be the next ones in the client's
+   * claim sequence, in claim order.
+   * @return The number of resource sets (starting with the first one) whose allocation was
+   * requested. This is at least 1.
+   * @throws IllegalArgumentException If the given list of resource sets is empty or is not equal
+   * to the <em>next</em> sets in the sequence of currently claimed resources, or if the client has
+   * already requested resources that have not yet been granted.
+   * @see #allocate(org.opentcs.components.kernel.Scheduler.Client, java.util.Set)
+   */
+  default int allocateAhead(@Nonnull Client client, @Nonnull List<Set<TCSResource<?>>> resources)
+      throws IllegalArgumentException {
+    requireNonNull(resources, "resources");
+    checkArgument(!resources.isEmpty(), "resources is empty");
+
+    allocate(client, resources.get(0));
+    return 1;
+  }
+
   /**
    * Checks if the resulting system state is safe if the given set of resources
    * would be allocated by the given client <em>immediately</em>.
@@ -8,6 +8,7 @@
 package org.opentcs.components.kernel.services;
 
 import java.util.List;
+import java.util.Set;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Vehicle;
@@ -106,4 +107,17 @@ public interface InternalTransportOrderService
   void updateTransportOrderState(TCSObjectReference<TransportOrder> ref,
                                  TransportOrder.State state)
       throws ObjectUnknownException;
+
+  /**
+   * Returns all transport orders in the given state.
+   * <p>
+   * Implementations may provide this more efficiently than filtering all existing transport orders.
+   * </p>
+   *
+   * @param state The state.
+   * @return All transport orders in the given state. If there are none, the returned set is empty.
+   */
+  default Set<TransportOrder> fetchTransportOrders(TransportOrder.State state) {
+    return fetchObjects(TransportOrder.class, order -> order.hasState(state));
+  }
 }
@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.customizations.kernel;
+
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import static org.opentcs.util.Assertions.checkState;
+
+/**
+ * Synchronizes access to the kernel's data.
+ * <p>
+ * Depending on the mode, this lock either synchronizes all accesses on the kernel's
+ * {@link GlobalSyncObject} (which is also what code synchronizing on that object directly relies
+ * on), or uses a reentrant read/write lock, allowing read-only accesses to proceed concurrently.
+ * </p>
+ * <p>
+ * Note that in {@link Mode#READ_WRITE} mode, a thread holding only the read lock may not acquire
+ * the write lock, and that code synchronizing on the {@link GlobalSyncObject} directly is not
+ * synchronized with code using this lock.
+ * </p>
+ */
+public class KernelLock {
+
+  /**
+   * The global synchronization object.
+   */
+  private final Object globalSyncObject;
+  /**
+   * The mode of this lock.
+   */
+  private final Mode mode;
+  /**
+   * The read/write lock, or {@code null}, if synchronizing on the global synchronization object.
+   */
+  private final ReentrantReadWriteLock readWriteLock;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param globalSyncObject The kernel's global synchronization object.
+   * @param mode The mode of this lock.
+   */
+  public KernelLock(@Nonnull Object globalSyncObject, @Nonnull Mode mode) {
+    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.mode = requireNonNull(mode, "mode");
+    this.readWriteLock = mode == Mode.READ_WRITE ? new ReentrantReadWriteLock() : null;
+  }
+
+  /**
+   * Returns the mode of this lock.
+   *
+   * @return The mode of this lock.
+   */
+  @Nonnull
+  public Mode getMode() {
+    return mode;
+  }
+
+  /**
+   * Returns a lock for a subsystem that works independently of the rest of the kernel's data.
+   * In {@link Mode#MONITOR} mode, this is this lock itself; otherwise, it is a new lock.
+   *
+   * @return A lock for the subsystem.
+   */
+  @Nonnull
+  public KernelLock createSubsystemLock() {
+    return mode == Mode.MONITOR ? this : new KernelLock(new Object(), mode);
+  }
+
+  /**
+   * Checks whether the current thread holds this lock, either reading or writing.
+   * <p>
+   * Code that waits for other threads to access the kernel's data may use this to avoid
+   * deadlocks: While the current thread holds this lock, other threads may not be able to acquire
+   * it.
+   * </p>
+   *
+   * @return Whether the current thread holds this lock.
+   */
+  public boolean isHeldByCurrentThread() {
+    if (readWriteLock == null) {
+      return Thread.holdsLock(globalSyncObject);
+    }
+    return readWriteLock.isWriteLockedByCurrentThread() || readWriteLock.getReadHoldCount() > 0;
+  }
+
+  /**
+   * Performs the given read-only action while holding this lock.
+   *
+   * @param <T> The action's result type.
+   * @param action The action.
+   * @return The action's result.
+   */
+  public <T> T callReading(@Nonnull Supplier<T> action) {
+    requireNonNull(action, "action");
+
+    if (readWriteLock == null) {
+      synchronized (globalSyncObject) {
+        return action.get();
+      }
+    }
+
+    readWriteLock.readLock().lock();
+    try {
+      return action.get();
+    }
+    finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Performs the given read-only action while holding this lock.
+   *
+   * @param action The action.
+   */
+  public void runReading(@Nonnull Runnable action) {
+    requireNonNull(action, "action");
+
+    callReading(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * Performs the given (potentially) modifying action while exclusively holding this lock.
+   *
+   * @param <T> The action's result type.
+   * @param action The action.
+   * @return The action's result.
+   * @throws IllegalStateException If the current thread holds only the read lock.
+   */
+  public <T> T callWriting(@Nonnull Supplier<T> action)
+      throws IllegalStateException {
+    requireNonNull(action, "action");
+
+    if (readWriteLock == null) {
+      synchronized (globalSyncObject) {
+        return action.get();
+      }
+    }
+
+    // Upgrading a read lock would block forever, so fail early instead.
+    checkState(
+        readWriteLock.getReadHoldCount() == 0 || readWriteLock.isWriteLockedByCurrentThread(),
+        "Cannot acquire the write lock while holding the read lock."
+    );
+    readWriteLock.writeLock().lock();
+    try {
+      return action.get();
+    }
+    finally {
+      readWriteLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Performs the given (potentially) modifying action while exclusively holding this lock.
+   *
+   * @param action The action.
+   * @throws IllegalStateException If the current thread holds only the read lock.
+   */
+  public void runWriting(@Nonnull Runnable action)
+      throws IllegalStateException {
+    requireNonNull(action, "action");
+
+    callWriting(() -> {
+      action.run();
+      return null;
+    });
+  }
+
+  /**
+   * The available locking modes.
+   */
+  public enum Mode {
+    /**
+     * All accesses are synchronized on the global synchronization object, one at a time.
+     */
+    MONITOR,
+    /**
+     * Read-only accesses may proceed concurrently, modifying accesses are exclusive.
+     */
+    READ_WRITE;
+  }
+}
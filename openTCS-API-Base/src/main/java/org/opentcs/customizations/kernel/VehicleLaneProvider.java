@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.customizations.kernel;
+
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.Nonnull;
+import org.opentcs.components.Lifecycle;
+
+/**
+ * Provides executors for work related to single vehicles, e.g. for vehicle communication adapters.
+ * <p>
+ * Each vehicle has its own lane: Tasks submitted to the same lane are executed sequentially, in the
+ * order in which they were submitted (or, for delayed tasks, in the order in which they became due).
+ * Tasks of different lanes may be executed concurrently to each other and to tasks executed by the
+ * {@link KernelExecutor}.
+ * </p>
+ * <p>
+ * Lanes are only available while the provider is initialized, i.e. while the kernel is in operating
+ * mode. Terminating the provider shuts down all lanes handed out before.
+ * </p>
+ */
+public interface VehicleLaneProvider
+    extends Lifecycle {
+
+  /**
+   * Returns the lane for the vehicle with the given name.
+   * Repeated calls with the same name return the same lane.
+   * <p>
+   * Lanes are shared with the kernel and must not be shut down by callers.
+   * </p>
+   *
+   * @param vehicleName The name of the vehicle.
+   * @return The lane for the vehicle.
+   * @throws IllegalStateException If this provider is not initialized.
+   */
+  @Nonnull
+  ScheduledExecutorService getLane(@Nonnull String vehicleName);
+}
@@ -7,40 +7,63 @@
  */
 package org.opentcs.data;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import static java.util.Objects.requireNonNull;
+import java.util.RandomAccess;
 import javax.annotation.Nonnull;
 import static org.opentcs.util.Assertions.checkArgument;
+import static org.opentcs.util.Assertions.checkInRange;
 
 /**
  * A history of events related to an object.
+ * <p>
+ * Histories are persistent data structures: Copies created by appending entries or removing the
+ * oldest entries share the underlying storage with the history they were created from, so
+ * appending an entry takes amortized constant time instead of copying all existing entries.
+ * </p>
  */
 public class ObjectHistory
     implements Serializable {
 
   /**
-   * The actual history entries.
+   * The storage shared with other histories, containing this history's entries.
    */
-  private final List<Entry> entries;
+  private final transient EntryStore store;
+  /**
+   * The index of this history's first entry in the store.
+   */
+  private final transient int offset;
+  /**
+   * The number of entries in this history.
+   */
+  private final transient int size;
 
   /**
    * Creates a new instance.
    */
   public ObjectHistory() {
-    this(List.of());
+    this(new EntryStore(new Entry[0]), 0, 0);
   }
 
   /**
-   * Creates a new instance with the given list of entries.
+   * Creates a new instance with the given entries.
    *
-   * @param entries
+   * @param store The storage containing the entries.
+   * @param offset The index of the first entry in the store.
+   * @param size The number of entries.
    */
-  private ObjectHistory(List<Entry> entries) {
-    this.entries = Collections.unmodifiableList(requireNonNull(entries, "entries"));
+  private ObjectHistory(EntryStore store, int offset, int size) {
+    this.store = requireNonNull(store, "store");
+    this.offset = offset;
+    this.size = size;
   }
 
   /**
@@ -49,7 +72,7 @@ public class ObjectHistory
    * @return This history's entries.
    */
   public List<Entry> getEntries() {
-    return entries;
+    return new EntryList();
   }
 
   /**
@@ -59,7 +82,8 @@ public class ObjectHistory
    * @return A copy of this object, with the given entries.
    */
   public ObjectHistory withEntries(List<Entry> entries) {
-    return new ObjectHistory(entries);
+    Entry[] elements = requireNonNull(entries, "entries").toArray(new Entry[0]);
+    return new ObjectHistory(new EntryStore(elements), 0, elements.length);
   }
 
   /**
@@ -71,15 +95,52 @@ public class ObjectHistory
   public ObjectHistory withEntryAppended(Entry entry) {
     requireNonNull(entry, "entry");
 
-    List<Entry> newEntries = new ArrayList<>(entries.size() + 1);
-    newEntries.addAll(entries);
-    newEntries.add(entry);
-    return new ObjectHistory(newEntries);
+    if (store.appendAt(offset + size, entry)) {
+      return new ObjectHistory(store, offset, size + 1);
+    }
+
+    // Another copy of this history has already been appended to, so the storage can't be shared.
+    Entry[] elements = Arrays.copyOfRange(store.elements, offset, offset + size + size / 2 + 1);
+    elements[size] = entry;
+    return new ObjectHistory(new EntryStore(elements, size + 1), 0, size + 1);
+  }
+
+  /**
+   * Returns a copy of this object, with the given number of entries removed from its beginning.
+   *
+   * @param count The number of (oldest) entries to be removed.
+   * @return A copy of this object, with the given number of entries removed from its beginning.
+   * @throws IllegalArgumentException If {@code count} is negative or greater than the number of
+   * entries in this history.
+   */
+  public ObjectHistory withOldestEntriesRemoved(int count) {
+    checkInRange(count, 0, size, "count");
+
+    if (count == 0) {
+      return this;
+    }
+    int newSize = size - count;
+    // Stop sharing the storage once most of it is occupied by removed entries, so they can be
+    // garbage-collected.
+    if (offset + count > newSize) {
+      Entry[] elements = Arrays.copyOfRange(store.elements, offset + count, offset + size);
+      return new ObjectHistory(new EntryStore(elements), 0, newSize);
+    }
+    return new ObjectHistory(store, offset + count, newSize);
   }
 
   @Override
   public String toString() {
-    return "ObjectHistory{" + "entries=" + entries + '}';
+    return "ObjectHistory{" + "entries=" + getEntries() + '}';
+  }
+
+  private Object writeReplace() {
+    return new SerializationProxy(new ArrayList<>(getEntries()));
+  }
+
+  private void readObject(ObjectInputStream stream)
+      throws InvalidObjectException {
+    throw new InvalidObjectException("Serialization proxy required");
   }
 
   /**
@@ -189,4 +250,92 @@ public class ObjectHistory
           + '}';
     }
   }
+
+  /**
+   * The append-only storage for entries shared by histories.
+   * <p>
+   * Elements below a history's end are never modified, so histories may read them without
+   * synchronization.
+   * </p>
+   */
+  private static class EntryStore {
+
+    /**
+     * The stored entries, followed by unused capacity.
+     */
+    private volatile Entry[] elements;
+    /**
+     * The number of stored entries.
+     */
+    private int length;
+
+    EntryStore(Entry[] elements) {
+      this(elements, elements.length);
+    }
+
+    EntryStore(Entry[] elements, int length) {
+      this.elements = elements;
+      this.length = length;
+    }
+
+    /**
+     * Appends the given entry if the store currently ends at the given index.
+     *
+     * @param index The index at which the entry is to be stored.
+     * @param entry The entry.
+     * @return {@code true} if, and only if, the entry was appended.
+     */
+    synchronized boolean appendAt(int index, Entry entry) {
+      if (index != length) {
+        return false;
+      }
+      if (length == elements.length) {
+        elements = Arrays.copyOf(elements, length + length / 2 + 1);
+      }
+      elements[length] = entry;
+      length++;
+      return true;
+    }
+  }
+
+  /**
+   * An unmodifiable view on a history's entries.
+   */
+  private class EntryList
+      extends AbstractList<Entry>
+      implements RandomAccess {
+
+    EntryList() {
+    }
+
+    @Override
+    public Entry get(int index) {
+      return store.elements[offset + Objects.checkIndex(index, size)];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /**
+   * The serialized form of a history, containing only its entries.
+   */
+  private static class SerializationProxy
+      implements Serializable {
+
+    /**
+     * The history's entries.
+     */
+    private final ArrayList<Entry> entries;
+
+    SerializationProxy(ArrayList<Entry> entries) {
+      this.entries = entries;
+    }
+
+    private Object readResolve() {
+      return new ObjectHistory().withEntries(entries);
+    }
+  }
 }
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+
+/**
+ * An event emitted for multiple business objects removed at once, e.g. by the kernel's order pool
+ * sweeping.
+ * <p>
+ * It replaces the {@link TCSObjectEvent}s of type {@link TCSObjectEvent.Type#OBJECT_REMOVED} that
+ * would otherwise be emitted for each of the objects.
+ * </p>
+ */
+public class TCSObjectsRemovedEvent
+    implements Serializable {
+
+  /**
+   * The last states of the removed objects, in the order in which they were removed.
+   */
+  private final List<TCSObject<?>> removedObjects;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param removedObjects The last states of the removed objects, in the order in which they were
+   * removed.
+   */
+  public TCSObjectsRemovedEvent(@Nonnull List<TCSObject<?>> removedObjects) {
+    this.removedObjects = List.copyOf(requireNonNull(removedObjects, "removedObjects"));
+  }
+
+  /**
+   * Returns the last states of the removed objects, in the order in which they were removed.
+   *
+   * @return The last states of the removed objects.
+   */
+  @Nonnull
+  public List<TCSObject<?>> getRemovedObjects() {
+    return removedObjects;
+  }
+
+  /**
+   * Returns the {@link TCSObjectEvent}s this event replaces, one for every removed object.
+   *
+   * @return The {@link TCSObjectEvent}s this event replaces.
+   */
+  @Nonnull
+  public List<TCSObjectEvent> toObjectEvents() {
+    List<TCSObjectEvent> result = new ArrayList<>(removedObjects.size());
+    for (TCSObject<?> removedObject : removedObjects) {
+      result.add(new TCSObjectEvent(null, removedObject, TCSObjectEvent.Type.OBJECT_REMOVED));
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "TCSObjectsRemovedEvent{" + "removedObjects=" + removedObjects.size() + '}';
+  }
+}
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.event;
+
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import org.opentcs.access.EventsDroppedEvent;
+import static org.opentcs.util.Assertions.checkInRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of {@link EventBus} that delivers events to its subscribers asynchronously.
+ * <p>
+ * Every subscriber has its own bounded queue of events. The events in a queue are delivered, in
+ * the order they were published, by a task executed by the delivery executor, so a slow subscriber
+ * delays neither the publisher nor other subscribers. If a subscriber's queue is full, events for
+ * it are dropped. Once the events queued before have been delivered, the subscriber then receives
+ * an {@link EventsDroppedEvent} telling it how many events it has missed, so it can retrieve the
+ * current states of the objects it is interested in again.
+ * </p>
+ * <p>
+ * Subscribers implementing {@link SynchronousEventHandler} are not queued for; events are delivered
+ * to them in the publisher's thread, instead.
+ * </p>
+ */
+public class AsyncEventBus
+    implements EventBus {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncEventBus.class);
+  /**
+   * The subscriptions, in the order the subscribers were added.
+   */
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+  /**
+   * Executes the tasks delivering events to asynchronous subscribers.
+   */
+  private final Executor deliveryExecutor;
+  /**
+   * The maximum number of events queued for an asynchronous subscriber.
+   */
+  private final int queueCapacity;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param deliveryExecutor Executes the tasks delivering events to asynchronous subscribers.
+   * Executing up to one task per subscriber at the same time should be supported.
+   * @param queueCapacity The maximum number of events queued for an asynchronous subscriber.
+   */
+  public AsyncEventBus(@Nonnull Executor deliveryExecutor, int queueCapacity) {
+    this.deliveryExecutor = requireNonNull(deliveryExecutor, "deliveryExecutor");
+    this.queueCapacity = checkInRange(queueCapacity, 1, Integer.MAX_VALUE, "queueCapacity");
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    for (Subscription subscription : subscriptions) {
+      if (subscription.isSynchronous()) {
+        deliver(subscription.getListener(), event);
+      }
+      else {
+        subscription.enqueue(event);
+      }
+    }
+  }
+
+  @Override
+  public void subscribe(EventHandler listener) {
+    requireNonNull(listener, "listener");
+
+    synchronized (subscriptions) {
+      if (findSubscription(listener) == null) {
+        subscriptions.add(new Subscription(listener));
+      }
+    }
+  }
+
+  @Override
+  public void unsubscribe(EventHandler listener) {
+    requireNonNull(listener, "listener");
+
+    synchronized (subscriptions) {
+      Subscription subscription = findSubscription(listener);
+      if (subscription != null) {
+        subscriptions.remove(subscription);
+        subscription.cancel();
+      }
+    }
+  }
+
+  /**
+   * Returns the number of events that have been dropped for the given subscriber because its queue
+   * was full.
+   *
+   * @param listener The subscriber.
+   * @return The number of events dropped, or 0, if the given handler is not subscribed.
+   */
+  public long getDroppedEventCount(@Nonnull EventHandler listener) {
+    requireNonNull(listener, "listener");
+
+    Subscription subscription = findSubscription(listener);
+    return subscription == null ? 0 : subscription.getDroppedEventCount();
+  }
+
+  private Subscription findSubscription(EventHandler listener) {
+    for (Subscription subscription : subscriptions) {
+      if (subscription.getListener().equals(listener)) {
+        return subscription;
+      }
+    }
+    return null;
+  }
+
+  private static void deliver(EventHandler listener, Object event) {
+    try {
+      listener.onEvent(event);
+    }
+    catch (Exception exc) {
+      LOG.warn("Exception thrown by event handler", exc);
+    }
+  }
+
+  /**
+   * A subscriber along with its queue of events.
+   */
+  private class Subscription
+      implements Runnable {
+
+    /**
+     * The subscriber.
+     */
+    private final EventHandler listener;
+    /**
+     * The events waiting to be delivered to an asynchronous subscriber, or {@code null}, if the
+     * subscriber is synchronous.
+     * Besides up to {@code queueCapacity} events, the queue may hold one {@link Overflow}.
+     */
+    private final BlockingQueue<Object> queue;
+    /**
+     * Whether a task delivering the queued events is currently scheduled or running.
+     */
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    /**
+     * The number of events dropped because the queue was full.
+     */
+    private final AtomicLong droppedEventCount = new AtomicLong();
+    /**
+     * The overflow marker currently queued, or {@code null}, if there is none.
+     * Guarded by this subscription's monitor.
+     */
+    private Overflow overflow;
+    /**
+     * Whether the subscriber has been unsubscribed.
+     */
+    private volatile boolean cancelled;
+
+    Subscription(EventHandler listener) {
+      this.listener = listener;
+      this.queue = listener instanceof SynchronousEventHandler
+          ? null
+          : new LinkedBlockingQueue<>(queueCapacity + 1);
+    }
+
+    public EventHandler getListener() {
+      return listener;
+    }
+
+    public boolean isSynchronous() {
+      return queue == null;
+    }
+
+    public long getDroppedEventCount() {
+      return droppedEventCount.get();
+    }
+
+    public void enqueue(Object event) {
+      synchronized (this) {
+        // Only publishers add to the queue, so its size cannot grow between checking and adding.
+        if (queue.size() - (overflow == null ? 0 : 1) < queueCapacity) {
+          queue.add(event);
+        }
+        else {
+          droppedEventCount.incrementAndGet();
+          if (overflow == null) {
+            LOG.warn("Event queue for {} full, dropping events.", listener);
+            // The slot reserved for the marker is free as long as no marker is queued.
+            overflow = new Overflow();
+            queue.add(overflow);
+          }
+          overflow.droppedEventCount++;
+        }
+      }
+      scheduleDelivery();
+    }
+
+    public void cancel() {
+      cancelled = true;
+      if (queue != null) {
+        queue.clear();
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        Object event;
+        while (!cancelled && (event = queue.poll()) != null) {
+          deliver(listener, event instanceof Overflow ? takeOverflow((Overflow) event) : event);
+        }
+      }
+      finally {
+        delivering.set(false);
+      }
+      // An event may have been queued after the queue was found empty, but before the flag was
+      // reset, without a new delivery having been scheduled.
+      if (!cancelled && !queue.isEmpty()) {
+        scheduleDelivery();
+      }
+    }
+
+    private synchronized EventsDroppedEvent takeOverflow(Overflow marker) {
+      // Events dropped after this point are counted for a new marker.
+      overflow = null;
+      return new EventsDroppedEvent(marker.droppedEventCount);
+    }
+
+    private void scheduleDelivery() {
+      if (!delivering.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        deliveryExecutor.execute(this);
+      }
+      catch (RejectedExecutionException exc) {
+        delivering.set(false);
+        LOG.warn("Could not schedule delivery of events to {}", listener, exc);
+      }
+    }
+  }
+
+  /**
+   * Marks the position in a subscriber's queue after which events have been dropped.
+   */
+  private static class Overflow {
+
+    /**
+     * The number of events dropped since this marker was queued.
+     * Guarded by the owning subscription's monitor.
+     */
+    private long droppedEventCount;
+
+    Overflow() {
+    }
+  }
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.event;
+
+/**
+ * An event handler that requires events to be delivered synchronously, i.e. in the thread
+ * publishing them, before the publisher continues.
+ * <p>
+ * Event buses delivering events asynchronously (like {@link AsyncEventBus}) deliver events to
+ * handlers implementing this interface synchronously, nevertheless. This is required e.g. for
+ * handlers that expect to be called from a specific thread or that need to react to an event before
+ * the publisher continues.
+ * </p>
+ */
+public interface SynchronousEventHandler
+    extends EventHandler {
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.access.rmi.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Point;
+
+/**
+ * Unit tests for {@link CompactEventEncoder} and {@link CompactEventDecoder}.
+ */
+public class CompactEventEncoderTest {
+
+  private CompactEventEncoder encoder;
+  private CompactEventDecoder decoder;
+
+  @BeforeEach
+  public void setUp() {
+    encoder = new CompactEventEncoder();
+    decoder = new CompactEventDecoder();
+  }
+
+  @Test
+  public void passThroughEventsForUnknownObjects() {
+    Point point = new Point("point");
+    TCSObjectEvent modified = new TCSObjectEvent(point.withProperty("key", "value"),
+                                                 point,
+                                                 TCSObjectEvent.Type.OBJECT_MODIFIED);
+    Object otherEvent = "some event";
+
+    List<Object> events = encoder.encode(List.of(modified, otherEvent));
+
+    assertThat(events).hasSize(3);
+    assertThat(events.get(0)).isInstanceOf(CompactEventBatchStart.class);
+    assertThat(events.subList(1, 3)).containsExactly(modified, otherEvent);
+  }
+
+  @Test
+  public void reconstructModifiedObjects()
+      throws Exception {
+    TCSObject<Point> created = new Point("point")
+        .withProperty("unchanged", "value")
+        .withProperty("removed", "value")
+        .withHistoryEntry(new ObjectHistory.Entry("entry1"));
+    TCSObject<Point> modified = created
+        .withProperty("removed", null)
+        .withProperty("added", "value")
+        .withHistoryEntry(new ObjectHistory.Entry("entry2"));
+
+    List<Object> events = transfer(List.of(
+        new TCSObjectEvent(created, null, TCSObjectEvent.Type.OBJECT_CREATED),
+        new TCSObjectEvent(modified, created, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    ));
+
+    assertThat(events).hasSize(2);
+    TCSObjectEvent event = (TCSObjectEvent) events.get(1);
+    assertThat(event.getType()).isEqualTo(TCSObjectEvent.Type.OBJECT_MODIFIED);
+    assertThat(event.getPreviousObjectState()).isSameAs(
+        ((TCSObjectEvent) events.get(0)).getCurrentObjectState()
+    );
+    assertThat(event.getCurrentObjectState().getName()).isEqualTo("point");
+    assertThat(event.getCurrentObjectState().getProperties())
+        .isEqualTo(modified.getProperties());
+    assertThat(event.getCurrentObjectState().getHistory().getEntries())
+        .extracting(ObjectHistory.Entry::getEventCode)
+        .containsExactly("entry1", "entry2");
+  }
+
+  @Test
+  public void sendAddedHistoryEntriesOnly() {
+    TCSObject<Point> created = new Point("point")
+        .withHistoryEntry(new ObjectHistory.Entry("entry1"));
+    TCSObject<Point> modified = created.withHistoryEntry(new ObjectHistory.Entry("entry2"));
+
+    List<Object> events = encoder.encode(List.of(
+        new TCSObjectEvent(created, null, TCSObjectEvent.Type.OBJECT_CREATED),
+        new TCSObjectEvent(modified, created, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    ));
+
+    CompactTCSObjectEvent event = (CompactTCSObjectEvent) events.get(2);
+    assertThat(event.getStrippedState().getHistory().getEntries()).isEmpty();
+    assertThat(event.getRetainedHistoryEntries()).isEqualTo(1);
+    assertThat(event.getAddedHistoryEntries())
+        .extracting(ObjectHistory.Entry::getEventCode)
+        .containsExactly("entry2");
+  }
+
+  @Test
+  public void sendFullHistoryIfReplaced()
+      throws Exception {
+    TCSObject<Point> created = new Point("point")
+        .withHistoryEntry(new ObjectHistory.Entry("entry1"));
+    TCSObject<Point> modified = created.withHistory(
+        new ObjectHistory().withEntryAppended(new ObjectHistory.Entry("entry2"))
+    );
+
+    List<Object> events = transfer(List.of(
+        new TCSObjectEvent(created, null, TCSObjectEvent.Type.OBJECT_CREATED),
+        new TCSObjectEvent(modified, created, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    ));
+
+    assertThat(((TCSObjectEvent) events.get(1)).getCurrentObjectState().getHistory().getEntries())
+        .extracting(ObjectHistory.Entry::getEventCode)
+        .containsExactly("entry2");
+  }
+
+  @Test
+  public void reconstructRemovedObjects()
+      throws Exception {
+    Point point = new Point("point");
+
+    List<Object> events = transfer(List.of(
+        new TCSObjectEvent(point, null, TCSObjectEvent.Type.OBJECT_CREATED),
+        new TCSObjectEvent(null, point, TCSObjectEvent.Type.OBJECT_REMOVED)
+    ));
+
+    TCSObjectEvent event = (TCSObjectEvent) events.get(1);
+    assertThat(event.getType()).isEqualTo(TCSObjectEvent.Type.OBJECT_REMOVED);
+    assertThat(event.getCurrentObjectState()).isNull();
+    assertThat(event.getPreviousObjectState()).isSameAs(
+        ((TCSObjectEvent) events.get(0)).getCurrentObjectState()
+    );
+  }
+
+  @Test
+  public void transferFewerBytesForModifiedObjects()
+      throws Exception {
+    TCSObject<Point> point = new Point("point");
+    for (int i = 0; i < 100; i++) {
+      point = point.withHistoryEntry(new ObjectHistory.Entry("entry" + i));
+    }
+    encoder.encode(List.of(new TCSObjectEvent(point, null, TCSObjectEvent.Type.OBJECT_CREATED)));
+    List<Object> fullEvents = List.of(
+        new TCSObjectEvent(point.withProperty("key", "value"),
+                           point,
+                           TCSObjectEvent.Type.OBJECT_MODIFIED)
+    );
+
+    assertThat(serialize(encoder.encode(fullEvents)).length)
+        .isLessThan(serialize(fullEvents).length / 2);
+  }
+
+  @Test
+  public void dropEventsRelativeToStatesFromLostResponse()
+      throws Exception {
+    TCSObject<Point> pointA = new Point("pointA").withProperty("key", "value1");
+    TCSObject<Point> pointB = new Point("pointB").withProperty("key", "value1");
+    transfer(List.of(
+        new TCSObjectEvent(pointA, null, TCSObjectEvent.Type.OBJECT_CREATED),
+        new TCSObjectEvent(pointB, null, TCSObjectEvent.Type.OBJECT_CREATED)
+    ));
+
+    // The response with the next modification of point A does not reach the decoder.
+    TCSObject<Point> lostPointA = pointA.withProperty("key", "value2");
+    encoder.encode(List.of(
+        new TCSObjectEvent(lostPointA, pointA, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    ));
+
+    TCSObject<Point> modifiedPointA = lostPointA.withProperty("other", "value");
+    TCSObject<Point> modifiedPointB = pointB.withProperty("key", "value2");
+    List<Object> events = transfer(List.of(
+        new TCSObjectEvent(modifiedPointA, lostPointA, TCSObjectEvent.Type.OBJECT_MODIFIED),
+        new TCSObjectEvent(modifiedPointB, pointB, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    ));
+
+    // Point A's modification is relative to the lost state and must not be applied to the known
+    // one, while point B's modification can still be decoded.
+    assertThat(events).hasSize(1);
+    assertThat(((TCSObjectEvent) events.get(0)).getCurrentObjectState().getProperties())
+        .isEqualTo(modifiedPointB.getProperties());
+    assertThat(decoder.isResyncRequired()).isTrue();
+
+    // After a resynchronization, the full states are received again.
+    encoder = new CompactEventEncoder();
+    decoder.reset();
+    TCSObject<Point> resyncedPointA = modifiedPointA.withProperty("key", "value3");
+    events = transfer(List.of(
+        new TCSObjectEvent(resyncedPointA, modifiedPointA, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    ));
+
+    assertThat(events).hasSize(1);
+    assertThat(((TCSObjectEvent) events.get(0)).getCurrentObjectState().getProperties())
+        .isEqualTo(resyncedPointA.getProperties());
+    assertThat(decoder.isResyncRequired()).isFalse();
+  }
+
+  private List<Object> transfer(List<Object> events)
+      throws IOException, ClassNotFoundException {
+    byte[] bytes = serialize(encoder.encode(events));
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      @SuppressWarnings("unchecked")
+      List<Object> received = (List<Object>) in.readObject();
+      return decoder.decode(received);
+    }
+  }
+
+  private byte[] serialize(List<Object> events)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(new ArrayList<>(events));
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.customizations.kernel;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link KernelLock}.
+ */
+public class KernelLockTest {
+
+  private final Object globalSyncObject = new Object();
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void synchronizeOnGlobalSyncObjectInMonitorMode() {
+    KernelLock lock = new KernelLock(globalSyncObject, KernelLock.Mode.MONITOR);
+
+    assertTrue(lock.callReading(() -> Thread.holdsLock(globalSyncObject)));
+    assertTrue(lock.callWriting(() -> Thread.holdsLock(globalSyncObject)));
+  }
+
+  @Test
+  public void reportWhetherHeldByCurrentThread() {
+    for (KernelLock.Mode mode : KernelLock.Mode.values()) {
+      KernelLock lock = new KernelLock(globalSyncObject, mode);
+
+      assertFalse(lock.isHeldByCurrentThread());
+      assertTrue(lock.callReading(() -> lock.isHeldByCurrentThread()));
+      assertTrue(lock.callWriting(() -> lock.isHeldByCurrentThread()));
+      assertFalse(lock.isHeldByCurrentThread());
+    }
+  }
+
+  @Test
+  public void returnSameLockForSubsystemsInMonitorMode() {
+    KernelLock lock = new KernelLock(globalSyncObject, KernelLock.Mode.MONITOR);
+
+    assertSame(lock, lock.createSubsystemLock());
+  }
+
+  @Test
+  public void allowConcurrentReadsInReadWriteMode()
+      throws Exception {
+    KernelLock lock = new KernelLock(globalSyncObject, KernelLock.Mode.READ_WRITE);
+    CountDownLatch otherReaderDone = new CountDownLatch(1);
+
+    boolean result = lock.callReading(() -> {
+      Future<?> otherReader = executor.submit(
+          () -> lock.runReading(() -> otherReaderDone.countDown())
+      );
+      try {
+        otherReader.get(10, TimeUnit.SECONDS);
+        return otherReaderDone.await(0, TimeUnit.SECONDS);
+      }
+      catch (Exception exc) {
+        return false;
+      }
+    });
+
+    assertTrue(result);
+  }
+
+  @Test
+  public void allowReentrantWritesInReadWriteMode() {
+    KernelLock lock = new KernelLock(globalSyncObject, KernelLock.Mode.READ_WRITE);
+
+    assertEquals(
+        "value",
+        lock.callWriting(() -> lock.callReading(() -> lock.callWriting(() -> "value")))
+    );
+  }
+
+  @Test
+  public void rejectUpgradingReadLockInReadWriteMode() {
+    KernelLock lock = new KernelLock(globalSyncObject, KernelLock.Mode.READ_WRITE);
+
+    assertThrows(IllegalStateException.class,
+                 () -> lock.runReading(() -> lock.runWriting(() -> {
+                 })));
+  }
+}
@@ -7,12 +7,19 @@
  */
 package org.opentcs.data;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -68,6 +75,65 @@ public class ObjectHistoryTest {
     assertThat(history.getEntries(), contains(entry1, entry2));
   }
 
+  @Test
+  public void keepEntriesOfHistoriesSharingStorageSeparate() {
+    Entry entry1 = new Entry(Instant.now(), "eventCode1");
+    Entry entry2 = new Entry(Instant.now(), "eventCode2");
+    Entry entry3 = new Entry(Instant.now(), "eventCode3");
+
+    ObjectHistory history = new ObjectHistory().withEntryAppended(entry1);
+    ObjectHistory branch1 = history.withEntryAppended(entry2);
+    ObjectHistory branch2 = history.withEntryAppended(entry3);
+
+    assertThat(history.getEntries(), contains(entry1));
+    assertThat(branch1.getEntries(), contains(entry1, entry2));
+    assertThat(branch2.getEntries(), contains(entry1, entry3));
+    assertThat(branch1.withEntryAppended(entry3).getEntries(), contains(entry1, entry2, entry3));
+  }
+
+  @Test
+  public void removeOldestEntries() {
+    ObjectHistory history = new ObjectHistory();
+    for (int i = 0; i < 10; i++) {
+      history = history.withEntryAppended(new Entry(Instant.now(), "eventCode" + i));
+    }
+    Entry entry10 = new Entry(Instant.now(), "eventCode10");
+
+    ObjectHistory trimmedHistory = history.withOldestEntriesRemoved(8).withEntryAppended(entry10);
+
+    assertThat(trimmedHistory.getEntries(), hasSize(3));
+    assertThat(trimmedHistory.getEntries().get(0), is(sameInstance(history.getEntries().get(8))));
+    assertThat(trimmedHistory.getEntries().get(2), is(sameInstance(entry10)));
+    assertThat(history.getEntries(), hasSize(10));
+    assertThat(history.withOldestEntriesRemoved(10).getEntries(), is(empty()));
+    assertThrows(IllegalArgumentException.class,
+                 () -> new ObjectHistory().withOldestEntriesRemoved(1));
+  }
+
+  @Test
+  public void serializeOnlyEntriesOfHistory()
+      throws Exception {
+    ObjectHistory history = new ObjectHistory()
+        .withEntryAppended(new Entry(Instant.now(), "eventCode1"))
+        .withEntryAppended(new Entry(Instant.now(), "eventCode2", "supplement"))
+        .withOldestEntriesRemoved(1);
+    history.withEntryAppended(new Entry(Instant.now(), "eventCode3"));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+      output.writeObject(history);
+    }
+    ObjectHistory deserialized;
+    try (ObjectInputStream input
+        = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserialized = (ObjectHistory) input.readObject();
+    }
+
+    assertThat(deserialized.getEntries(), hasSize(1));
+    assertEquals(deserialized.getEntries().get(0).getEventCode(), "eventCode2");
+    assertEquals(deserialized.getEntries().get(0).getSupplement(), "supplement");
+  }
+
   @Test
   public void checkIfEntryHasTimestampEventCodeAndSupplement() {
     Instant timestamp = Instant.now();
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.access.EventsDroppedEvent;
+
+/**
+ * Unit tests for {@link AsyncEventBus}.
+ */
+public class AsyncEventBusTest {
+
+  private ExecutorService deliveryExecutor;
+
+  @BeforeEach
+  public void setUp() {
+    deliveryExecutor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    deliveryExecutor.shutdownNow();
+  }
+
+  @Test
+  public void deliverEventsInOrderOfPublication()
+      throws Exception {
+    AsyncEventBus eventBus = new AsyncEventBus(deliveryExecutor, 1000);
+    List<Object> receivedEvents = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch allReceived = new CountDownLatch(100);
+    eventBus.subscribe(event -> {
+      receivedEvents.add(event);
+      allReceived.countDown();
+    });
+
+    List<Object> expectedEvents = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      expectedEvents.add(i);
+      eventBus.onEvent(i);
+    }
+
+    assertThat(allReceived.await(10, TimeUnit.SECONDS), is(true));
+    assertThat(receivedEvents, is(expectedEvents));
+  }
+
+  @Test
+  public void deliverEventsToSynchronousSubscribersInPublishingThread() {
+    AsyncEventBus eventBus = new AsyncEventBus(deliveryExecutor, 1000);
+    List<Thread> receivingThreads = new ArrayList<>();
+    SynchronousEventHandler handler = event -> receivingThreads.add(Thread.currentThread());
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent(new Object());
+
+    assertThat(receivingThreads, contains(Thread.currentThread()));
+  }
+
+  @Test
+  public void doNotDelayOtherSubscribersBySlowSubscriber()
+      throws Exception {
+    AsyncEventBus eventBus = new AsyncEventBus(deliveryExecutor, 1000);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch received = new CountDownLatch(1);
+    eventBus.subscribe(event -> {
+      try {
+        release.await();
+      }
+      catch (InterruptedException exc) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    eventBus.subscribe(event -> received.countDown());
+
+    eventBus.onEvent(new Object());
+
+    assertThat(received.await(10, TimeUnit.SECONDS), is(true));
+    release.countDown();
+  }
+
+  @Test
+  public void dropEventsIfQueueIsFull() {
+    List<Runnable> deliveryTasks = new ArrayList<>();
+    AsyncEventBus eventBus = new AsyncEventBus(deliveryTasks::add, 2);
+    List<Object> receivedEvents = new ArrayList<>();
+    EventHandler handler = receivedEvents::add;
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    eventBus.onEvent("event2");
+    eventBus.onEvent("event3");
+    deliveryTasks.remove(0).run();
+
+    assertThat(eventBus.getDroppedEventCount(handler), is(1L));
+    assertThat(receivedEvents, hasSize(3));
+    assertThat(receivedEvents.subList(0, 2), contains("event1", "event2"));
+    assertThat(receivedEvents.get(2), is(instanceOf(EventsDroppedEvent.class)));
+    assertThat(((EventsDroppedEvent) receivedEvents.get(2)).getDroppedEventCount(), is(1L));
+    assertThat(deliveryTasks, is(empty()));
+  }
+
+  @Test
+  public void deliverEventsQueuedAfterOverflowAfterMarker() {
+    List<Runnable> deliveryTasks = new ArrayList<>();
+    AsyncEventBus eventBus = new AsyncEventBus(deliveryTasks::add, 1);
+    List<Object> receivedEvents = new ArrayList<>();
+    EventHandler handler = event -> {
+      receivedEvents.add(event);
+      if ("event1".equals(event)) {
+        // Let the queue overflow again while the marker is waiting to be delivered.
+        eventBus.onEvent("event4");
+        eventBus.onEvent("event5");
+      }
+    };
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    eventBus.onEvent("event2");
+    eventBus.onEvent("event3");
+    deliveryTasks.remove(0).run();
+
+    assertThat(eventBus.getDroppedEventCount(handler), is(3L));
+    assertThat(receivedEvents, hasSize(3));
+    assertThat(receivedEvents.get(0), is("event1"));
+    assertThat(((EventsDroppedEvent) receivedEvents.get(1)).getDroppedEventCount(), is(3L));
+    assertThat(receivedEvents.get(2), is("event4"));
+  }
+
+  @Test
+  public void stopDeliveryToUnsubscribedHandlers() {
+    List<Runnable> deliveryTasks = new ArrayList<>();
+    AsyncEventBus eventBus = new AsyncEventBus(deliveryTasks::add, 10);
+    List<Object> receivedEvents = new ArrayList<>();
+    EventHandler handler = receivedEvents::add;
+    eventBus.subscribe(handler);
+
+    eventBus.onEvent("event1");
+    eventBus.unsubscribe(handler);
+    eventBus.onEvent("event2");
+    deliveryTasks.forEach(Runnable::run);
+
+    assertThat(receivedEvents, is(empty()));
+  }
+}
@@ -20,7 +20,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import org.opentcs.common.LoopbackAdapterConstants;
-import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.customizations.kernel.VehicleLaneProvider;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.Route.Step;
 import org.opentcs.data.order.TransportOrder;
@@ -100,16 +100,16 @@ public class LoopbackCommunicationAdapter
    *
    * @param configuration This class's configuration.
    * @param vehicle The vehicle this adapter is associated with.
-   * @param kernelExecutor The kernel's executor.
+   * @param laneProvider Provides the executor for the vehicle's simulation tasks.
    */
   @Inject
   public LoopbackCommunicationAdapter(VirtualVehicleConfiguration configuration,
                                       @Assisted Vehicle vehicle,
-                                      @KernelExecutor ScheduledExecutorService kernelExecutor) {
+                                      VehicleLaneProvider laneProvider) {
     super(new LoopbackVehicleModel(vehicle),
           configuration.commandQueueCapacity(),
           configuration.rechargeOperation(),
-          kernelExecutor);
+          laneProvider.getLane(vehicle.getName()));
     this.vehicle = requireNonNull(vehicle, "vehicle");
     this.configuration = requireNonNull(configuration, "configuration");
   }
@@ -18,10 +18,12 @@ import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.opentcs.access.to.model.PlantModelCreationTO;
 import org.opentcs.util.persistence.v004.V004ModelParser;
-import org.opentcs.util.persistence.v004.V004PlantModelTO;
-import org.opentcs.util.persistence.v004.V004TOMapper;
+import org.opentcs.util.persistence.v004.V004ModelStreamWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,9 +78,7 @@ public class ModelParser {
       throws IOException {
     try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file),
                                                                    CHARSET))) {
-      V004TOMapper mapper = new V004TOMapper();
-      V004PlantModelTO mappedModel = mapper.map(model);
-      mappedModel.toXml(writer);
+      new V004ModelStreamWriter().write(model, writer);
     }
   }
 
@@ -86,7 +86,20 @@ public class ModelParser {
       throws IOException {
     try (Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file),
                                                                   CHARSET))) {
-      return ProbePlantModelTO.fromXml(reader).getVersion();
+      // Only the root element's attributes are needed, so the rest of the file is not parsed.
+      XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+      inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      XMLStreamReader xmlReader = inputFactory.createXMLStreamReader(reader);
+      try {
+        xmlReader.nextTag();
+        return xmlReader.getAttributeValue(null, "version");
+      }
+      finally {
+        xmlReader.close();
+      }
+    }
+    catch (XMLStreamException exc) {
+      throw new IOException("Exception unmarshalling data", exc);
     }
   }
 }
@@ -49,7 +49,12 @@ public class V004ModelParser {
    */
   public PlantModelCreationTO read(Reader reader, String modelVersion)
       throws IOException {
-    return new V004TOMapper().map(readRaw(reader, modelVersion));
+    if (Objects.equals(modelVersion, V004TOMapper.VERSION_STRING)) {
+      return new V004ModelStreamReader().read(reader);
+    }
+    else {
+      return new V004TOMapper().map(readRaw(reader, modelVersion));
+    }
   }
 
   /**
@@ -0,0 +1,600 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence.v004;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Envelope;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Pose;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.data.model.visualization.LocationRepresentation;
+import org.opentcs.data.peripherals.PeripheralOperation;
+import org.opentcs.util.Colors;
+
+/**
+ * Reads V004 models from their XML representation with a streaming (StAX) parser.
+ * <p>
+ * In contrast to {@link V004PlantModelTO#fromXml(java.io.Reader)} followed by
+ * {@link V004TOMapper#map(V004PlantModelTO)}, the {@link PlantModelCreationTO} is built directly
+ * while parsing, i.e. without an intermediate representation of the whole document.
+ * For documents that are valid according to the XML schema, the result is the same as the one of
+ * the mapper, including the defaults for optional attributes.
+ * </p>
+ * <p>
+ * Note that, unlike {@link V004PlantModelTO#fromXml(java.io.Reader)}, this reader does
+ * <em>not</em> validate the document against the XML schema. It only checks the nesting of the
+ * elements it knows and the presence and format of the attributes it requires while parsing.
+ * As a result, some documents that the schema rejects are accepted, e.g. documents in which the
+ * child elements of the model (points, paths, vehicles etc.) do not appear in the order the schema
+ * prescribes, or in which the elements of a kind are interleaved with those of another kind.
+ * Unknown elements are rejected, but unknown attributes are ignored. To check a document against
+ * the schema, use {@link V004ModelParser#readRaw(java.io.Reader, java.lang.String)}, which still
+ * validates it.
+ * </p>
+ */
+public class V004ModelStreamReader {
+
+  /**
+   * The factory for XML stream readers.
+   */
+  private final XMLInputFactory inputFactory;
+
+  /**
+   * Creates a new instance.
+   */
+  public V004ModelStreamReader() {
+    inputFactory = XMLInputFactory.newFactory();
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  /**
+   * Reads a model with the given reader and parses it to a {@link PlantModelCreationTO} instance.
+   *
+   * @param reader The reader to use.
+   * @return The parsed {@link PlantModelCreationTO}.
+   * @throws IOException If there was an error reading the model or if the model is malformed.
+   */
+  public PlantModelCreationTO read(@Nonnull Reader reader)
+      throws IOException {
+    requireNonNull(reader, "reader");
+
+    try {
+      XMLStreamReader in = inputFactory.createXMLStreamReader(reader);
+      try {
+        in.nextTag();
+        if (!in.getLocalName().equals("model")) {
+          throw unexpectedElement(in);
+        }
+        return readModel(in);
+      }
+      finally {
+        in.close();
+      }
+    }
+    catch (XMLStreamException | IllegalArgumentException exc) {
+      throw new IOException("Exception unmarshalling data", exc);
+    }
+  }
+
+  private PlantModelCreationTO readModel(XMLStreamReader in)
+      throws XMLStreamException {
+    String version = requiredAttribute(in, "version");
+    if (!version.equals(V004TOMapper.VERSION_STRING)) {
+      throw new XMLStreamException("Unsupported model version: " + version, in.getLocation());
+    }
+    String name = requiredAttribute(in, "name");
+
+    List<PointCreationTO> points = new ArrayList<>();
+    List<PathCreationTO> paths = new ArrayList<>();
+    List<VehicleCreationTO> vehicles = new ArrayList<>();
+    List<LocationTypeCreationTO> locationTypes = new ArrayList<>();
+    List<LocationCreationTO> locations = new ArrayList<>();
+    List<BlockCreationTO> blocks = new ArrayList<>();
+    VisualLayoutCreationTO visualLayout = new VisualLayoutCreationTO("")
+        .withScaleX(0.0)
+        .withScaleY(0.0);
+    Map<String, String> properties = new HashMap<>();
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "point":
+          points.add(readPoint(in));
+          break;
+        case "path":
+          paths.add(readPath(in));
+          break;
+        case "vehicle":
+          vehicles.add(readVehicle(in));
+          break;
+        case "locationType":
+          locationTypes.add(readLocationType(in));
+          break;
+        case "location":
+          locations.add(readLocation(in));
+          break;
+        case "block":
+          blocks.add(readBlock(in));
+          break;
+        case "visualLayout":
+          visualLayout = readVisualLayout(in);
+          break;
+        case "property":
+          readProperty(in, properties);
+          break;
+        default:
+          throw unexpectedElement(in);
+      }
+    }
+
+    return new PlantModelCreationTO(name)
+        .withPoints(points)
+        .withVehicles(vehicles)
+        .withPaths(paths)
+        .withLocationTypes(locationTypes)
+        .withLocations(locations)
+        .withBlocks(blocks)
+        .withVisualLayout(visualLayout)
+        .withProperties(properties);
+  }
+
+  private PointCreationTO readPoint(XMLStreamReader in)
+      throws XMLStreamException {
+    String name = requiredAttribute(in, "name");
+    long xPosition = parseLong(requiredAttribute(in, "xPosition"));
+    long yPosition = parseLong(requiredAttribute(in, "yPosition"));
+    long zPosition = parseLong(optionalAttribute(in, "zPosition", "0"));
+    float vehicleOrientationAngle
+        = parseFloat(optionalAttribute(in, "vehicleOrientationAngle", "0.0"));
+    String type = requiredAttribute(in, "type");
+    Map<String, Envelope> vehicleEnvelopes = new HashMap<>();
+    Map<String, String> properties = new HashMap<>();
+    PointCreationTO.Layout layout = new PointCreationTO.Layout();
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "vehicleEnvelope":
+          readVehicleEnvelope(in, vehicleEnvelopes);
+          break;
+        case "outgoingPath":
+          // Outgoing paths are derived from the paths' source points.
+          requiredAttribute(in, "name");
+          readEndOfEmptyElement(in);
+          break;
+        case "property":
+          readProperty(in, properties);
+          break;
+        case "pointLayout":
+          layout = new PointCreationTO.Layout(
+              new Couple(parseLong(requiredAttribute(in, "xPosition")),
+                         parseLong(requiredAttribute(in, "yPosition"))),
+              new Couple(parseLong(requiredAttribute(in, "xLabelOffset")),
+                         parseLong(requiredAttribute(in, "yLabelOffset"))),
+              parseInt(requiredAttribute(in, "layerId"))
+          );
+          readEndOfEmptyElement(in);
+          break;
+        default:
+          throw unexpectedElement(in);
+      }
+    }
+
+    return new PointCreationTO(name)
+        .withPose(new Pose(new Triple(xPosition, yPosition, zPosition), vehicleOrientationAngle))
+        .withType(Point.Type.valueOf(type))
+        .withVehicleEnvelopes(vehicleEnvelopes)
+        .withProperties(properties)
+        .withLayout(layout);
+  }
+
+  private PathCreationTO readPath(XMLStreamReader in)
+      throws XMLStreamException {
+    String name = requiredAttribute(in, "name");
+    String sourcePoint = requiredAttribute(in, "sourcePoint");
+    String destinationPoint = requiredAttribute(in, "destinationPoint");
+    long length = parseLong(optionalAttribute(in, "length", "0"));
+    long maxVelocity = parseLong(requiredAttribute(in, "maxVelocity"));
+    long maxReverseVelocity = parseLong(requiredAttribute(in, "maxReverseVelocity"));
+    boolean locked = parseBoolean(requiredAttribute(in, "locked"));
+    List<PeripheralOperationCreationTO> peripheralOperations = new ArrayList<>();
+    Map<String, Envelope> vehicleEnvelopes = new HashMap<>();
+    Map<String, String> properties = new HashMap<>();
+    String connectionType = "";
+    List<Couple> controlPoints = new ArrayList<>();
+    int layerId = 0;
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "vehicleEnvelope":
+          readVehicleEnvelope(in, vehicleEnvelopes);
+          break;
+        case "peripheralOperation":
+          peripheralOperations.add(readPeripheralOperation(in));
+          break;
+        case "property":
+          readProperty(in, properties);
+          break;
+        case "pathLayout":
+          connectionType = requiredAttribute(in, "connectionType");
+          layerId = parseInt(requiredAttribute(in, "layerId"));
+          controlPoints = readCouples(in, "controlPoint");
+          break;
+        default:
+          throw unexpectedElement(in);
+      }
+    }
+
+    return new PathCreationTO(name, sourcePoint, destinationPoint)
+        .withLength(length)
+        .withLocked(locked)
+        .withMaxVelocity((int) maxVelocity)
+        .withMaxReverseVelocity((int) maxReverseVelocity)
+        .withPeripheralOperations(peripheralOperations)
+        .withVehicleEnvelopes(vehicleEnvelopes)
+        .withProperties(properties)
+        .withLayout(new PathCreationTO.Layout(Path.Layout.ConnectionType.valueOf(connectionType),
+                                              controlPoints,
+                                              layerId));
+  }
+
+  private PeripheralOperationCreationTO readPeripheralOperation(XMLStreamReader in)
+      throws XMLStreamException {
+    PeripheralOperationCreationTO result
+        = new PeripheralOperationCreationTO(requiredAttribute(in, "name"),
+                                            requiredAttribute(in, "locationName"))
+            .withExecutionTrigger(
+                PeripheralOperation.ExecutionTrigger.valueOf(
+                    requiredAttribute(in, "executionTrigger")
+                )
+            )
+            .withCompletionRequired(parseBoolean(requiredAttribute(in, "completionRequired")));
+    readEndOfEmptyElement(in);
+    return result;
+  }
+
+  private VehicleCreationTO readVehicle(XMLStreamReader in)
+      throws XMLStreamException {
+    String name = requiredAttribute(in, "name");
+    long length = parseLong(optionalAttribute(in, "length", "0"));
+    long energyLevelCritical = parseLong(optionalAttribute(in, "energyLevelCritical", "0"));
+    long energyLevelGood = parseLong(optionalAttribute(in, "energyLevelGood", "0"));
+    long energyLevelFullyRecharged
+        = parseLong(optionalAttribute(in, "energyLevelFullyRecharged", "0"));
+    long energyLevelSufficientlyRecharged
+        = parseLong(optionalAttribute(in, "energyLevelSufficientlyRecharged", "0"));
+    int maxVelocity = parseInt(optionalAttribute(in, "maxVelocity", "0"));
+    int maxReverseVelocity = parseInt(optionalAttribute(in, "maxReverseVelocity", "0"));
+    String envelopeKey = in.getAttributeValue(null, "envelopeKey");
+    Map<String, String> properties = new HashMap<>();
+    String color = "";
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "property":
+          readProperty(in, properties);
+          break;
+        case "vehicleLayout":
+          color = requiredAttribute(in, "color");
+          readEndOfEmptyElement(in);
+          break;
+        default:
+          throw unexpectedElement(in);
+      }
+    }
+
+    return new VehicleCreationTO(name)
+        .withLength((int) length)
+        .withEnergyLevelCritical((int) energyLevelCritical)
+        .withEnergyLevelGood((int) energyLevelGood)
+        .withEnergyLevelFullyRecharged((int) energyLevelFullyRecharged)
+        .withEnergyLevelSufficientlyRecharged((int) energyLevelSufficientlyRecharged)
+        .withMaxReverseVelocity(maxReverseVelocity)
+        .withMaxVelocity(maxVelocity)
+        .withEnvelopeKey(envelopeKey)
+        .withProperties(properties)
+        .withLayout(new VehicleCreationTO.Layout(Colors.decodeFromHexRGB(color)));
+  }
+
+  private LocationTypeCreationTO readLocationType(XMLStreamReader in)
+      throws XMLStreamException {
+    String name = requiredAttribute(in, "name");
+    List<String> allowedOperations = new ArrayList<>();
+    List<String> allowedPeripheralOperations = new ArrayList<>();
+    Map<String, String> properties = new HashMap<>();
+    String locationRepresentation = "";
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "allowedOperation":
+          allowedOperations.add(requiredAttribute(in, "name"));
+          readEndOfEmptyElement(in);
+          break;
+        case "allowedPeripheralOperation":
+          allowedPeripheralOperations.add(requiredAttribute(in, "name"));
+          readEndOfEmptyElement(in);
+          break;
+        case "property":
+          readProperty(in, properties);
+          break;
+        case "locationTypeLayout":
+          locationRepresentation = requiredAttribute(in, "locationRepresentation");
+          readEndOfEmptyElement(in);
+          break;
+        default:
+          throw unexpectedElement(in);
+      }
+    }
+
+    return new LocationTypeCreationTO(name)
+        .withAllowedOperations(allowedOperations)
+        .withAllowedPeripheralOperations(allowedPeripheralOperations)
+        .withProperties(properties)
+        .withLayout(new LocationTypeCreationTO.Layout(
+            LocationRepresentation.valueOf(locationRepresentation)
+        ));
+  }
+
+  private LocationCreationTO readLocation(XMLStreamReader in)
+      throws XMLStreamException {
+    String name = requiredAttribute(in, "name");
+    long xPosition = parseLong(optionalAttribute(in, "xPosition", "0"));
+    long yPosition = parseLong(optionalAttribute(in, "yPosition", "0"));
+    long zPosition = parseLong(optionalAttribute(in, "zPosition", "0"));
+    String type = requiredAttribute(in, "type");
+    boolean locked = parseBoolean(requiredAttribute(in, "locked"));
+    Map<String, Set<String>> links = new HashMap<>();
+    Map<String, String> properties = new HashMap<>();
+    Couple layoutPosition = new Couple(0, 0);
+    Couple labelOffset = new Couple(0, 0);
+    String locationRepresentation = "";
+    int layerId = 0;
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "link":
+          readLink(in, links);
+          break;
+        case "property":
+          readProperty(in, properties);
+          break;
+        case "locationLayout":
+          layoutPosition = new Couple(parseLong(requiredAttribute(in, "xPosition")),
+                                      parseLong(requiredAttribute(in, "yPosition")));
+          labelOffset = new Couple(parseLong(requiredAttribute(in, "xLabelOffset")),
+                                   parseLong(requiredAttribute(in, "yLabelOffset")));
+          locationRepresentation = requiredAttribute(in, "locationRepresentation");
+          layerId = parseInt(requiredAttribute(in, "layerId"));
+          readEndOfEmptyElement(in);
+          break;
+        default:
+          throw unexpectedElement(in);
+      }
+    }
+
+    return new LocationCreationTO(name, type, new Triple(xPosition, yPosition, zPosition))
+        .withLinks(links)
+        .withLocked(locked)
+        .withProperties(properties)
+        .withLayout(
+            new LocationCreationTO.Layout(layoutPosition,
+                                          labelOffset,
+                                          LocationRepresentation.valueOf(locationRepresentation),
+                                          layerId)
+        );
+  }
+
+  private void readLink(XMLStreamReader in, Map<String, Set<String>> links)
+      throws XMLStreamException {
+    String point = requiredAttribute(in, "point");
+    Set<String> allowedOperations = new HashSet<>();
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      if (!in.getLocalName().equals("allowedOperation")) {
+        throw unexpectedElement(in);
+      }
+      allowedOperations.add(requiredAttribute(in, "name"));
+      readEndOfEmptyElement(in);
+    }
+
+    links.put(point, allowedOperations);
+  }
+
+  private BlockCreationTO readBlock(XMLStreamReader in)
+      throws XMLStreamException {
+    String name = requiredAttribute(in, "name");
+    String type = requiredAttribute(in, "type");
+    Set<String> memberNames = new HashSet<>();
+    Map<String, String> properties = new HashMap<>();
+    String color = "";
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "member":
+          memberNames.add(requiredAttribute(in, "name"));
+          readEndOfEmptyElement(in);
+          break;
+        case "property":
+          readProperty(in, properties);
+          break;
+        case "blockLayout":
+          color = requiredAttribute(in, "color");
+          readEndOfEmptyElement(in);
+          break;
+        default:
+          throw unexpectedElement(in);
+      }
+    }
+
+    return new BlockCreationTO(name)
+        .withType(Block.Type.valueOf(type))
+        .withMemberNames(memberNames)
+        .withProperties(properties)
+        .withLayout(new BlockCreationTO.Layout(Colors.decodeFromHexRGB(color)));
+  }
+
+  private VisualLayoutCreationTO readVisualLayout(XMLStreamReader in)
+      throws XMLStreamException {
+    String name = requiredAttribute(in, "name");
+    float scaleX = parseFloat(requiredAttribute(in, "scaleX"));
+    float scaleY = parseFloat(requiredAttribute(in, "scaleY"));
+    List<Layer> layers = new ArrayList<>();
+    List<LayerGroup> layerGroups = new ArrayList<>();
+    Map<String, String> properties = new HashMap<>();
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      switch (in.getLocalName()) {
+        case "layer":
+          layers.add(new Layer(parseInt(requiredAttribute(in, "id")),
+                               parseInt(requiredAttribute(in, "ordinal")),
+                               parseBoolean(requiredAttribute(in, "visible")),
+                               requiredAttribute(in, "name"),
+                               parseInt(requiredAttribute(in, "groupId"))));
+          readEndOfEmptyElement(in);
+          break;
+        case "layerGroup":
+          layerGroups.add(new LayerGroup(parseInt(requiredAttribute(in, "id")),
+                                         requiredAttribute(in, "name"),
+                                         parseBoolean(requiredAttribute(in, "visible"))));
+          readEndOfEmptyElement(in);
+          break;
+        case "property":
+          readProperty(in, properties);
+          break;
+        default:
+          throw unexpectedElement(in);
+      }
+    }
+
+    return new VisualLayoutCreationTO(name)
+        .withScaleX(scaleX)
+        .withScaleY(scaleY)
+        .withLayers(layers)
+        .withLayerGroups(layerGroups)
+        .withProperties(properties);
+  }
+
+  private void readVehicleEnvelope(XMLStreamReader in, Map<String, Envelope> vehicleEnvelopes)
+      throws XMLStreamException {
+    String key = requiredAttribute(in, "key");
+    vehicleEnvelopes.put(key, new Envelope(readCouples(in, "vertex")));
+  }
+
+  private List<Couple> readCouples(XMLStreamReader in, String elementName)
+      throws XMLStreamException {
+    List<Couple> result = new ArrayList<>();
+
+    while (in.nextTag() == XMLStreamReader.START_ELEMENT) {
+      if (!in.getLocalName().equals(elementName)) {
+        throw unexpectedElement(in);
+      }
+      result.add(new Couple(parseLong(requiredAttribute(in, "x")),
+                            parseLong(requiredAttribute(in, "y"))));
+      readEndOfEmptyElement(in);
+    }
+
+    return result;
+  }
+
+  private void readProperty(XMLStreamReader in, Map<String, String> properties)
+      throws XMLStreamException {
+    String name = requiredAttribute(in, "name");
+    String value = requiredAttribute(in, "value");
+    readEndOfEmptyElement(in);
+
+    properties.put(name.isEmpty() ? "Property unknown" : name,
+                   value.isEmpty() ? "Value unknown" : value);
+  }
+
+  private void readEndOfEmptyElement(XMLStreamReader in)
+      throws XMLStreamException {
+    if (in.nextTag() != XMLStreamReader.END_ELEMENT) {
+      throw unexpectedElement(in);
+    }
+  }
+
+  private String requiredAttribute(XMLStreamReader in, String name)
+      throws XMLStreamException {
+    String value = in.getAttributeValue(null, name);
+    if (value == null) {
+      throw new XMLStreamException(
+          "Missing attribute '" + name + "' of element '" + in.getLocalName() + "'",
+          in.getLocation()
+      );
+    }
+    return value;
+  }
+
+  private String optionalAttribute(XMLStreamReader in, String name, String defaultValue) {
+    String value = in.getAttributeValue(null, name);
+    return value == null ? defaultValue : value;
+  }
+
+  private XMLStreamException unexpectedElement(XMLStreamReader in) {
+    return new XMLStreamException("Unexpected element '" + in.getLocalName() + "'",
+                                  in.getLocation());
+  }
+
+  private long parseLong(String value) {
+    return Long.parseLong(value.trim());
+  }
+
+  private int parseInt(String value) {
+    return Integer.parseInt(value.trim());
+  }
+
+  private float parseFloat(String value) {
+    // Lexical representations of xsd:float that differ from Java's.
+    switch (value.trim()) {
+      case "INF":
+        return Float.POSITIVE_INFINITY;
+      case "-INF":
+        return Float.NEGATIVE_INFINITY;
+      default:
+        return Float.parseFloat(value);
+    }
+  }
+
+  private boolean parseBoolean(String value) {
+    switch (value.trim()) {
+      case "true":
+      case "1":
+        return true;
+      case "false":
+      case "0":
+        return false;
+      default:
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+  }
+}
@@ -0,0 +1,450 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence.v004;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import org.opentcs.access.to.CreationTO;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Envelope;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.util.Colors;
+
+/**
+ * Writes V004 models to their XML representation element by element.
+ * <p>
+ * In contrast to {@link V004TOMapper#map(PlantModelCreationTO)} followed by
+ * {@link V004PlantModelTO#toXml(java.io.Writer)}, the elements are written directly from the
+ * {@link PlantModelCreationTO}, i.e. without an intermediate representation of the whole document.
+ * The output is the same as the one of the mapper and the JAXB marshaller, including the order of
+ * the elements, the formatting and the escaping of special characters.
+ * </p>
+ */
+public class V004ModelStreamWriter {
+
+  /**
+   * The XML declaration, as written by the JAXB marshaller.
+   */
+  private static final String XML_DECLARATION
+      = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+
+  /**
+   * Creates a new instance.
+   */
+  public V004ModelStreamWriter() {
+  }
+
+  /**
+   * Writes the XML representation of the given model to the given writer.
+   *
+   * @param model The model.
+   * @param writer The writer to write the model's XML representation to.
+   * @throws IOException If there was an error writing the model.
+   */
+  public void write(@Nonnull PlantModelCreationTO model, @Nonnull Writer writer)
+      throws IOException {
+    requireNonNull(model, "model");
+    requireNonNull(writer, "writer");
+
+    writer.write(XML_DECLARATION);
+    writeModel(new XmlOutput(writer), model);
+    writer.write('\n');
+    writer.flush();
+  }
+
+  private void writeModel(XmlOutput out, PlantModelCreationTO model)
+      throws IOException {
+    out.startElement("model");
+    out.attribute("version", V004TOMapper.VERSION_STRING);
+    out.attribute("name", model.getName());
+
+    Map<String, List<String>> outgoingPaths = new HashMap<>();
+    for (PathCreationTO path : model.getPaths()) {
+      outgoingPaths.computeIfAbsent(path.getSrcPointName(), name -> new ArrayList<>())
+          .add(path.getName());
+    }
+    for (PointCreationTO point : sortedByName(model.getPoints())) {
+      writePoint(out, point, outgoingPaths.getOrDefault(point.getName(), List.of()));
+    }
+    for (PathCreationTO path : sortedByName(model.getPaths())) {
+      writePath(out, path);
+    }
+    for (VehicleCreationTO vehicle : sortedByName(model.getVehicles())) {
+      writeVehicle(out, vehicle);
+    }
+    for (LocationTypeCreationTO locationType : sortedByName(model.getLocationTypes())) {
+      writeLocationType(out, locationType);
+    }
+    for (LocationCreationTO location : sortedByName(model.getLocations())) {
+      writeLocation(out, location);
+    }
+    for (BlockCreationTO block : sortedByName(model.getBlocks())) {
+      writeBlock(out, block);
+    }
+    writeVisualLayout(out, model.getVisualLayout());
+    writeProperties(out, model.getProperties());
+
+    out.endElement();
+  }
+
+  private void writePoint(XmlOutput out, PointCreationTO point, List<String> outgoingPaths)
+      throws IOException {
+    out.startElement("point");
+    out.attribute("name", point.getName());
+    out.attribute("xPosition", Long.toString(point.getPose().getPosition().getX()));
+    out.attribute("yPosition", Long.toString(point.getPose().getPosition().getY()));
+    // The mapper does not map the z position, so the default value is written.
+    out.attribute("zPosition", "0");
+    out.attribute("vehicleOrientationAngle",
+                  printFloat((float) point.getPose().getOrientationAngle()));
+    out.attribute("type", point.getType().name());
+    writeVehicleEnvelopes(out, point.getVehicleEnvelopes());
+    writeNames(out, "outgoingPath", outgoingPaths);
+    writeProperties(out, point.getProperties());
+    out.startElement("pointLayout");
+    out.attribute("xPosition", Long.toString(point.getLayout().getPosition().getX()));
+    out.attribute("yPosition", Long.toString(point.getLayout().getPosition().getY()));
+    out.attribute("xLabelOffset", Long.toString(point.getLayout().getLabelOffset().getX()));
+    out.attribute("yLabelOffset", Long.toString(point.getLayout().getLabelOffset().getY()));
+    out.attribute("layerId", Integer.toString(point.getLayout().getLayerId()));
+    out.endElement();
+    out.endElement();
+  }
+
+  private void writePath(XmlOutput out, PathCreationTO path)
+      throws IOException {
+    out.startElement("path");
+    out.attribute("name", path.getName());
+    out.attribute("sourcePoint", path.getSrcPointName());
+    out.attribute("destinationPoint", path.getDestPointName());
+    out.attribute("length", Long.toString(path.getLength()));
+    out.attribute("maxVelocity", Integer.toString(path.getMaxVelocity()));
+    out.attribute("maxReverseVelocity", Integer.toString(path.getMaxReverseVelocity()));
+    out.attribute("locked", Boolean.toString(path.isLocked()));
+    // Vehicle envelopes precede peripheral operations as required by the XML schema. (With both
+    // present, the JAXB marshaller writes them the other way round and then fails validation.)
+    writeVehicleEnvelopes(out, path.getVehicleEnvelopes());
+    for (PeripheralOperationCreationTO operation : path.getPeripheralOperations()) {
+      // Without a defined property order, the JAXB marshaller writes the attributes in
+      // alphabetical order.
+      out.startElement("peripheralOperation");
+      out.attribute("completionRequired", Boolean.toString(operation.isCompletionRequired()));
+      out.attribute("executionTrigger", operation.getExecutionTrigger().name());
+      out.attribute("locationName", operation.getLocationName());
+      out.attribute("name", operation.getOperation());
+      out.endElement();
+    }
+    writeProperties(out, path.getProperties());
+    out.startElement("pathLayout");
+    out.attribute("connectionType", path.getLayout().getConnectionType().name());
+    out.attribute("layerId", Integer.toString(path.getLayout().getLayerId()));
+    writeCouples(out, "controlPoint", path.getLayout().getControlPoints());
+    out.endElement();
+    out.endElement();
+  }
+
+  private void writeVehicle(XmlOutput out, VehicleCreationTO vehicle)
+      throws IOException {
+    out.startElement("vehicle");
+    out.attribute("name", vehicle.getName());
+    out.attribute("length", Integer.toString(vehicle.getLength()));
+    out.attribute("energyLevelCritical", Integer.toString(vehicle.getEnergyLevelCritical()));
+    out.attribute("energyLevelGood", Integer.toString(vehicle.getEnergyLevelGood()));
+    out.attribute("energyLevelFullyRecharged",
+                  Integer.toString(vehicle.getEnergyLevelFullyRecharged()));
+    out.attribute("energyLevelSufficientlyRecharged",
+                  Integer.toString(vehicle.getEnergyLevelSufficientlyRecharged()));
+    out.attribute("maxVelocity", Integer.toString(vehicle.getMaxVelocity()));
+    out.attribute("maxReverseVelocity", Integer.toString(vehicle.getMaxReverseVelocity()));
+    if (vehicle.getEnvelopeKey() != null) {
+      out.attribute("envelopeKey", vehicle.getEnvelopeKey());
+    }
+    writeProperties(out, vehicle.getProperties());
+    out.startElement("vehicleLayout");
+    out.attribute("color", Colors.encodeToHexRGB(vehicle.getLayout().getRouteColor()));
+    out.endElement();
+    out.endElement();
+  }
+
+  private void writeLocationType(XmlOutput out, LocationTypeCreationTO locationType)
+      throws IOException {
+    out.startElement("locationType");
+    out.attribute("name", locationType.getName());
+    writeNames(out, "allowedOperation", locationType.getAllowedOperations());
+    writeNames(out, "allowedPeripheralOperation", locationType.getAllowedPeripheralOperations());
+    writeProperties(out, locationType.getProperties());
+    out.startElement("locationTypeLayout");
+    out.attribute("locationRepresentation",
+                  locationType.getLayout().getLocationRepresentation().name());
+    out.endElement();
+    out.endElement();
+  }
+
+  private void writeLocation(XmlOutput out, LocationCreationTO location)
+      throws IOException {
+    out.startElement("location");
+    out.attribute("name", location.getName());
+    out.attribute("xPosition", Long.toString(location.getPosition().getX()));
+    out.attribute("yPosition", Long.toString(location.getPosition().getY()));
+    // The mapper does not map the z position, so the default value is written.
+    out.attribute("zPosition", "0");
+    out.attribute("locked", Boolean.toString(location.isLocked()));
+    // Not in the defined property order, so written last by the JAXB marshaller.
+    out.attribute("type", location.getTypeName());
+    for (Map.Entry<String, Set<String>> link : sortedByKey(location.getLinks())) {
+      out.startElement("link");
+      out.attribute("point", link.getKey());
+      writeNames(out, "allowedOperation", link.getValue());
+      out.endElement();
+    }
+    writeProperties(out, location.getProperties());
+    out.startElement("locationLayout");
+    out.attribute("xPosition", Long.toString(location.getLayout().getPosition().getX()));
+    out.attribute("yPosition", Long.toString(location.getLayout().getPosition().getY()));
+    out.attribute("xLabelOffset", Long.toString(location.getLayout().getLabelOffset().getX()));
+    out.attribute("yLabelOffset", Long.toString(location.getLayout().getLabelOffset().getY()));
+    out.attribute("locationRepresentation",
+                  location.getLayout().getLocationRepresentation().name());
+    out.attribute("layerId", Integer.toString(location.getLayout().getLayerId()));
+    out.endElement();
+    out.endElement();
+  }
+
+  private void writeBlock(XmlOutput out, BlockCreationTO block)
+      throws IOException {
+    out.startElement("block");
+    out.attribute("name", block.getName());
+    out.attribute("type", block.getType().name());
+    writeNames(out, "member", block.getMemberNames());
+    writeProperties(out, block.getProperties());
+    out.startElement("blockLayout");
+    out.attribute("color", Colors.encodeToHexRGB(block.getLayout().getColor()));
+    out.endElement();
+    out.endElement();
+  }
+
+  private void writeVisualLayout(XmlOutput out, VisualLayoutCreationTO layout)
+      throws IOException {
+    out.startElement("visualLayout");
+    out.attribute("name", layout.getName());
+    out.attribute("scaleX", printFloat((float) layout.getScaleX()));
+    out.attribute("scaleY", printFloat((float) layout.getScaleY()));
+    for (Layer layer : layout.getLayers()) {
+      out.startElement("layer");
+      out.attribute("id", Integer.toString(layer.getId()));
+      out.attribute("ordinal", Integer.toString(layer.getOrdinal()));
+      out.attribute("visible", Boolean.toString(layer.isVisible()));
+      out.attribute("name", layer.getName());
+      out.attribute("groupId", Integer.toString(layer.getGroupId()));
+      out.endElement();
+    }
+    for (LayerGroup layerGroup : layout.getLayerGroups()) {
+      out.startElement("layerGroup");
+      out.attribute("id", Integer.toString(layerGroup.getId()));
+      out.attribute("name", layerGroup.getName());
+      out.attribute("visible", Boolean.toString(layerGroup.isVisible()));
+      out.endElement();
+    }
+    writeProperties(out, layout.getProperties());
+    out.endElement();
+  }
+
+  private void writeVehicleEnvelopes(XmlOutput out, Map<String, Envelope> vehicleEnvelopes)
+      throws IOException {
+    for (Map.Entry<String, Envelope> envelope : sortedByKey(vehicleEnvelopes)) {
+      out.startElement("vehicleEnvelope");
+      out.attribute("key", envelope.getKey());
+      writeCouples(out, "vertex", envelope.getValue().getVertices());
+      out.endElement();
+    }
+  }
+
+  private void writeCouples(XmlOutput out, String elementName, List<Couple> couples)
+      throws IOException {
+    for (Couple couple : couples) {
+      out.startElement(elementName);
+      out.attribute("x", Long.toString(couple.getX()));
+      out.attribute("y", Long.toString(couple.getY()));
+      out.endElement();
+    }
+  }
+
+  private void writeNames(XmlOutput out, String elementName, Collection<String> names)
+      throws IOException {
+    List<String> sortedNames = new ArrayList<>(names);
+    sortedNames.sort(Comparator.naturalOrder());
+    for (String name : sortedNames) {
+      out.startElement(elementName);
+      out.attribute("name", name);
+      out.endElement();
+    }
+  }
+
+  private void writeProperties(XmlOutput out, Map<String, String> properties)
+      throws IOException {
+    for (Map.Entry<String, String> property : sortedByKey(properties)) {
+      out.startElement("property");
+      out.attribute("name", property.getKey());
+      out.attribute("value", property.getValue());
+      out.endElement();
+    }
+  }
+
+  private <T extends CreationTO> List<T> sortedByName(List<T> elements) {
+    List<T> result = new ArrayList<>(elements);
+    result.sort(Comparator.comparing(CreationTO::getName));
+    return result;
+  }
+
+  private <V> List<Map.Entry<String, V>> sortedByKey(Map<String, V> map) {
+    List<Map.Entry<String, V>> result = new ArrayList<>(map.entrySet());
+    result.sort(Map.Entry.comparingByKey());
+    return result;
+  }
+
+  private String printFloat(float value) {
+    // Lexical representations of xsd:float that differ from Java's.
+    if (value == Float.POSITIVE_INFINITY) {
+      return "INF";
+    }
+    if (value == Float.NEGATIVE_INFINITY) {
+      return "-INF";
+    }
+    return Float.toString(value);
+  }
+
+  /**
+   * Writes elements with attributes, indented like the JAXB marshaller's formatted output.
+   * <p>
+   * An element without child elements is written as an empty-element tag.
+   * Attribute values are escaped the way the JAXB marshaller does it, including line breaks, which
+   * would otherwise be normalized to spaces when the document is parsed.
+   * </p>
+   */
+  private static class XmlOutput {
+
+    /**
+     * The indentation per nesting level.
+     */
+    private static final String INDENTATION = "    ";
+    /**
+     * The writer to write to.
+     */
+    private final Writer writer;
+    /**
+     * The names of the currently open elements, the innermost one first.
+     */
+    private final Deque<String> openElements = new ArrayDeque<>();
+    /**
+     * Whether the start tag of the innermost open element has not been closed, yet.
+     */
+    private boolean startTagOpen;
+
+    XmlOutput(Writer writer) {
+      this.writer = writer;
+    }
+
+    void startElement(String name)
+        throws IOException {
+      if (startTagOpen) {
+        writer.write('>');
+      }
+      writeLineBreak();
+      writer.write('<');
+      writer.write(name);
+      openElements.push(name);
+      startTagOpen = true;
+    }
+
+    void attribute(String name, String value)
+        throws IOException {
+      writer.write(' ');
+      writer.write(name);
+      writer.write("=\"");
+      writeEscaped(value);
+      writer.write('"');
+    }
+
+    void endElement()
+        throws IOException {
+      String name = openElements.pop();
+      if (startTagOpen) {
+        writer.write("/>");
+        startTagOpen = false;
+      }
+      else {
+        writeLineBreak();
+        writer.write("</");
+        writer.write(name);
+        writer.write('>');
+      }
+    }
+
+    private void writeLineBreak()
+        throws IOException {
+      writer.write('\n');
+      for (int i = 0; i < openElements.size(); i++) {
+        writer.write(INDENTATION);
+      }
+    }
+
+    private void writeEscaped(String value)
+        throws IOException {
+      int start = 0;
+      for (int i = 0; i < value.length(); i++) {
+        String replacement = escape(value.charAt(i));
+        if (replacement != null) {
+          writer.write(value, start, i - start);
+          writer.write(replacement);
+          start = i + 1;
+        }
+      }
+      writer.write(value, start, value.length() - start);
+    }
+
+    private String escape(char c) {
+      switch (c) {
+        case '&':
+          return "&amp;";
+        case '<':
+          return "&lt;";
+        case '>':
+          return "&gt;";
+        case '"':
+          return "&quot;";
+        case '\n':
+          return "&#10;";
+        case '\r':
+          return "&#13;";
+        default:
+          return null;
+      }
+    }
+  }
+}
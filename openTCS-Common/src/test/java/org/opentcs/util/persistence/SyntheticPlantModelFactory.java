@@ -0,0 +1,169 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opentcs.access.to.model.BlockCreationTO;
+import org.opentcs.access.to.model.LocationCreationTO;
+import org.opentcs.access.to.model.LocationTypeCreationTO;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.model.VehicleCreationTO;
+import org.opentcs.access.to.model.VisualLayoutCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Block;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Envelope;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Pose;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.visualization.Layer;
+import org.opentcs.data.model.visualization.LayerGroup;
+import org.opentcs.data.model.visualization.LocationRepresentation;
+import org.opentcs.data.peripherals.PeripheralOperation;
+
+/**
+ * Creates synthetic plant models of arbitrary size that can be used in tests.
+ */
+public class SyntheticPlantModelFactory {
+
+  /**
+   * Creates a new instance.
+   */
+  public SyntheticPlantModelFactory() {
+  }
+
+  /**
+   * Creates a plant model with about the given number of elements.
+   * <p>
+   * Half of the elements are points, two fifths are paths connecting them, and the rest are
+   * locations, blocks, location types and vehicles. The elements use most of the attributes and
+   * optional child elements of the model file format.
+   * </p>
+   *
+   * @param elementCount The number of elements.
+   * @return The plant model.
+   */
+  public PlantModelCreationTO createPlantModel(int elementCount) {
+    Envelope envelope
+        = new Envelope(List.of(new Couple(0, 0), new Couple(1, 2), new Couple(0, 0)));
+    int pointCount = elementCount / 2;
+
+    List<PointCreationTO> points = new ArrayList<>();
+    for (int i = 0; i < pointCount; i++) {
+      points.add(
+          new PointCreationTO("Point-" + i)
+              .withPose(new Pose(new Triple(i, -i, 0), i % 3 == 0 ? Double.NaN : i % 360 * 0.37))
+              .withType(Point.Type.values()[i % Point.Type.values().length])
+              .withVehicleEnvelopes(i % 7 == 0 ? Map.of("e2", envelope, "e1", envelope) : Map.of())
+              .withProperties(i % 5 == 0 ? Map.of("key", "value\n" + i, "a", "b") : Map.of())
+              .withLayout(new PointCreationTO.Layout(new Couple(i * 10, i * 20),
+                                                     new Couple(-10, -20),
+                                                     i % 2))
+      );
+    }
+
+    List<PathCreationTO> paths = new ArrayList<>();
+    for (int i = 0; i < elementCount * 2 / 5; i++) {
+      paths.add(
+          new PathCreationTO("Path-" + i,
+                             "Point-" + i % pointCount,
+                             "Point-" + (i + 1) % pointCount)
+              .withLength(1000 + i)
+              .withMaxVelocity(1000)
+              .withMaxReverseVelocity(i % 2 == 0 ? 0 : 500)
+              .withLocked(i % 11 == 0)
+              .withVehicleEnvelopes(i % 17 == 1 ? Map.of("e1", envelope) : Map.of())
+              .withPeripheralOperations(
+                  i % 17 == 0
+                      ? List.of(
+                          new PeripheralOperationCreationTO("op", "Location-1")
+                              .withExecutionTrigger(
+                                  PeripheralOperation.ExecutionTrigger.AFTER_ALLOCATION
+                              )
+                              .withCompletionRequired(true)
+                      )
+                      : List.of()
+              )
+              .withLayout(new PathCreationTO.Layout(
+                  Path.Layout.ConnectionType.values()[i % 3],
+                  i % 2 == 0 ? List.of() : List.of(new Couple(1, 2), new Couple(3, 4)),
+                  i % 2
+              ))
+      );
+    }
+
+    List<LocationTypeCreationTO> locationTypes = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      locationTypes.add(
+          new LocationTypeCreationTO("LocationType-" + i)
+              .withAllowedOperations(List.of("unload", "load"))
+              .withAllowedPeripheralOperations(i % 2 == 0 ? List.of("open") : List.of())
+              .withLayout(new LocationTypeCreationTO.Layout(LocationRepresentation.DEFAULT))
+      );
+    }
+
+    List<LocationCreationTO> locations = new ArrayList<>();
+    for (int i = 0; i < elementCount / 20; i++) {
+      locations.add(
+          new LocationCreationTO("Location-" + i, "LocationType-" + i % 10, new Triple(i, i, 0))
+              .withLinks(Map.of("Point-" + i, Set.of(),
+                                "Point-" + (i + 1), Set.of("load", "unload")))
+              .withLocked(i % 2 == 0)
+              .withLayout(new LocationCreationTO.Layout(new Couple(i, -i),
+                                                        new Couple(5, 6),
+                                                        LocationRepresentation.DEFAULT,
+                                                        1))
+      );
+    }
+
+    List<VehicleCreationTO> vehicles = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      vehicles.add(
+          new VehicleCreationTO("Vehicle-" + i)
+              .withLength(1000)
+              .withMaxVelocity(1000)
+              .withMaxReverseVelocity(300)
+              .withEnvelopeKey(i % 2 == 0 ? "e1" : null)
+              .withLayout(new VehicleCreationTO.Layout(new Color(i * 20, 100, 200)))
+      );
+    }
+
+    List<BlockCreationTO> blocks = new ArrayList<>();
+    for (int i = 0; i < elementCount / 100; i++) {
+      blocks.add(
+          new BlockCreationTO("Block-" + i)
+              .withType(Block.Type.values()[i % Block.Type.values().length])
+              .withMemberNames(Set.of("Point-" + i, "Path-" + i))
+              .withLayout(new BlockCreationTO.Layout(Color.ORANGE))
+      );
+    }
+
+    return new PlantModelCreationTO("Synthetic model")
+        .withPoints(points)
+        .withPaths(paths)
+        .withLocationTypes(locationTypes)
+        .withLocations(locations)
+        .withVehicles(vehicles)
+        .withBlocks(blocks)
+        .withVisualLayout(
+            new VisualLayoutCreationTO("VLayout")
+                .withLayers(List.of(new Layer(0, 0, true, "Layer 0", 0),
+                                    new Layer(1, 1, false, "Layer 1", 1)))
+                .withLayerGroups(List.of(new LayerGroup(0, "Group 0", true),
+                                         new LayerGroup(1, "Group 1", false)))
+        )
+        .withProperties(Map.of("modelProperty", "value"));
+  }
+}
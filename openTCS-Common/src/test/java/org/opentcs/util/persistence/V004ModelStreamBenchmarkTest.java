@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.util.persistence.v004.V004PlantModelTO;
+import org.opentcs.util.persistence.v004.V004TOMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the time it takes to write and read a large plant model file with the
+ * {@link ModelParser}, which streams V004 models, with the JAXB-based persistence it used before.
+ * <p>
+ * A synthetic model with about {@value #ELEMENT_COUNT} elements is written to and read from a file,
+ * as done when saving a model and when loading it at kernel startup. Both variants are checked to
+ * yield the complete model. The measured durations are only logged, as timings depend too much on
+ * the machine's load to be asserted. The model is kept small enough for JAXB to not slow down the
+ * build noticeably; increase {@link #ELEMENT_COUNT} for meaningful measurements.
+ * </p>
+ */
+public class V004ModelStreamBenchmarkTest {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(V004ModelStreamBenchmarkTest.class);
+  /**
+   * The number of elements in the model.
+   */
+  private static final int ELEMENT_COUNT = 5000;
+  /**
+   * The number of elements in the model used for warming up.
+   */
+  private static final int WARM_UP_ELEMENT_COUNT = 1000;
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void writeAndReadLargeModelLikeJaxb()
+      throws IOException {
+    SyntheticPlantModelFactory modelFactory = new SyntheticPlantModelFactory();
+    PlantModelCreationTO warmUpModel = modelFactory.createPlantModel(WARM_UP_ELEMENT_COUNT);
+    PlantModelCreationTO model = modelFactory.createPlantModel(ELEMENT_COUNT);
+    Path streamFile = tempDir.resolve("stream.xml");
+    Path jaxbFile = tempDir.resolve("jaxb.xml");
+
+    // Warm up both variants before measuring.
+    writeWithModelParser(warmUpModel, streamFile);
+    writeWithJaxb(warmUpModel, jaxbFile);
+    readWithModelParser(streamFile);
+    readWithJaxb(jaxbFile);
+
+    long startTime = System.nanoTime();
+    writeWithModelParser(model, streamFile);
+    long streamWriteNanos = System.nanoTime() - startTime;
+
+    startTime = System.nanoTime();
+    writeWithJaxb(model, jaxbFile);
+    long jaxbWriteNanos = System.nanoTime() - startTime;
+
+    startTime = System.nanoTime();
+    PlantModelCreationTO streamedModel = readWithModelParser(streamFile);
+    long streamReadNanos = System.nanoTime() - startTime;
+
+    startTime = System.nanoTime();
+    PlantModelCreationTO jaxbModel = readWithJaxb(jaxbFile);
+    long jaxbReadNanos = System.nanoTime() - startTime;
+
+    LOG.info("Model with {} points and {} paths ({} bytes): Writing took {} ms streaming and {} ms"
+        + " with JAXB, reading took {} ms streaming and {} ms with JAXB.",
+             model.getPoints().size(),
+             model.getPaths().size(),
+             Files.size(streamFile),
+             streamWriteNanos / 1_000_000,
+             jaxbWriteNanos / 1_000_000,
+             streamReadNanos / 1_000_000,
+             jaxbReadNanos / 1_000_000);
+    assertThat(streamedModel.getPoints(), hasSize(model.getPoints().size()));
+    assertThat(streamedModel.getPaths(), hasSize(model.getPaths().size()));
+    assertThat(jaxbModel.getPoints(), hasSize(model.getPoints().size()));
+    assertThat(jaxbModel.getPaths(), hasSize(model.getPaths().size()));
+  }
+
+  private void writeWithModelParser(PlantModelCreationTO model, Path file)
+      throws IOException {
+    new ModelParser().writeModel(model, file.toFile());
+  }
+
+  private void writeWithJaxb(PlantModelCreationTO model, Path file)
+      throws IOException {
+    try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+      new V004TOMapper().map(model).toXml(writer);
+    }
+  }
+
+  private PlantModelCreationTO readWithModelParser(Path file)
+      throws IOException {
+    return new ModelParser().readModel(file.toFile());
+  }
+
+  private PlantModelCreationTO readWithJaxb(Path file)
+      throws IOException {
+    try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+      return new V004TOMapper().map(V004PlantModelTO.fromXml(reader));
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.util.persistence;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.opentcs.access.to.model.PathCreationTO;
+import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
+import org.opentcs.data.model.Couple;
+import org.opentcs.data.model.Envelope;
+import org.opentcs.util.persistence.v004.V004ModelStreamReader;
+import org.opentcs.util.persistence.v004.V004ModelStreamWriter;
+import org.opentcs.util.persistence.v004.V004PlantModelTO;
+import org.opentcs.util.persistence.v004.V004TOMapper;
+
+/**
+ * Tests for {@link V004ModelStreamReader} and {@link V004ModelStreamWriter}, comparing them with
+ * the JAXB-based persistence of V004 models.
+ */
+public class V004ModelStreamPersistenceTest {
+
+  private PlantModelCreationTO plantModel;
+
+  @BeforeEach
+  public void setUp() {
+    plantModel = new SyntheticPlantModelFactory().createPlantModel(1000);
+  }
+
+  @Test
+  public void writeSameXmlAsJaxb()
+      throws IOException {
+    assertThat(writeWithStreamWriter(plantModel), is(equalTo(writeWithJaxb(plantModel))));
+  }
+
+  @Test
+  public void readSameModelAsJaxb()
+      throws IOException {
+    String xml = writeWithJaxb(plantModel);
+
+    PlantModelCreationTO jaxbModel
+        = new V004TOMapper().map(V004PlantModelTO.fromXml(new StringReader(xml)));
+    PlantModelCreationTO streamedModel = readWithStreamReader(xml);
+
+    assertThat(writeWithJaxb(streamedModel), is(equalTo(writeWithJaxb(jaxbModel))));
+  }
+
+  @Test
+  public void preserveSpecialCharactersInAttributes()
+      throws IOException {
+    String value = "a&b<c>d\"e'f\ng\rh \u00e4\u20ac";
+    plantModel = plantModel.withProperty("special", value);
+
+    PlantModelCreationTO parsedModel = readWithStreamReader(writeWithStreamWriter(plantModel));
+
+    assertThat(parsedModel.getProperties().get("special"), is(equalTo(value)));
+  }
+
+  @Test
+  public void writeSchemaValidPathsWithVehicleEnvelopesAndPeripheralOperations()
+      throws IOException {
+    Envelope envelope
+        = new Envelope(List.of(new Couple(0, 0), new Couple(1, 1), new Couple(0, 0)));
+    plantModel = plantModel.withPath(
+        new PathCreationTO("Path-with-everything", "Point-1", "Point-2")
+            .withVehicleEnvelopes(Map.of("envelope", envelope))
+            .withPeripheralOperations(
+                List.of(new PeripheralOperationCreationTO("op", "Location-1"))
+            )
+    );
+
+    String xml = writeWithStreamWriter(plantModel);
+    // Unmarshalling via JAXB validates the document against the XML schema.
+    V004PlantModelTO jaxbModel = V004PlantModelTO.fromXml(new StringReader(xml));
+    PlantModelCreationTO streamedModel = readWithStreamReader(xml);
+
+    assertThat(jaxbModel.getPaths(), hasSize(plantModel.getPaths().size()));
+    PathCreationTO path = streamedModel.getPaths().stream()
+        .filter(curPath -> curPath.getName().equals("Path-with-everything"))
+        .findAny()
+        .orElseThrow();
+    assertThat(path.getVehicleEnvelopes(), is(aMapWithSize(1)));
+    assertThat(path.getPeripheralOperations(), hasSize(1));
+  }
+
+  @Test
+  public void rejectElementWithMissingRequiredAttribute() {
+    String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+        + "<model version=\"0.0.4\" name=\"model\">\n"
+        + "    <point name=\"Point-1\" xPosition=\"0\" type=\"HALT_POSITION\"/>\n"
+        + "</model>\n";
+
+    assertThrows(IOException.class, () -> readWithStreamReader(xml));
+  }
+
+  @Test
+  public void rejectUnexpectedElement() {
+    String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+        + "<model version=\"0.0.4\" name=\"model\">\n"
+        + "    <something/>\n"
+        + "</model>\n";
+
+    assertThrows(IOException.class, () -> readWithStreamReader(xml));
+  }
+
+  private String writeWithJaxb(PlantModelCreationTO model)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    new V004TOMapper().map(model).toXml(writer);
+    return writer.toString();
+  }
+
+  private String writeWithStreamWriter(PlantModelCreationTO model)
+      throws IOException {
+    StringWriter writer = new StringWriter();
+    new V004ModelStreamWriter().write(model, writer);
+    return writer.toString();
+  }
+
+  private PlantModelCreationTO readWithStreamReader(String xml)
+      throws IOException {
+    return new V004ModelStreamReader().read(new StringReader(xml));
+  }
+}
@@ -10,6 +10,7 @@ package org.opentcs.kernel.extensions.servicewebapi;
 import com.google.common.base.Strings;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,8 +50,19 @@ public class Authenticator {
   public boolean isAuthenticated(Request request) {
     requireNonNull(request, "request");
 
-    String requestAccessKey = request.headers(HttpConstants.HEADER_NAME_ACCESS_KEY);
-    LOG.debug("Provided access key in header is '{}', required value is '{}'",
+    return isAuthenticated(request.headers(HttpConstants.HEADER_NAME_ACCESS_KEY));
+  }
+
+  /**
+   * Checks whether authentication is required and the given access key is the required one.
+   *
+   * @param requestAccessKey The access key provided with a request, or <code>null</code>, if none
+   * was provided.
+   * @return <code>true</code> if, and only if, authentication is required and the given access key
+   * is the required one.
+   */
+  public boolean isAuthenticated(@Nullable String requestAccessKey) {
+    LOG.debug("Provided access key is '{}', required value is '{}'",
               requestAccessKey,
               configuration.accessKey());
 
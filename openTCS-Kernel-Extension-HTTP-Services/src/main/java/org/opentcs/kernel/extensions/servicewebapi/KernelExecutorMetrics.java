@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi;
+
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how the web API uses the kernel executor.
+ * <p>
+ * Instances of this class are thread-safe.
+ * </p>
+ */
+public class KernelExecutorMetrics
+    implements KernelExecutorMetricsMBean {
+
+  /**
+   * The kernel executor.
+   */
+  private final ExecutorService kernelExecutor;
+  /**
+   * The number of calls made via the kernel executor.
+   */
+  private final AtomicLong executorCallCount = new AtomicLong();
+  /**
+   * The number of read-only calls made without using the kernel executor.
+   */
+  private final LongAdder readOnlyCallCount = new LongAdder();
+  /**
+   * The accumulated time (in ns) calls via the kernel executor waited in its queue.
+   */
+  private final LongAdder executorWaitNanos = new LongAdder();
+  /**
+   * The maximum time (in ns) a call via the kernel executor waited in its queue.
+   */
+  private final LongAccumulator maxExecutorWaitNanos = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Creates a new instance.
+   *
+   * @param kernelExecutor The kernel executor.
+   */
+  public KernelExecutorMetrics(ExecutorService kernelExecutor) {
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+  }
+
+  @Override
+  public int getQueueDepth() {
+    if (!(kernelExecutor instanceof ThreadPoolExecutor)) {
+      return 0;
+    }
+
+    // The queue of a scheduled executor also contains (periodic) tasks that are not due, yet.
+    return (int) ((ThreadPoolExecutor) kernelExecutor).getQueue().stream()
+        .filter(task -> !(task instanceof Delayed)
+            || ((Delayed) task).getDelay(TimeUnit.NANOSECONDS) <= 0)
+        .count();
+  }
+
+  @Override
+  public long getExecutorCallCount() {
+    return executorCallCount.get();
+  }
+
+  @Override
+  public long getReadOnlyCallCount() {
+    return readOnlyCallCount.sum();
+  }
+
+  @Override
+  public double getAverageExecutorWaitMillis() {
+    long callCount = executorCallCount.get();
+    if (callCount == 0) {
+      return 0.0;
+    }
+    return (double) executorWaitNanos.sum() / callCount / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  @Override
+  public long getMaxExecutorWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxExecutorWaitNanos.get());
+  }
+
+  /**
+   * Records a call that was executed by the kernel executor.
+   *
+   * @param waitNanos The time (in ns) the call waited in the kernel executor's queue.
+   */
+  void executorCallStarted(long waitNanos) {
+    executorWaitNanos.add(waitNanos);
+    maxExecutorWaitNanos.accumulate(waitNanos);
+    executorCallCount.incrementAndGet();
+  }
+
+  /**
+   * Records a read-only call that was executed without using the kernel executor.
+   */
+  void readOnlyCallStarted() {
+    readOnlyCallCount.increment();
+  }
+}
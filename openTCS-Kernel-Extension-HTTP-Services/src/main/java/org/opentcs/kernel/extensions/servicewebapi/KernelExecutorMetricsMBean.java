@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi;
+
+/**
+ * The management interface of {@link KernelExecutorMetrics}.
+ */
+public interface KernelExecutorMetricsMBean {
+
+  /**
+   * Returns the number of tasks currently waiting in the kernel executor's queue to be executed.
+   * Scheduled tasks that are not due, yet, are not counted.
+   *
+   * @return The number of tasks currently waiting in the kernel executor's queue.
+   */
+  int getQueueDepth();
+
+  /**
+   * Returns the number of calls the web API made via the kernel executor.
+   *
+   * @return The number of calls the web API made via the kernel executor.
+   */
+  long getExecutorCallCount();
+
+  /**
+   * Returns the number of read-only calls the web API made without using the kernel executor.
+   *
+   * @return The number of read-only calls the web API made without using the kernel executor.
+   */
+  long getReadOnlyCallCount();
+
+  /**
+   * Returns the average time (in ms) calls via the kernel executor waited in its queue.
+   *
+   * @return The average time (in ms) calls via the kernel executor waited in its queue.
+   */
+  double getAverageExecutorWaitMillis();
+
+  /**
+   * Returns the maximum time (in ms) a call via the kernel executor waited in its queue.
+   *
+   * @return The maximum time (in ms) a call via the kernel executor waited in its queue.
+   */
+  long getMaxExecutorWaitMillis();
+}
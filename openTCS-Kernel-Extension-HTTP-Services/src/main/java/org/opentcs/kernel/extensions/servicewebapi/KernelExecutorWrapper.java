@@ -18,10 +18,18 @@ import org.opentcs.customizations.kernel.KernelExecutor;
 
 /**
  * Calls callables/runnables via the kernel executor and waits for the outcome.
+ * <p>
+ * Read-only calls may instead be executed directly in the calling thread, as the kernel's services
+ * can be read from concurrently without involving the kernel executor.
+ * </p>
  */
 public class KernelExecutorWrapper {
 
   private final ExecutorService kernelExecutor;
+  /**
+   * Keeps track of how the kernel executor is used.
+   */
+  private final KernelExecutorMetrics metrics;
 
   /**
    * Creates a new instance.
@@ -31,6 +39,16 @@ public class KernelExecutorWrapper {
   @Inject
   public KernelExecutorWrapper(@KernelExecutor ExecutorService kernelExecutor) {
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    this.metrics = new KernelExecutorMetrics(kernelExecutor);
+  }
+
+  /**
+   * Returns the metrics on the usage of the kernel executor.
+   *
+   * @return The metrics on the usage of the kernel executor.
+   */
+  public KernelExecutorMetrics getMetrics() {
+    return metrics;
   }
 
   /**
@@ -49,8 +67,12 @@ public class KernelExecutorWrapper {
       throws IllegalStateException, RuntimeException {
     requireNonNull(callable, "callable");
 
+    long submissionTime = System.nanoTime();
     try {
-      return kernelExecutor.submit(callable).get();
+      return kernelExecutor.submit(() -> {
+        metrics.executorCallStarted(System.nanoTime() - submissionTime);
+        return callable.call();
+      }).get();
     }
     catch (InterruptedException exc) {
       throw new IllegalStateException("Unexpectedly interrupted");
@@ -79,4 +101,35 @@ public class KernelExecutorWrapper {
 
     callAndWait(Executors.callable(runnable));
   }
+
+  /**
+   * Calls the given read-only callable directly in the calling thread, without involving the
+   * kernel executor.
+   * <p>
+   * The callable may only read from the kernel's services. Anything that modifies the kernel's
+   * state has to be called via {@link #callAndWait(Callable)}.
+   * </p>
+   *
+   * @param <T> The callable's return type.
+   * @param callable The callable.
+   * @return The result of the call.
+   * @throws RuntimeException In case an exception was thrown from the callable. If the exception
+   * thrown is a {@code RuntimeException}, it is forwarded directly; if it is not a
+   * {@code RuntimeException}, it is wrapped in a {@link KernelRuntimeException}.
+   */
+  public <T> T callReadOnly(Callable<T> callable)
+      throws RuntimeException {
+    requireNonNull(callable, "callable");
+
+    metrics.readOnlyCallStarted();
+    try {
+      return callable.call();
+    }
+    catch (RuntimeException exc) {
+      throw exc;
+    }
+    catch (Exception exc) {
+      throw new KernelRuntimeException(exc);
+    }
+  }
 }
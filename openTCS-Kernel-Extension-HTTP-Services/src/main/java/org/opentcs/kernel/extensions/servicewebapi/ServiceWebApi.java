@@ -8,9 +8,12 @@
 package org.opentcs.kernel.extensions.servicewebapi;
 
 import com.google.common.util.concurrent.Uninterruptibles;
+import java.lang.management.ManagementFactory;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.TimeUnit;
 import javax.inject.Inject;
+import javax.management.JMException;
+import javax.management.ObjectName;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.access.SslParameterSet;
 import org.opentcs.components.kernel.KernelExtension;
@@ -34,6 +37,11 @@ public class ServiceWebApi
    * This class's logger.
    */
   private static final Logger LOG = LoggerFactory.getLogger(ServiceWebApi.class);
+  /**
+   * The name under which the kernel executor metrics are registered with the platform MBean server.
+   */
+  private static final String METRICS_OBJECT_NAME
+      = "org.opentcs.kernel.extensions.servicewebapi:type=KernelExecutorMetrics";
   /**
    * The interface configuration.
    */
@@ -54,6 +62,10 @@ public class ServiceWebApi
    * The connection encryption configuration.
    */
   private final SslParameterSet sslParamSet;
+  /**
+   * Calls the kernel's services, via the kernel executor or directly.
+   */
+  private final KernelExecutorWrapper executorWrapper;
   /**
    * The actual HTTP service.
    */
@@ -71,18 +83,21 @@ public class ServiceWebApi
    * @param authenticator Authenticates incoming requests.
    * @param jsonBinder Binds JSON data to objects and vice versa.
    * @param v1RequestHandler Handles requests for API version 1.
+   * @param executorWrapper Calls the kernel's services, via the kernel executor or directly.
    */
   @Inject
   public ServiceWebApi(ServiceWebApiConfiguration configuration,
                        SslParameterSet sslParamSet,
                        Authenticator authenticator,
                        JsonBinder jsonBinder,
-                       V1RequestHandler v1RequestHandler) {
+                       V1RequestHandler v1RequestHandler,
+                       KernelExecutorWrapper executorWrapper) {
     this.configuration = requireNonNull(configuration, "configuration");
     this.sslParamSet = requireNonNull(sslParamSet, "sslParamSet");
     this.authenticator = requireNonNull(authenticator, "authenticator");
     this.jsonBinder = requireNonNull(jsonBinder, "jsonBinder");
     this.v1RequestHandler = requireNonNull(v1RequestHandler, "v1RequestHandler");
+    this.executorWrapper = requireNonNull(executorWrapper, "executorWrapper");
   }
 
   @Override
@@ -105,6 +120,7 @@ public class ServiceWebApi
     }
 
     v1RequestHandler.initialize();
+    registerMetrics();
 
     service = Service.ignite()
         .ipAddress(configuration.bindAddress())
@@ -120,6 +136,10 @@ public class ServiceWebApi
       LOG.warn("Encryption disabled, connections will not be secured!");
     }
 
+    // WebSocket endpoints have to be registered before any routes or filters. They are not subject
+    // to the filters and authenticate connection requests themselves.
+    v1RequestHandler.addWebSockets(service);
+
     service.before((request, response) -> {
       if (!authenticator.isAuthenticated(request)) {
         // Delay the response a bit to slow down brute force attacks.
@@ -190,6 +210,7 @@ public class ServiceWebApi
 
     v1RequestHandler.terminate();
     service.stop();
+    unregisterMetrics();
 
     initialized = false;
   }
@@ -199,4 +220,29 @@ public class ServiceWebApi
     return initialized;
   }
 
+  private void registerMetrics() {
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .registerMBean(executorWrapper.getMetrics(), new ObjectName(METRICS_OBJECT_NAME));
+    }
+    catch (JMException exc) {
+      LOG.warn("Could not register kernel executor metrics", exc);
+    }
+  }
+
+  private void unregisterMetrics() {
+    KernelExecutorMetrics metrics = executorWrapper.getMetrics();
+    LOG.info("Made {} calls via the kernel executor (max. wait {} ms), {} read-only calls.",
+             metrics.getExecutorCallCount(),
+             metrics.getMaxExecutorWaitMillis(),
+             metrics.getReadOnlyCallCount());
+    try {
+      ManagementFactory.getPlatformMBeanServer()
+          .unregisterMBean(new ObjectName(METRICS_OBJECT_NAME));
+    }
+    catch (JMException exc) {
+      LOG.warn("Could not unregister kernel executor metrics", exc);
+    }
+  }
+
 }
@@ -55,8 +55,8 @@ public interface ServiceWebApiConfiguration {
 
   @ConfigurationEntry(
       type = "Integer",
-      description = "Maximum number of status events to be kept.",
-      changesApplied = ConfigurationEntry.ChangesApplied.INSTANTLY,
+      description = "Maximum number of status events to be kept. Must be at least 1.",
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_NEW_PLANT_MODEL,
       orderKey = "4"
   )
   int statusEventsCapacity();
@@ -89,7 +89,7 @@ public class PeripheralHandler {
       throws ObjectUnknownException {
     requireNonNull(name, "name");
 
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       Location location = peripheralService.fetchObject(Location.class, name);
       if (location == null) {
         throw new ObjectUnknownException("Unknown location: " + name);
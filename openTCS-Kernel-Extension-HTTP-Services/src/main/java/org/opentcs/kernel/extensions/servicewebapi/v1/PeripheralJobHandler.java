@@ -124,7 +124,7 @@ public class PeripheralJobHandler {
       @Nullable String relatedVehicle,
       @Nullable String relatedTransportOrder
   ) {
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       // If a related vehicle is set, make sure it exists.
       TCSObjectReference<Vehicle> relatedVehicleRef
           = Optional.ofNullable(relatedVehicle)
@@ -167,7 +167,7 @@ public class PeripheralJobHandler {
   public GetPeripheralJobResponseTO getPeripheralJobByName(@Nonnull String name) {
     requireNonNull(name, "name");
 
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       PeripheralJob job = jobService.fetchObject(PeripheralJob.class, name);
       if (job == null) {
         throw new ObjectUnknownException("Unknown peripheral job: " + name);
@@ -7,14 +7,21 @@
  */
 package org.opentcs.kernel.extensions.servicewebapi.v1;
 
-import java.util.Collection;
 import static java.util.Objects.requireNonNull;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.Kernel;
 import org.opentcs.access.KernelStateTransitionEvent;
 import org.opentcs.components.Lifecycle;
+import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectEvent;
@@ -35,6 +42,18 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Provides descriptions of recent events.
+ * <p>
+ * Events are kept in a ring buffer with a fixed capacity, indexed by their sequence numbers.
+ * Readers copy events out of the buffer without any locking, so they never block the thread
+ * publishing events. Requests waiting for new events are parked as futures that are only completed
+ * once an event within their requested range has been published (or their timeout has expired).
+ * </p>
+ * <p>
+ * If kernel events have been dropped before reaching this dispatcher (see
+ * {@link EventsDroppedEvent}), status messages with the current states of all vehicles and all
+ * unfinished transport orders and peripheral jobs are published, so clients do not keep outdated
+ * states.
+ * </p>
  */
 public class StatusEventDispatcher
     implements Lifecycle,
@@ -53,13 +72,17 @@ public class StatusEventDispatcher
    */
   private final EventSource eventSource;
   /**
-   * The events collected.
+   * The service to retrieve current object states from.
    */
-  private final SortedMap<Long, StatusMessage> events = new TreeMap<>();
+  private final TCSObjectService objectService;
   /**
-   * The number of events collected so far.
+   * The requests currently waiting for new events.
    */
-  private long eventCount;
+  private final Set<EventWaiter> waiters = ConcurrentHashMap.newKeySet();
+  /**
+   * The events collected.
+   */
+  private volatile EventRing events = new EventRing(1);
   /**
    * Whether this instance is initialized.
    */
@@ -71,9 +94,11 @@ public class StatusEventDispatcher
 
   @Inject
   public StatusEventDispatcher(ServiceWebApiConfiguration configuration,
-                               @ApplicationEventBus EventSource eventSource) {
+                               @ApplicationEventBus EventSource eventSource,
+                               TCSObjectService objectService) {
     this.configuration = requireNonNull(configuration, "configuration");
     this.eventSource = requireNonNull(eventSource, "eventSource");
+    this.objectService = requireNonNull(objectService, "objectService");
   }
 
   @Override
@@ -82,6 +107,7 @@ public class StatusEventDispatcher
       return;
     }
 
+    events = new EventRing(configuration.statusEventsCapacity());
     eventSource.subscribe(this);
 
     initialized = true;
@@ -99,6 +125,8 @@ public class StatusEventDispatcher
     }
 
     eventSource.unsubscribe(this);
+    // Let waiting requests return immediately.
+    waiters.forEach(EventWaiter::wakeUp);
 
     initialized = false;
   }
@@ -116,11 +144,18 @@ public class StatusEventDispatcher
     if (event instanceof TCSObjectEvent) {
       handleObjectEvent((TCSObjectEvent) event);
     }
+    else if (event instanceof EventsDroppedEvent) {
+      handleEventsDropped((EventsDroppedEvent) event);
+    }
   }
 
   /**
    * Provides a list of events within the given range, waiting at most <code>timeout</code>
    * milliseconds for new events if there currently aren't any.
+   * <p>
+   * This method blocks the calling thread while waiting for new events. Callers that must not be
+   * blocked should use {@link #fetchEventsAsync(long, long, long)}, instead.
+   * </p>
    *
    * @param minSequenceNo The minimum sequence number for accepted events.
    * @param maxSequenceNo The maximum sequence number for accepted events.
@@ -129,24 +164,71 @@ public class StatusEventDispatcher
    */
   public GetEventsResponseTO fetchEvents(long minSequenceNo, long maxSequenceNo, long timeout)
       throws IllegalArgumentException {
+    try {
+      return fetchEventsAsync(minSequenceNo, maxSequenceNo, timeout).join();
+    }
+    catch (CompletionException | CancellationException exc) {
+      LOG.warn("Unexpected exception while waiting for events", exc);
+      return readEvents(minSequenceNo, maxSequenceNo);
+    }
+  }
+
+  /**
+   * Provides a list of events within the given range, waiting at most <code>timeout</code>
+   * milliseconds for new events if there currently aren't any.
+   * <p>
+   * Unlike {@link #fetchEvents(long, long, long)}, this method does not block the calling thread
+   * while waiting for new events.
+   * </p>
+   *
+   * @param minSequenceNo The minimum sequence number for accepted events.
+   * @param maxSequenceNo The maximum sequence number for accepted events.
+   * @param timeout The maximum time to wait for events (in ms) if there currently aren't any.
+   * @return A future that will be completed with a list of events within the given range.
+   */
+  @Nonnull
+  public CompletableFuture<GetEventsResponseTO> fetchEventsAsync(long minSequenceNo,
+                                                                 long maxSequenceNo,
+                                                                 long timeout)
+      throws IllegalArgumentException {
     checkInRange(minSequenceNo, 0, Long.MAX_VALUE, "minSequenceNo");
     checkInRange(maxSequenceNo, minSequenceNo, Long.MAX_VALUE, "maxSequenceNo");
     checkInRange(timeout, 0, Long.MAX_VALUE, "timeout");
 
-    GetEventsResponseTO result = new GetEventsResponseTO();
-    synchronized (events) {
-      Collection<StatusMessage> messages = events.subMap(minSequenceNo, maxSequenceNo).values();
-      if (messages.isEmpty()) {
-        try {
-          events.wait(timeout);
-        }
-        catch (InterruptedException exc) {
-          LOG.warn("Unexpectedly interrupted", exc);
-        }
-      }
-      messages = events.subMap(minSequenceNo, maxSequenceNo).values();
-      result.getStatusMessages().addAll(messages);
+    GetEventsResponseTO result = readEvents(minSequenceNo, maxSequenceNo);
+    if (!result.getStatusMessages().isEmpty() || timeout == 0) {
+      return CompletableFuture.completedFuture(result);
+    }
+
+    EventWaiter waiter = new EventWaiter(minSequenceNo, maxSequenceNo);
+    waiters.add(waiter);
+    // An event may have been published after reading the events above, but before the waiter was
+    // registered.
+    if (events.containsEventsWithin(minSequenceNo, maxSequenceNo)) {
+      waiter.wakeUp();
     }
+
+    return waiter.getWakeUp()
+        .completeOnTimeout(null, timeout, TimeUnit.MILLISECONDS)
+        .whenComplete((ignored, exc) -> waiters.remove(waiter))
+        .thenApplyAsync(ignored -> readEvents(minSequenceNo, maxSequenceNo));
+  }
+
+  /**
+   * Returns the sequence number the next event will be published with.
+   * <p>
+   * Sequence numbers start at 0 again whenever the kernel has entered operating mode.
+   * </p>
+   *
+   * @return The sequence number the next event will be published with.
+   */
+  public long getNextSequenceNo() {
+    return events.getNextSequenceNo();
+  }
+
+  private GetEventsResponseTO readEvents(long minSequenceNo, long maxSequenceNo) {
+    GetEventsResponseTO result = new GetEventsResponseTO();
+    events.copyEventsWithin(minSequenceNo, maxSequenceNo, result);
     return result;
   }
 
@@ -157,58 +239,184 @@ public class StatusEventDispatcher
 
     // When switching collecting of events on, ensure we start clean.
     if (!wasOn && eventCollectingOn) {
-      synchronized (events) {
-        eventCount = 0;
-        events.clear();
-      }
+      events = new EventRing(configuration.statusEventsCapacity());
     }
   }
 
   private void handleObjectEvent(TCSObjectEvent event) {
     TCSObject<?> object = event.getCurrentOrPreviousObjectState();
     if (object instanceof TransportOrder) {
-      synchronized (events) {
-        addOrderStatusMessage((TransportOrder) object, eventCount);
-        eventCount++;
-        cleanUpEvents();
-        events.notifyAll();
-      }
+      publish(sequenceNumber -> OrderStatusMessage.fromTransportOrder((TransportOrder) object,
+                                                                      sequenceNumber));
     }
     else if (object instanceof Vehicle) {
-      synchronized (events) {
-        addVehicleStatusMessage((Vehicle) object, eventCount);
-        eventCount++;
-        cleanUpEvents();
-        events.notifyAll();
-      }
+      publish(sequenceNumber -> VehicleStatusMessage.fromVehicle((Vehicle) object,
+                                                                 sequenceNumber));
     }
     else if (object instanceof PeripheralJob) {
-      synchronized (events) {
-        addPeripheralStatusMessage((PeripheralJob) object, eventCount);
-        eventCount++;
-        cleanUpEvents();
-        events.notifyAll();
-      }
+      publish(sequenceNumber -> PeripheralJobStatusMessage.fromPeripheralJob((PeripheralJob) object,
+                                                                             sequenceNumber));
     }
   }
 
-  private void addOrderStatusMessage(TransportOrder order, long sequenceNumber) {
-    events.put(sequenceNumber, OrderStatusMessage.fromTransportOrder(order, sequenceNumber));
+  private void handleEventsDropped(EventsDroppedEvent event) {
+    LOG.warn("{} kernel events have been dropped, publishing current object states.",
+             event.getDroppedEventCount());
+    for (Vehicle vehicle : objectService.fetchObjects(Vehicle.class)) {
+      publish(sequenceNumber -> VehicleStatusMessage.fromVehicle(vehicle, sequenceNumber));
+    }
+    for (TransportOrder order
+             : objectService.fetchObjects(TransportOrder.class,
+                                          order -> !order.getState().isFinalState())) {
+      publish(sequenceNumber -> OrderStatusMessage.fromTransportOrder(order, sequenceNumber));
+    }
+    for (PeripheralJob job
+             : objectService.fetchObjects(PeripheralJob.class,
+                                          job -> !job.getState().isFinalState())) {
+      publish(sequenceNumber -> PeripheralJobStatusMessage.fromPeripheralJob(job,
+                                                                             sequenceNumber));
+    }
   }
 
-  private void addVehicleStatusMessage(Vehicle vehicle, long sequenceNumber) {
-    events.put(sequenceNumber, VehicleStatusMessage.fromVehicle(vehicle, sequenceNumber));
+  private void publish(MessageFactory messageFactory) {
+    long sequenceNumber = events.add(messageFactory);
+
+    for (EventWaiter waiter : waiters) {
+      if (waiter.isWaitingFor(sequenceNumber)) {
+        waiter.wakeUp();
+      }
+    }
   }
 
-  private void addPeripheralStatusMessage(PeripheralJob job, long sequenceNumber) {
-    events.put(sequenceNumber, PeripheralJobStatusMessage.fromPeripheralJob(job, sequenceNumber));
+  /**
+   * Creates a status message for a given sequence number.
+   */
+  private interface MessageFactory {
+
+    StatusMessage create(long sequenceNumber);
   }
 
-  private void cleanUpEvents() {
-    // XXX Sanitize maxEventCount
-    int maxEventCount = configuration.statusEventsCapacity();
-    while (events.size() > maxEventCount) {
-      events.remove(events.firstKey());
+  /**
+   * A ring buffer of status messages with a fixed capacity, indexed by sequence number.
+   * <p>
+   * Messages are only added by one thread at a time, but may be read concurrently by any number of
+   * threads without locking. A reader validates each message's sequence number to skip slots that
+   * have been overwritten in the meantime.
+   * </p>
+   */
+  private static class EventRing {
+
+    /**
+     * The slots of this ring buffer.
+     */
+    private final AtomicReferenceArray<StatusMessage> slots;
+    /**
+     * The sequence number of the next message to be added, i.e. the number of messages added so
+     * far.
+     */
+    private volatile long nextSequenceNo;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param capacity The maximum number of messages to be kept.
+     * @throws IllegalArgumentException If the given capacity is less than 1.
+     */
+    EventRing(int capacity)
+        throws IllegalArgumentException {
+      this.slots = new AtomicReferenceArray<>(checkInRange(capacity,
+                                                           1,
+                                                           Integer.MAX_VALUE,
+                                                           "capacity"));
+    }
+
+    /**
+     * Adds a message with the next sequence number, overwriting the oldest message if the capacity
+     * has been reached.
+     *
+     * @param messageFactory Creates the message for the sequence number.
+     * @return The new message's sequence number.
+     */
+    public synchronized long add(MessageFactory messageFactory) {
+      long sequenceNumber = nextSequenceNo;
+      slots.set(slotIndex(sequenceNumber), messageFactory.create(sequenceNumber));
+      nextSequenceNo = sequenceNumber + 1;
+      return sequenceNumber;
+    }
+
+    public long getNextSequenceNo() {
+      return nextSequenceNo;
+    }
+
+    /**
+     * Checks whether this ring contains any messages within the given range.
+     *
+     * @param minSequenceNo The minimum sequence number (inclusive).
+     * @param maxSequenceNo The maximum sequence number (exclusive).
+     * @return Whether this ring contains any messages within the given range.
+     */
+    public boolean containsEventsWithin(long minSequenceNo, long maxSequenceNo) {
+      long end = nextSequenceNo;
+      return Math.max(minSequenceNo, end - slots.length()) < Math.min(end, maxSequenceNo);
+    }
+
+    /**
+     * Copies the messages within the given range into the given response.
+     *
+     * @param minSequenceNo The minimum sequence number (inclusive).
+     * @param maxSequenceNo The maximum sequence number (exclusive).
+     * @param response The response to copy the messages into.
+     */
+    public void copyEventsWithin(long minSequenceNo,
+                                 long maxSequenceNo,
+                                 GetEventsResponseTO response) {
+      long end = Math.min(nextSequenceNo, maxSequenceNo);
+      for (long sequenceNumber = Math.max(minSequenceNo, nextSequenceNo - slots.length());
+           sequenceNumber < end;
+           sequenceNumber++) {
+        StatusMessage message = slots.get(slotIndex(sequenceNumber));
+        // The slot may have been overwritten with a newer message since we started reading.
+        if (message != null && message.getSequenceNumber() == sequenceNumber) {
+          response.getStatusMessages().add(message);
+        }
+      }
+    }
+
+    private int slotIndex(long sequenceNumber) {
+      return (int) (sequenceNumber % slots.length());
+    }
+  }
+
+  /**
+   * A request waiting for events within a range of sequence numbers.
+   */
+  private static class EventWaiter {
+
+    private final long minSequenceNo;
+    private final long maxSequenceNo;
+    private final CompletableFuture<Void> wakeUp = new CompletableFuture<>();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param minSequenceNo The minimum sequence number (inclusive).
+     * @param maxSequenceNo The maximum sequence number (exclusive).
+     */
+    EventWaiter(long minSequenceNo, long maxSequenceNo) {
+      this.minSequenceNo = minSequenceNo;
+      this.maxSequenceNo = maxSequenceNo;
+    }
+
+    public boolean isWaitingFor(long sequenceNumber) {
+      return minSequenceNo <= sequenceNumber && sequenceNumber < maxSequenceNo;
+    }
+
+    public CompletableFuture<Void> getWakeUp() {
+      return wakeUp;
+    }
+
+    public void wakeUp() {
+      wakeUp.complete(null);
     }
   }
 }
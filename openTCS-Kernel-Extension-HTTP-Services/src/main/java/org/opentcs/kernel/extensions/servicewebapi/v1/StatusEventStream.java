@@ -0,0 +1,252 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi.v1;
+
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketError;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+import org.opentcs.kernel.extensions.servicewebapi.Authenticator;
+import org.opentcs.kernel.extensions.servicewebapi.HttpConstants;
+import org.opentcs.kernel.extensions.servicewebapi.JsonBinder;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetEventsResponseTO;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.StatusMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams status events to WebSocket clients.
+ * <p>
+ * Each client receives the events provided by the {@link StatusEventDispatcher}, starting with a
+ * requested sequence number and filtered according to the query parameters of its connection
+ * request (see {@link StatusMessageFilter}). Events are sent as {@link GetEventsResponseTO}s, i.e.
+ * in the same format as with polling.
+ * </p>
+ * <p>
+ * Since browsers' WebSocket APIs cannot set HTTP headers, the access key may also be given as a
+ * query parameter of the connection request, if it is not given as a header.
+ * </p>
+ * <p>
+ * Events are pulled for a client only after the previous message to it has been sent completely,
+ * so a slow client does not cause events to pile up in memory. If a client falls behind by more
+ * than the dispatcher's capacity, it misses the overwritten events, which it can detect by a gap
+ * in the sequence numbers.
+ * </p>
+ */
+@WebSocket
+public class StatusEventStream {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(StatusEventStream.class);
+  /**
+   * The query parameter for the minimum sequence number of events to be streamed.
+   */
+  public static final String PARAM_MIN_SEQUENCE_NO = "minSequenceNo";
+  /**
+   * The query parameter for the access key, as an alternative to the header.
+   */
+  public static final String PARAM_ACCESS_KEY = "accessKey";
+  /**
+   * The maximum time (in ms) to wait for new events before checking a connection again.
+   */
+  private static final long FETCH_TIMEOUT = 10000;
+  /**
+   * Authenticates incoming connection requests.
+   */
+  private final Authenticator authenticator;
+  /**
+   * Binds JSON data to objects and vice versa.
+   */
+  private final JsonBinder jsonBinder;
+  /**
+   * Provides the events to be streamed.
+   */
+  private final StatusEventDispatcher statusEventDispatcher;
+  /**
+   * The subscriptions of currently connected clients, mapped by session.
+   */
+  private final Map<Session, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param authenticator Authenticates incoming connection requests.
+   * @param jsonBinder Binds JSON data to objects and vice versa.
+   * @param statusEventDispatcher Provides the events to be streamed.
+   */
+  @Inject
+  public StatusEventStream(Authenticator authenticator,
+                           JsonBinder jsonBinder,
+                           StatusEventDispatcher statusEventDispatcher) {
+    this.authenticator = requireNonNull(authenticator, "authenticator");
+    this.jsonBinder = requireNonNull(jsonBinder, "jsonBinder");
+    this.statusEventDispatcher = requireNonNull(statusEventDispatcher, "statusEventDispatcher");
+  }
+
+  @OnWebSocketConnect
+  public void onConnect(Session session) {
+    Map<String, List<String>> parameters = session.getUpgradeRequest().getParameterMap();
+    if (!authenticator.isAuthenticated(accessKey(session, parameters))) {
+      session.close(StatusCode.POLICY_VIOLATION, "Not authenticated.");
+      return;
+    }
+
+    Subscription subscription;
+    try {
+      subscription = new Subscription(session,
+                                      minSequenceNo(parameters),
+                                      StatusMessageFilter.fromParameters(parameters));
+    }
+    catch (IllegalArgumentException exc) {
+      session.close(StatusCode.BAD_DATA, exc.getMessage());
+      return;
+    }
+
+    LOG.debug("Streaming events to {}", session.getRemoteAddress());
+    subscriptions.put(session, subscription);
+    subscription.fetchEvents();
+  }
+
+  @OnWebSocketClose
+  public void onClose(Session session, int statusCode, String reason) {
+    LOG.debug("Stopped streaming events to {}: {} {}",
+              session.getRemoteAddress(),
+              statusCode,
+              reason);
+    subscriptions.remove(session);
+  }
+
+  @OnWebSocketError
+  public void onError(Session session, Throwable cause) {
+    LOG.debug("Error streaming events to {}", session.getRemoteAddress(), cause);
+    subscriptions.remove(session);
+  }
+
+  private String accessKey(Session session, Map<String, List<String>> parameters) {
+    String accessKey = session.getUpgradeRequest().getHeader(HttpConstants.HEADER_NAME_ACCESS_KEY);
+    if (accessKey != null) {
+      return accessKey;
+    }
+    List<String> values = parameters.getOrDefault(PARAM_ACCESS_KEY, List.of());
+    return values.isEmpty() ? null : values.get(0);
+  }
+
+  private long minSequenceNo(Map<String, List<String>> parameters)
+      throws IllegalArgumentException {
+    List<String> values = parameters.getOrDefault(PARAM_MIN_SEQUENCE_NO, List.of());
+    if (values.isEmpty()) {
+      return 0;
+    }
+    try {
+      long minSequenceNo = Long.parseLong(values.get(0));
+      if (minSequenceNo < 0) {
+        throw new IllegalArgumentException("Negative minSequenceNo: " + values.get(0));
+      }
+      return minSequenceNo;
+    }
+    catch (NumberFormatException exc) {
+      throw new IllegalArgumentException("Malformed minSequenceNo: " + values.get(0));
+    }
+  }
+
+  /**
+   * The state of streaming events to a single client.
+   */
+  private class Subscription
+      implements WriteCallback {
+
+    private final Session session;
+    private final StatusMessageFilter filter;
+    /**
+     * The sequence number of the next event to be fetched for the client.
+     */
+    private volatile long nextSequenceNo;
+
+    Subscription(Session session, long nextSequenceNo, StatusMessageFilter filter) {
+      this.session = requireNonNull(session, "session");
+      this.nextSequenceNo = nextSequenceNo;
+      this.filter = requireNonNull(filter, "filter");
+    }
+
+    public void fetchEvents() {
+      if (!isActive()) {
+        return;
+      }
+      if (statusEventDispatcher.getNextSequenceNo() < nextSequenceNo) {
+        // Sequence numbers have been reset since the kernel has entered operating mode again.
+        nextSequenceNo = 0;
+      }
+
+      // Continue asynchronously, so that sending many messages in a row does not grow the stack.
+      statusEventDispatcher.fetchEventsAsync(nextSequenceNo, Long.MAX_VALUE, FETCH_TIMEOUT)
+          .thenAcceptAsync(this::sendEvents)
+          .exceptionally(exc -> {
+            LOG.warn("Failed streaming events to {}", session.getRemoteAddress(), exc);
+            session.close(StatusCode.SERVER_ERROR, "Failed streaming events.");
+            return null;
+          });
+    }
+
+    @Override
+    public void writeSuccess() {
+      fetchEvents();
+    }
+
+    @Override
+    public void writeFailed(Throwable cause) {
+      LOG.debug("Failed sending events to {}", session.getRemoteAddress(), cause);
+      session.close(StatusCode.SERVER_ERROR, "Failed sending events.");
+    }
+
+    private void sendEvents(GetEventsResponseTO events) {
+      if (!isActive()) {
+        return;
+      }
+      if (events.getStatusMessages().isEmpty()) {
+        fetchEvents();
+        return;
+      }
+
+      List<StatusMessage> messages = events.getStatusMessages();
+      long firstSequenceNo = messages.get(0).getSequenceNumber();
+      if (firstSequenceNo > nextSequenceNo) {
+        LOG.debug("{} fell behind, skipping events {} to {}.",
+                  session.getRemoteAddress(),
+                  nextSequenceNo,
+                  firstSequenceNo - 1);
+      }
+      nextSequenceNo = messages.get(messages.size() - 1).getSequenceNumber() + 1;
+
+      GetEventsResponseTO filteredEvents = new GetEventsResponseTO();
+      filteredEvents.getStatusMessages().addAll(
+          messages.stream().filter(filter).collect(Collectors.toList())
+      );
+      if (filteredEvents.getStatusMessages().isEmpty()) {
+        fetchEvents();
+        return;
+      }
+
+      session.getRemote().sendString(jsonBinder.toJson(filteredEvents), this);
+    }
+
+    private boolean isActive() {
+      return session.isOpen() && subscriptions.get(session) == this;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi.v1;
+
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.OrderStatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.PeripheralJobStatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.StatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.VehicleStatusMessage;
+
+/**
+ * Filters status messages by their type, the vehicle they relate to and the type of transport
+ * order they describe.
+ * <p>
+ * An empty set of accepted values for a criterion means the criterion is not applied.
+ * </p>
+ */
+public class StatusMessageFilter
+    implements Predicate<StatusMessage> {
+
+  /**
+   * The query parameter for the accepted message types.
+   */
+  public static final String PARAM_TYPE = "type";
+  /**
+   * The query parameter for the accepted vehicle names.
+   */
+  public static final String PARAM_VEHICLE = "vehicle";
+  /**
+   * The query parameter for the accepted transport order types.
+   */
+  public static final String PARAM_ORDER_TYPE = "orderType";
+  /**
+   * The type name of order status messages.
+   */
+  private static final String TYPE_TRANSPORT_ORDER = "TransportOrder";
+  /**
+   * The type name of vehicle status messages.
+   */
+  private static final String TYPE_VEHICLE = "Vehicle";
+  /**
+   * The type name of peripheral job status messages.
+   */
+  private static final String TYPE_PERIPHERAL_JOB = "PeripheralJob";
+  /**
+   * The accepted message types.
+   */
+  private final Set<String> types;
+  /**
+   * The names of the vehicles accepted messages must relate to.
+   */
+  private final Set<String> vehicleNames;
+  /**
+   * The accepted transport order types (only applied to order status messages).
+   */
+  private final Set<String> orderTypes;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param types The accepted message types ({@code TransportOrder}, {@code Vehicle} and/or
+   * {@code PeripheralJob}).
+   * @param vehicleNames The names of the vehicles accepted messages must relate to.
+   * @param orderTypes The accepted transport order types (only applied to order status messages).
+   * @throws IllegalArgumentException If any of the given types is unknown.
+   */
+  public StatusMessageFilter(@Nonnull Set<String> types,
+                             @Nonnull Set<String> vehicleNames,
+                             @Nonnull Set<String> orderTypes)
+      throws IllegalArgumentException {
+    this.types = Set.copyOf(requireNonNull(types, "types"));
+    this.vehicleNames = Set.copyOf(requireNonNull(vehicleNames, "vehicleNames"));
+    this.orderTypes = Set.copyOf(requireNonNull(orderTypes, "orderTypes"));
+
+    for (String type : types) {
+      if (!Set.of(TYPE_TRANSPORT_ORDER, TYPE_VEHICLE, TYPE_PERIPHERAL_JOB).contains(type)) {
+        throw new IllegalArgumentException("Unknown message type: " + type);
+      }
+    }
+  }
+
+  /**
+   * Creates a filter from the given query parameters.
+   *
+   * @param parameters The query parameters, mapped by name.
+   * @return The filter.
+   * @throws IllegalArgumentException If any of the given types is unknown.
+   */
+  public static StatusMessageFilter fromParameters(@Nonnull Map<String, List<String>> parameters)
+      throws IllegalArgumentException {
+    requireNonNull(parameters, "parameters");
+
+    return new StatusMessageFilter(valuesOf(parameters, PARAM_TYPE),
+                                   valuesOf(parameters, PARAM_VEHICLE),
+                                   valuesOf(parameters, PARAM_ORDER_TYPE));
+  }
+
+  @Override
+  public boolean test(StatusMessage message) {
+    if (message instanceof OrderStatusMessage) {
+      OrderStatusMessage orderMessage = (OrderStatusMessage) message;
+      return accepts(types, TYPE_TRANSPORT_ORDER)
+          && accepts(vehicleNames, orderMessage.getProcessingVehicleName())
+          && accepts(orderTypes, orderMessage.getOrderType());
+    }
+    else if (message instanceof VehicleStatusMessage) {
+      return accepts(types, TYPE_VEHICLE)
+          && accepts(vehicleNames, ((VehicleStatusMessage) message).getVehicleName());
+    }
+    else if (message instanceof PeripheralJobStatusMessage) {
+      return accepts(types, TYPE_PERIPHERAL_JOB)
+          && accepts(vehicleNames, ((PeripheralJobStatusMessage) message).getRelatedVehicle());
+    }
+    else {
+      return false;
+    }
+  }
+
+  private static Set<String> valuesOf(Map<String, List<String>> parameters, String name) {
+    return Set.copyOf(parameters.getOrDefault(name, List.of()));
+  }
+
+  private static boolean accepts(Set<String> acceptedValues, @Nullable String value) {
+    return acceptedValues.isEmpty() || (value != null && acceptedValues.contains(value));
+  }
+}
@@ -120,7 +120,7 @@ public class TransportOrderHandler {
   public List<GetTransportOrderResponseTO> getTransportOrders(
       @Nullable String intendedVehicle
   ) {
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       TCSObjectReference<Vehicle> intendedVehicleRef
           = Optional.ofNullable(intendedVehicle)
               .map(name -> orderService.fetchObject(Vehicle.class, name))
@@ -152,7 +152,7 @@ public class TransportOrderHandler {
       throws ObjectUnknownException {
     requireNonNull(name, "name");
 
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       return Optional.ofNullable(orderService.fetchObject(TransportOrder.class, name))
           .map(GetTransportOrderResponseTO::fromTransportOrder)
           .orElseThrow(() -> new ObjectUnknownException("Unknown transport order: " + name));
@@ -194,7 +194,7 @@ public class TransportOrderHandler {
   }
 
   public List<GetOrderSequenceResponseTO> getOrderSequences(@Nullable String intendedVehicle) {
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       TCSObjectReference<Vehicle> intendedVehicleRef
           = Optional.ofNullable(intendedVehicle)
               .map(name -> orderService.fetchObject(Vehicle.class, name))
@@ -219,7 +219,7 @@ public class TransportOrderHandler {
       throws ObjectUnknownException {
     requireNonNull(name, "name");
 
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       return Optional.ofNullable(orderService.fetchObject(OrderSequence.class, name))
           .map(GetOrderSequenceResponseTO::fromOrderSequence)
           .orElseThrow(() -> new ObjectUnknownException("Unknown transport order: " + name));
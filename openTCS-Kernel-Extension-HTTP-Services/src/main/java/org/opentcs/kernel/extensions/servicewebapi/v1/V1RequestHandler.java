@@ -9,13 +9,18 @@ package org.opentcs.kernel.extensions.servicewebapi.v1;
 
 import org.opentcs.kernel.extensions.servicewebapi.JsonBinder;
 import static java.util.Objects.requireNonNull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import javax.inject.Inject;
+import javax.servlet.AsyncContext;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.data.ObjectExistsException;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.kernel.extensions.servicewebapi.HttpConstants;
 import org.opentcs.kernel.extensions.servicewebapi.RequestHandler;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetEventsResponseTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetOrderSequenceResponseTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetPeripheralAttachmentInfoResponseTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetPeripheralJobResponseTO;
@@ -28,6 +33,8 @@ import org.opentcs.kernel.extensions.servicewebapi.v1.binding.PostTransportOrder
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.PlantModelTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.PostVehicleRoutesRequestTO;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.PutVehicleAllowedOrderTypesTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import spark.QueryParamsMap;
 import spark.Request;
 import spark.Response;
@@ -39,8 +46,14 @@ import spark.Service;
 public class V1RequestHandler
     implements RequestHandler {
 
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(V1RequestHandler.class);
+
   private final JsonBinder jsonBinder;
   private final StatusEventDispatcher statusEventDispatcher;
+  private final StatusEventStream statusEventStream;
   private final TransportOrderDispatcherHandler orderDispatcherHandler;
   private final TransportOrderHandler transportOrderHandler;
   private final PeripheralJobHandler peripheralJobHandler;
@@ -56,6 +69,7 @@ public class V1RequestHandler
   @Inject
   public V1RequestHandler(JsonBinder jsonBinder,
                           StatusEventDispatcher statusEventDispatcher,
+                          StatusEventStream statusEventStream,
                           TransportOrderDispatcherHandler orderDispatcherHandler,
                           TransportOrderHandler transportOrderHandler,
                           PeripheralJobHandler peripheralJobHandler,
@@ -67,6 +81,7 @@ public class V1RequestHandler
                           PeripheralHandler peripheralHandler) {
     this.jsonBinder = requireNonNull(jsonBinder, "jsonBinder");
     this.statusEventDispatcher = requireNonNull(statusEventDispatcher, "statusEventDispatcher");
+    this.statusEventStream = requireNonNull(statusEventStream, "statusEventStream");
     this.orderDispatcherHandler = requireNonNull(orderDispatcherHandler, "orderDispatcherHandler");
     this.transportOrderHandler = requireNonNull(transportOrderHandler, "transportOrderHandler");
     this.peripheralJobHandler = requireNonNull(peripheralJobHandler, "peripheralJobHandler");
@@ -105,6 +120,20 @@ public class V1RequestHandler
     initialized = false;
   }
 
+  /**
+   * Registers the WebSocket endpoints of this API version with the given service.
+   * <p>
+   * This has to be done before any HTTP routes or filters are registered.
+   * </p>
+   *
+   * @param service The service to register the endpoints with.
+   */
+  public void addWebSockets(Service service) {
+    requireNonNull(service, "service");
+
+    service.webSocket("/v1/events/stream", statusEventStream);
+  }
+
   @Override
   public void addRoutes(Service service) {
     requireNonNull(service, "service");
@@ -200,10 +229,32 @@ public class V1RequestHandler
 
   private Object handleGetEvents(Request request, Response response)
       throws IllegalArgumentException, IllegalStateException {
+    CompletableFuture<GetEventsResponseTO> events
+        = statusEventDispatcher.fetchEventsAsync(minSequenceNo(request),
+                                                 maxSequenceNo(request),
+                                                 timeout(request));
     response.type(HttpConstants.CONTENT_TYPE_APPLICATION_JSON_UTF8);
-    return jsonBinder.toJson(statusEventDispatcher.fetchEvents(minSequenceNo(request),
-                                                               maxSequenceNo(request),
-                                                               timeout(request)));
+    if (events.isDone()) {
+      return jsonBinder.toJson(events.join());
+    }
+
+    // Don't bind the server thread while waiting for events - respond asynchronously once they are
+    // available, instead.
+    AsyncContext asyncContext = request.raw().startAsync();
+    // The dispatcher's future completes after the requested timeout, at the latest.
+    asyncContext.setTimeout(0);
+    try {
+      // Commit the response (status and headers) right away, so Spark does not write a body of its
+      // own after this route returns.
+      response.raw().flushBuffer();
+    }
+    catch (IOException exc) {
+      LOG.debug("Failed responding to request for events", exc);
+      asyncContext.complete();
+      return "";
+    }
+    events.whenComplete((result, exc) -> completeGetEvents(asyncContext, result, exc));
+    return "";
   }
 
   private Object handlePutVehicleCommAdapterEnabled(Request request, Response response)
@@ -528,6 +579,26 @@ public class V1RequestHandler
     return "";
   }
 
+  private void completeGetEvents(AsyncContext asyncContext,
+                                 GetEventsResponseTO events,
+                                 Throwable exception) {
+    if (exception != null) {
+      LOG.warn("Unexpected exception while waiting for events", exception);
+      events = new GetEventsResponseTO();
+    }
+
+    try {
+      asyncContext.getResponse().getOutputStream()
+          .write(jsonBinder.toJson(events).getBytes(StandardCharsets.UTF_8));
+    }
+    catch (IOException exc) {
+      LOG.debug("Failed responding to request for events", exc);
+    }
+    finally {
+      asyncContext.complete();
+    }
+  }
+
   private String valueIfKeyPresent(QueryParamsMap queryParams, String key) {
     if (queryParams.hasKey(key)) {
       return queryParams.value(key);
@@ -563,7 +634,7 @@ public class V1RequestHandler
       throws IllegalArgumentException {
     String param = request.queryParamOrDefault("timeout", "1000");
     try {
-      // Allow a maximum timeout of 10 seconds so server threads are only bound for a limited time.
+      // Allow a maximum timeout of 10 seconds so clients get a response within a limited time.
       return Math.min(10000, Long.parseLong(param));
     }
     catch (NumberFormatException exc) {
@@ -65,7 +65,7 @@ public class VehicleHandler {
    */
   public List<GetVehicleResponseTO> getVehiclesState(@Nullable String procStateName)
       throws IllegalArgumentException {
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       Vehicle.ProcState pState = procStateName == null
           ? null
           : Vehicle.ProcState.valueOf(procStateName);
@@ -88,7 +88,7 @@ public class VehicleHandler {
       throws ObjectUnknownException {
     requireNonNull(name, "name");
 
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       return Optional.ofNullable(vehicleService.fetchObject(Vehicle.class, name))
           .map(GetVehicleResponseTO::fromVehicle)
           .orElseThrow(() -> new ObjectUnknownException("Unknown vehicle: " + name));
@@ -164,7 +164,7 @@ public class VehicleHandler {
       throws ObjectUnknownException {
     requireNonNull(name, "name");
 
-    return executorWrapper.callAndWait(() -> {
+    return executorWrapper.callReadOnly(() -> {
       Vehicle vehicle = vehicleService.fetchObject(Vehicle.class, name);
       if (vehicle == null) {
         throw new ObjectUnknownException("Unknown vehicle: " + name);
@@ -24,6 +24,8 @@ public class OrderStatusMessage
 
   private String orderName;
 
+  private String orderType;
+
   private String processingVehicleName;
 
   private OrderState orderState;
@@ -57,6 +59,15 @@ public class OrderStatusMessage
     return this;
   }
 
+  public String getOrderType() {
+    return orderType;
+  }
+
+  public OrderStatusMessage setOrderType(String orderType) {
+    this.orderType = orderType;
+    return this;
+  }
+
   public String getProcessingVehicleName() {
     return processingVehicleName;
   }
@@ -105,6 +116,7 @@ public class OrderStatusMessage
     orderMessage.setSequenceNumber(sequenceNumber);
     orderMessage.setCreationTimeStamp(creationTimeStamp);
     orderMessage.setOrderName(order.getName());
+    orderMessage.setOrderType(order.getType());
     orderMessage.setProcessingVehicleName(
         order.getProcessingVehicle() == null ? null : order.getProcessingVehicle().getName());
     orderMessage.setOrderState(OrderState.fromTransportOrderState(order.getState()));
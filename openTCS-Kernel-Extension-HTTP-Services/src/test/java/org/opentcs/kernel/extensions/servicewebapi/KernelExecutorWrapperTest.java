@@ -7,6 +7,7 @@
  */
 package org.opentcs.kernel.extensions.servicewebapi;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -76,4 +77,60 @@ public class KernelExecutorWrapperTest {
     );
     
   }
+
+  @Test
+  public void callReadOnlyCallableInCallingThread() {
+    assertThat(
+        executorWrapper.callReadOnly(() -> Thread.currentThread()),
+        is(Thread.currentThread())
+    );
+  }
+
+  @Test
+  public void forwardOrWrapExceptionsOfReadOnlyCallable() {
+    assertThrows(ObjectUnknownException.class,
+                 () -> {
+                   executorWrapper.callReadOnly(() -> {
+                     throw new ObjectUnknownException("some exception");
+                   });
+                 }
+    );
+
+    assertThrows(KernelRuntimeException.class,
+                 () -> {
+                   executorWrapper.callReadOnly(() -> {
+                     throw new Exception("some exception");
+                   });
+                 }
+    );
+  }
+
+  @Test
+  public void countCallsInMetrics() {
+    executorWrapper.callAndWait(() -> "my result");
+    executorWrapper.callReadOnly(() -> "my result");
+    executorWrapper.callReadOnly(() -> "my result");
+
+    assertThat(executorWrapper.getMetrics().getExecutorCallCount(), is(1L));
+    assertThat(executorWrapper.getMetrics().getReadOnlyCallCount(), is(2L));
+  }
+
+  @Test
+  public void reportQueueDepthOfKernelExecutor()
+      throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    executorService.submit(() -> {
+      release.await();
+      return null;
+    });
+    executorService.submit(() -> "queued");
+    executorService.submit(() -> "queued");
+
+    assertThat(executorWrapper.getMetrics().getQueueDepth(), is(2));
+
+    release.countDown();
+    executorService.submit(() -> "done").get();
+
+    assertThat(executorWrapper.getMetrics().getQueueDepth(), is(0));
+  }
 }
@@ -8,14 +8,22 @@
 package org.opentcs.kernel.extensions.servicewebapi.v1;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.Kernel;
 import org.opentcs.access.KernelStateTransitionEvent;
+import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.TCSObjectEvent;
 import org.opentcs.data.model.Location;
 import org.opentcs.data.model.LocationType;
@@ -39,13 +47,15 @@ public class StatusEventDispatcherTest {
 
   private ServiceWebApiConfiguration configuration;
   private EventSource eventSource;
+  private TCSObjectService objectService;
   private StatusEventDispatcher statusEventDispatcher;
 
   @BeforeEach
   public void setUp() {
     configuration = mock(ServiceWebApiConfiguration.class);
     eventSource = new SimpleEventBus();
-    statusEventDispatcher = new StatusEventDispatcher(configuration, eventSource);
+    objectService = mock(TCSObjectService.class);
+    statusEventDispatcher = new StatusEventDispatcher(configuration, eventSource, objectService);
 
     given(configuration.statusEventsCapacity())
         .willReturn(10);
@@ -164,4 +174,86 @@ public class StatusEventDispatcherTest {
         .isInstanceOf(PeripheralJobStatusMessage.class)
         .matches(msg -> msg.getSequenceNumber() == 2);
   }
+
+  @Test
+  public void publishCurrentStatesAfterEventsHaveBeenDropped() {
+    // Arrange
+    statusEventDispatcher.onEvent(
+        new KernelStateTransitionEvent(Kernel.State.MODELLING, Kernel.State.OPERATING, true)
+    );
+    Vehicle vehicle = new Vehicle("some-vehicle");
+    TransportOrder order = new TransportOrder("some-order", List.of());
+    given(objectService.fetchObjects(Vehicle.class))
+        .willReturn(Set.of(vehicle));
+    given(objectService.fetchObjects(eq(TransportOrder.class), any()))
+        .willReturn(Set.of(order));
+    given(objectService.fetchObjects(eq(PeripheralJob.class), any()))
+        .willReturn(Set.of());
+
+    // Act
+    statusEventDispatcher.onEvent(new EventsDroppedEvent(42));
+
+    // Assert
+    GetEventsResponseTO list = statusEventDispatcher.fetchEvents(0, Long.MAX_VALUE, 1);
+    assertThat(list.getStatusMessages()).hasSize(2);
+    assertThat(list.getStatusMessages().get(0)).isInstanceOf(VehicleStatusMessage.class);
+    assertThat(list.getStatusMessages().get(1)).isInstanceOf(OrderStatusMessage.class);
+  }
+
+  @Test
+  public void completeWaitingRequestWhenEventWithinRangeIsPublished()
+      throws Exception {
+    // Arrange
+    statusEventDispatcher.onEvent(
+        new KernelStateTransitionEvent(Kernel.State.MODELLING, Kernel.State.OPERATING, true)
+    );
+    TransportOrder order = new TransportOrder("some-order", List.of());
+    CompletableFuture<GetEventsResponseTO> result
+        = statusEventDispatcher.fetchEventsAsync(0, Long.MAX_VALUE, 60000);
+
+    // Act
+    statusEventDispatcher.onEvent(
+        new TCSObjectEvent(order, order, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    );
+
+    // Assert
+    assertThat(result.get(10, TimeUnit.SECONDS).getStatusMessages()).hasSize(1);
+  }
+
+  @Test
+  public void keepWaitingWhenEventOutsideRangeIsPublished() {
+    // Arrange
+    statusEventDispatcher.onEvent(
+        new KernelStateTransitionEvent(Kernel.State.MODELLING, Kernel.State.OPERATING, true)
+    );
+    TransportOrder order = new TransportOrder("some-order", List.of());
+    CompletableFuture<GetEventsResponseTO> result
+        = statusEventDispatcher.fetchEventsAsync(5, Long.MAX_VALUE, 60000);
+
+    // Act
+    statusEventDispatcher.onEvent(
+        new TCSObjectEvent(order, order, TCSObjectEvent.Type.OBJECT_MODIFIED)
+    );
+
+    // Assert
+    assertThat(result).isNotDone();
+  }
+
+  @Test
+  public void returnEmptyListAfterTimeout() {
+    CompletableFuture<GetEventsResponseTO> result
+        = statusEventDispatcher.fetchEventsAsync(0, Long.MAX_VALUE, 10);
+
+    assertThat(result.join().getStatusMessages()).isEmpty();
+  }
+
+  @Test
+  public void rejectCapacityLessThanOne() {
+    given(configuration.statusEventsCapacity())
+        .willReturn(0);
+
+    assertThrows(IllegalArgumentException.class,
+                 () -> new StatusEventDispatcher(configuration, eventSource, objectService)
+                     .initialize());
+  }
 }
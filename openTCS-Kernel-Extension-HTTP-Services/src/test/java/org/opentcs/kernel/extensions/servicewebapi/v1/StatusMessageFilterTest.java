@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.extensions.servicewebapi.v1;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.OrderStatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.PeripheralJobStatusMessage;
+import org.opentcs.kernel.extensions.servicewebapi.v1.binding.getevents.VehicleStatusMessage;
+
+/**
+ * Unit tests for {@link StatusMessageFilter}.
+ */
+public class StatusMessageFilterTest {
+
+  private final OrderStatusMessage orderMessage = new OrderStatusMessage()
+      .setOrderName("some-order")
+      .setOrderType("some-type")
+      .setProcessingVehicleName("some-vehicle");
+  private final VehicleStatusMessage vehicleMessage = new VehicleStatusMessage()
+      .setVehicleName("some-vehicle");
+  private final PeripheralJobStatusMessage jobMessage = new PeripheralJobStatusMessage()
+      .setRelatedVehicle("some-other-vehicle");
+
+  @Test
+  public void acceptAllMessagesWithoutCriteria() {
+    StatusMessageFilter filter = StatusMessageFilter.fromParameters(Map.of());
+
+    assertThat(filter.test(orderMessage), is(true));
+    assertThat(filter.test(vehicleMessage), is(true));
+    assertThat(filter.test(jobMessage), is(true));
+  }
+
+  @Test
+  public void acceptMessagesOfGivenTypes() {
+    StatusMessageFilter filter = StatusMessageFilter.fromParameters(
+        Map.of(StatusMessageFilter.PARAM_TYPE, List.of("Vehicle", "PeripheralJob"))
+    );
+
+    assertThat(filter.test(orderMessage), is(false));
+    assertThat(filter.test(vehicleMessage), is(true));
+    assertThat(filter.test(jobMessage), is(true));
+  }
+
+  @Test
+  public void acceptMessagesRelatedToGivenVehicles() {
+    StatusMessageFilter filter
+        = new StatusMessageFilter(Set.of(), Set.of("some-vehicle"), Set.of());
+
+    assertThat(filter.test(orderMessage), is(true));
+    assertThat(filter.test(vehicleMessage), is(true));
+    assertThat(filter.test(jobMessage), is(false));
+    assertThat(filter.test(new OrderStatusMessage().setProcessingVehicleName(null)), is(false));
+  }
+
+  @Test
+  public void acceptOrderMessagesWithGivenOrderTypes() {
+    StatusMessageFilter filter = new StatusMessageFilter(Set.of(), Set.of(), Set.of("other-type"));
+
+    assertThat(filter.test(orderMessage), is(false));
+    assertThat(filter.test(new OrderStatusMessage().setOrderType("other-type")), is(true));
+    // The order type is not applied to other messages.
+    assertThat(filter.test(vehicleMessage), is(true));
+  }
+
+  @Test
+  public void rejectUnknownTypes() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> StatusMessageFilter.fromParameters(
+            Map.of(StatusMessageFilter.PARAM_TYPE, List.of("Point"))
+        )
+    );
+  }
+}
@@ -81,6 +81,7 @@ public class GetEventsResponseTOTest {
         .setSequenceNumber(sequenceNo)
         .setCreationTimeStamp(Instant.EPOCH)
         .setOrderName("some-order")
+        .setOrderType("some-type")
         .setProcessingVehicleName("some-vehicle")
         .setOrderState(OrderStatusMessage.OrderState.BEING_PROCESSED)
         .setDestinations(
@@ -8,23 +8,70 @@
 package org.opentcs.kernel.extensions.rmi;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import static java.util.Objects.requireNonNull;
+import java.util.Set;
 import java.util.function.Predicate;
 import javax.annotation.Nonnull;
+import org.opentcs.access.EventsDroppedEvent;
+import org.opentcs.access.rmi.services.CompactEventEncoder;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.TCSObjectsRemovedEvent;
 import static org.opentcs.util.Assertions.checkArgument;
+import static org.opentcs.util.Assertions.checkInRange;
 import org.opentcs.util.event.EventHandler;
 
 /**
  * Stores events and keeps them until a client fetches them.
+ * <p>
+ * To limit the memory used for clients that do not fetch their events in time, the number of
+ * buffered events is bounded:
+ * </p>
+ * <ul>
+ * <li>An {@link TCSObjectEvent.Type#OBJECT_MODIFIED} event for an object that already has a
+ * buffered modification is coalesced with it. The resulting event carries the earlier event's
+ * previous state and the new event's current state and is moved to the end of the buffer.</li>
+ * <li>If the buffer's capacity is exceeded nevertheless, buffered
+ * {@link TCSObjectEvent.Type#OBJECT_MODIFIED} events that are superseded by later events for the
+ * same object are dropped, oldest first. Since the later events carry the object's more recent
+ * state, the client does not miss any state this way, only intermediate ones.</li>
+ * <li>If that does not suffice, all further events are dropped until the client fetches the
+ * buffered ones. The fetched events are then followed by an {@link EventsDroppedEvent}, telling the
+ * client that it has missed events.</li>
+ * </ul>
+ * <p>
+ * Creations, removals and all other kinds of events are never dropped silently, as the client
+ * could not recover from missing them.
+ * </p>
  */
 public class EventBuffer
     implements EventHandler {
 
   /**
-   * The buffered events.
+   * The buffered events, mapped by keys unique to each of them, in the order they were added.
    */
-  private final List<Object> events = new ArrayList<>();
+  private final Map<Object, BufferedEvent> events = new LinkedHashMap<>();
+  /**
+   * The keys of buffered {@link TCSObjectEvent.Type#OBJECT_MODIFIED} events that new modifications
+   * may be coalesced with, mapped by the reference of the object modified.
+   */
+  private final Map<TCSObjectReference<?>, Object> modificationKeys = new HashMap<>();
+  /**
+   * The keys of buffered {@link TCSObjectEvent.Type#OBJECT_MODIFIED} events that are superseded by
+   * later events for the same object, in the order they were superseded.
+   */
+  private final Set<Object> supersededModificationKeys = new LinkedHashSet<>();
+  /**
+   * The maximum number of buffered events.
+   */
+  private final int capacity;
   /**
    * This buffer's event filter.
    */
@@ -33,14 +80,46 @@ public class EventBuffer
    * A flag indicating whether this event buffer's client is currently waiting for an event.
    */
   private boolean waitingClient;
+  /**
+   * Encodes events into their compact form, or {@code null}, if events are returned as they are.
+   */
+  private CompactEventEncoder compactEventEncoder;
+  /**
+   * Ensures events are taken from this buffer and encoded in the same order.
+   */
+  private final Object fetchLock = new Object();
+  /**
+   * The number of events that have been dropped since the client last fetched events without
+   * being able to make room for them, or 0, if the buffer has not overflowed.
+   */
+  private long overflowDroppedEventCount;
+  /**
+   * The number of events that have been coalesced with buffered events.
+   */
+  private long coalescedEventCount;
+  /**
+   * The number of events that have been dropped because the buffer's capacity was exceeded.
+   */
+  private long droppedEventCount;
 
   /**
-   * Creates a new instance
+   * Creates a new instance with unbounded capacity.
    *
    * @param eventFilter This buffer's initial event filter.
    */
   public EventBuffer(@Nonnull Predicate<Object> eventFilter) {
+    this(eventFilter, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventFilter This buffer's initial event filter.
+   * @param capacity The maximum number of buffered events.
+   */
+  public EventBuffer(@Nonnull Predicate<Object> eventFilter, int capacity) {
     this.eventFilter = requireNonNull(eventFilter, "eventFilter");
+    this.capacity = checkInRange(capacity, 1, Integer.MAX_VALUE, "capacity");
   }
 
   // Methods declared in interface EventListener start here
@@ -49,7 +128,12 @@ public class EventBuffer
     requireNonNull(event, "event");
     synchronized (events) {
       if (eventFilter.test(event)) {
-        events.add(event);
+        if (!makeRoomFor(event)) {
+          overflowDroppedEventCount++;
+          droppedEventCount++;
+          return;
+        }
+        add(event);
         // If the client is waiting for an event, wake it up, since there is one
         // now.
         if (waitingClient) {
@@ -60,11 +144,33 @@ public class EventBuffer
   }
 
   // Methods not declared in any interface start here
+  /**
+   * Records that events have been dropped before they could reach this buffer, e.g. because it was
+   * not fed with events in time.
+   * Since it is unknown whether the client would have been interested in them, the events fetched
+   * next are followed by an {@link EventsDroppedEvent} regardless of this buffer's event filter.
+   *
+   * @param count The number of events that have been dropped.
+   */
+  public void onEventsDropped(long count) {
+    checkArgument(count > 0, "count <= 0: %s", count);
+    synchronized (events) {
+      overflowDroppedEventCount += count;
+      droppedEventCount += count;
+      if (waitingClient) {
+        events.notify();
+      }
+    }
+  }
+
   /**
    * Returns a list of events that are currently stored in this buffer and
    * clears the buffer.
    * If the buffer is currently empty, block until an event arrives, or for the
    * specified amount of time to pass, whichever occurs first.
+   * If compact events are enabled, the events are returned in their compact form.
+   * If events had to be dropped since the last call, the returned list ends with an
+   * {@link EventsDroppedEvent}.
    *
    * @param timeout The maximum amount of time (in ms) to wait for an event to
    * arrive. Must be at least 0 (in which case this method will return
@@ -75,8 +181,111 @@ public class EventBuffer
   public List<Object> getEvents(long timeout)
       throws IllegalArgumentException {
     checkArgument(timeout >= 0, "timeout < 0: %s", timeout);
+    synchronized (fetchLock) {
+      List<Object> result = takeEvents(timeout);
+      // Encode outside of the events' monitor to not delay the publishing thread.
+      CompactEventEncoder encoder = compactEventEncoder;
+      return encoder == null ? result : encoder.encode(result);
+    }
+  }
+
+  /**
+   * Checks whether a client is currently waiting for events arriving in this
+   * buffer.
+   *
+   * @return <code>true</code> if a client is currently waiting, else
+   * <code>false</code>.
+   */
+  public boolean hasWaitingClient() {
+    synchronized (events) {
+      return waitingClient;
+    }
+  }
+
+  /**
+   * Returns the number of events currently waiting to be fetched.
+   *
+   * @return The number of events currently waiting to be fetched.
+   */
+  public int getPendingEventCount() {
+    synchronized (events) {
+      return events.size();
+    }
+  }
+
+  /**
+   * Returns how long (in ms) the oldest event currently buffered has been waiting to be fetched.
+   *
+   * @return How long the oldest event currently buffered has been waiting to be fetched, or 0, if
+   * there are no buffered events.
+   */
+  public long getLag() {
+    synchronized (events) {
+      if (events.isEmpty()) {
+        return 0;
+      }
+      // Coalesced events are moved to the end of the buffer, so the oldest one is not necessarily
+      // the first one.
+      long pendingSince = Long.MAX_VALUE;
+      for (BufferedEvent bufferedEvent : events.values()) {
+        pendingSince = Math.min(pendingSince, bufferedEvent.getPendingSince());
+      }
+      return System.currentTimeMillis() - pendingSince;
+    }
+  }
+
+  /**
+   * Returns the number of events that have been coalesced with buffered events, i.e. the number of
+   * intermediate object states the client has not received.
+   *
+   * @return The number of events that have been coalesced with buffered events.
+   */
+  public long getCoalescedEventCount() {
+    synchronized (events) {
+      return coalescedEventCount;
+    }
+  }
+
+  /**
+   * Returns the number of events that have been dropped because the buffer's capacity was
+   * exceeded, including superseded modifications.
+   *
+   * @return The number of events that have been dropped.
+   */
+  public long getDroppedEventCount() {
+    synchronized (events) {
+      return droppedEventCount;
+    }
+  }
+
+  /**
+   * Sets whether the events returned by {@link #getEvents(long)} are in their compact form.
+   * Enabling compact events (again) starts encoding from scratch, i.e. without any object states
+   * known to the client.
+   *
+   * @param compactEvents Whether the events are returned in their compact form.
+   * @see CompactEventEncoder
+   */
+  public void setCompactEvents(boolean compactEvents) {
+    synchronized (fetchLock) {
+      compactEventEncoder = compactEvents ? new CompactEventEncoder() : null;
+    }
+  }
+
+  /**
+   * Sets this buffer's event filter.
+   *
+   * @param eventFilter This buffer's new event filter.
+   */
+  public void setEventFilter(@Nonnull Predicate<Object> eventFilter) {
     synchronized (events) {
-      if (timeout > 0 && events.isEmpty()) {
+      this.eventFilter = requireNonNull(eventFilter);
+    }
+  }
+
+  private List<Object> takeEvents(long timeout) {
+    synchronized (events) {
+      if (timeout > 0 && events.isEmpty() && overflowDroppedEventCount == 0) {
         waitingClient = true;
         try {
           events.wait(timeout);
@@ -88,33 +297,126 @@ public class EventBuffer
           waitingClient = false;
         }
       }
-      List<Object> result = new ArrayList<>(events);
+      List<Object> result = new ArrayList<>(events.size() + 1);
+      for (BufferedEvent bufferedEvent : events.values()) {
+        result.add(bufferedEvent.getEvent());
+      }
+      if (overflowDroppedEventCount > 0) {
+        result.add(new EventsDroppedEvent(overflowDroppedEventCount));
+        overflowDroppedEventCount = 0;
+      }
       events.clear();
+      modificationKeys.clear();
+      supersededModificationKeys.clear();
       return result;
     }
   }
 
+  private void add(Object event) {
+    long now = System.currentTimeMillis();
+    if (event instanceof TCSObjectsRemovedEvent) {
+      for (TCSObject<?> removedObject : ((TCSObjectsRemovedEvent) event).getRemovedObjects()) {
+        supersede(modificationKeys.remove(removedObject.getReference()));
+      }
+    }
+    if (!(event instanceof TCSObjectEvent)) {
+      events.put(new Object(), new BufferedEvent(event, now));
+      return;
+    }
+
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    TCSObjectReference<?> ref = objectReference(objectEvent);
+    // Only modifications following each other directly for an object are coalesced.
+    Object pendingModificationKey = modificationKeys.remove(ref);
+    if (objectEvent.getType() != TCSObjectEvent.Type.OBJECT_MODIFIED) {
+      supersede(pendingModificationKey);
+      events.put(new Object(), new BufferedEvent(event, now));
+      return;
+    }
+
+    long pendingSince = now;
+    if (pendingModificationKey != null) {
+      BufferedEvent pendingModification = events.remove(pendingModificationKey);
+      objectEvent = new TCSObjectEvent(
+          objectEvent.getCurrentObjectState(),
+          ((TCSObjectEvent) pendingModification.getEvent()).getPreviousObjectState(),
+          TCSObjectEvent.Type.OBJECT_MODIFIED
+      );
+      pendingSince = pendingModification.getPendingSince();
+      coalescedEventCount++;
+    }
+    Object key = new Object();
+    events.put(key, new BufferedEvent(objectEvent, pendingSince));
+    modificationKeys.put(ref, key);
+  }
+
+  private void supersede(Object modificationKey) {
+    if (modificationKey != null) {
+      supersededModificationKeys.add(modificationKey);
+    }
+  }
+
   /**
-   * Checks whether a client is currently waiting for events arriving in this
-   * buffer.
+   * Makes room for the given event in the buffer, if necessary, by dropping superseded
+   * modifications.
    *
-   * @return <code>true</code> if a client is currently waiting, else
-   * <code>false</code>.
+   * @param event The event.
+   * @return Whether there is room for the event.
    */
-  public boolean hasWaitingClient() {
-    synchronized (events) {
-      return waitingClient;
+  private boolean makeRoomFor(Object event) {
+    if (overflowDroppedEventCount > 0) {
+      // Keep dropping events until the client has been told about the dropped ones.
+      return false;
+    }
+    if (events.size() < capacity || coalescesWithBufferedEvent(event)) {
+      return true;
+    }
+
+    Iterator<Object> iter = supersededModificationKeys.iterator();
+    while (events.size() >= capacity && iter.hasNext()) {
+      events.remove(iter.next());
+      iter.remove();
+      droppedEventCount++;
     }
+    return events.size() < capacity;
+  }
+
+  private boolean coalescesWithBufferedEvent(Object event) {
+    return event instanceof TCSObjectEvent
+        && ((TCSObjectEvent) event).getType() == TCSObjectEvent.Type.OBJECT_MODIFIED
+        && modificationKeys.containsKey(objectReference((TCSObjectEvent) event));
+  }
+
+  private static TCSObjectReference<?> objectReference(TCSObjectEvent event) {
+    return event.getType() == TCSObjectEvent.Type.OBJECT_REMOVED
+        ? event.getPreviousObjectState().getReference()
+        : event.getCurrentObjectState().getReference();
   }
 
   /**
-   * Sets this buffer's event filter.
-   *
-   * @param eventFilter This buffer's new event filter.
+   * An event in the buffer, along with the point of time since which it has been waiting to be
+   * fetched.
    */
-  public void setEventFilter(@Nonnull Predicate<Object> eventFilter) {
-    synchronized (events) {
-      this.eventFilter = requireNonNull(eventFilter);
+  private static class BufferedEvent {
+
+    private final Object event;
+    /**
+     * The point of time (in ms since the epoch) since which the event has been waiting to be
+     * fetched.
+     */
+    private final long pendingSince;
+
+    BufferedEvent(Object event, long pendingSince) {
+      this.event = event;
+      this.pendingSince = pendingSince;
+    }
+
+    public Object getEvent() {
+      return event;
+    }
+
+    public long getPendingSince() {
+      return pendingSince;
     }
   }
 }
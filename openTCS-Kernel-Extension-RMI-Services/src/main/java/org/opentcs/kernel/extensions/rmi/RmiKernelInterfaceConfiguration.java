@@ -135,6 +135,18 @@ public interface RmiKernelInterfaceConfiguration {
   )
   long clientSweepInterval();
 
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum number of events buffered for a client until it fetches them.",
+        "If exceeded, superseded object modifications are dropped. If that does not suffice,",
+        "further events are dropped and the client is notified about it."
+      },
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "3_events_0"
+  )
+  int eventBufferCapacity();
+
   @ConfigurationEntry(
       type = "Boolean",
       description = "Whether to use SSL to encrypt connections.",
@@ -189,7 +189,9 @@ public class StandardRemoteKernelClientPortal
     // Generate a new ID for the client.
     ClientID clientId = new ClientID(userName);
     // Add an entry for the newly connected client.
-    ClientEntry clientEntry = new ClientEntry(userName, account.getPermissions());
+    ClientEntry clientEntry = new ClientEntry(userName,
+                                              account.getPermissions(),
+                                              configuration.eventBufferCapacity());
     clientEntry.getEventBuffer().setEventFilter(eventFilter);
     userManager.registerClient(clientId, clientEntry);
     LOG.debug("New client named {} logged in", clientId.getClientName());
@@ -221,6 +223,13 @@ public class StandardRemoteKernelClientPortal
     return userManager.pollEvents(clientId, timeout);
   }
 
+  @Override
+  public void enableCompactEvents(ClientID clientId) {
+    userManager.verifyCredentials(clientId, UserPermission.READ_DATA);
+
+    userManager.getClient(clientId).getEventBuffer().setCompactEvents(true);
+  }
+
   @Override
   public void publishEvent(ClientID clientId, Object event)
       throws KernelRuntimeException {
@@ -22,6 +22,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.opentcs.access.CredentialsException;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.rmi.ClientID;
 import org.opentcs.components.Lifecycle;
 import org.opentcs.customizations.ApplicationEventBus;
@@ -155,7 +156,14 @@ public class UserManager
     // Forward the event to all clients' event buffers.
     synchronized (knownClients) {
       for (ClientEntry curEntry : knownClients.values()) {
-        curEntry.getEventBuffer().onEvent(event);
+        if (event instanceof EventsDroppedEvent) {
+          // Events have been dropped on their way to us, so every client has missed them.
+          curEntry.getEventBuffer()
+              .onEventsDropped(((EventsDroppedEvent) event).getDroppedEventCount());
+        }
+        else {
+          curEntry.getEventBuffer().onEvent(event);
+        }
       }
     }
   }
@@ -324,21 +332,37 @@ public class UserManager
     /**
      * The client's event buffer.
      */
-    private final EventBuffer eventBuffer = new EventBuffer(event -> false);
+    private final EventBuffer eventBuffer;
     /**
      * The client's alive flag.
      */
     private boolean alive = true;
+    /**
+     * The number of dropped events already reported for the client's event buffer.
+     */
+    private long reportedDroppedEventCount;
 
     /**
-     * Creates a new ClientEntry.
+     * Creates a new ClientEntry with an event buffer of unbounded capacity.
      *
      * @param name The client's name.
      * @param perms The client's permissions.
      */
     public ClientEntry(String name, Set<UserPermission> perms) {
+      this(name, perms, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new ClientEntry.
+     *
+     * @param name The client's name.
+     * @param perms The client's permissions.
+     * @param eventBufferCapacity The capacity of the client's event buffer.
+     */
+    public ClientEntry(String name, Set<UserPermission> perms, int eventBufferCapacity) {
       userName = requireNonNull(name, "name");
       permissions = requireNonNull(perms, "perms");
+      eventBuffer = new EventBuffer(event -> false, eventBufferCapacity);
     }
 
     /**
@@ -392,6 +416,7 @@ public class UserManager
         while (clientIter.hasNext()) {
           Map.Entry<ClientID, ClientEntry> curEntry = clientIter.next();
           ClientEntry clientEntry = curEntry.getValue();
+          reportDroppedEvents(clientEntry);
           // Only touch the entry if the buffer not currently in use by a
           // client.
           if (!clientEntry.getEventBuffer().hasWaitingClient()) {
@@ -412,5 +437,24 @@ public class UserManager
         }
       }
     }
+
+    private void reportDroppedEvents(ClientEntry clientEntry) {
+      EventBuffer eventBuffer = clientEntry.getEventBuffer();
+      long droppedEventCount = eventBuffer.getDroppedEventCount();
+      if (droppedEventCount > clientEntry.reportedDroppedEventCount) {
+        LOG.warn("Client (user: {}) lagging {} ms behind, dropped {} events since last sweep.",
+                 clientEntry.getUserName(),
+                 eventBuffer.getLag(),
+                 droppedEventCount - clientEntry.reportedDroppedEventCount);
+        clientEntry.reportedDroppedEventCount = droppedEventCount;
+      }
+      else {
+        LOG.debug("Client (user: {}) lagging {} ms behind, {} pending events, {} coalesced.",
+                  clientEntry.getUserName(),
+                  eventBuffer.getLag(),
+                  eventBuffer.getPendingEventCount(),
+                  eventBuffer.getCoalescedEventCount());
+      }
+    }
   }
 }
@@ -7,12 +7,19 @@
  */
 package org.opentcs.kernel.extensions.rmi;
 
+import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import org.junit.jupiter.api.Test;
+import org.opentcs.access.EventsDroppedEvent;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectsRemovedEvent;
+import org.opentcs.data.model.Point;
 
 /**
  * Unit tests for {@link EventBuffer}.
@@ -65,4 +72,158 @@ public class EventBufferTest {
     assertFalse(testobject.hasWaitingClient());
   }
 
+  @Test
+  public void coalesceModificationsOfSameObject() {
+    EventBuffer testobject = new EventBuffer(i -> true);
+    Point point1 = new Point("point1");
+    Point point2 = new Point("point2");
+    Point point1Modified = point1.withProperty("key", "value1");
+    Point point1ModifiedAgain = point1.withProperty("key", "value2");
+
+    TCSObjectEvent point2Modification
+        = new TCSObjectEvent(point2.withProperty("key", "value"),
+                             point2,
+                             TCSObjectEvent.Type.OBJECT_MODIFIED);
+    testobject.onEvent(new TCSObjectEvent(point1Modified,
+                                          point1,
+                                          TCSObjectEvent.Type.OBJECT_MODIFIED));
+    testobject.onEvent(point2Modification);
+    testobject.onEvent(new TCSObjectEvent(point1ModifiedAgain,
+                                          point1Modified,
+                                          TCSObjectEvent.Type.OBJECT_MODIFIED));
+
+    List<Object> events = testobject.getEvents(0);
+    assertThat(events, hasSize(2));
+    assertThat(events.get(0), is(sameInstance(point2Modification)));
+    TCSObjectEvent coalesced = (TCSObjectEvent) events.get(1);
+    assertThat(coalesced.getPreviousObjectState(), is(sameInstance(point1)));
+    assertThat(coalesced.getCurrentObjectState(), is(sameInstance(point1ModifiedAgain)));
+    assertThat(testobject.getCoalescedEventCount(), is(1L));
+  }
+
+  @Test
+  public void doNotCoalesceModificationsAcrossOtherEventsForSameObject() {
+    EventBuffer testobject = new EventBuffer(i -> true);
+    Point point = new Point("point");
+    Point pointModified = point.withProperty("key", "value");
+
+    testobject.onEvent(new TCSObjectEvent(pointModified,
+                                          point,
+                                          TCSObjectEvent.Type.OBJECT_MODIFIED));
+    testobject.onEvent(new TCSObjectEvent(null, pointModified, TCSObjectEvent.Type.OBJECT_REMOVED));
+    testobject.onEvent(new TCSObjectEvent(point, null, TCSObjectEvent.Type.OBJECT_CREATED));
+    testobject.onEvent(new TCSObjectEvent(pointModified,
+                                          point,
+                                          TCSObjectEvent.Type.OBJECT_MODIFIED));
+
+    assertThat(testobject.getEvents(0), hasSize(4));
+    assertThat(testobject.getCoalescedEventCount(), is(0L));
+  }
+
+  @Test
+  public void doNotCoalesceModificationsAcrossBulkRemovalOfSameObject() {
+    EventBuffer testobject = new EventBuffer(i -> true);
+    Point point = new Point("point");
+    Point pointModified = point.withProperty("key", "value");
+
+    testobject.onEvent(new TCSObjectEvent(pointModified,
+                                          point,
+                                          TCSObjectEvent.Type.OBJECT_MODIFIED));
+    testobject.onEvent(new TCSObjectsRemovedEvent(List.of(pointModified)));
+    testobject.onEvent(new TCSObjectEvent(point, null, TCSObjectEvent.Type.OBJECT_CREATED));
+    testobject.onEvent(new TCSObjectEvent(pointModified,
+                                          point,
+                                          TCSObjectEvent.Type.OBJECT_MODIFIED));
+
+    assertThat(testobject.getEvents(0), hasSize(4));
+    assertThat(testobject.getCoalescedEventCount(), is(0L));
+  }
+
+  @Test
+  public void dropSupersededModificationsIfCapacityExceeded() {
+    EventBuffer testobject = new EventBuffer(i -> true, 3);
+    Point point = new Point("point");
+    Point pointModified = point.withProperty("key", "value");
+    TCSObjectEvent removal
+        = new TCSObjectEvent(null, pointModified, TCSObjectEvent.Type.OBJECT_REMOVED);
+
+    testobject.onEvent(new TCSObjectEvent(pointModified,
+                                          point,
+                                          TCSObjectEvent.Type.OBJECT_MODIFIED));
+    testobject.onEvent(removal);
+    testobject.onEvent("event1");
+    testobject.onEvent("event2");
+
+    assertThat(testobject.getPendingEventCount(), is(3));
+    assertThat(testobject.getDroppedEventCount(), is(1L));
+    assertThat(testobject.getEvents(0), contains(removal, "event1", "event2"));
+  }
+
+  @Test
+  public void neverDropOtherEventsSilently() {
+    EventBuffer testobject = new EventBuffer(i -> true, 2);
+    Point point = new Point("point");
+    TCSObjectEvent creation = new TCSObjectEvent(point, null, TCSObjectEvent.Type.OBJECT_CREATED);
+
+    testobject.onEvent(creation);
+    testobject.onEvent("event1");
+    testobject.onEvent("event2");
+    testobject.onEvent("event3");
+
+    assertThat(testobject.getDroppedEventCount(), is(2L));
+    List<Object> events = testobject.getEvents(0);
+    assertThat(events, hasSize(3));
+    assertThat(events.get(0), is(sameInstance(creation)));
+    assertThat(events.get(1), is("event1"));
+    assertThat(((EventsDroppedEvent) events.get(2)).getDroppedEventCount(), is(2L));
+    // The next events are buffered again.
+    testobject.onEvent("event4");
+    assertThat(testobject.getEvents(0), contains("event4"));
+  }
+
+  @Test
+  public void reportEventsDroppedBeforeReachingBufferRegardlessOfFilter() {
+    EventBuffer testobject = new EventBuffer(i -> i instanceof String);
+
+    testobject.onEvent("event1");
+    testobject.onEventsDropped(3);
+
+    assertThat(testobject.getDroppedEventCount(), is(3L));
+    List<Object> events = testobject.getEvents(1000);
+    assertThat(events, hasSize(2));
+    assertThat(events.get(0), is("event1"));
+    assertThat(((EventsDroppedEvent) events.get(1)).getDroppedEventCount(), is(3L));
+    assertThat(testobject.getEvents(0), is(empty()));
+  }
+
+  @Test
+  public void reportLagOfRemainingEventsAfterDroppingSupersededModifications()
+      throws Exception {
+    EventBuffer testobject = new EventBuffer(i -> true, 2);
+    Point point = new Point("point");
+    Point pointModified = point.withProperty("key", "value");
+
+    testobject.onEvent(new TCSObjectEvent(pointModified,
+                                          point,
+                                          TCSObjectEvent.Type.OBJECT_MODIFIED));
+    Thread.sleep(200);
+    testobject.onEvent(new TCSObjectEvent(null, pointModified, TCSObjectEvent.Type.OBJECT_REMOVED));
+    testobject.onEvent("event1");
+
+    assertThat(testobject.getDroppedEventCount(), is(1L));
+    assertThat(testobject.getLag() < 200, is(true));
+  }
+
+  @Test
+  public void reportLagOfPendingEventsOnly()
+      throws Exception {
+    EventBuffer testobject = new EventBuffer(i -> true);
+
+    testobject.onEvent(new Object());
+    Thread.sleep(20);
+
+    assertThat(testobject.getLag() >= 20, is(true));
+    testobject.getEvents(0);
+    assertThat(testobject.getLag(), is(0L));
+  }
 }
@@ -12,6 +12,7 @@ import com.google.inject.multibindings.MapBinder;
 import java.io.File;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Singleton;
 import org.opentcs.access.Kernel;
@@ -41,6 +42,8 @@ import org.opentcs.customizations.ApplicationHome;
 import org.opentcs.customizations.kernel.GlobalSyncObject;
 import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.customizations.kernel.KernelInjectionModule;
+import org.opentcs.customizations.kernel.KernelLock;
+import org.opentcs.customizations.kernel.VehicleLaneProvider;
 import org.opentcs.drivers.peripherals.PeripheralControllerPool;
 import org.opentcs.drivers.vehicle.VehicleControllerPool;
 import org.opentcs.kernel.extensions.controlcenter.vehicles.AttachmentManager;
@@ -52,6 +55,7 @@ import org.opentcs.kernel.peripherals.PeripheralCommAdapterRegistry;
 import org.opentcs.kernel.peripherals.PeripheralControllerFactory;
 import org.opentcs.kernel.peripherals.PeripheralEntryPool;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderPoolJournal;
 import org.opentcs.kernel.persistence.XMLFileModelPersister;
 import org.opentcs.kernel.services.StandardDispatcherService;
 import org.opentcs.kernel.services.StandardNotificationService;
@@ -65,17 +69,20 @@ import org.opentcs.kernel.services.StandardTCSObjectService;
 import org.opentcs.kernel.services.StandardTransportOrderService;
 import org.opentcs.kernel.services.StandardVehicleService;
 import org.opentcs.kernel.vehicles.DefaultVehicleControllerPool;
+import org.opentcs.kernel.vehicles.DefaultVehicleLaneProvider;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.vehicles.VehicleCommAdapterRegistry;
 import org.opentcs.kernel.vehicles.VehicleControllerComponentsFactory;
 import org.opentcs.kernel.vehicles.VehicleControllerFactory;
 import org.opentcs.kernel.workingset.PlantModelManager;
 import org.opentcs.kernel.workingset.NotificationBuffer;
+import org.opentcs.kernel.workingset.ObjectHistoryRetention;
 import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
 import org.opentcs.kernel.workingset.PrefixedUlidObjectNameProvider;
 import org.opentcs.kernel.workingset.TCSObjectManager;
 import org.opentcs.kernel.workingset.TCSObjectRepository;
 import org.opentcs.kernel.workingset.TransportOrderPoolManager;
+import org.opentcs.util.event.AsyncEventBus;
 import org.opentcs.util.event.EventBus;
 import org.opentcs.util.event.EventHandler;
 import org.opentcs.util.event.SimpleEventBus;
@@ -105,12 +112,22 @@ public class DefaultKernelInjectionModule
         .toInstance(applicationHome);
 
     // A single global synchronization object for the kernel.
+    Object globalSyncObject = new Object();
     bind(Object.class)
         .annotatedWith(GlobalSyncObject.class)
-        .to(Object.class)
-        .in(Singleton.class);
+        .toInstance(globalSyncObject);
+    // The lock synchronizing access to the kernel's data.
+    // In MONITOR mode, it synchronizes on the global synchronization object.
+    bind(KernelLock.class)
+        .toInstance(new KernelLock(
+            globalSyncObject,
+            getConfigBindingProvider().get(KernelApplicationConfiguration.PREFIX,
+                                           KernelApplicationConfiguration.class)
+                .kernelLockingMode()
+        ));
 
     // The kernel's data pool structures.
+    bind(ObjectHistoryRetention.class).in(Singleton.class);
     bind(TCSObjectRepository.class).in(Singleton.class);
     bind(TCSObjectManager.class).in(Singleton.class);
     bind(PlantModelManager.class).in(Singleton.class);
@@ -232,10 +249,15 @@ public class DefaultKernelInjectionModule
 
   private void configurePersistence() {
     bind(ModelPersister.class).to(XMLFileModelPersister.class);
+    bind(OrderPoolJournal.class).in(Singleton.class);
   }
 
   private void configureEventHub() {
-    EventBus newEventBus = new SimpleEventBus();
+    EventBus newEventBus = createEventBus(
+        getConfigBindingProvider().get(KernelApplicationConfiguration.PREFIX,
+                                       KernelApplicationConfiguration.class)
+            .eventBusQueueCapacity()
+    );
     bind(EventHandler.class)
         .annotatedWith(ApplicationEventBus.class)
         .toInstance(newEventBus);
@@ -247,6 +269,22 @@ public class DefaultKernelInjectionModule
         .toInstance(newEventBus);
   }
 
+  private EventBus createEventBus(int queueCapacity) {
+    if (queueCapacity <= 0) {
+      return new SimpleEventBus();
+    }
+
+    // Each subscriber's events are delivered by at most one task at a time, so the number of
+    // delivery threads is limited by the number of asynchronous subscribers.
+    ExecutorService deliveryExecutor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "eventDelivery");
+      thread.setDaemon(true);
+      thread.setUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
+      return thread;
+    });
+    return new AsyncEventBus(deliveryExecutor, queueCapacity);
+  }
+
   private void configureKernelStatesDependencies() {
     // A map for KernelState instances to be provided at runtime.
     MapBinder<Kernel.State, KernelState> stateMapBinder
@@ -301,5 +339,10 @@ public class DefaultKernelInjectionModule
     bind(Executor.class)
         .annotatedWith(KernelExecutor.class)
         .toInstance(executor);
+
+    // Sequential lanes for the vehicles' tasks, executed independently of the kernel executor.
+    bind(VehicleLaneProvider.class)
+        .to(DefaultVehicleLaneProvider.class)
+        .in(Singleton.class);
   }
 }
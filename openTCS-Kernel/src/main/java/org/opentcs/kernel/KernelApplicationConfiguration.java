@@ -9,6 +9,7 @@ package org.opentcs.kernel;
 
 import org.opentcs.configuration.ConfigurationEntry;
 import org.opentcs.configuration.ConfigurationPrefix;
+import org.opentcs.customizations.kernel.KernelLock;
 
 /**
  * Provides common kernel configuration entries.
@@ -55,4 +56,95 @@ public interface KernelApplicationConfiguration {
       changesApplied = ConfigurationEntry.ChangesApplied.INSTANTLY,
       orderKey = "3_topologyUpdate")
   boolean updateRoutingTopologyOnPathLockChange();
+
+  @ConfigurationEntry(
+      type = "String",
+      description = {
+        "How access to the kernel's data is synchronized:",
+        "'MONITOR': All accesses are performed one at a time.",
+        "'READ_WRITE': Read-only accesses may be performed concurrently."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "4_locking")
+  KernelLock.Mode kernelLockingMode();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of threads executing tasks for vehicles (e.g. of vehicle drivers).",
+        "Each vehicle's tasks are executed sequentially, independently of other vehicles and of",
+        "the kernel executor running e.g. the dispatcher.",
+        "If 0, vehicles' tasks are executed on the kernel executor, too."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "5_executor_0")
+  int vehicleLanePoolSize();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to execute tasks for vehicles on virtual threads instead of a fixed pool.",
+        "Requires Java 21 or later; ignored if the vehicle lane pool size is 0."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "5_executor_1")
+  boolean vehicleLaneVirtualThreads();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum number of events queued for each subscriber of the kernel's event bus.",
+        "If greater than 0, events are delivered to subscribers asynchronously, each with its own",
+        "queue and in order; events for a subscriber whose queue is full are dropped.",
+        "Subscribers requiring it still receive events synchronously.",
+        "If 0, events are delivered to all subscribers synchronously."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "5_executor_2")
+  int eventBusQueueCapacity();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum number of movement commands for which a vehicle requests resources at once.",
+        "If greater than 1, resources for consecutive commands without peripheral operations are",
+        "requested in a single step, limited by the number of commands the vehicle driver accepts.",
+        "The scheduler grants them in order, not atomically. Schedulers not supporting this grant",
+        "them command by command. If 1, resources are requested command by command."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_NEW_PLANT_MODEL,
+      orderKey = "6_allocation")
+  int vehicleAllocationAheadCount();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum number of history entries kept in memory for each object.",
+        "If exceeded, the oldest entries are removed. If 0, the number is not limited."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "7_history_0")
+  int objectHistoryMaxEntries();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = {
+        "The maximum age (in seconds) of history entries kept in memory.",
+        "Older entries are removed when a history is modified. If 0, the age is not limited."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "7_history_1")
+  long objectHistoryMaxAge();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether history entries removed from memory are appended to a journal file.",
+        "The journal file is 'data/history-journal.log' in the kernel's home directory."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "7_history_2")
+  boolean objectHistoryJournalEnabled();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = {
+        "The maximum size (in KiB) of the history journal file.",
+        "When reached, the file is renamed to 'history-journal.log.1', replacing the file renamed",
+        "before, and a new one is started. If 0, the size is not limited."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "7_history_3")
+  long objectHistoryJournalMaxSize();
 }
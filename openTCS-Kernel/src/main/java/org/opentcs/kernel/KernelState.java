@@ -10,6 +10,7 @@ package org.opentcs.kernel;
 import static java.util.Objects.requireNonNull;
 import org.opentcs.access.Kernel.State;
 import org.opentcs.components.Lifecycle;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.kernel.persistence.ModelPersister;
 import org.opentcs.kernel.workingset.PlantModelManager;
 
@@ -21,9 +22,9 @@ public abstract class KernelState
     implements Lifecycle {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The model facade to the object pool.
    */
@@ -36,14 +37,14 @@ public abstract class KernelState
   /**
    * Creates a new state.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param plantModelManager The plant model manager to be used.
    * @param modelPersister The model persister to be used.
    */
-  public KernelState(Object globalSyncObject,
+  public KernelState(KernelLock kernelLock,
                      PlantModelManager plantModelManager,
                      ModelPersister modelPersister) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.plantModelManager = requireNonNull(plantModelManager, "plantModelManager");
     this.modelPersister = requireNonNull(modelPersister, "modelPersister");
   }
@@ -55,8 +56,8 @@ public abstract class KernelState
    */
   public abstract State getState();
 
-  protected Object getGlobalSyncObject() {
-    return globalSyncObject;
+  protected KernelLock getKernelLock() {
+    return kernelLock;
   }
 
   protected ModelPersister getModelPersister() {
@@ -13,7 +13,7 @@ import javax.inject.Inject;
 import org.opentcs.access.Kernel;
 import org.opentcs.components.kernel.KernelExtension;
 import org.opentcs.customizations.kernel.ActiveInModellingMode;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.kernel.persistence.ModelPersister;
 import org.opentcs.kernel.workingset.PlantModelManager;
 import org.slf4j.Logger;
@@ -41,19 +41,19 @@ public class KernelStateModelling
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param plantModelManager The plant model manager to be used.
    * @param modelPersister The model persister to be used.
    * @param configuration This class's configuration.
    * @param extensions The kernel extensions to be used.
    */
   @Inject
-  public KernelStateModelling(@GlobalSyncObject Object globalSyncObject,
+  public KernelStateModelling(KernelLock kernelLock,
                               PlantModelManager plantModelManager,
                               ModelPersister modelPersister,
                               KernelApplicationConfiguration configuration,
                               @ActiveInModellingMode Set<KernelExtension> extensions) {
-    super(globalSyncObject,
+    super(kernelLock,
           plantModelManager,
           modelPersister,
           configuration.saveModelOnTerminateModelling());
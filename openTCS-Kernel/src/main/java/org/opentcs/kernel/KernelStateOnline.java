@@ -7,6 +7,7 @@
  */
 package org.opentcs.kernel;
 
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.kernel.persistence.ModelPersister;
 import org.opentcs.kernel.workingset.PlantModelManager;
 
@@ -24,16 +25,16 @@ public abstract class KernelStateOnline
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param plantModelManager The plant model manager to be used.
    * @param modelPersister The model persister to be used.
    * @param saveModelOnTerminate Whether to save the model when this state is terminated.
    */
-  public KernelStateOnline(Object globalSyncObject,
+  public KernelStateOnline(KernelLock kernelLock,
                            PlantModelManager plantModelManager,
                            ModelPersister modelPersister,
                            boolean saveModelOnTerminate) {
-    super(globalSyncObject, plantModelManager, modelPersister);
+    super(kernelLock, plantModelManager, modelPersister);
     this.saveModelOnTerminate = saveModelOnTerminate;
   }
 
@@ -46,8 +47,8 @@ public abstract class KernelStateOnline
 
   private void savePlantModel()
       throws IllegalStateException {
-    synchronized (getGlobalSyncObject()) {
-      getModelPersister().saveModel(getPlantModelManager().createPlantModelCreationTO());
-    }
+    getKernelLock().runReading(
+        () -> getModelPersister().saveModel(getPlantModelManager().createPlantModelCreationTO())
+    );
   }
 }
@@ -8,11 +8,14 @@
 package org.opentcs.kernel;
 
 import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.List;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.opentcs.access.Kernel;
 import org.opentcs.components.kernel.Dispatcher;
@@ -22,16 +25,27 @@ import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.InternalVehicleService;
 import org.opentcs.customizations.kernel.ActiveInOperatingMode;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.customizations.kernel.VehicleLaneProvider;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Path;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
 import org.opentcs.kernel.extensions.controlcenter.vehicles.AttachmentManager;
 import org.opentcs.kernel.peripherals.LocalPeripheralControllerPool;
 import org.opentcs.kernel.peripherals.PeripheralAttachmentManager;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderPoolJournal;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.workingset.PlantModelManager;
 import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
+import org.opentcs.kernel.workingset.TCSObjectRepository;
 import org.opentcs.kernel.workingset.TransportOrderPoolManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +88,10 @@ public class KernelStateOperating
    * A pool of vehicle controllers.
    */
   private final LocalVehicleControllerPool vehicleControllerPool;
+  /**
+   * Provides the lanes for the vehicles' tasks.
+   */
+  private final VehicleLaneProvider vehicleLaneProvider;
   /**
    * A pool of peripheral controllers.
    */
@@ -86,6 +104,10 @@ public class KernelStateOperating
    * A task for periodically getting rid of old orders.
    */
   private final OrderCleanerTask orderCleanerTask;
+  /**
+   * Journals the order pool.
+   */
+  private final OrderPoolJournal orderPoolJournal;
   /**
    * This kernel state's local extensions.
    */
@@ -114,7 +136,7 @@ public class KernelStateOperating
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param plantModelManager The plant model manager to be used.
    * @param orderPoolManager The order pool manager to be used.
    * @param jobPoolManager The job pool manager to be used.
@@ -125,16 +147,18 @@ public class KernelStateOperating
    * @param dispatcher The dispatcher to be used.
    * @param peripheralJobDispatcher The peripheral job dispatcher to be used.
    * @param controllerPool The vehicle controller pool to be used.
+   * @param vehicleLaneProvider The provider for the vehicles' lanes to be used.
    * @param peripheralControllerPool The peripheral controller pool to be used.
    * @param kernelExecutor The kernel executer to be used.
    * @param orderCleanerTask The order cleaner task to be used.
+   * @param orderPoolJournal Journals the order pool.
    * @param extensions The kernel extensions to load.
    * @param attachmentManager The attachment manager to be used.
    * @param peripheralAttachmentManager The peripheral attachment manager to be used.
    * @param vehicleService The vehicle service to be used.
    */
   @Inject
-  public KernelStateOperating(@GlobalSyncObject Object globalSyncObject,
+  public KernelStateOperating(KernelLock kernelLock,
                               PlantModelManager plantModelManager,
                               TransportOrderPoolManager orderPoolManager,
                               PeripheralJobPoolManager jobPoolManager,
@@ -145,14 +169,16 @@ public class KernelStateOperating
                               Dispatcher dispatcher,
                               PeripheralJobDispatcher peripheralJobDispatcher,
                               LocalVehicleControllerPool controllerPool,
+                              VehicleLaneProvider vehicleLaneProvider,
                               LocalPeripheralControllerPool peripheralControllerPool,
                               @KernelExecutor ScheduledExecutorService kernelExecutor,
                               OrderCleanerTask orderCleanerTask,
+                              OrderPoolJournal orderPoolJournal,
                               @ActiveInOperatingMode Set<KernelExtension> extensions,
                               AttachmentManager attachmentManager,
                               PeripheralAttachmentManager peripheralAttachmentManager,
                               InternalVehicleService vehicleService) {
-    super(globalSyncObject,
+    super(kernelLock,
           plantModelManager,
           modelPersister,
           configuration.saveModelOnTerminateOperating());
@@ -164,10 +190,12 @@ public class KernelStateOperating
     this.peripheralJobDispatcher = requireNonNull(peripheralJobDispatcher,
                                                   "peripheralJobDispatcher");
     this.vehicleControllerPool = requireNonNull(controllerPool, "controllerPool");
+    this.vehicleLaneProvider = requireNonNull(vehicleLaneProvider, "vehicleLaneProvider");
     this.peripheralControllerPool = requireNonNull(peripheralControllerPool,
                                                    "peripheralControllerPool");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
     this.orderCleanerTask = requireNonNull(orderCleanerTask, "orderCleanerTask");
+    this.orderPoolJournal = requireNonNull(orderPoolJournal, "orderPoolJournal");
     this.extensions = requireNonNull(extensions, "extensions");
     this.attachmentManager = requireNonNull(attachmentManager, "attachmentManager");
     this.peripheralAttachmentManager = requireNonNull(peripheralAttachmentManager,
@@ -194,6 +222,8 @@ public class KernelStateOperating
       vehicleService.updateVehicleOrderSequence(curVehicle.getReference(), null);
     }
 
+    getKernelLock().runWriting(this::restoreOrderPool);
+
     LOG.debug("Initializing scheduler '{}'...", scheduler);
     scheduler.initialize();
     LOG.debug("Initializing router '{}'...", router);
@@ -202,6 +232,8 @@ public class KernelStateOperating
     dispatcher.initialize();
     LOG.debug("Initializing peripheral job dispatcher '{}'...", peripheralJobDispatcher);
     peripheralJobDispatcher.initialize();
+    LOG.debug("Initializing vehicle lane provider '{}'...", vehicleLaneProvider);
+    vehicleLaneProvider.initialize();
     LOG.debug("Initializing vehicle controller pool '{}'...", vehicleControllerPool);
     vehicleControllerPool.initialize();
     LOG.debug("Initializing peripheral controller pool '{}'...", peripheralControllerPool);
@@ -253,6 +285,7 @@ public class KernelStateOperating
     // No need to clean up any more - it's all going to be cleaned up very soon.
     cleanerTaskFuture.cancel(false);
     cleanerTaskFuture = null;
+    orderCleanerTask.discardPendingRemovals();
 
     // Terminate strategies.
     LOG.debug("Terminating peripheral job dispatcher '{}'...", peripheralJobDispatcher);
@@ -273,6 +306,8 @@ public class KernelStateOperating
     peripheralAttachmentManager.terminate();
     // Grant communication adapters etc. some time to settle things.
     Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+    LOG.debug("Terminating vehicle lane provider '{}'...", vehicleLaneProvider);
+    vehicleLaneProvider.terminate();
 
     // Ensure that vehicles do not reference orders any more.
     for (Vehicle curVehicle : vehicleService.fetchObjects(Vehicle.class)) {
@@ -284,6 +319,8 @@ public class KernelStateOperating
       vehicleService.updateVehicleOrderSequence(curVehicle.getReference(), null);
     }
 
+    // Stop journalling before clearing the pool, so it can be restored when operating again.
+    orderPoolJournal.stop();
     // Remove all orders and order sequences from the pool.
     orderPoolManager.clear();
     // Remove all peripheral jobs from the pool.
@@ -298,4 +335,141 @@ public class KernelStateOperating
   public Kernel.State getState() {
     return Kernel.State.OPERATING;
   }
+
+  private void restoreOrderPool() {
+    String modelName = getPlantModelManager().getName();
+    for (TCSObject<?> object : orderPoolJournal.restore(modelName)) {
+      if (object instanceof TransportOrder) {
+        orderPoolManager.restoreTransportOrder((TransportOrder) object);
+      }
+      else if (object instanceof OrderSequence) {
+        orderPoolManager.restoreOrderSequence((OrderSequence) object);
+      }
+      else if (object instanceof PeripheralJob) {
+        jobPoolManager.restorePeripheralJob((PeripheralJob) object);
+      }
+    }
+
+    // The journal only identifies the plant model by its name, and the model may have been
+    // modified since the order pool was journalled. Whatever refers to objects that do not exist
+    // (any more) cannot be processed.
+    failUnresolvableOrderPoolObjects();
+
+    // Vehicles and peripherals have been reset, so whatever they were doing cannot be continued.
+    for (TransportOrder order : orderPoolManager.getTransportOrders(
+        TransportOrder.State.BEING_PROCESSED)) {
+      orderPoolManager.setTransportOrderState(order.getReference(), TransportOrder.State.FAILED);
+    }
+    for (TransportOrder order : orderPoolManager.getTransportOrders(
+        TransportOrder.State.WITHDRAWN)) {
+      orderPoolManager.setTransportOrderState(order.getReference(), TransportOrder.State.FAILED);
+    }
+    for (OrderSequence sequence : orderPoolManager.getObjectRepo().getObjects(
+        OrderSequence.class,
+        seq -> !seq.isFinished() && seq.getProcessingVehicle() != null)) {
+      orderPoolManager.setOrderSequenceProcessingVehicle(sequence.getReference(), null);
+    }
+    for (PeripheralJob job : jobPoolManager.getObjectRepo().getObjects(
+        PeripheralJob.class,
+        job -> job.getState() == PeripheralJob.State.BEING_PROCESSED)) {
+      jobPoolManager.setPeripheralJobState(job.getReference(), PeripheralJob.State.FAILED);
+    }
+
+    List<TCSObject<?>> poolObjects = new ArrayList<>();
+    poolObjects.addAll(orderPoolManager.getObjectRepo().getObjects(OrderSequence.class));
+    poolObjects.addAll(orderPoolManager.getObjectRepo().getObjects(TransportOrder.class));
+    poolObjects.addAll(jobPoolManager.getObjectRepo().getObjects(PeripheralJob.class));
+    orderPoolJournal.start(modelName, poolObjects);
+  }
+
+  private void failUnresolvableOrderPoolObjects() {
+    TCSObjectRepository objectRepo = orderPoolManager.getObjectRepo();
+
+    for (OrderSequence sequence : objectRepo.getObjects(
+        OrderSequence.class,
+        seq -> !seq.isFinished() && !referencesResolvable(seq))) {
+      LOG.warn("Restored order sequence '{}' refers to unknown objects, finishing it.",
+               sequence.getName());
+      for (TCSObjectReference<TransportOrder> orderRef : sequence.getOrders()) {
+        TransportOrder order = objectRepo.getObjectOrNull(TransportOrder.class, orderRef);
+        if (order != null && !order.getState().isFinalState()) {
+          orderPoolManager.setTransportOrderState(orderRef, TransportOrder.State.FAILED);
+        }
+      }
+      orderPoolManager.setOrderSequenceComplete(sequence.getReference());
+      orderPoolManager.setOrderSequenceFinished(sequence.getReference());
+    }
+    for (TransportOrder order : objectRepo.getObjects(
+        TransportOrder.class,
+        order -> !order.getState().isFinalState() && !referencesResolvable(order))) {
+      LOG.warn("Restored transport order '{}' refers to unknown objects, marking it as failed.",
+               order.getName());
+      orderPoolManager.setTransportOrderState(order.getReference(), TransportOrder.State.FAILED);
+    }
+    for (PeripheralJob job : objectRepo.getObjects(
+        PeripheralJob.class,
+        job -> !job.getState().isFinalState() && !referencesResolvable(job))) {
+      LOG.warn("Restored peripheral job '{}' refers to unknown objects, marking it as failed.",
+               job.getName());
+      jobPoolManager.setPeripheralJobState(job.getReference(), PeripheralJob.State.FAILED);
+    }
+  }
+
+  private boolean referencesResolvable(OrderSequence sequence) {
+    return exists(sequence.getIntendedVehicle())
+        && exists(sequence.getProcessingVehicle())
+        && sequence.getOrders().stream().allMatch(this::exists);
+  }
+
+  private boolean referencesResolvable(TransportOrder order) {
+    if (!exists(order.getIntendedVehicle())
+        || !exists(order.getProcessingVehicle())
+        || !exists(order.getWrappingSequence())
+        || !order.getDependencies().stream().allMatch(this::exists)) {
+      return false;
+    }
+
+    for (DriveOrder driveOrder : order.getAllDriveOrders()) {
+      if (!exists(driveOrder.getDestination().getDestination())) {
+        return false;
+      }
+      if (driveOrder.getRoute() != null
+          && !driveOrder.getRoute().getSteps().stream().allMatch(this::existsUnchanged)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean referencesResolvable(PeripheralJob job) {
+    return exists(job.getPeripheralOperation().getLocation())
+        && exists(job.getRelatedVehicle())
+        && exists(job.getRelatedTransportOrder());
+  }
+
+  /**
+   * Checks whether the points and the path of the given route step exist and the path still
+   * connects the same points.
+   */
+  private boolean existsUnchanged(Route.Step step) {
+    if (step.getSourcePoint() != null && !exists(step.getSourcePoint().getReference())) {
+      return false;
+    }
+    if (!exists(step.getDestinationPoint().getReference())) {
+      return false;
+    }
+    if (step.getPath() == null) {
+      return true;
+    }
+
+    Path path = orderPoolManager.getObjectRepo().getObjectOrNull(Path.class,
+                                                                 step.getPath().getName());
+    return path != null
+        && path.getSourcePoint().equals(step.getPath().getSourcePoint())
+        && path.getDestinationPoint().equals(step.getPath().getDestinationPoint());
+  }
+
+  private boolean exists(@Nullable TCSObjectReference<?> ref) {
+    return ref == null || orderPoolManager.getObjectRepo().getObjectOrNull(ref) != null;
+  }
 }
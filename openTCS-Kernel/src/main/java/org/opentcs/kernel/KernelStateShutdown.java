@@ -9,7 +9,7 @@ package org.opentcs.kernel;
 
 import javax.inject.Inject;
 import org.opentcs.access.Kernel;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.kernel.persistence.ModelPersister;
 import org.opentcs.kernel.workingset.PlantModelManager;
 
@@ -27,15 +27,15 @@ public class KernelStateShutdown
   /**
    * Creates a new StandardKernelShutdownState.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param plantModelManager The plant model manager to be used.
    * @param modelPersister The model persister to be used.
    */
   @Inject
-  public KernelStateShutdown(@GlobalSyncObject Object globalSyncObject,
+  public KernelStateShutdown(KernelLock kernelLock,
                              PlantModelManager plantModelManager,
                              ModelPersister modelPersister) {
-    super(globalSyncObject,
+    super(kernelLock,
           plantModelManager,
           modelPersister);
   }
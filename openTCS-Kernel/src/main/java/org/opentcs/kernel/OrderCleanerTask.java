@@ -9,17 +9,24 @@ package org.opentcs.kernel;
 
 import com.google.common.collect.Iterables;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.OrderSequenceCleanupApproval;
 import org.opentcs.components.kernel.PeripheralJobCleanupApproval;
 import org.opentcs.components.kernel.TransportOrderCleanupApproval;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.customizations.kernel.KernelLock;
+import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.TCSObjectsRemovedEvent;
 import org.opentcs.data.order.OrderSequence;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.data.peripherals.PeripheralJob;
@@ -30,6 +37,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A task that periodically removes orders in a final state.
+ * <p>
+ * Each sweep determines the candidates for removal and removes them in batches limited by number
+ * and time, so that other tasks on the kernel executor are not blocked for long by large sweeps.
+ * </p>
  */
 public class OrderCleanerTask
     implements Runnable {
@@ -39,9 +50,13 @@ public class OrderCleanerTask
    */
   private static final Logger LOG = LoggerFactory.getLogger(OrderCleanerTask.class);
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
+  /**
+   * Executes subsequent batches of a sweep.
+   */
+  private final ScheduledExecutorService kernelExecutor;
   /**
    * Keeps all the transport orders.
    */
@@ -66,11 +81,16 @@ public class OrderCleanerTask
    * This class's configuration.
    */
   private final OrderPoolConfiguration configuration;
+  /**
+   * The removals pending from the current sweep.
+   */
+  private final Deque<Runnable> pendingRemovals = new ArrayDeque<>();
 
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
+   * @param kernelExecutor Executes subsequent batches of a sweep.
    * @param orderPoolManager The order pool manager to be used.
    * @param peripheralJobPoolManager The peripheral job pool manager to be used.
    * @param orderCleanupApprovals The set of order cleanup approvals to use.
@@ -79,14 +99,16 @@ public class OrderCleanerTask
    * @param configuration This class's configuration.
    */
   @Inject
-  public OrderCleanerTask(@GlobalSyncObject Object globalSyncObject,
+  public OrderCleanerTask(KernelLock kernelLock,
+                          @KernelExecutor ScheduledExecutorService kernelExecutor,
                           TransportOrderPoolManager orderPoolManager,
                           PeripheralJobPoolManager peripheralJobPoolManager,
                           Set<TransportOrderCleanupApproval> orderCleanupApprovals,
                           Set<OrderSequenceCleanupApproval> sequenceCleanupApprovals,
                           Set<PeripheralJobCleanupApproval> peripheralJobCleanupApprovals,
                           OrderPoolConfiguration configuration) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
     this.orderPoolManager = requireNonNull(orderPoolManager, "orderPoolManager");
     this.peripheralJobPoolManager = requireNonNull(peripheralJobPoolManager,
                                                    "peripheralJobPoolManager");
@@ -104,83 +126,149 @@ public class OrderCleanerTask
 
   @Override
   public void run() {
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
+      if (!pendingRemovals.isEmpty()) {
+        LOG.debug("Previous sweep not completed, yet, skipping this one.");
+        return;
+      }
+
       LOG.debug("Sweeping order pool...");
       // Candidates that are created before this point of time should be removed.
       Instant creationTimeThreshold = Instant.now().minusMillis(configuration.sweepAge());
 
       // Remove all peripheral jobs in a final state that do not belong to a transport order and
       // that are older than the threshold.
+      PeripheralJobApproval peripheralJobApproval = new PeripheralJobApproval();
       for (PeripheralJob peripheralJob
-               : peripheralJobPoolManager.getObjectRepo().getObjects(
-              PeripheralJob.class,
-              new PeripheralJobApproval(creationTimeThreshold))) {
-        peripheralJobPoolManager.removePeripheralJob(peripheralJob.getReference());
+               : peripheralJobPoolManager.getFinalPeripheralJobsCreatedUntil(
+              creationTimeThreshold)) {
+        pendingRemovals.add(() -> {
+          PeripheralJob job = peripheralJobPoolManager.getObjectRepo()
+              .getObjectOrNull(PeripheralJob.class, peripheralJob.getName());
+          if (job != null && peripheralJobApproval.test(job)) {
+            peripheralJobPoolManager.removePeripheralJob(job.getReference());
+          }
+        });
       }
 
       // Remove all transport orders in a final state that do NOT belong to a sequence and that are
       // older than the threshold, including their related peripheral jobs.
+      OrderApproval orderApproval = new OrderApproval();
       for (TransportOrder transportOrder
-               : orderPoolManager.getObjectRepo().getObjects(
-              TransportOrder.class,
-              new OrderApproval(creationTimeThreshold))) {
-        removeTransportOrderAndRelatedPeripheralJobs(transportOrder.getReference());
+               : orderPoolManager.getFinalTransportOrdersCreatedUntil(creationTimeThreshold)) {
+        pendingRemovals.add(() -> {
+          TransportOrder order = orderPoolManager.getObjectRepo()
+              .getObjectOrNull(TransportOrder.class, transportOrder.getName());
+          if (order != null && orderApproval.test(order)) {
+            removeRelatedPeripheralJobs(order.getReference());
+            orderPoolManager.removeTransportOrder(order.getReference());
+          }
+        });
       }
 
       // Remove all order sequences that have been finished, including their transport orders and
       // the transport orders' related peripheral jobs.
-      for (OrderSequence orderSequence
-               : orderPoolManager.getObjectRepo().getObjects(
-              OrderSequence.class,
-              new SequenceApproval(creationTimeThreshold))) {
-        for (TCSObjectReference<TransportOrder> transportOrderRef : orderSequence.getOrders()) {
-          removeTransportOrderAndRelatedPeripheralJobs(transportOrderRef);
+      SequenceApproval sequenceApproval = new SequenceApproval(creationTimeThreshold);
+      for (OrderSequence orderSequence : orderPoolManager.getFinishedOrderSequences()) {
+        pendingRemovals.add(() -> {
+          OrderSequence seq = orderPoolManager.getObjectRepo()
+              .getObjectOrNull(OrderSequence.class, orderSequence.getName());
+          if (seq != null && sequenceApproval.test(seq)) {
+            for (TCSObjectReference<TransportOrder> transportOrderRef : seq.getOrders()) {
+              removeRelatedPeripheralJobs(transportOrderRef);
+            }
+            orderPoolManager.removeFinishedOrderSequenceAndOrders(seq.getReference());
+          }
+        });
+      }
+    });
+
+    removeBatch();
+  }
+
+  /**
+   * Discards the removals pending from a sweep that has not been completed, yet.
+   */
+  public void discardPendingRemovals() {
+    kernelLock.runWriting(pendingRemovals::clear);
+  }
+
+  /**
+   * Performs the pending removals until the configured batch size or time budget is exceeded, and
+   * schedules another batch on the kernel executor if any removals remain.
+   */
+  private void removeBatch() {
+    kernelLock.runWriting(() -> {
+      if (pendingRemovals.isEmpty()) {
+        return;
+      }
+
+      int batchSize = configuration.sweepBatchSize();
+      long timeBudget = TimeUnit.MILLISECONDS.toNanos(configuration.sweepBatchTimeBudget());
+      List<TCSObject<?>> removedObjects
+          = configuration.sweepBulkRemovalEvents() ? new ArrayList<>() : null;
+      orderPoolManager.setRemovedObjectsCollector(removedObjects);
+      peripheralJobPoolManager.setRemovedObjectsCollector(removedObjects);
+
+      long startTime = System.nanoTime();
+      int candidateCount = 0;
+      try {
+        while (!pendingRemovals.isEmpty()
+            && (batchSize <= 0 || candidateCount < batchSize)
+            && (timeBudget <= 0 || System.nanoTime() - startTime < timeBudget)) {
+          candidateCount++;
+          try {
+            pendingRemovals.poll().run();
+          }
+          catch (RuntimeException exc) {
+            LOG.warn("Exception removing an object from the order pool", exc);
+          }
         }
-        orderPoolManager.removeFinishedOrderSequenceAndOrders(orderSequence.getReference());
       }
-    }
+      finally {
+        orderPoolManager.setRemovedObjectsCollector(null);
+        peripheralJobPoolManager.setRemovedObjectsCollector(null);
+      }
+
+      if (removedObjects != null && !removedObjects.isEmpty()) {
+        orderPoolManager.emitEvent(new TCSObjectsRemovedEvent(removedObjects));
+      }
+      LOG.debug("Checked {} removal candidates in {} ms, {} remaining.",
+                candidateCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                pendingRemovals.size());
+
+      if (!pendingRemovals.isEmpty()) {
+        kernelExecutor.execute(this::removeBatch);
+      }
+    });
   }
 
-  private void removeTransportOrderAndRelatedPeripheralJobs(
-      TCSObjectReference<TransportOrder> transportOrderRef) {
+  private void removeRelatedPeripheralJobs(TCSObjectReference<TransportOrder> transportOrderRef) {
     for (PeripheralJob peripheralJob
-             : peripheralJobPoolManager.getObjectRepo().getObjects(
-            PeripheralJob.class,
-            job -> Objects.equals(job.getRelatedTransportOrder(), transportOrderRef))) {
+             : peripheralJobPoolManager.getPeripheralJobsRelatedTo(transportOrderRef)) {
       peripheralJobPoolManager.removePeripheralJob(peripheralJob.getReference());
     }
-    orderPoolManager.removeTransportOrder(transportOrderRef);
   }
 
   /**
-   * Checks whether a transport order may be removed.
+   * Checks whether a transport order in a final state and older than the sweep threshold may be
+   * removed.
    */
   private class OrderApproval
       implements Predicate<TransportOrder> {
 
-    /**
-     * Threshold for when a transport order can be removed if it was created before this.
-     */
-    private final Instant creationTimeThreshold;
-
-    OrderApproval(Instant creationTimeThreshold) {
-      this.creationTimeThreshold = creationTimeThreshold;
+    OrderApproval() {
     }
 
     @Override
     public boolean test(TransportOrder order) {
-      if (!order.getState().isFinalState()) {
-        return false;
-      }
       if (order.getWrappingSequence() != null) {
         return false;
       }
       if (isRelatedToJobWithNonFinalState(order)) {
         return false;
       }
-      if (order.getCreationTime().isAfter(creationTimeThreshold)) {
-        return false;
-      }
       for (TransportOrderCleanupApproval approval : orderCleanupApprovals) {
         if (!approval.test(order)) {
           return false;
@@ -190,16 +278,13 @@ public class OrderCleanerTask
     }
 
     private boolean isRelatedToJobWithNonFinalState(TransportOrder order) {
-      return !peripheralJobPoolManager.getObjectRepo().getObjects(
-          PeripheralJob.class,
-          job -> Objects.equals(job.getRelatedTransportOrder(), order.getReference())
-          && !job.getState().isFinalState()
-      ).isEmpty();
+      return peripheralJobPoolManager.getPeripheralJobsRelatedTo(order.getReference()).stream()
+          .anyMatch(job -> !job.getState().isFinalState());
     }
   }
 
   /**
-   * Checks whether an order sequence may be removed.
+   * Checks whether a finished order sequence may be removed.
    */
   private class SequenceApproval
       implements Predicate<OrderSequence> {
@@ -215,9 +300,6 @@ public class OrderCleanerTask
 
     @Override
     public boolean test(OrderSequence seq) {
-      if (!seq.isFinished()) {
-        return false;
-      }
       List<TCSObjectReference<TransportOrder>> orderRefs = seq.getOrders();
       if (!orderRefs.isEmpty()) {
         TransportOrder lastOrder
@@ -237,33 +319,22 @@ public class OrderCleanerTask
   }
 
   /**
-   * Checks whether a peripheral job may be removed.
+   * Checks whether a peripheral job in a final state and older than the sweep threshold may be
+   * removed.
    */
   private class PeripheralJobApproval
       implements Predicate<PeripheralJob> {
 
-    /**
-     * Threshold for when a peripheral job can be removed if it was created before this.
-     */
-    private final Instant creationTimeThreshold;
-
-    PeripheralJobApproval(Instant creationTimeThreshold) {
-      this.creationTimeThreshold = creationTimeThreshold;
+    PeripheralJobApproval() {
     }
 
     @Override
     public boolean test(PeripheralJob job) {
-      if (!job.getState().isFinalState()) {
-        return false;
-      }
       if (job.getRelatedTransportOrder() != null) {
         // Peripheral jobs related to a transport order are removed when the related transport order
         // is removed.
         return false;
       }
-      if (job.getCreationTime().isAfter(creationTimeThreshold)) {
-        return false;
-      }
       for (PeripheralJobCleanupApproval approval : peripheralJobCleanupApprovals) {
         if (!approval.test(job)) {
           return false;
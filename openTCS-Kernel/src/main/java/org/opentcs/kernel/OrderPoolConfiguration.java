@@ -34,4 +34,63 @@ public interface OrderPoolConfiguration {
       changesApplied = ConfigurationEntry.ChangesApplied.INSTANTLY
   )
   int sweepAge();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum number of orders, order sequences or peripheral jobs to remove in one batch.",
+        "Objects remaining after a batch are removed in subsequent batches, with other kernel tasks",
+        "being executed in between. If 0, the number is not limited."},
+      changesApplied = ConfigurationEntry.ChangesApplied.INSTANTLY
+  )
+  int sweepBatchSize();
+
+  @ConfigurationEntry(
+      type = "Long",
+      description = {
+        "The maximum time (in ms) to spend on one batch of a sweep.",
+        "Checked after each removed object, i.e. a single removal may exceed it.",
+        "If 0, the time is not limited."},
+      changesApplied = ConfigurationEntry.ChangesApplied.INSTANTLY
+  )
+  long sweepBatchTimeBudget();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to emit a single TCSObjectsRemovedEvent for all objects removed in a batch instead",
+        "of one TCSObjectEvent per object. Requires all clients to support the former."},
+      changesApplied = ConfigurationEntry.ChangesApplied.INSTANTLY
+  )
+  boolean sweepBulkRemovalEvents();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to journal transport orders, order sequences and peripheral jobs to the kernel's",
+        "data directory and restore them when the kernel enters operating mode with the same plant",
+        "model again, e.g. after a restart.",
+        "Restored orders and jobs that were being processed are marked as failed."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START
+  )
+  boolean journalEnabled();
+
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The number of journal records after which a new snapshot of the order pool is written and",
+        "the journal is started anew. If 0, snapshots are only written when entering or leaving",
+        "operating mode."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START
+  )
+  int journalSnapshotInterval();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to sync the journal to the storage device after each group of records.",
+        "If false, records may be lost if the operating system crashes."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START
+  )
+  boolean journalSyncOnCommit();
 }
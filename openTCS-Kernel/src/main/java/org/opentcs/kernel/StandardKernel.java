@@ -26,6 +26,7 @@ import org.opentcs.components.kernel.services.NotificationService;
 import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.notification.UserNotification;
+import org.opentcs.kernel.workingset.ObjectHistoryRetention;
 import org.opentcs.util.event.EventBus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +66,10 @@ public class StandardKernel
    * The notification service.
    */
   private final NotificationService notificationService;
+  /**
+   * Limits the histories of the kernel's objects.
+   */
+  private final ObjectHistoryRetention historyRetention;
   /**
    * This kernel's <em>initialized</em> flag.
    */
@@ -81,16 +86,19 @@ public class StandardKernel
    * @param kernelExecutor An executor for this kernel's tasks.
    * @param stateProviders The state map to be used.
    * @param notificationService The notification service to be used.
+   * @param historyRetention Limits the histories of the kernel's objects.
    */
   @Inject
   public StandardKernel(@ApplicationEventBus EventBus eventBus,
                         @KernelExecutor ScheduledExecutorService kernelExecutor,
                         Map<Kernel.State, Provider<KernelState>> stateProviders,
-                        NotificationService notificationService) {
+                        NotificationService notificationService,
+                        ObjectHistoryRetention historyRetention) {
     this.eventBus = requireNonNull(eventBus, "eventBus");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
     this.stateProviders = requireNonNull(stateProviders, "stateProviders");
     this.notificationService = requireNonNull(notificationService, "notificationService");
+    this.historyRetention = requireNonNull(historyRetention, "historyRetention");
   }
 
   @Override
@@ -144,6 +152,8 @@ public class StandardKernel
       extension.terminate();
     }
     kernelExecutor.shutdown();
+    // Write history entries removed so far to the journal before the JVM exits.
+    historyRetention.shutdown();
     LOG.info("Kernel thread finished.");
   }
 
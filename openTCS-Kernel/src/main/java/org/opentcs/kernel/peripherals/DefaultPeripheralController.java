@@ -27,7 +27,7 @@ import org.opentcs.drivers.peripherals.management.PeripheralProcessModelEvent;
 import static org.opentcs.util.Assertions.checkState;
 import org.opentcs.util.ExplainedBoolean;
 import org.opentcs.util.event.EventBus;
-import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.SynchronousEventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,7 +37,7 @@ import org.slf4j.LoggerFactory;
  */
 public class DefaultPeripheralController
     implements PeripheralController,
-               EventHandler {
+               SynchronousEventHandler {
 
   /**
    * This class's Logger.
@@ -0,0 +1,601 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.customizations.ApplicationHome;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectsRemovedEvent;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.data.peripherals.PeripheralJob;
+import org.opentcs.kernel.OrderPoolConfiguration;
+import static org.opentcs.util.Assertions.checkInRange;
+import static org.opentcs.util.Assertions.checkState;
+import org.opentcs.util.event.EventSource;
+import org.opentcs.util.event.SynchronousEventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journals the mutations of the order pool, i.e. of transport orders, order sequences and
+ * peripheral jobs, so that the order pool can be restored after the kernel has been restarted.
+ * <p>
+ * The order pool is kept in two files in the kernel's data directory: A snapshot of the order pool
+ * and a journal of the mutations since the snapshot was written. Both start with a header
+ * containing the name of the plant model the order pool belongs to, followed by a sequence of
+ * records. A record contains a group of mutations, each of them either the serialized state of an
+ * object that has been created or modified, or the name of an object that has been removed. Every
+ * record is protected by a checksum, so that a record that was only partially written when the
+ * kernel crashed is detected and ignored.
+ * </p>
+ * <p>
+ * The header only identifies the plant model by its name, which does not change when the model is
+ * modified. Restored objects may therefore refer to objects that do not exist in the plant model
+ * currently loaded, and callers need to check the references of restored objects.
+ * </p>
+ * <p>
+ * Events for objects in the order pool are only queued in the thread publishing them. The
+ * mutations are written by a dedicated thread, which writes all mutations queued at the same time
+ * as one record with a single flush (and, optionally, a single sync to the storage device). After a
+ * configurable number of mutations, the writer thread writes a new snapshot and starts a new
+ * journal.
+ * </p>
+ */
+public class OrderPoolJournal
+    implements SynchronousEventHandler {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(OrderPoolJournal.class);
+  /**
+   * The name of the snapshot file in the data directory.
+   */
+  private static final String SNAPSHOT_FILE_NAME = "orderpool-snapshot.bin";
+  /**
+   * The name of the journal file in the data directory.
+   */
+  private static final String JOURNAL_FILE_NAME = "orderpool-journal.bin";
+  /**
+   * Identifies snapshot and journal files and the version of their format.
+   */
+  private static final int FILE_MAGIC = 0x4f504a01;
+  /**
+   * The type of a record containing a group of mutations.
+   */
+  private static final byte RECORD_MUTATIONS = 1;
+  /**
+   * The maximum size of a record's payload, to detect corrupted records.
+   */
+  private static final int MAX_PAYLOAD_SIZE = 64 * 1024 * 1024;
+  /**
+   * The maximum number of mutations written as one record.
+   */
+  private static final int MAX_GROUP_SIZE = 1000;
+  /**
+   * Requests the writer thread to terminate.
+   */
+  private static final Mutation STOP = new Mutation("", null);
+  /**
+   * Requests the writer thread to terminate without writing a final snapshot.
+   */
+  private static final Mutation STOP_WITHOUT_SNAPSHOT = new Mutation("", null);
+  /**
+   * The source of the events for objects in the order pool.
+   */
+  private final EventSource eventSource;
+  /**
+   * The directory containing the snapshot and journal files.
+   */
+  private final Path dataDirectory;
+  /**
+   * Whether journalling is enabled.
+   */
+  private final boolean enabled;
+  /**
+   * The number of mutations after which a new snapshot is written, or 0, if snapshots are only
+   * written when journalling is started or stopped.
+   */
+  private final int snapshotInterval;
+  /**
+   * Whether to sync the journal to the storage device after each record.
+   */
+  private final boolean syncOnCommit;
+  /**
+   * The mutations to be written.
+   */
+  private final BlockingQueue<Mutation> pendingMutations = new LinkedBlockingQueue<>();
+  /**
+   * The current state of every object in the order pool, mapped by name.
+   * Only accessed by the writer thread while journalling.
+   */
+  private final Map<String, TCSObject<?>> poolObjects = new LinkedHashMap<>();
+  /**
+   * The name of the plant model the order pool belongs to.
+   */
+  private String modelName = "";
+  /**
+   * The channel of the journal file, or {@code null}, if the journal is not open.
+   */
+  private FileChannel journalChannel;
+  /**
+   * The stream to write records to the journal file with.
+   */
+  private DataOutputStream journalOut;
+  /**
+   * The number of mutations written to the journal since the last snapshot.
+   */
+  private int mutationsSinceSnapshot;
+  /**
+   * The thread writing the mutations, or {@code null}, if not journalling.
+   */
+  private Thread writerThread;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventSource The source of the events for objects in the order pool.
+   * @param homeDirectory The kernel's home directory.
+   * @param configuration The order pool's configuration.
+   */
+  @Inject
+  public OrderPoolJournal(@ApplicationEventBus EventSource eventSource,
+                          @ApplicationHome File homeDirectory,
+                          OrderPoolConfiguration configuration) {
+    this(eventSource,
+         homeDirectory.toPath().resolve("data"),
+         configuration.journalEnabled(),
+         configuration.journalSnapshotInterval(),
+         configuration.journalSyncOnCommit());
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param eventSource The source of the events for objects in the order pool.
+   * @param dataDirectory The directory containing the snapshot and journal files.
+   * @param enabled Whether journalling is enabled.
+   * @param snapshotInterval The number of mutations after which a new snapshot is written, or 0,
+   * if snapshots are only to be written when journalling is started or stopped.
+   * @param syncOnCommit Whether to sync the journal to the storage device after each record.
+   */
+  public OrderPoolJournal(@Nonnull EventSource eventSource,
+                          @Nonnull Path dataDirectory,
+                          boolean enabled,
+                          int snapshotInterval,
+                          boolean syncOnCommit) {
+    this.eventSource = requireNonNull(eventSource, "eventSource");
+    this.dataDirectory = requireNonNull(dataDirectory, "dataDirectory");
+    this.enabled = enabled;
+    this.snapshotInterval = checkInRange(snapshotInterval,
+                                         0,
+                                         Integer.MAX_VALUE,
+                                         "snapshotInterval");
+    this.syncOnCommit = syncOnCommit;
+  }
+
+  /**
+   * Reads the order pool from the snapshot and journal files.
+   * Records following a corrupted or incomplete record in the journal are ignored.
+   *
+   * @param modelName The name of the plant model currently loaded. If the order pool in the files
+   * belongs to a different plant model, it is ignored.
+   * @return The objects in the order pool, or an empty list, if journalling is disabled or there is
+   * no order pool for the given plant model.
+   */
+  @Nonnull
+  public List<TCSObject<?>> restore(@Nonnull String modelName) {
+    requireNonNull(modelName, "modelName");
+
+    if (!enabled) {
+      return List.of();
+    }
+
+    long startTime = System.currentTimeMillis();
+    Map<String, TCSObject<?>> objects = new LinkedHashMap<>();
+    try {
+      if (!readRecords(dataDirectory.resolve(SNAPSHOT_FILE_NAME), modelName, objects)) {
+        return List.of();
+      }
+      readRecords(dataDirectory.resolve(JOURNAL_FILE_NAME), modelName, objects);
+    }
+    catch (IOException exc) {
+      LOG.warn("Could not read order pool for plant model '{}', not restoring it.", modelName, exc);
+      return List.of();
+    }
+
+    LOG.info("Read {} objects of order pool for plant model '{}' in {} ms.",
+             objects.size(),
+             modelName,
+             System.currentTimeMillis() - startTime);
+    return new ArrayList<>(objects.values());
+  }
+
+  /**
+   * Starts journalling the order pool.
+   * Writes a snapshot of the given objects and starts a new journal.
+   *
+   * @param modelName The name of the plant model the order pool belongs to.
+   * @param objects The objects currently in the order pool.
+   * @throws IllegalStateException If journalling has already been started.
+   */
+  public void start(@Nonnull String modelName, @Nonnull Collection<TCSObject<?>> objects)
+      throws IllegalStateException {
+    requireNonNull(modelName, "modelName");
+    requireNonNull(objects, "objects");
+    checkState(writerThread == null, "Already started.");
+
+    if (!enabled) {
+      return;
+    }
+
+    this.modelName = modelName;
+    poolObjects.clear();
+    for (TCSObject<?> object : objects) {
+      poolObjects.put(object.getName(), object);
+    }
+    pendingMutations.clear();
+    writeSnapshotSafely();
+
+    eventSource.subscribe(this);
+    writerThread = new Thread(this::writeMutations, "orderPoolJournalWriter");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Stops journalling the order pool.
+   * Waits until all pending mutations have been written and writes a final snapshot.
+   */
+  public void stop() {
+    stop(STOP);
+  }
+
+  /**
+   * Stops journalling the order pool without writing a final snapshot.
+   * Waits until all pending mutations have been written, leaving the files as they would be after
+   * a crash of the kernel.
+   */
+  void stopWithoutSnapshot() {
+    stop(STOP_WITHOUT_SNAPSHOT);
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (event instanceof TCSObjectEvent) {
+      TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+      if (!isPoolObject(objectEvent.getCurrentOrPreviousObjectState())) {
+        return;
+      }
+      if (objectEvent.getType() == TCSObjectEvent.Type.OBJECT_REMOVED) {
+        pendingMutations.add(
+            new Mutation(objectEvent.getPreviousObjectState().getName(), null)
+        );
+      }
+      else {
+        pendingMutations.add(new Mutation(objectEvent.getCurrentObjectState().getName(),
+                                          objectEvent.getCurrentObjectState()));
+      }
+    }
+    else if (event instanceof TCSObjectsRemovedEvent) {
+      for (TCSObject<?> removedObject : ((TCSObjectsRemovedEvent) event).getRemovedObjects()) {
+        if (isPoolObject(removedObject)) {
+          pendingMutations.add(new Mutation(removedObject.getName(), null));
+        }
+      }
+    }
+  }
+
+  private void stop(Mutation stopRequest) {
+    if (writerThread == null) {
+      return;
+    }
+
+    eventSource.unsubscribe(this);
+    pendingMutations.add(stopRequest);
+    Uninterruptibles.joinUninterruptibly(writerThread);
+    writerThread = null;
+  }
+
+  private boolean isPoolObject(TCSObject<?> object) {
+    return object instanceof TransportOrder
+        || object instanceof OrderSequence
+        || object instanceof PeripheralJob;
+  }
+
+  private void writeMutations() {
+    List<Mutation> group = new ArrayList<>();
+    Mutation stopRequest = null;
+    while (stopRequest == null) {
+      group.clear();
+      group.add(Uninterruptibles.takeUninterruptibly(pendingMutations));
+      pendingMutations.drainTo(group, MAX_GROUP_SIZE - 1);
+      for (int i = 0; i < group.size(); i++) {
+        if (group.get(i) == STOP || group.get(i) == STOP_WITHOUT_SNAPSHOT) {
+          stopRequest = group.get(i);
+          group.subList(i, group.size()).clear();
+          break;
+        }
+      }
+
+      for (Mutation mutation : group) {
+        if (mutation.object == null) {
+          poolObjects.remove(mutation.name);
+        }
+        else {
+          poolObjects.put(mutation.name, mutation.object);
+        }
+      }
+
+      if (journalOut == null) {
+        // The journal could not be written before, so write the complete order pool, instead.
+        writeSnapshotSafely();
+      }
+      else {
+        appendToJournal(group);
+      }
+      if (snapshotInterval > 0 && mutationsSinceSnapshot >= snapshotInterval) {
+        writeSnapshotSafely();
+      }
+    }
+
+    if (stopRequest == STOP) {
+      writeSnapshotSafely();
+    }
+    closeJournal();
+  }
+
+  private void appendToJournal(List<Mutation> group) {
+    if (group.isEmpty()) {
+      return;
+    }
+
+    try {
+      ArrayList<Object> mutations = new ArrayList<>(group.size());
+      for (Mutation mutation : group) {
+        mutations.add(mutation.object == null ? mutation.name : mutation.object);
+      }
+      writeRecord(journalOut, serialize(mutations));
+      journalOut.flush();
+      if (syncOnCommit) {
+        journalChannel.force(false);
+      }
+      mutationsSinceSnapshot += group.size();
+    }
+    catch (IOException exc) {
+      LOG.warn("Could not write {} mutations to order pool journal.", group.size(), exc);
+      closeJournal();
+    }
+  }
+
+  private void writeSnapshotSafely() {
+    try {
+      writeSnapshot();
+    }
+    catch (IOException exc) {
+      LOG.warn("Could not write snapshot of order pool.", exc);
+    }
+  }
+
+  private void writeSnapshot()
+      throws IOException {
+    long startTime = System.currentTimeMillis();
+    closeJournal();
+    Files.createDirectories(dataDirectory);
+
+    Path tmpFile = dataDirectory.resolve(SNAPSHOT_FILE_NAME + ".tmp");
+    try (FileChannel channel = FileChannel.open(tmpFile,
+                                                StandardOpenOption.CREATE,
+                                                StandardOpenOption.TRUNCATE_EXISTING,
+                                                StandardOpenOption.WRITE);
+         DataOutputStream out
+             = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+      writeHeader(out);
+      ArrayList<Object> objects = new ArrayList<>(MAX_GROUP_SIZE);
+      for (TCSObject<?> object : poolObjects.values()) {
+        objects.add(object);
+        if (objects.size() == MAX_GROUP_SIZE) {
+          writeRecord(out, serialize(objects));
+          objects.clear();
+        }
+      }
+      if (!objects.isEmpty()) {
+        writeRecord(out, serialize(objects));
+      }
+      out.flush();
+      channel.force(true);
+    }
+    // If the kernel crashes before the new journal has been started, replaying the old journal on
+    // top of the new snapshot leads to the same state, as the snapshot contains all its records.
+    Files.move(tmpFile,
+               dataDirectory.resolve(SNAPSHOT_FILE_NAME),
+               StandardCopyOption.REPLACE_EXISTING,
+               StandardCopyOption.ATOMIC_MOVE);
+
+    journalChannel = FileChannel.open(dataDirectory.resolve(JOURNAL_FILE_NAME),
+                                      StandardOpenOption.CREATE,
+                                      StandardOpenOption.TRUNCATE_EXISTING,
+                                      StandardOpenOption.WRITE);
+    journalOut
+        = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(journalChannel)));
+    writeHeader(journalOut);
+    journalOut.flush();
+    journalChannel.force(true);
+    mutationsSinceSnapshot = 0;
+
+    LOG.debug("Wrote snapshot of {} objects in {} ms.",
+              poolObjects.size(),
+              System.currentTimeMillis() - startTime);
+  }
+
+  private void closeJournal() {
+    if (journalOut == null) {
+      return;
+    }
+
+    try {
+      journalOut.close();
+    }
+    catch (IOException exc) {
+      LOG.warn("Could not close order pool journal.", exc);
+    }
+    journalOut = null;
+    journalChannel = null;
+  }
+
+  private void writeHeader(DataOutputStream out)
+      throws IOException {
+    out.writeInt(FILE_MAGIC);
+    out.writeUTF(modelName);
+  }
+
+  private void writeRecord(DataOutputStream out, byte[] payload)
+      throws IOException {
+    out.writeByte(RECORD_MUTATIONS);
+    out.writeInt(payload.length);
+    out.write(payload);
+    out.writeInt(checksum(RECORD_MUTATIONS, payload));
+  }
+
+  /**
+   * Reads the records from the given file into the given map.
+   *
+   * @return {@code true} if, and only if, the file exists and belongs to the given plant model.
+   */
+  private boolean readRecords(Path file,
+                              String expectedModelName,
+                              Map<String, TCSObject<?>> objects)
+      throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return false;
+    }
+
+    try (DataInputStream in
+        = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != FILE_MAGIC) {
+        LOG.warn("{} is not an order pool file of a supported version, ignoring it.", file);
+        return false;
+      }
+      String fileModelName = in.readUTF();
+      if (!fileModelName.equals(expectedModelName)) {
+        LOG.info("{} belongs to plant model '{}', ignoring it.", file, fileModelName);
+        return false;
+      }
+
+      int type;
+      while ((type = in.read()) != -1) {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD_SIZE) {
+          LOG.warn("Corrupted record in {}, ignoring it and all following records.", file);
+          return true;
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        if (in.readInt() != checksum((byte) type, payload)) {
+          LOG.warn("Corrupted record in {}, ignoring it and all following records.", file);
+          return true;
+        }
+
+        if (type != RECORD_MUTATIONS) {
+          LOG.warn("Unknown record type {} in {}, ignoring it.", type, file);
+          continue;
+        }
+        for (Object mutation : deserialize(payload)) {
+          if (mutation instanceof TCSObject) {
+            objects.put(((TCSObject<?>) mutation).getName(), (TCSObject<?>) mutation);
+          }
+          else {
+            objects.remove((String) mutation);
+          }
+        }
+      }
+    }
+    catch (EOFException exc) {
+      LOG.warn("Incomplete record at the end of {}, ignoring it.", file);
+    }
+    return true;
+  }
+
+  private static int checksum(byte type, byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(type);
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  private static byte[] serialize(ArrayList<Object> mutations)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(mutations);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static List<?> deserialize(byte[] payload)
+      throws IOException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+      return (List<?>) in.readObject();
+    }
+    catch (ClassNotFoundException | ClassCastException exc) {
+      throw new IOException("Invalid order pool record", exc);
+    }
+  }
+
+  /**
+   * A mutation of the order pool.
+   */
+  private static class Mutation {
+
+    /**
+     * The name of the created, modified or removed object.
+     */
+    private final String name;
+    /**
+     * The object's new state, or {@code null}, if it has been removed.
+     */
+    private final TCSObject<?> object;
+
+    Mutation(String name, @Nullable TCSObject<?> object) {
+      this.name = name;
+      this.object = object;
+    }
+  }
+}
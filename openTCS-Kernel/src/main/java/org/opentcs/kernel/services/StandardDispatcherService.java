@@ -12,7 +12,7 @@ import javax.inject.Inject;
 import org.opentcs.components.kernel.Dispatcher;
 import org.opentcs.components.kernel.dipatching.TransportOrderAssignmentException;
 import org.opentcs.components.kernel.services.DispatcherService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Vehicle;
@@ -27,9 +27,9 @@ public class StandardDispatcherService
     implements DispatcherService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The container of all course model and transport order objects.
    */
@@ -42,24 +42,22 @@ public class StandardDispatcherService
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param objectRepo The object repo to be used.
    * @param dispatcher The dispatcher.
    */
   @Inject
-  public StandardDispatcherService(@GlobalSyncObject Object globalSyncObject,
+  public StandardDispatcherService(KernelLock kernelLock,
                                    TCSObjectRepository objectRepo,
                                    Dispatcher dispatcher) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.objectRepo = requireNonNull(objectRepo, "objectRepo");
     this.dispatcher = requireNonNull(dispatcher, "dispatcher");
   }
 
   @Override
   public void dispatch() {
-    synchronized (globalSyncObject) {
-      dispatcher.dispatch();
-    }
+    kernelLock.runWriting(() -> dispatcher.dispatch());
   }
 
   @Override
@@ -67,9 +65,9 @@ public class StandardDispatcherService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      dispatcher.withdrawOrder(objectRepo.getObject(Vehicle.class, ref), immediateAbort);
-    }
+    kernelLock.runWriting(
+        () -> dispatcher.withdrawOrder(objectRepo.getObject(Vehicle.class, ref), immediateAbort)
+    );
   }
 
   @Override
@@ -78,10 +76,10 @@ public class StandardDispatcherService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       dispatcher.withdrawOrder(objectRepo.getObject(TransportOrder.class, ref),
                                immediateAbort);
-    }
+    });
   }
 
   @Override
@@ -90,9 +88,9 @@ public class StandardDispatcherService
     requireNonNull(ref, "ref");
     requireNonNull(reroutingType, "reroutingType");
 
-    synchronized (globalSyncObject) {
-      dispatcher.reroute(objectRepo.getObject(Vehicle.class, ref), reroutingType);
-    }
+    kernelLock.runWriting(
+        () -> dispatcher.reroute(objectRepo.getObject(Vehicle.class, ref), reroutingType)
+    );
   }
 
   @Override
@@ -100,9 +98,11 @@ public class StandardDispatcherService
       throws ObjectUnknownException, TransportOrderAssignmentException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      dispatcher.assignNow(objectRepo.getObject(TransportOrder.class, ref));
-    }
+    // The dispatcher is called while holding the kernel lock, so it must not wait for other threads
+    // accessing the kernel's data (see KernelLock.isHeldByCurrentThread()).
+    kernelLock.runWriting(
+        () -> dispatcher.assignNow(objectRepo.getObject(TransportOrder.class, ref))
+    );
   }
 
   @Override
@@ -12,7 +12,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.function.Predicate;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.services.NotificationService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.notification.UserNotification;
 import org.opentcs.kernel.workingset.NotificationBuffer;
 
@@ -23,9 +23,10 @@ public class StandardNotificationService
     implements NotificationService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the notification buffer, independently of the rest of the kernel's
+   * data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The buffer for all messages published.
    */
@@ -34,29 +35,25 @@ public class StandardNotificationService
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param notificationBuffer The notification buffer to be used.
    */
   @Inject
-  public StandardNotificationService(@GlobalSyncObject Object globalSyncObject,
+  public StandardNotificationService(KernelLock kernelLock,
                                      NotificationBuffer notificationBuffer) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock").createSubsystemLock();
     this.notificationBuffer = requireNonNull(notificationBuffer, "notificationBuffer");
   }
 
   @Override
   public List<UserNotification> fetchUserNotifications(Predicate<UserNotification> predicate) {
-    synchronized (globalSyncObject) {
-      return notificationBuffer.getNotifications(predicate);
-    }
+    return kernelLock.callReading(() -> notificationBuffer.getNotifications(predicate));
   }
 
   @Override
   public void publishUserNotification(UserNotification notification) {
     requireNonNull(notification, "notification");
 
-    synchronized (globalSyncObject) {
-      notificationBuffer.addNotification(notification);
-    }
+    kernelLock.runWriting(() -> notificationBuffer.addNotification(notification));
   }
 }
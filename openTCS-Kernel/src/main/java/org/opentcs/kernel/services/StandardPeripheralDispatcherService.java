@@ -12,7 +12,7 @@ import javax.inject.Inject;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.components.kernel.PeripheralJobDispatcher;
 import org.opentcs.components.kernel.services.PeripheralDispatcherService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Location;
@@ -27,9 +27,9 @@ public class StandardPeripheralDispatcherService
     implements PeripheralDispatcherService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The container of all course model and transport order objects.
    */
@@ -42,24 +42,22 @@ public class StandardPeripheralDispatcherService
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param objectRepo The object repo to be used.
    * @param dispatcher The peripheral job dispatcher.
    */
   @Inject
-  public StandardPeripheralDispatcherService(@GlobalSyncObject Object globalSyncObject,
+  public StandardPeripheralDispatcherService(KernelLock kernelLock,
                                              TCSObjectRepository objectRepo,
                                              PeripheralJobDispatcher dispatcher) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.objectRepo = requireNonNull(objectRepo, "objectRepo");
     this.dispatcher = requireNonNull(dispatcher, "dispatcher");
   }
 
   @Override
   public void dispatch() {
-    synchronized (globalSyncObject) {
-      dispatcher.dispatch();
-    }
+    kernelLock.runWriting(() -> dispatcher.dispatch());
   }
 
   @Override
@@ -67,9 +65,7 @@ public class StandardPeripheralDispatcherService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      dispatcher.withdrawJob(objectRepo.getObject(Location.class, ref));
-    }
+    kernelLock.runWriting(() -> dispatcher.withdrawJob(objectRepo.getObject(Location.class, ref)));
   }
 
   @Override
@@ -77,8 +73,8 @@ public class StandardPeripheralDispatcherService
       throws ObjectUnknownException, KernelRuntimeException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      dispatcher.withdrawJob(objectRepo.getObject(PeripheralJob.class, ref));
-    }
+    kernelLock.runWriting(
+        () -> dispatcher.withdrawJob(objectRepo.getObject(PeripheralJob.class, ref))
+    );
   }
 }
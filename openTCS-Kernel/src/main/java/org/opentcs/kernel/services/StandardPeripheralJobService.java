@@ -14,7 +14,7 @@ import org.opentcs.access.to.peripherals.PeripheralJobCreationTO;
 import org.opentcs.components.kernel.services.InternalPeripheralJobService;
 import org.opentcs.components.kernel.services.PeripheralJobService;
 import org.opentcs.components.kernel.services.TCSObjectService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectExistsException;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
@@ -29,9 +29,9 @@ public class StandardPeripheralJobService
     implements InternalPeripheralJobService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The job pool manager.
    */
@@ -41,15 +41,15 @@ public class StandardPeripheralJobService
    * Creates a new instance.
    *
    * @param objectService The tcs obejct service.
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param jobPoolManager The job pool manager to be used.
    */
   @Inject
   public StandardPeripheralJobService(TCSObjectService objectService,
-                                      @GlobalSyncObject Object globalSyncObject,
+                                      KernelLock kernelLock,
                                       PeripheralJobPoolManager jobPoolManager) {
     super(objectService);
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.jobPoolManager = requireNonNull(jobPoolManager, "jobPoolManager");
   }
 
@@ -60,9 +60,7 @@ public class StandardPeripheralJobService
     requireNonNull(ref, "ref");
     requireNonNull(state, "state");
 
-    synchronized (globalSyncObject) {
-      jobPoolManager.setPeripheralJobState(ref, state);
-    }
+    kernelLock.runWriting(() -> jobPoolManager.setPeripheralJobState(ref, state));
   }
 
   @Override
@@ -70,8 +68,6 @@ public class StandardPeripheralJobService
       throws ObjectUnknownException, ObjectExistsException, KernelRuntimeException {
     requireNonNull(to, "to");
 
-    synchronized (globalSyncObject) {
-      return jobPoolManager.createPeripheralJob(to);
-    }
+    return kernelLock.callWriting(() -> jobPoolManager.createPeripheralJob(to));
   }
 }
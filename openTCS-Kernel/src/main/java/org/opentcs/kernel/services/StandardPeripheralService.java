@@ -12,7 +12,7 @@ import javax.inject.Inject;
 import org.opentcs.components.kernel.services.InternalPeripheralService;
 import org.opentcs.components.kernel.services.PeripheralService;
 import org.opentcs.components.kernel.services.TCSObjectService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Location;
@@ -36,9 +36,9 @@ public class StandardPeripheralService
     implements InternalPeripheralService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The attachment manager.
    */
@@ -56,19 +56,19 @@ public class StandardPeripheralService
    * Creates a new instance.
    *
    * @param objectService The tcs object service.
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param attachmentManager The attachment manager.
    * @param peripheralEntryPool The pool of peripheral entries.
    * @param plantModelManager The plant model manager to be used.
    */
   @Inject
   public StandardPeripheralService(TCSObjectService objectService,
-                                   @GlobalSyncObject Object globalSyncObject,
+                                   KernelLock kernelLock,
                                    PeripheralAttachmentManager attachmentManager,
                                    PeripheralEntryPool peripheralEntryPool,
                                    PlantModelManager plantModelManager) {
     super(objectService);
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.attachmentManager = requireNonNull(attachmentManager, "attachmentManager");
     this.peripheralEntryPool = requireNonNull(peripheralEntryPool, "peripheralEntryPool");
     this.plantModelManager = requireNonNull(plantModelManager, "plantModelManager");
@@ -81,9 +81,7 @@ public class StandardPeripheralService
     requireNonNull(ref, "ref");
     requireNonNull(description, "description");
 
-    synchronized (globalSyncObject) {
-      attachmentManager.attachAdapterToLocation(ref, description);
-    }
+    kernelLock.runWriting(() -> attachmentManager.attachAdapterToLocation(ref, description));
   }
 
   @Override
@@ -91,9 +89,7 @@ public class StandardPeripheralService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      peripheralEntryPool.getEntryFor(ref).getCommAdapter().disable();
-    }
+    kernelLock.runWriting(() -> peripheralEntryPool.getEntryFor(ref).getCommAdapter().disable());
   }
 
   @Override
@@ -101,9 +97,7 @@ public class StandardPeripheralService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      peripheralEntryPool.getEntryFor(ref).getCommAdapter().enable();
-    }
+    kernelLock.runWriting(() -> peripheralEntryPool.getEntryFor(ref).getCommAdapter().enable());
   }
 
   @Override
@@ -112,9 +106,7 @@ public class StandardPeripheralService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      return attachmentManager.getAttachmentInformation(ref);
-    }
+    return kernelLock.callReading(() -> attachmentManager.getAttachmentInformation(ref));
   }
 
   @Override
@@ -122,9 +114,9 @@ public class StandardPeripheralService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      return peripheralEntryPool.getEntryFor(ref).getCommAdapter().getProcessModel();
-    }
+    return kernelLock.callReading(
+        () -> peripheralEntryPool.getEntryFor(ref).getCommAdapter().getProcessModel()
+    );
   }
 
   @Override
@@ -134,12 +126,12 @@ public class StandardPeripheralService
     requireNonNull(ref, "ref");
     requireNonNull(command, "command");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       PeripheralEntry entry = peripheralEntryPool.getEntryFor(ref);
       synchronized (entry.getCommAdapter()) {
         entry.getCommAdapter().execute(command);
       }
-    }
+    });
   }
 
   @Override
@@ -149,9 +141,7 @@ public class StandardPeripheralService
     requireNonNull(ref, "ref");
     requireNonNull(state, "state");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setLocationProcState(ref, state);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setLocationProcState(ref, state));
   }
 
   @Override
@@ -160,9 +150,9 @@ public class StandardPeripheralService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setLocationReservationToken(ref, reservationToken);
-    }
+    kernelLock.runWriting(
+        () -> plantModelManager.setLocationReservationToken(ref, reservationToken)
+    );
   }
 
   @Override
@@ -172,9 +162,7 @@ public class StandardPeripheralService
     requireNonNull(ref, "ref");
     requireNonNull(state, "state");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setLocationState(ref, state);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setLocationState(ref, state));
   }
 
   @Override
@@ -183,8 +171,6 @@ public class StandardPeripheralService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setLocationPeripheralJob(ref, peripheralJob);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setLocationPeripheralJob(ref, peripheralJob));
   }
 }
@@ -22,7 +22,7 @@ import org.opentcs.components.kernel.services.NotificationService;
 import org.opentcs.components.kernel.services.PlantModelService;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.customizations.ApplicationEventBus;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectExistsException;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
@@ -53,9 +53,9 @@ public class StandardPlantModelService
    */
   private final Kernel kernel;
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The plant model manager.
    */
@@ -78,7 +78,7 @@ public class StandardPlantModelService
    *
    * @param kernel The kernel.
    * @param objectService The tcs object service.
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param plantModelManager The plant model manager to be used.
    * @param modelPersister The model persister to be used.
    * @param eventHandler Where this instance sends events to.
@@ -87,14 +87,14 @@ public class StandardPlantModelService
   @Inject
   public StandardPlantModelService(LocalKernel kernel,
                                    TCSObjectService objectService,
-                                   @GlobalSyncObject Object globalSyncObject,
+                                   KernelLock kernelLock,
                                    PlantModelManager plantModelManager,
                                    ModelPersister modelPersister,
                                    @ApplicationEventBus EventHandler eventHandler,
                                    NotificationService notificationService) {
     super(objectService);
     this.kernel = requireNonNull(kernel, "kernel");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.plantModelManager = requireNonNull(plantModelManager, "plantModelManager");
     this.modelPersister = requireNonNull(modelPersister, "modelPersister");
     this.eventHandler = requireNonNull(eventHandler, "eventHandler");
@@ -106,15 +106,13 @@ public class StandardPlantModelService
       throws ObjectUnknownException {
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
-      return plantModelManager.expandResources(resources);
-    }
+    return kernelLock.callReading(() -> plantModelManager.expandResources(resources));
   }
 
   @Override
   public void loadPlantModel()
       throws IllegalStateException {
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       if (!modelPersister.hasSavedModel()) {
         createPlantModel(new PlantModelCreationTO(Kernel.DEFAULT_MODEL_NAME));
         return;
@@ -134,20 +132,20 @@ public class StandardPlantModelService
       notificationService.publishUserNotification(
           new UserNotification("Kernel loaded model " + newModelName,
                                UserNotification.Level.INFORMATIONAL));
-    }
+    });
   }
 
   @Override
   public void savePlantModel()
       throws IllegalStateException {
-    synchronized (globalSyncObject) {
-      modelPersister.saveModel(plantModelManager.createPlantModelCreationTO());
-    }
+    kernelLock.runWriting(
+        () -> modelPersister.saveModel(plantModelManager.createPlantModelCreationTO())
+    );
   }
 
   @Override
   public PlantModel getPlantModel() {
-    synchronized (globalSyncObject) {
+    return kernelLock.callReading(() -> {
       return new PlantModel(plantModelManager.getName())
           .withProperties(getModelProperties())
           .withPoints(fetchObjects(Point.class))
@@ -157,7 +155,7 @@ public class StandardPlantModelService
           .withBlocks(fetchObjects(Block.class))
           .withVehicles(fetchObjects(Vehicle.class))
           .withVisualLayouts(fetchObjects(VisualLayout.class));
-    }
+    });
   }
 
   @Override
@@ -175,9 +173,7 @@ public class StandardPlantModelService
     emitModelEvent(oldModelName, to.getName(), true, false);
 
     // Create the plant model
-    synchronized (globalSyncObject) {
-      plantModelManager.createPlantModelObjects(to);
-    }
+    kernelLock.runWriting(() -> plantModelManager.createPlantModelObjects(to));
 
     savePlantModel();
 
@@ -194,17 +190,13 @@ public class StandardPlantModelService
 
   @Override
   public String getModelName() {
-    synchronized (globalSyncObject) {
-      return plantModelManager.getName();
-    }
+    return kernelLock.callReading(() -> plantModelManager.getName());
   }
 
   @Override
   public Map<String, String> getModelProperties()
       throws KernelRuntimeException {
-    synchronized (globalSyncObject) {
-      return plantModelManager.getProperties();
-    }
+    return kernelLock.callReading(() -> plantModelManager.getProperties());
   }
 
   @Override
@@ -212,9 +204,7 @@ public class StandardPlantModelService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setLocationLocked(ref, locked);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setLocationLocked(ref, locked));
   }
 
   @Deprecated
@@ -223,9 +213,7 @@ public class StandardPlantModelService
       throws ObjectUnknownException, KernelRuntimeException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setLocationReservationToken(ref, token);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setLocationReservationToken(ref, token));
   }
 
   /**
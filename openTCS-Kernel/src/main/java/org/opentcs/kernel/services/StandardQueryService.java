@@ -15,7 +15,7 @@ import javax.inject.Inject;
 import org.opentcs.components.kernel.Query;
 import org.opentcs.components.kernel.QueryResponder;
 import org.opentcs.components.kernel.services.InternalQueryService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import static org.opentcs.util.Assertions.checkArgument;
 
 /**
@@ -25,9 +25,9 @@ public class StandardQueryService
     implements InternalQueryService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The responders, by query type.
    */
@@ -37,23 +37,23 @@ public class StandardQueryService
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    */
   @Inject
-  public StandardQueryService(@GlobalSyncObject Object globalSyncObject) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+  public StandardQueryService(KernelLock kernelLock) {
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
   }
 
   @Override
   public <T> T query(Query<T> query) {
     requireNonNull(query, "query");
 
-    synchronized (globalSyncObject) {
+    return kernelLock.callWriting(() -> {
       QueryResponder responder = respondersByQueryType.get(query.getClass());
 
       checkArgument(responder != null, "Query class not taken: %s", query.getClass().getName());
       return responder.query(query);
-    }
+    });
   }
 
   @Override
@@ -62,21 +62,19 @@ public class StandardQueryService
     requireNonNull(clazz, "clazz");
     requireNonNull(responder, "responder");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       checkArgument(!respondersByQueryType.containsKey(clazz),
                     "Query class already taken: %s",
                     clazz.getName());
 
       respondersByQueryType.put(clazz, responder);
-    }
+    });
   }
 
   @Override
   public void unregisterResponder(@Nonnull Class<? extends Query<?>> clazz) {
     requireNonNull(clazz, "clazz");
 
-    synchronized (globalSyncObject) {
-      respondersByQueryType.remove(clazz);
-    }
+    kernelLock.runWriting(() -> respondersByQueryType.remove(clazz));
   }
 }
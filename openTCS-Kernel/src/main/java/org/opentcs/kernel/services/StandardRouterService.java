@@ -18,7 +18,7 @@ import org.opentcs.components.kernel.Dispatcher;
 import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.services.RouterService;
 import org.opentcs.components.kernel.services.TCSObjectService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Path;
@@ -35,9 +35,9 @@ public class StandardRouterService
     implements RouterService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The kernel.
    */
@@ -66,7 +66,7 @@ public class StandardRouterService
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param kernel The kernel.
    * @param router The scheduler.
    * @param dispatcher The dispatcher.
@@ -75,14 +75,14 @@ public class StandardRouterService
    * @param objectService The object service.
    */
   @Inject
-  public StandardRouterService(@GlobalSyncObject Object globalSyncObject,
+  public StandardRouterService(KernelLock kernelLock,
                                LocalKernel kernel,
                                Router router,
                                Dispatcher dispatcher,
                                PlantModelManager plantModelManager,
                                KernelApplicationConfiguration configuration,
                                TCSObjectService objectService) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.kernel = requireNonNull(kernel, "kernel");
     this.router = requireNonNull(router, "router");
     this.dispatcher = requireNonNull(dispatcher, "dispatcher");
@@ -96,21 +96,21 @@ public class StandardRouterService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       plantModelManager.setPathLocked(ref, locked);
       if (kernel.getState() == Kernel.State.OPERATING
           && configuration.updateRoutingTopologyOnPathLockChange()) {
         updateRoutingTopology();
       }
-    }
+    });
   }
 
   @Override
   public void updateRoutingTopology() {
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       router.topologyChanged();
       dispatcher.topologyChanged();
-    }
+    });
   }
 
   @Override
@@ -122,7 +122,7 @@ public class StandardRouterService
     requireNonNull(sourcePointRef, "sourcePointRef");
     requireNonNull(destinationPointRefs, "destinationPointRefs");
 
-    synchronized (globalSyncObject) {
+    return kernelLock.callReading(() -> {
       Map<TCSObjectReference<Point>, Route> result = new HashMap<>();
       Vehicle vehicle = objectService.fetchObject(Vehicle.class, vehicleRef);
       if (vehicle == null) {
@@ -140,6 +140,6 @@ public class StandardRouterService
         result.put(dest, router.getRoute(vehicle, sourcePoint, destinationPoint).orElse(null));
       }
       return result;
-    }
+    });
   }
 }
@@ -10,7 +10,7 @@ package org.opentcs.kernel.services;
 import static java.util.Objects.requireNonNull;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Scheduler;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 
 /**
  * This class is the standard implementation of the {@code SchedulerService} interface.
@@ -20,9 +20,9 @@ public class StandardSchedulerService
     implements org.opentcs.components.kernel.services.SchedulerService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The scheduler.
    */
@@ -31,20 +31,20 @@ public class StandardSchedulerService
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param scheduler The scheduler.
    */
   @Inject
-  public StandardSchedulerService(@GlobalSyncObject Object globalSyncObject,
+  public StandardSchedulerService(KernelLock kernelLock,
                                   Scheduler scheduler) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.scheduler = requireNonNull(scheduler, "scheduler");
   }
 
   @Override
   public org.opentcs.access.SchedulerAllocationState fetchSchedulerAllocations() {
-    synchronized (globalSyncObject) {
-      return new org.opentcs.access.SchedulerAllocationState(scheduler.getAllocations());
-    }
+    return kernelLock.callReading(
+        () -> new org.opentcs.access.SchedulerAllocationState(scheduler.getAllocations())
+    );
   }
 }
@@ -15,7 +15,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.services.TCSObjectService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectHistory;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObject;
@@ -30,9 +30,9 @@ public class StandardTCSObjectService
     implements TCSObjectService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The object manager.
    */
@@ -41,13 +41,13 @@ public class StandardTCSObjectService
   /**
    * Creates a new instance.
    *
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param objectManager The object manager.
    */
   @Inject
-  public StandardTCSObjectService(@GlobalSyncObject Object globalSyncObject,
+  public StandardTCSObjectService(KernelLock kernelLock,
                                   TCSObjectManager objectManager) {
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.objectManager = requireNonNull(objectManager, "objectManager");
   }
 
@@ -56,32 +56,23 @@ public class StandardTCSObjectService
     requireNonNull(clazz, "clazz");
     requireNonNull(ref, "ref");
 
-    synchronized (getGlobalSyncObject()) {
-      return getObjectRepo().getObjectOrNull(clazz, ref);
-    }
+    return kernelLock.callReading(() -> getObjectRepo().getObjectOrNull(clazz, ref));
   }
 
   @Override
   public <T extends TCSObject<T>> T fetchObject(Class<T> clazz, String name) {
     requireNonNull(clazz, "clazz");
 
-    synchronized (getGlobalSyncObject()) {
-      return getObjectRepo().getObjectOrNull(clazz, name);
-    }
+    return kernelLock.callReading(() -> getObjectRepo().getObjectOrNull(clazz, name));
   }
 
   @Override
   public <T extends TCSObject<T>> Set<T> fetchObjects(Class<T> clazz) {
     requireNonNull(clazz, "clazz");
 
-    synchronized (getGlobalSyncObject()) {
-      Set<T> objects = getObjectRepo().getObjects(clazz);
-      Set<T> copies = new HashSet<>();
-      for (T object : objects) {
-        copies.add(object);
-      }
-      return copies;
-    }
+    // Only retrieve the snapshot while holding the lock. Copying the objects does not require it.
+    // Callers have always received a set of their own that they may modify, so it is still copied.
+    return new HashSet<>(kernelLock.callReading(getObjectRepo()::getSnapshot).getObjects(clazz));
   }
 
   @Override
@@ -90,9 +81,8 @@ public class StandardTCSObjectService
     requireNonNull(clazz, "clazz");
     requireNonNull(predicate, "predicate");
 
-    synchronized (getGlobalSyncObject()) {
-      return getObjectRepo().getObjects(clazz, predicate);
-    }
+    // Only retrieve the snapshot while holding the lock. Filtering the objects does not require it.
+    return kernelLock.callReading(getObjectRepo()::getSnapshot).getObjects(clazz, predicate);
   }
 
   @Override
@@ -101,9 +91,7 @@ public class StandardTCSObjectService
     requireNonNull(ref, "ref");
     requireNonNull(key, "key");
 
-    synchronized (getGlobalSyncObject()) {
-      objectManager.setObjectProperty(ref, key, value);
-    }
+    kernelLock.runWriting(() -> objectManager.setObjectProperty(ref, key, value));
   }
 
   @Override
@@ -112,13 +100,11 @@ public class StandardTCSObjectService
     requireNonNull(ref, "ref");
     requireNonNull(entry, "entry");
 
-    synchronized (getGlobalSyncObject()) {
-      objectManager.appendObjectHistoryEntry(ref, entry);
-    }
+    kernelLock.runWriting(() -> objectManager.appendObjectHistoryEntry(ref, entry));
   }
 
-  protected Object getGlobalSyncObject() {
-    return globalSyncObject;
+  protected KernelLock getKernelLock() {
+    return kernelLock;
   }
 
   protected TCSObjectRepository getObjectRepo() {
@@ -8,6 +8,7 @@
 package org.opentcs.kernel.services;
 
 import java.util.List;
+import java.util.Set;
 import static java.util.Objects.requireNonNull;
 import javax.inject.Inject;
 import org.opentcs.access.to.order.OrderSequenceCreationTO;
@@ -15,7 +16,7 @@ import org.opentcs.access.to.order.TransportOrderCreationTO;
 import org.opentcs.components.kernel.services.InternalTransportOrderService;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.components.kernel.services.TransportOrderService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectExistsException;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
@@ -35,9 +36,9 @@ public class StandardTransportOrderService
     implements InternalTransportOrderService {
 
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * The container of all course model and transport order objects.
    */
@@ -55,30 +56,37 @@ public class StandardTransportOrderService
    * Creates a new instance.
    *
    * @param objectService The tcs obejct service.
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param globalObjectPool The object pool to be used.
    * @param orderPoolManager The order pool manager to be used.
    * @param plantModelManager The plant model manager to be used.
    */
   @Inject
   public StandardTransportOrderService(TCSObjectService objectService,
-                                       @GlobalSyncObject Object globalSyncObject,
+                                       KernelLock kernelLock,
                                        TCSObjectRepository globalObjectPool,
                                        TransportOrderPoolManager orderPoolManager,
                                        PlantModelManager plantModelManager) {
     super(objectService);
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.globalObjectPool = requireNonNull(globalObjectPool, "globalObjectPool");
     this.orderPoolManager = requireNonNull(orderPoolManager, "orderPoolManager");
     this.plantModelManager = requireNonNull(plantModelManager, "plantModelManager");
   }
 
+  @Override
+  public Set<TransportOrder> fetchTransportOrders(TransportOrder.State state) {
+    requireNonNull(state, "state");
+
+    return kernelLock.callReading(() -> orderPoolManager.getTransportOrders(state));
+  }
+
   @Override
   public void markOrderSequenceFinished(TCSObjectReference<OrderSequence> ref)
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       OrderSequence seq = globalObjectPool.getObject(OrderSequence.class, ref);
       // Make sure we don't execute this if the sequence is already marked as finished, as that
       // would make it possible to trigger disposition of a vehicle at any given moment.
@@ -94,7 +102,7 @@ public class StandardTransportOrderService
                                                      seq.getProcessingVehicle());
         plantModelManager.setVehicleOrderSequence(vehicle.getReference(), null);
       }
-    }
+    });
   }
 
   @Override
@@ -102,9 +110,7 @@ public class StandardTransportOrderService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      orderPoolManager.setOrderSequenceFinishedIndex(ref, index);
-    }
+    kernelLock.runWriting(() -> orderPoolManager.setOrderSequenceFinishedIndex(ref, index));
   }
 
   @Override
@@ -113,9 +119,9 @@ public class StandardTransportOrderService
       throws ObjectUnknownException {
     requireNonNull(seqRef, "seqRef");
 
-    synchronized (globalSyncObject) {
-      orderPoolManager.setOrderSequenceProcessingVehicle(seqRef, vehicleRef);
-    }
+    kernelLock.runWriting(
+        () -> orderPoolManager.setOrderSequenceProcessingVehicle(seqRef, vehicleRef)
+    );
   }
 
   @Override
@@ -126,9 +132,9 @@ public class StandardTransportOrderService
     requireNonNull(orderRef, "orderRef");
     requireNonNull(driveOrders, "driveOrders");
 
-    synchronized (globalSyncObject) {
-      orderPoolManager.setTransportOrderProcessingVehicle(orderRef, vehicleRef, driveOrders);
-    }
+    kernelLock.runWriting(
+        () -> orderPoolManager.setTransportOrderProcessingVehicle(orderRef, vehicleRef, driveOrders)
+    );
   }
 
   @Override
@@ -138,9 +144,7 @@ public class StandardTransportOrderService
     requireNonNull(ref, "ref");
     requireNonNull(driveOrders, "driveOrders");
 
-    synchronized (globalSyncObject) {
-      orderPoolManager.setTransportOrderDriveOrders(ref, driveOrders);
-    }
+    kernelLock.runWriting(() -> orderPoolManager.setTransportOrderDriveOrders(ref, driveOrders));
   }
 
   @Override
@@ -148,9 +152,7 @@ public class StandardTransportOrderService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      orderPoolManager.setTransportOrderNextDriveOrder(ref);
-    }
+    kernelLock.runWriting(() -> orderPoolManager.setTransportOrderNextDriveOrder(ref));
   }
 
   @Override
@@ -160,18 +162,14 @@ public class StandardTransportOrderService
     requireNonNull(ref, "ref");
     requireNonNull(state, "state");
 
-    synchronized (globalSyncObject) {
-      orderPoolManager.setTransportOrderState(ref, state);
-    }
+    kernelLock.runWriting(() -> orderPoolManager.setTransportOrderState(ref, state));
   }
 
   @Override
   public OrderSequence createOrderSequence(OrderSequenceCreationTO to) {
     requireNonNull(to, "to");
 
-    synchronized (globalSyncObject) {
-      return orderPoolManager.createOrderSequence(to);
-    }
+    return kernelLock.callWriting(() -> orderPoolManager.createOrderSequence(to));
   }
 
   @Override
@@ -179,9 +177,7 @@ public class StandardTransportOrderService
       throws ObjectUnknownException, ObjectExistsException {
     requireNonNull(to, "to");
 
-    synchronized (globalSyncObject) {
-      return orderPoolManager.createTransportOrder(to);
-    }
+    return kernelLock.callWriting(() -> orderPoolManager.createTransportOrder(to));
   }
 
   @Override
@@ -189,7 +185,7 @@ public class StandardTransportOrderService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       OrderSequence seq = globalObjectPool.getObject(OrderSequence.class, ref);
       // Make sure we don't execute this if the sequence is already marked as finished, as that
       // would make it possible to trigger disposition of a vehicle at any given moment.
@@ -209,7 +205,7 @@ public class StandardTransportOrderService
           plantModelManager.setVehicleOrderSequence(vehicle.getReference(), null);
         }
       }
-    }
+    });
   }
 
   @Override
@@ -218,9 +214,9 @@ public class StandardTransportOrderService
       throws ObjectUnknownException, IllegalArgumentException {
     requireNonNull(orderRef, "orderRef");
 
-    synchronized (globalSyncObject) {
-      orderPoolManager.setTransportOrderIntendedVehicle(orderRef, vehicleRef);
-    }
+    kernelLock.runWriting(
+        () -> orderPoolManager.setTransportOrderIntendedVehicle(orderRef, vehicleRef)
+    );
   }
 
 }
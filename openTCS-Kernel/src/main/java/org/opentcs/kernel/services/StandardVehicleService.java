@@ -15,7 +15,7 @@ import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.components.kernel.services.InternalVehicleService;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.components.kernel.services.VehicleService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Point;
@@ -50,9 +50,9 @@ public class StandardVehicleService
    */
   private static final Logger LOG = LoggerFactory.getLogger(StandardVehicleService.class);
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * A pool of vehicle controllers.
    */
@@ -78,7 +78,7 @@ public class StandardVehicleService
    * Creates a new instance.
    *
    * @param objectService The tcs object service.
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    * @param vehicleControllerPool The controller pool to be used.
    * @param vehicleEntryPool The pool of vehicle entries to be used.
    * @param attachmentManager The attachment manager.
@@ -87,14 +87,14 @@ public class StandardVehicleService
    */
   @Inject
   public StandardVehicleService(TCSObjectService objectService,
-                                @GlobalSyncObject Object globalSyncObject,
+                                KernelLock kernelLock,
                                 LocalVehicleControllerPool vehicleControllerPool,
                                 VehicleEntryPool vehicleEntryPool,
                                 AttachmentManager attachmentManager,
                                 VehicleCommAdapterRegistry commAdapterRegistry,
                                 PlantModelManager plantModelManager) {
     super(objectService);
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.vehicleControllerPool = requireNonNull(vehicleControllerPool, "vehicleControllerPool");
     this.vehicleEntryPool = requireNonNull(vehicleEntryPool, "vehicleEntryPool");
     this.attachmentManager = requireNonNull(attachmentManager, "attachmentManager");
@@ -107,9 +107,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleEnergyLevel(ref, energyLevel);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleEnergyLevel(ref, energyLevel));
   }
 
   @Override
@@ -119,9 +117,7 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(devices, "devices");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleLoadHandlingDevices(ref, devices);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleLoadHandlingDevices(ref, devices));
   }
 
   @Override
@@ -130,9 +126,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(vehicleRef, "vehicleRef");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleNextPosition(vehicleRef, pointRef);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleNextPosition(vehicleRef, pointRef));
   }
 
   @Override
@@ -141,9 +135,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(vehicleRef, "vehicleRef");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleOrderSequence(vehicleRef, sequenceRef);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleOrderSequence(vehicleRef, sequenceRef));
   }
 
   @Override
@@ -151,9 +143,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleOrientationAngle(ref, angle);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleOrientationAngle(ref, angle));
   }
 
   @Override
@@ -162,10 +152,10 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(vehicleRef, "vehicleRef");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       LOG.debug("Vehicle {} has reached point {}.", vehicleRef, pointRef);
       plantModelManager.setVehiclePosition(vehicleRef, pointRef);
-    }
+    });
   }
 
   @Override
@@ -173,9 +163,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehiclePrecisePosition(ref, position);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehiclePrecisePosition(ref, position));
   }
 
   @Override
@@ -184,10 +172,10 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(state, "state");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       LOG.debug("Updating procState of vehicle {} to {}...", ref.getName(), state);
       plantModelManager.setVehicleProcState(ref, state);
-    }
+    });
   }
 
   @Override
@@ -197,9 +185,9 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(rechargeOperation, "rechargeOperation");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleRechargeOperation(ref, rechargeOperation);
-    }
+    kernelLock.runWriting(
+        () -> plantModelManager.setVehicleRechargeOperation(ref, rechargeOperation)
+    );
   }
 
   @Override
@@ -207,9 +195,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleRouteProgressIndex(ref, index);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleRouteProgressIndex(ref, index));
   }
 
   @Override
@@ -219,9 +205,7 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleClaimedResources(ref, resources);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleClaimedResources(ref, resources));
   }
 
   @Override
@@ -231,9 +215,7 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleAllocatedResources(ref, resources);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleAllocatedResources(ref, resources));
   }
 
   @Override
@@ -242,9 +224,7 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(state, "state");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleState(ref, state);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleState(ref, state));
   }
 
   @Override
@@ -252,9 +232,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleLength(ref, length);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleLength(ref, length));
   }
 
   @Override
@@ -263,9 +241,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(vehicleRef, "vehicleRef");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleTransportOrder(vehicleRef, orderRef);
-    }
+    kernelLock.runWriting(() -> plantModelManager.setVehicleTransportOrder(vehicleRef, orderRef));
   }
 
   @Override
@@ -275,10 +251,10 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(description, "description");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       attachmentManager.attachAdapterToVehicle(ref.getName(),
                                                commAdapterRegistry.findFactoryFor(description));
-    }
+    });
   }
 
   @Override
@@ -286,14 +262,14 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       VehicleEntry entry = vehicleEntryPool.getEntryFor(ref.getName());
       if (entry == null) {
         throw new IllegalArgumentException("No vehicle entry found for" + ref.getName());
       }
 
       entry.getCommAdapter().disable();
-    }
+    });
   }
 
   @Override
@@ -301,14 +277,14 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       VehicleEntry entry = vehicleEntryPool.getEntryFor(ref.getName());
       if (entry == null) {
         throw new IllegalArgumentException("No vehicle entry found for " + ref.getName());
       }
 
       entry.getCommAdapter().enable();
-    }
+    });
   }
 
   @Override
@@ -316,9 +292,7 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
-      return attachmentManager.getAttachmentInformation(ref.getName());
-    }
+    return kernelLock.callReading(() -> attachmentManager.getAttachmentInformation(ref.getName()));
   }
 
   @Override
@@ -326,14 +300,14 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    return kernelLock.callReading(() -> {
       VehicleEntry entry = vehicleEntryPool.getEntryFor(ref.getName());
       if (entry == null) {
         throw new IllegalArgumentException("No vehicle entry found for " + ref.getName());
       }
 
       return entry.getCommAdapter().createTransferableProcessModel();
-    }
+    });
   }
 
   @Override
@@ -342,11 +316,11 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(command, "command");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       vehicleControllerPool
           .getVehicleController(ref.getName())
           .sendCommAdapterCommand(command);
-    }
+    });
   }
 
   @Override
@@ -354,11 +328,11 @@ public class StandardVehicleService
       throws ObjectUnknownException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       vehicleControllerPool
           .getVehicleController(ref.getName())
           .sendCommAdapterMessage(message);
-    }
+    });
   }
 
   @Override
@@ -368,7 +342,7 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(integrationLevel, "integrationLevel");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       Vehicle vehicle = fetchObject(Vehicle.class, ref);
 
       if (vehicle.isProcessingOrder()
@@ -382,7 +356,7 @@ public class StandardVehicleService
       }
 
       plantModelManager.setVehicleIntegrationLevel(ref, integrationLevel);
-    }
+    });
   }
 
   @Override
@@ -390,11 +364,11 @@ public class StandardVehicleService
       throws ObjectUnknownException, KernelRuntimeException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       plantModelManager.setVehiclePaused(ref, paused);
 
       vehicleControllerPool.getVehicleController(ref.getName()).onVehiclePaused(paused);
-    }
+    });
   }
 
   @Override
@@ -404,9 +378,9 @@ public class StandardVehicleService
     requireNonNull(ref, "ref");
     requireNonNull(allowedOrderTypes, "allowedOrderTypes");
 
-    synchronized (globalSyncObject) {
-      plantModelManager.setVehicleAllowedOrderTypes(ref, allowedOrderTypes);
-    }
+    kernelLock.runWriting(
+        () -> plantModelManager.setVehicleAllowedOrderTypes(ref, allowedOrderTypes)
+    );
   }
 
   @Override
@@ -414,7 +388,7 @@ public class StandardVehicleService
       throws ObjectUnknownException, IllegalArgumentException, KernelRuntimeException {
     requireNonNull(ref, "ref");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       Vehicle vehicle = fetchObject(Vehicle.class, ref);
       if (vehicle.isProcessingOrder()
           || !vehicle.getClaimedResources().isEmpty()
@@ -426,6 +400,6 @@ public class StandardVehicleService
       }
 
       plantModelManager.setVehicleEnvelopeKey(ref, envelopeKey);
-    }
+    });
   }
 }
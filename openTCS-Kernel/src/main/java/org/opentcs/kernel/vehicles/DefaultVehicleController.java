@@ -51,12 +51,13 @@ import org.opentcs.drivers.vehicle.VehicleCommAdapter;
 import org.opentcs.drivers.vehicle.VehicleController;
 import org.opentcs.drivers.vehicle.VehicleProcessModel;
 import org.opentcs.drivers.vehicle.management.ProcessModelEvent;
+import org.opentcs.kernel.KernelApplicationConfiguration;
 import static org.opentcs.kernel.vehicles.MovementComparisons.equalsInMovement;
 import static org.opentcs.util.Assertions.checkArgument;
 import static org.opentcs.util.Assertions.checkState;
 import org.opentcs.util.ExplainedBoolean;
 import org.opentcs.util.event.EventBus;
-import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.SynchronousEventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,7 +68,7 @@ import org.slf4j.LoggerFactory;
 public class DefaultVehicleController
     implements VehicleController,
                PropertyChangeListener,
-               EventHandler {
+               SynchronousEventHandler {
 
   /**
    * This class's Logger.
@@ -118,6 +119,15 @@ public class DefaultVehicleController
    * A set of resources for which allocation is pending.
    */
   private volatile Set<TCSResource<?>> pendingResources;
+  /**
+   * Commands following the pending command for which resource allocation has been requested along
+   * with the pending command's resources.
+   */
+  private final Deque<MovementCommand> aheadCommands = new ArrayDeque<>();
+  /**
+   * The maximum number of commands for which resources are requested at once.
+   */
+  private final int allocationAheadCount;
   /**
    * A command for which the execution of peripheral operations is pending.
    */
@@ -168,6 +178,7 @@ public class DefaultVehicleController
    * @param eventBus The event bus this instance should register with and send events to.
    * @param componentsFactory A factory for various components related to a vehicle controller.
    * @param movementCommandMapper Maps drive orders to movement commands.
+   * @param configuration The kernel application's configuration.
    */
   @Inject
   public DefaultVehicleController(@Assisted @Nonnull Vehicle vehicle,
@@ -178,7 +189,8 @@ public class DefaultVehicleController
                                   @Nonnull Scheduler scheduler,
                                   @Nonnull @ApplicationEventBus EventBus eventBus,
                                   @Nonnull VehicleControllerComponentsFactory componentsFactory,
-                                  @Nonnull MovementCommandMapper movementCommandMapper) {
+                                  @Nonnull MovementCommandMapper movementCommandMapper,
+                                  @Nonnull KernelApplicationConfiguration configuration) {
     this.vehicle = requireNonNull(vehicle, "vehicle");
     this.commAdapter = requireNonNull(adapter, "adapter");
     this.vehicleService = requireNonNull(vehicleService, "vehicleService");
@@ -190,6 +202,8 @@ public class DefaultVehicleController
     this.peripheralInteractor
         = componentsFactory.createPeripheralInteractor(vehicle.getReference());
     this.movementCommandMapper = requireNonNull(movementCommandMapper, "movementCommandMapper");
+    this.allocationAheadCount = requireNonNull(configuration, "configuration")
+        .vehicleAllocationAheadCount();
   }
 
   @Override
@@ -740,7 +754,14 @@ public class DefaultVehicleController
       claimedResources.poll();
 
       MovementCommand command = pendingCommand;
-      resetPendingResourceAllocations();
+      if (aheadCommands.isEmpty()) {
+        resetPendingResourceAllocations();
+      }
+      else {
+        // Resources for the next command have been requested along with these ones.
+        pendingCommand = aheadCommands.poll();
+        pendingResources = getNeededResources(pendingCommand);
+      }
 
       vehicleService.updateVehicleClaimedResources(vehicle.getReference(),
                                                    toListOfResourceSets(claimedResources));
@@ -875,6 +896,7 @@ public class DefaultVehicleController
   private void resetPendingResourceAllocations() {
     pendingResources = null;
     pendingCommand = null;
+    aheadCommands.clear();
   }
 
   /**
@@ -1081,11 +1103,77 @@ public class DefaultVehicleController
                vehicle.getName(),
                pendingResources);
 
+    int commandCount = countCommandsToAllocateAhead();
+
     // Find out which resources are actually needed for the next command.
     pendingCommand = futureCommands.poll();
     pendingResources = getNeededResources(pendingCommand);
-    LOG.debug("{}: Allocating resources: {}", vehicle.getName(), pendingResources);
-    scheduler.allocate(this, pendingResources);
+    if (commandCount == 1) {
+      LOG.debug("{}: Allocating resources: {}", vehicle.getName(), pendingResources);
+      scheduler.allocate(this, pendingResources);
+      return;
+    }
+
+    List<MovementCommand> commandsAhead = futureCommands.stream()
+        .limit(commandCount - 1)
+        .collect(Collectors.toList());
+    List<Set<TCSResource<?>>> resourceSets = new ArrayList<>();
+    resourceSets.add(pendingResources);
+    for (MovementCommand command : commandsAhead) {
+      resourceSets.add(getNeededResources(command));
+    }
+    LOG.debug("{}: Allocating resources: {}, and for {} more commands ahead: {}",
+              vehicle.getName(),
+              pendingResources,
+              commandsAhead.size(),
+              commandsAhead);
+    int requestedCount = scheduler.allocateAhead(this, resourceSets);
+    // Only take the commands out of the queue after the scheduler accepted them, as it may have
+    // requested allocation of only some of them.
+    for (int i = 1; i < requestedCount; i++) {
+      aheadCommands.add(futureCommands.poll());
+    }
+  }
+
+  /**
+   * Returns the number of commands (starting with the next one) for which resources are to be
+   * requested at once.
+   * <p>
+   * Since the scheduler grants the resources in order and the commands are sent to the
+   * communication adapter as soon as their resources are granted, this includes only commands that
+   * can be sent right away, i.e. commands the communication adapter has capacity for, whose
+   * execution is allowed and which do not have to wait for peripheral operations.
+   * </p>
+   *
+   * @return The number of commands for which resources are to be requested at once.
+   */
+  private int countCommandsToAllocateAhead() {
+    if (allocationAheadCount <= 1 || hasPeripheralOperations(futureCommands.peek())) {
+      return 1;
+    }
+
+    int capacity = commAdapter.getCommandsCapacity()
+        - commAdapter.getUnsentCommands().size()
+        - commAdapter.getSentCommands().size();
+    int maxCount = Math.min(allocationAheadCount, capacity);
+    int count = 1;
+    for (MovementCommand command : futureCommands) {
+      if (command == futureCommands.peek()) {
+        continue;
+      }
+      if (count >= maxCount
+          || !command.getStep().isExecutionAllowed()
+          || hasPeripheralOperations(command)) {
+        break;
+      }
+      count++;
+    }
+    return count;
+  }
+
+  private boolean hasPeripheralOperations(MovementCommand command) {
+    return command.getStep().getPath() != null
+        && !command.getStep().getPath().getPeripheralOperations().isEmpty();
   }
 
   /**
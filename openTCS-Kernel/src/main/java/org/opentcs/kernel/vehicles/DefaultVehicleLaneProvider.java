@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.opentcs.common.LoggingScheduledThreadPoolExecutor;
+import org.opentcs.customizations.kernel.KernelExecutor;
+import org.opentcs.customizations.kernel.VehicleLaneProvider;
+import org.opentcs.kernel.KernelApplicationConfiguration;
+import static org.opentcs.util.Assertions.checkState;
+import org.opentcs.util.logging.UncaughtExceptionLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The default implementation of {@link VehicleLaneProvider}.
+ * <p>
+ * Lanes are executed on a pool of threads separate from the kernel executor, so that work for
+ * vehicles is neither delayed by nor delays e.g. dispatcher runs. If the configured pool size is 0,
+ * the kernel executor itself is used for all vehicles, instead.
+ * The pool and the lanes only exist while this instance is initialized.
+ * </p>
+ */
+public class DefaultVehicleLaneProvider
+    implements VehicleLaneProvider {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(DefaultVehicleLaneProvider.class);
+  /**
+   * The kernel executor.
+   */
+  private final ScheduledExecutorService kernelExecutor;
+  /**
+   * The lanes, mapped by vehicle name.
+   */
+  private final Map<String, ScheduledExecutorService> lanes = new ConcurrentHashMap<>();
+  /**
+   * The number of threads in the pool executing the lanes' tasks.
+   * If 0, the kernel executor is used.
+   */
+  private final int poolSize;
+  /**
+   * Whether to execute the lanes' tasks on virtual threads, if available.
+   */
+  private final boolean virtualThreads;
+  /**
+   * The pool executing the lanes' tasks, or {@code null}, if the kernel executor is used.
+   */
+  private ExecutorService pool;
+  /**
+   * The timer handing over the lanes' delayed tasks, or {@code null}, if the kernel executor is
+   * used.
+   */
+  private ScheduledExecutorService timer;
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param kernelExecutor The kernel executor.
+   * @param configuration The kernel application's configuration.
+   */
+  @Inject
+  public DefaultVehicleLaneProvider(@KernelExecutor ScheduledExecutorService kernelExecutor,
+                                    KernelApplicationConfiguration configuration) {
+    this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
+    requireNonNull(configuration, "configuration");
+
+    this.poolSize = Math.max(configuration.vehicleLanePoolSize(), 0);
+    this.virtualThreads = configuration.vehicleLaneVirtualThreads();
+  }
+
+  @Override
+  public synchronized void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    if (poolSize == 0) {
+      LOG.info("Executing vehicles' tasks on the kernel executor.");
+    }
+    else {
+      pool = createPool(poolSize, virtualThreads);
+      timer = new LoggingScheduledThreadPoolExecutor(1, daemonThreadFactory("vehicleLaneTimer"));
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public synchronized boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public synchronized void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    for (ScheduledExecutorService lane : lanes.values()) {
+      lane.shutdownNow();
+    }
+    lanes.clear();
+
+    if (pool != null) {
+      timer.shutdownNow();
+      timer = null;
+      pool.shutdown();
+      pool = null;
+    }
+
+    initialized = false;
+  }
+
+  @Override
+  @Nonnull
+  public synchronized ScheduledExecutorService getLane(@Nonnull String vehicleName) {
+    requireNonNull(vehicleName, "vehicleName");
+    checkState(isInitialized(), "Not initialized");
+
+    if (pool == null) {
+      return kernelExecutor;
+    }
+    return lanes.computeIfAbsent(vehicleName, name -> new LaneExecutor(pool, timer));
+  }
+
+  private static ExecutorService createPool(int poolSize, boolean virtualThreads) {
+    if (virtualThreads) {
+      try {
+        // Virtual threads are only available with Java 21 or later.
+        ExecutorService pool = (ExecutorService) Executors.class
+            .getMethod("newVirtualThreadPerTaskExecutor")
+            .invoke(null);
+        LOG.info("Executing vehicles' tasks on virtual threads.");
+        return pool;
+      }
+      catch (ReflectiveOperationException exc) {
+        LOG.warn("Virtual threads not available, using a pool of {} threads instead.", poolSize);
+      }
+    }
+    else {
+      LOG.info("Executing vehicles' tasks on a pool of {} threads.", poolSize);
+    }
+    return Executors.newFixedThreadPool(poolSize, daemonThreadFactory("vehicleLane"));
+  }
+
+  private static ThreadFactory daemonThreadFactory(String namePrefix) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, namePrefix + "-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      thread.setUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
+      return thread;
+    };
+  }
+}
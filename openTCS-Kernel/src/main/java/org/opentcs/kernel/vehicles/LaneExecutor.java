@@ -0,0 +1,366 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import static org.opentcs.util.Assertions.checkArgument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ScheduledExecutorService} executing its tasks sequentially on a shared pool.
+ * <p>
+ * Tasks are executed one at a time, in the order in which they were submitted or, for delayed
+ * tasks, in the order in which they became due. Delays are tracked by a shared timer that hands due
+ * tasks over to the lane.
+ * </p>
+ * <p>
+ * After a lane has been shut down, it rejects new tasks and cancels delayed tasks becoming due.
+ * Already queued tasks are still executed.
+ * </p>
+ */
+class LaneExecutor
+    extends AbstractExecutorService
+    implements ScheduledExecutorService {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(LaneExecutor.class);
+  /**
+   * The maximum number of tasks executed in a row before the pool thread is handed over to other
+   * lanes.
+   */
+  private static final int MAX_BATCH_SIZE = 32;
+  /**
+   * The pool executing the tasks.
+   */
+  private final Executor pool;
+  /**
+   * The timer handing over delayed tasks to this lane when they become due.
+   */
+  private final ScheduledExecutorService timer;
+  /**
+   * The tasks waiting to be executed.
+   */
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+  /**
+   * Whether tasks of this lane are currently being executed by the pool.
+   */
+  private boolean draining;
+  /**
+   * Whether this lane has been shut down.
+   */
+  private boolean shutdown;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param pool The pool executing the tasks.
+   * @param timer The timer handing over delayed tasks to this lane when they become due.
+   */
+  LaneExecutor(@Nonnull Executor pool, @Nonnull ScheduledExecutorService timer) {
+    this.pool = requireNonNull(pool, "pool");
+    this.timer = requireNonNull(timer, "timer");
+  }
+
+  @Override
+  public void execute(@Nonnull Runnable command) {
+    requireNonNull(command, "command");
+
+    synchronized (this) {
+      if (shutdown) {
+        throw new RejectedExecutionException("Lane has been shut down.");
+      }
+      tasks.add(command);
+      if (draining) {
+        return;
+      }
+      draining = true;
+    }
+    startDraining();
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(@Nonnull Runnable command,
+                                     long delay,
+                                     @Nonnull TimeUnit unit) {
+    requireNonNull(command, "command");
+
+    return schedule(Executors.callable(command), delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(@Nonnull Callable<V> callable,
+                                         long delay,
+                                         @Nonnull TimeUnit unit) {
+    requireNonNull(callable, "callable");
+    requireNonNull(unit, "unit");
+
+    LaneFuture<V> future = new LaneFuture<>(callable, triggerTime(delay, unit), 0);
+    future.scheduleWithTimer();
+    return future;
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(@Nonnull Runnable command,
+                                                long initialDelay,
+                                                long period,
+                                                @Nonnull TimeUnit unit) {
+    requireNonNull(command, "command");
+    requireNonNull(unit, "unit");
+    checkArgument(period > 0, "period <= 0");
+
+    LaneFuture<Void> future = new LaneFuture<>(Executors.callable(command, null),
+                                               triggerTime(initialDelay, unit),
+                                               unit.toNanos(period));
+    future.scheduleWithTimer();
+    return future;
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(@Nonnull Runnable command,
+                                                   long initialDelay,
+                                                   long delay,
+                                                   @Nonnull TimeUnit unit) {
+    requireNonNull(command, "command");
+    requireNonNull(unit, "unit");
+    checkArgument(delay > 0, "delay <= 0");
+
+    LaneFuture<Void> future = new LaneFuture<>(Executors.callable(command, null),
+                                               triggerTime(initialDelay, unit),
+                                               -unit.toNanos(delay));
+    future.scheduleWithTimer();
+    return future;
+  }
+
+  @Override
+  public synchronized void shutdown() {
+    shutdown = true;
+    notifyAll();
+  }
+
+  @Override
+  public synchronized List<Runnable> shutdownNow() {
+    shutdown = true;
+    List<Runnable> pendingTasks = new ArrayList<>(tasks);
+    tasks.clear();
+    notifyAll();
+    return pendingTasks;
+  }
+
+  @Override
+  public synchronized boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public synchronized boolean isTerminated() {
+    return shutdown && !draining && tasks.isEmpty();
+  }
+
+  @Override
+  public synchronized boolean awaitTermination(long timeout, @Nonnull TimeUnit unit)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!isTerminated()) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return false;
+      }
+      TimeUnit.NANOSECONDS.timedWait(this, remaining);
+    }
+    return true;
+  }
+
+  private void startDraining() {
+    try {
+      pool.execute(this::drain);
+    }
+    catch (RejectedExecutionException exc) {
+      synchronized (this) {
+        draining = false;
+        notifyAll();
+      }
+      throw exc;
+    }
+  }
+
+  private void drain() {
+    for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+      Runnable task;
+      synchronized (this) {
+        task = tasks.poll();
+        if (task == null) {
+          draining = false;
+          notifyAll();
+          return;
+        }
+      }
+      runTask(task);
+    }
+    // Continue later, giving other lanes a chance to execute their tasks in the meantime.
+    startDraining();
+  }
+
+  private void runTask(Runnable task) {
+    try {
+      task.run();
+    }
+    catch (RuntimeException | Error exc) {
+      LOG.error("Abrupt termination", exc);
+      return;
+    }
+
+    // Delayed tasks log their failures themselves.
+    if (task instanceof FutureTask<?> && !(task instanceof LaneFuture<?>)) {
+      logFailure((FutureTask<?>) task);
+    }
+  }
+
+  private void logFailure(FutureTask<?> future) {
+    if (!future.isDone()) {
+      return;
+    }
+    try {
+      future.get();
+    }
+    catch (ExecutionException exc) {
+      LOG.warn("Unhandled exception in executed task", exc.getCause());
+    }
+    catch (CancellationException exc) {
+      LOG.debug("Task was cancelled", exc);
+    }
+    catch (InterruptedException exc) {
+      LOG.debug("Interrupted during Future.get()", exc);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static long triggerTime(long delay, TimeUnit unit) {
+    return System.nanoTime() + unit.toNanos(Math.max(delay, 0));
+  }
+
+  /**
+   * A (potentially periodic) delayed task of this lane.
+   *
+   * @param <V> The task's result type.
+   */
+  private class LaneFuture<V>
+      extends FutureTask<V>
+      implements RunnableScheduledFuture<V> {
+
+    /**
+     * The period in nanoseconds: Positive for fixed-rate execution, negative for fixed-delay
+     * execution, and 0 for non-repeating tasks.
+     */
+    private final long period;
+    /**
+     * The time (as per {@link System#nanoTime()}) at which the task is due next.
+     */
+    private volatile long time;
+    /**
+     * The timer's future for handing this task over to the lane.
+     */
+    private volatile ScheduledFuture<?> timerFuture;
+
+    LaneFuture(Callable<V> callable, long time, long period) {
+      super(callable);
+      this.time = time;
+      this.period = period;
+    }
+
+    @Override
+    public boolean isPeriodic() {
+      return period != 0;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      if (other == this) {
+        return 0;
+      }
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void run() {
+      if (!isPeriodic()) {
+        super.run();
+        logFailure(this);
+      }
+      else if (!super.runAndReset()) {
+        logFailure(this);
+      }
+      else if (isShutdown()) {
+        cancel(false);
+      }
+      else {
+        time = period > 0 ? time + period : System.nanoTime() - period;
+        scheduleWithTimer();
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      ScheduledFuture<?> currentTimerFuture = timerFuture;
+      if (cancelled && currentTimerFuture != null) {
+        currentTimerFuture.cancel(false);
+      }
+      return cancelled;
+    }
+
+    private void scheduleWithTimer() {
+      if (isShutdown()) {
+        throw new RejectedExecutionException("Lane has been shut down.");
+      }
+      timerFuture = timer.schedule(this::handOver,
+                                   time - System.nanoTime(),
+                                   TimeUnit.NANOSECONDS);
+      if (isCancelled()) {
+        timerFuture.cancel(false);
+      }
+    }
+
+    private void handOver() {
+      if (isCancelled()) {
+        return;
+      }
+      try {
+        execute(this);
+      }
+      catch (RejectedExecutionException exc) {
+        cancel(false);
+      }
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.workingset;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import org.opentcs.customizations.ApplicationHome;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.TCSObject;
+import org.opentcs.kernel.KernelApplicationConfiguration;
+import org.opentcs.util.logging.UncaughtExceptionLogger;
+import static org.opentcs.util.Assertions.checkArgument;
+import static org.opentcs.util.Assertions.checkInRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the history entries of objects kept in memory by number and/or age.
+ * <p>
+ * If a history contains more than the maximum number of entries, the oldest entries are removed
+ * until it has been reduced by a tenth of the maximum, so that removals (and writes to the journal)
+ * happen in batches instead of with every new entry.
+ * Removed entries are optionally appended to a journal file. Once the journal file has reached its
+ * maximum size, it is renamed by appending {@code .1} to its name, replacing the file renamed
+ * before, and a new journal file is started. The journal thus takes up at most twice its maximum
+ * size on disk.
+ * </p>
+ * <p>
+ * Since histories are limited while the kernel executor modifies objects, the journal file is not
+ * written to by the calling thread. Instead, removed entries are handed over to a dedicated daemon
+ * thread that appends them to the journal file in the order in which they were removed. The
+ * thread is stopped via {@link #shutdown()}.
+ * </p>
+ */
+public class ObjectHistoryRetention {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectHistoryRetention.class);
+  /**
+   * The maximum time (in ms) to wait for pending journal writes when shutting down.
+   */
+  private static final long SHUTDOWN_TIMEOUT = 10000;
+  /**
+   * The maximum number of entries in a history, or 0, if not limited.
+   */
+  private final int maxEntries;
+  /**
+   * The maximum age of entries in a history, or {@code Duration.ZERO}, if not limited.
+   */
+  private final Duration maxAge;
+  /**
+   * The journal file removed entries are appended to, or {@code null}, if they are discarded.
+   */
+  private final Path journalFile;
+  /**
+   * The size (in bytes) at which the journal file is rotated, or 0, if not limited.
+   */
+  private final long journalMaxSize;
+  /**
+   * Appends removed entries to the journal file, or {@code null}, if they are discarded.
+   */
+  private final ExecutorService journalWriter;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param configuration The kernel application's configuration.
+   * @param homeDirectory The kernel's home directory.
+   */
+  @Inject
+  public ObjectHistoryRetention(KernelApplicationConfiguration configuration,
+                                @ApplicationHome File homeDirectory) {
+    this(configuration.objectHistoryMaxEntries(),
+         Duration.ofSeconds(configuration.objectHistoryMaxAge()),
+         configuration.objectHistoryJournalEnabled()
+         ? homeDirectory.toPath().resolve("data").resolve("history-journal.log")
+         : null,
+         configuration.objectHistoryJournalMaxSize() * 1024);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param maxEntries The maximum number of entries in a history, or 0, if not limited.
+   * @param maxAge The maximum age of entries in a history, or {@code Duration.ZERO}, if not
+   * limited.
+   * @param journalFile The journal file removed entries are appended to, or {@code null}, if they
+   * are to be discarded.
+   * @param journalMaxSize The size (in bytes) at which the journal file is rotated, or 0, if not
+   * limited.
+   */
+  public ObjectHistoryRetention(int maxEntries,
+                                @Nonnull Duration maxAge,
+                                @Nullable Path journalFile,
+                                long journalMaxSize) {
+    this.maxEntries = checkInRange(maxEntries, 0, Integer.MAX_VALUE, "maxEntries");
+    this.maxAge = requireNonNull(maxAge, "maxAge");
+    checkArgument(!maxAge.isNegative(), "maxAge is negative");
+    this.journalFile = journalFile;
+    this.journalMaxSize = checkInRange(journalMaxSize, 0, Long.MAX_VALUE, "journalMaxSize");
+    this.journalWriter = journalFile == null
+        ? null
+        : Executors.newSingleThreadExecutor(runnable -> {
+          Thread thread = new Thread(runnable, "objectHistoryJournalWriter");
+          thread.setDaemon(true);
+          thread.setUncaughtExceptionHandler(new UncaughtExceptionLogger(false));
+          return thread;
+        });
+  }
+
+  /**
+   * Returns an instance that does not limit histories.
+   *
+   * @return An instance that does not limit histories.
+   */
+  public static ObjectHistoryRetention unlimited() {
+    return new ObjectHistoryRetention(0, Duration.ZERO, null, 0);
+  }
+
+  /**
+   * Returns the given object with the entries exceeding the limits removed from its history.
+   *
+   * @param <T> The object's type.
+   * @param object The object.
+   * @return The given object with its history limited, or the object itself, if its history does
+   * not exceed the limits.
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public <T extends TCSObject<?>> T apply(@Nonnull T object) {
+    requireNonNull(object, "object");
+
+    ObjectHistory history = object.getHistory();
+    int count = Math.max(excessEntries(history.getEntries()), expiredEntries(history.getEntries()));
+    if (count == 0) {
+      return object;
+    }
+
+    writeToJournal(object.getName(), history.getEntries().subList(0, count));
+    return (T) object.withHistory(history.withOldestEntriesRemoved(count));
+  }
+
+  /**
+   * Stops the thread writing to the journal file, waiting for pending writes to complete first.
+   * Entries removed afterwards are discarded.
+   */
+  public void shutdown() {
+    if (journalWriter == null) {
+      return;
+    }
+
+    journalWriter.shutdown();
+    try {
+      if (!journalWriter.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+        LOG.warn("Pending writes to journal file {} did not complete in time.", journalFile);
+      }
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits until all removed entries handed over to the journal writer so far have been written to
+   * the journal file.
+   */
+  void awaitJournalWrites() {
+    if (journalWriter == null) {
+      return;
+    }
+
+    try {
+      journalWriter.submit(() -> {
+      }).get();
+    }
+    catch (InterruptedException exc) {
+      Thread.currentThread().interrupt();
+    }
+    catch (ExecutionException exc) {
+      throw new IllegalStateException("Unexpected exception", exc);
+    }
+  }
+
+  private int excessEntries(List<ObjectHistory.Entry> entries) {
+    if (maxEntries == 0 || entries.size() <= maxEntries) {
+      return 0;
+    }
+    return Math.min(entries.size() - maxEntries + maxEntries / 10, entries.size());
+  }
+
+  private int expiredEntries(List<ObjectHistory.Entry> entries) {
+    if (maxAge.isZero() || entries.isEmpty()) {
+      return 0;
+    }
+
+    Instant oldestRetained = Instant.now().minus(maxAge);
+    int count = 0;
+    while (count < entries.size() && entries.get(count).getTimestamp().isBefore(oldestRetained)) {
+      count++;
+    }
+    return count;
+  }
+
+  private void writeToJournal(String objectName, List<ObjectHistory.Entry> entries) {
+    if (journalWriter == null) {
+      return;
+    }
+
+    List<ObjectHistory.Entry> removedEntries = List.copyOf(entries);
+    try {
+      journalWriter.execute(() -> appendToJournal(objectName, removedEntries));
+    }
+    catch (RejectedExecutionException exc) {
+      LOG.debug("Journal writer shut down, discarding {} history entries of '{}'",
+                removedEntries.size(),
+                objectName);
+    }
+  }
+
+  private void appendToJournal(String objectName, List<ObjectHistory.Entry> entries) {
+    try {
+      Files.createDirectories(journalFile.toAbsolutePath().getParent());
+      rotateJournalIfFull();
+      try (BufferedWriter writer = Files.newBufferedWriter(journalFile,
+                                                           UTF_8,
+                                                           StandardOpenOption.CREATE,
+                                                           StandardOpenOption.APPEND)) {
+        for (ObjectHistory.Entry entry : entries) {
+          writer.write(entry.getTimestamp()
+              + "\t" + objectName
+              + "\t" + entry.getEventCode()
+              + "\t" + entry.getSupplement().toString().replaceAll("\\R", " "));
+          writer.newLine();
+        }
+      }
+    }
+    catch (IOException exc) {
+      LOG.warn("Could not write {} history entries of '{}' to journal file {}",
+               entries.size(),
+               objectName,
+               journalFile,
+               exc);
+    }
+  }
+
+  private void rotateJournalIfFull()
+      throws IOException {
+    if (journalMaxSize == 0
+        || !Files.exists(journalFile)
+        || Files.size(journalFile) < journalMaxSize) {
+      return;
+    }
+
+    Files.move(journalFile,
+               journalFile.resolveSibling(journalFile.getFileName() + ".1"),
+               StandardCopyOption.REPLACE_EXISTING);
+  }
+}
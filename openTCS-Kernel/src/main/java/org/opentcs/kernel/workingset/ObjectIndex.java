@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.workingset;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opentcs.data.TCSObject;
+
+/**
+ * A secondary index on the objects of a class in a {@link TCSObjectRepository}, mapping keys
+ * derived from the objects to the objects themselves.
+ * <p>
+ * Once registered with a repository via {@link TCSObjectRepository#addIndex(ObjectIndex)}, the
+ * index is updated whenever an object of its class is added, replaced or removed. Objects for which
+ * the key function returns {@code null} are not indexed.
+ * </p>
+ * <p>
+ * Note that no synchronization is done inside this class. Concurrent access of instances of this
+ * class must be synchronized externally.
+ * </p>
+ *
+ * @param <T> The type of the indexed objects.
+ * @param <K> The type of the keys.
+ */
+public class ObjectIndex<T extends TCSObject<T>, K> {
+
+  /**
+   * The class of the indexed objects.
+   */
+  private final Class<T> clazz;
+  /**
+   * Derives the key from an object.
+   */
+  private final Function<? super T, ? extends K> keyFunction;
+  /**
+   * The indexed objects, mapped by name, mapped by key.
+   */
+  private final Map<K, Map<String, T>> objectsByKey;
+  /**
+   * Whether the keys are sorted.
+   */
+  private final boolean sorted;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param clazz The class of the indexed objects.
+   * @param keyFunction Derives the key from an object, returning {@code null} for objects that are
+   * not to be indexed.
+   */
+  public ObjectIndex(@Nonnull Class<T> clazz,
+                     @Nonnull Function<? super T, ? extends K> keyFunction) {
+    this.clazz = requireNonNull(clazz, "clazz");
+    this.keyFunction = requireNonNull(keyFunction, "keyFunction");
+    this.objectsByKey = new HashMap<>();
+    this.sorted = false;
+  }
+
+  /**
+   * Creates a new instance with sorted keys.
+   *
+   * @param clazz The class of the indexed objects.
+   * @param keyFunction Derives the key from an object, returning {@code null} for objects that are
+   * not to be indexed.
+   * @param keyComparator Defines the order of the keys.
+   */
+  public ObjectIndex(@Nonnull Class<T> clazz,
+                     @Nonnull Function<? super T, ? extends K> keyFunction,
+                     @Nonnull Comparator<? super K> keyComparator) {
+    this.clazz = requireNonNull(clazz, "clazz");
+    this.keyFunction = requireNonNull(keyFunction, "keyFunction");
+    this.objectsByKey = new TreeMap<>(requireNonNull(keyComparator, "keyComparator"));
+    this.sorted = true;
+  }
+
+  /**
+   * Returns the class of the indexed objects.
+   *
+   * @return The class of the indexed objects.
+   */
+  @Nonnull
+  public Class<T> getIndexedClass() {
+    return clazz;
+  }
+
+  /**
+   * Returns the objects with the given key.
+   *
+   * @param key The key.
+   * @return The objects with the given key. If there are none, the returned set is empty.
+   */
+  @Nonnull
+  public Set<T> getObjects(@Nonnull K key) {
+    requireNonNull(key, "key");
+
+    return new HashSet<>(objectsByKey.getOrDefault(key, Map.of()).values());
+  }
+
+  /**
+   * Returns the objects with keys less than or equal to the given one, in the order of their keys.
+   *
+   * @param key The key.
+   * @return The objects with keys less than or equal to the given one.
+   * @throws IllegalStateException If this index does not have sorted keys.
+   */
+  @Nonnull
+  public List<T> getObjectsWithKeysUpTo(@Nonnull K key)
+      throws IllegalStateException {
+    requireNonNull(key, "key");
+    if (!sorted) {
+      throw new IllegalStateException("Keys of this index are not sorted.");
+    }
+
+    List<T> result = new ArrayList<>();
+    for (Map<String, T> objects
+             : ((TreeMap<K, Map<String, T>>) objectsByKey).headMap(key, true).values()) {
+      result.addAll(objects.values());
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of indexed objects.
+   *
+   * @return The number of indexed objects.
+   */
+  public int size() {
+    return objectsByKey.values().stream().mapToInt(Map::size).sum();
+  }
+
+  /**
+   * Updates this index for an object of its class that has been added, replaced or removed.
+   *
+   * @param previousState The object's previous state, or {@code null}, if it has been added.
+   * @param currentState The object's current state, or {@code null}, if it has been removed.
+   */
+  void update(@Nullable TCSObject<?> previousState, @Nullable TCSObject<?> currentState) {
+    if (previousState != null) {
+      remove(clazz.cast(previousState));
+    }
+    if (currentState != null) {
+      add(clazz.cast(currentState));
+    }
+  }
+
+  /**
+   * Removes all objects from this index.
+   */
+  void clear() {
+    objectsByKey.clear();
+  }
+
+  private void add(T object) {
+    K key = keyFunction.apply(object);
+    if (key != null) {
+      objectsByKey.computeIfAbsent(key, k -> new HashMap<>()).put(object.getName(), object);
+    }
+  }
+
+  private void remove(T object) {
+    K key = keyFunction.apply(object);
+    if (key == null) {
+      return;
+    }
+    Map<String, T> objects = objectsByKey.get(key);
+    if (objects != null) {
+      objects.remove(object.getName());
+      if (objects.isEmpty()) {
+        objectsByKey.remove(key);
+      }
+    }
+  }
+}
@@ -7,7 +7,11 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
 import static java.util.Objects.requireNonNull;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.opentcs.access.to.peripherals.PeripheralJobCreationTO;
@@ -47,6 +51,18 @@ public class PeripheralJobPoolManager
    * Provides names for peripheral jobs.
    */
   private final ObjectNameProvider objectNameProvider;
+  /**
+   * The peripheral jobs related to transport orders, indexed by their related transport orders.
+   */
+  private final ObjectIndex<PeripheralJob, TCSObjectReference<TransportOrder>> jobsByRelatedOrder
+      = new ObjectIndex<>(PeripheralJob.class, PeripheralJob::getRelatedTransportOrder);
+  /**
+   * The peripheral jobs in a final state, indexed by their creation times.
+   */
+  private final ObjectIndex<PeripheralJob, Instant> finalJobsByCreationTime
+      = new ObjectIndex<>(PeripheralJob.class,
+                          job -> job.getState().isFinalState() ? job.getCreationTime() : null,
+                          Comparator.naturalOrder());
 
   /**
    * Creates a new instance.
@@ -61,6 +77,8 @@ public class PeripheralJobPoolManager
                                   @Nonnull ObjectNameProvider orderNameProvider) {
     super(objectRepo, eventHandler);
     this.objectNameProvider = requireNonNull(orderNameProvider, "orderNameProvider");
+    objectRepo.addIndex(jobsByRelatedOrder);
+    objectRepo.addIndex(finalJobsByCreationTime);
   }
 
   /**
@@ -75,6 +93,32 @@ public class PeripheralJobPoolManager
     }
   }
 
+  /**
+   * Returns the peripheral jobs related to the given transport order.
+   *
+   * @param orderRef A reference to the transport order.
+   * @return The peripheral jobs related to the given transport order.
+   */
+  @Nonnull
+  public Set<PeripheralJob> getPeripheralJobsRelatedTo(
+      @Nonnull TCSObjectReference<TransportOrder> orderRef) {
+    return jobsByRelatedOrder.getObjects(orderRef);
+  }
+
+  /**
+   * Returns the peripheral jobs in a final state that were created at or before the given point of
+   * time.
+   *
+   * @param creationTimeThreshold The point of time.
+   * @return The peripheral jobs in a final state that were created at or before the given point
+   * of time, ordered by their creation times.
+   */
+  @Nonnull
+  public List<PeripheralJob> getFinalPeripheralJobsCreatedUntil(
+      @Nonnull Instant creationTimeThreshold) {
+    return finalJobsByCreationTime.getObjectsWithKeysUpTo(creationTimeThreshold);
+  }
+
   /**
    * Adds a new peripheral job to the pool.
    *
@@ -102,6 +146,20 @@ public class PeripheralJobPoolManager
     return job;
   }
 
+  /**
+   * Adds a peripheral job restored from a previous run of the kernel to the pool.
+   *
+   * @param job The peripheral job.
+   * @throws ObjectExistsException If an object with the peripheral job's name already exists.
+   */
+  public void restorePeripheralJob(@Nonnull PeripheralJob job)
+      throws ObjectExistsException {
+    requireNonNull(job, "job");
+
+    getObjectRepo().addObject(job);
+    emitObjectEvent(job, null, TCSObjectEvent.Type.OBJECT_CREATED);
+  }
+
   /**
    * Sets a peripheral jobs's state.
    *
@@ -127,7 +185,7 @@ public class PeripheralJobPoolManager
              newState);
 
     PeripheralJob job = previousState.withState(newState);
-    getObjectRepo().replaceObject(job);
+    job = getObjectRepo().replaceObject(job);
     emitObjectEvent(job,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -206,7 +206,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Path previousState = getObjectRepo().getObject(Path.class, ref);
     Path path = previousState.withLocked(newLocked);
-    getObjectRepo().replaceObject(path.withLocked(newLocked));
+    path = getObjectRepo().replaceObject(path);
     emitObjectEvent(path,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -226,7 +226,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Location previousState = getObjectRepo().getObject(Location.class, ref);
     Location location = previousState.withLocked(newLocked);
-    getObjectRepo().replaceObject(location);
+    location = getObjectRepo().replaceObject(location);
     emitObjectEvent(location,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -247,7 +247,7 @@ public class PlantModelManager
     Location location = previousState.withPeripheralInformation(
         previousState.getPeripheralInformation().withReservationToken(newToken)
     );
-    getObjectRepo().replaceObject(location);
+    location = getObjectRepo().replaceObject(location);
     emitObjectEvent(location,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -269,7 +269,7 @@ public class PlantModelManager
     Location location = previousState.withPeripheralInformation(
         previousState.getPeripheralInformation().withProcState(newState)
     );
-    getObjectRepo().replaceObject(location);
+    location = getObjectRepo().replaceObject(location);
     emitObjectEvent(location,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -291,7 +291,7 @@ public class PlantModelManager
     Location location = previousState.withPeripheralInformation(
         previousState.getPeripheralInformation().withState(newState)
     );
-    getObjectRepo().replaceObject(location);
+    location = getObjectRepo().replaceObject(location);
     emitObjectEvent(location,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -313,7 +313,7 @@ public class PlantModelManager
     Location location = previousState.withPeripheralInformation(
         previousState.getPeripheralInformation().withPeripheralJob(newJob)
     );
-    getObjectRepo().replaceObject(location);
+    location = getObjectRepo().replaceObject(location);
     emitObjectEvent(location,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -333,7 +333,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Vehicle previousState = getObjectRepo().getObject(Vehicle.class, ref);
     Vehicle vehicle = previousState.withEnergyLevel(energyLevel);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -359,7 +359,7 @@ public class PlantModelManager
              rechargeOperation);
 
     Vehicle vehicle = previousState.withRechargeOperation(rechargeOperation);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -379,7 +379,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Vehicle previousState = getObjectRepo().getObject(Vehicle.class, ref);
     Vehicle vehicle = previousState.withLoadHandlingDevices(devices);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -405,7 +405,7 @@ public class PlantModelManager
               newState);
 
     Vehicle vehicle = previousState.withState(newState);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -431,7 +431,7 @@ public class PlantModelManager
               newLength);
 
     Vehicle vehicle = previousState.withLength(newLength);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -457,7 +457,7 @@ public class PlantModelManager
              integrationLevel);
 
     Vehicle vehicle = previousState.withIntegrationLevel(integrationLevel);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -483,7 +483,7 @@ public class PlantModelManager
              paused);
 
     Vehicle vehicle = previousState.withPaused(paused);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -509,7 +509,7 @@ public class PlantModelManager
               newState);
 
     Vehicle vehicle = previousState.withProcState(newState);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -535,7 +535,7 @@ public class PlantModelManager
              allowedOrderTypes);
 
     Vehicle vehicle = previousState.withAllowedOrderTypes(allowedOrderTypes);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -561,7 +561,7 @@ public class PlantModelManager
              envelopeKey);
 
     Vehicle vehicle = previousState.withEnvelopeKey(envelopeKey);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -592,7 +592,7 @@ public class PlantModelManager
       Point oldVehiclePos = getObjectRepo().getObject(Point.class, vehicle.getCurrentPosition());
       Point previousPointState = oldVehiclePos;
       oldVehiclePos = oldVehiclePos.withOccupyingVehicle(null);
-      getObjectRepo().replaceObject(oldVehiclePos);
+      oldVehiclePos = getObjectRepo().replaceObject(oldVehiclePos);
       emitObjectEvent(oldVehiclePos,
                       previousPointState,
                       TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -602,13 +602,13 @@ public class PlantModelManager
       Point newVehiclePos = getObjectRepo().getObject(Point.class, newPosRef);
       Point previousPointState = newVehiclePos;
       newVehiclePos = newVehiclePos.withOccupyingVehicle(ref);
-      getObjectRepo().replaceObject(newVehiclePos);
+      newVehiclePos = getObjectRepo().replaceObject(newVehiclePos);
       emitObjectEvent(newVehiclePos,
                       previousPointState,
                       TCSObjectEvent.Type.OBJECT_MODIFIED);
     }
     vehicle = vehicle.withCurrentPosition(newPosRef);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousVehicleState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -630,7 +630,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Vehicle previousState = getObjectRepo().getObject(Vehicle.class, ref);
     Vehicle vehicle = previousState.withNextPosition(newPosition);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -650,7 +650,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Vehicle previousState = getObjectRepo().getObject(Vehicle.class, ref);
     Vehicle vehicle = previousState.withPrecisePosition(newPosition);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -670,7 +670,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Vehicle previousState = getObjectRepo().getObject(Vehicle.class, ref);
     Vehicle vehicle = previousState.withOrientationAngle(angle);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -692,12 +692,12 @@ public class PlantModelManager
     Vehicle previousState = vehicle;
     if (orderRef == null) {
       vehicle = vehicle.withTransportOrder(null);
-      getObjectRepo().replaceObject(vehicle);
+      vehicle = getObjectRepo().replaceObject(vehicle);
     }
     else {
       TransportOrder order = getObjectRepo().getObject(TransportOrder.class, orderRef);
       vehicle = vehicle.withTransportOrder(order.getReference());
-      getObjectRepo().replaceObject(vehicle);
+      vehicle = getObjectRepo().replaceObject(vehicle);
     }
     emitObjectEvent(vehicle,
                     previousState,
@@ -720,12 +720,12 @@ public class PlantModelManager
     Vehicle previousState = vehicle;
     if (seqRef == null) {
       vehicle = vehicle.withOrderSequence(null);
-      getObjectRepo().replaceObject(vehicle);
+      vehicle = getObjectRepo().replaceObject(vehicle);
     }
     else {
       OrderSequence seq = getObjectRepo().getObject(OrderSequence.class, seqRef);
       vehicle = vehicle.withOrderSequence(seq.getReference());
-      getObjectRepo().replaceObject(vehicle);
+      vehicle = getObjectRepo().replaceObject(vehicle);
     }
     emitObjectEvent(vehicle,
                     previousState,
@@ -747,7 +747,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Vehicle previousState = getObjectRepo().getObject(Vehicle.class, vehicleRef);
     Vehicle vehicle = previousState.withRouteProgressIndex(index);
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -767,7 +767,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Vehicle previousState = getObjectRepo().getObject(Vehicle.class, vehicleRef);
     Vehicle vehicle = previousState.withClaimedResources(unmodifiableCopy(resources));
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -787,7 +787,7 @@ public class PlantModelManager
       throws ObjectUnknownException {
     Vehicle previousState = getObjectRepo().getObject(Vehicle.class, vehicleRef);
     Vehicle vehicle = previousState.withAllocatedResources(unmodifiableCopy(resources));
-    getObjectRepo().replaceObject(vehicle);
+    vehicle = getObjectRepo().replaceObject(vehicle);
     emitObjectEvent(vehicle,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -1251,7 +1251,7 @@ public class PlantModelManager
 
       Point previousPointState = point;
       point = point.withAttachedLinks(pointLinks);
-      getObjectRepo().replaceObject(point);
+      point = getObjectRepo().replaceObject(point);
 
       emitObjectEvent(point,
                       previousPointState,
@@ -1399,7 +1399,7 @@ public class PlantModelManager
                          new Couple(labelOffsetX, labelOffsetY),
                          oldPoint.getLayout().getLayerId())
     );
-    getObjectRepo().replaceObject(newPoint);
+    newPoint = getObjectRepo().replaceObject(newPoint);
     emitObjectEvent(newPoint, oldPoint, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -1448,7 +1448,7 @@ public class PlantModelManager
                                                       controlPoints,
                                                       oldPath.getLayout().getLayerId()));
 
-    getObjectRepo().replaceObject(newPath);
+    newPath = getObjectRepo().replaceObject(newPath);
     emitObjectEvent(newPath, oldPath, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -1472,7 +1472,7 @@ public class PlantModelManager
                             oldLocation.getLayout().getLocationRepresentation(),
                             oldLocation.getLayout().getLayerId())
     );
-    getObjectRepo().replaceObject(newLocation);
+    newLocation = getObjectRepo().replaceObject(newLocation);
     emitObjectEvent(newLocation, oldLocation, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -1482,7 +1482,7 @@ public class PlantModelManager
         ? Colors.decodeFromHexRGB(properties.get(ElementPropKeys.BLOCK_COLOR))
         : oldBlock.getLayout().getColor();
     Block newBlock = oldBlock.withLayout(new Block.Layout(color));
-    getObjectRepo().replaceObject(newBlock);
+    newBlock = getObjectRepo().replaceObject(newBlock);
     emitObjectEvent(newBlock, oldBlock, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -1492,7 +1492,7 @@ public class PlantModelManager
         ? Colors.decodeFromHexRGB(properties.get(ElementPropKeys.VEHICLE_ROUTE_COLOR))
         : oldVehicle.getLayout().getRouteColor();
     Vehicle newVehicle = oldVehicle.withLayout(new Vehicle.Layout(routeColor));
-    getObjectRepo().replaceObject(newVehicle);
+    newVehicle = getObjectRepo().replaceObject(newVehicle);
     emitObjectEvent(newVehicle, oldVehicle, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -1518,7 +1518,7 @@ public class PlantModelManager
     Set<TCSObjectReference<Path>> incomingPaths = new HashSet<>(point.getIncomingPaths());
     incomingPaths.add(path.getReference());
     point = point.withIncomingPaths(incomingPaths);
-    getObjectRepo().replaceObject(point);
+    point = getObjectRepo().replaceObject(point);
     emitObjectEvent(point,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -1547,7 +1547,7 @@ public class PlantModelManager
     Set<TCSObjectReference<Path>> outgoingPaths = new HashSet<>(point.getOutgoingPaths());
     outgoingPaths.add(path.getReference());
     point = point.withOutgoingPaths(outgoingPaths);
-    getObjectRepo().replaceObject(point);
+    point = getObjectRepo().replaceObject(point);
     emitObjectEvent(point,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
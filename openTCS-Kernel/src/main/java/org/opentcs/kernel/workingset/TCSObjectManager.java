@@ -7,6 +7,7 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.util.List;
 import static java.util.Objects.requireNonNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -42,6 +43,11 @@ public class TCSObjectManager {
    * A handler we should emit object events to.
    */
   private final EventHandler eventHandler;
+  /**
+   * Collects the last states of removed objects instead of emitting events for them, or
+   * {@code null}.
+   */
+  private List<TCSObject<?>> removedObjectsCollector;
 
   /**
    * Creates a new instance.
@@ -89,7 +95,7 @@ public class TCSObjectManager {
               key,
               value);
     object = object.withProperty(key, value);
-    objectRepo.replaceObject(object);
+    object = objectRepo.replaceObject(object);
     emitObjectEvent(object, previousState, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
@@ -110,10 +116,29 @@ public class TCSObjectManager {
     TCSObject<?> previousState = object;
     LOG.debug("Appending history entry to object named '{}': {}", ref.getName(), entry);
     object = object.withHistoryEntry(entry);
-    objectRepo.replaceObject(object);
+    object = objectRepo.replaceObject(object);
     emitObjectEvent(object, previousState, TCSObjectEvent.Type.OBJECT_MODIFIED);
   }
 
+  /**
+   * Sets a list in which the last states of objects removed via this manager are collected instead
+   * of emitting an event of type {@link TCSObjectEvent.Type#OBJECT_REMOVED} for each of them.
+   *
+   * @param removedObjects The list, or {@code null}, to emit events for removed objects again.
+   */
+  public void setRemovedObjectsCollector(@Nullable List<TCSObject<?>> removedObjects) {
+    this.removedObjectsCollector = removedObjects;
+  }
+
+  /**
+   * Emits the given event.
+   *
+   * @param event The event.
+   */
+  public void emitEvent(@Nonnull Object event) {
+    eventHandler.onEvent(requireNonNull(event, "event"));
+  }
+
   /**
    * Emits an event for the given object with the given type.
    *
@@ -126,6 +151,10 @@ public class TCSObjectManager {
   public void emitObjectEvent(TCSObject<?> currentObjectState,
                               TCSObject<?> previousObjectState,
                               TCSObjectEvent.Type evtType) {
+    if (evtType == TCSObjectEvent.Type.OBJECT_REMOVED && removedObjectsCollector != null) {
+      removedObjectsCollector.add(previousObjectState);
+      return;
+    }
     eventHandler.onEvent(new TCSObjectEvent(currentObjectState, previousObjectState, evtType));
   }
 
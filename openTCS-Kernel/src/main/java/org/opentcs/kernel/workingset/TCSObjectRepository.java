@@ -7,7 +7,14 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
@@ -15,6 +22,7 @@ import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import org.opentcs.data.ObjectExistsException;
 import org.opentcs.data.ObjectUnknownException;
 import org.opentcs.data.TCSObject;
@@ -26,18 +34,73 @@ import static org.opentcs.util.Assertions.checkArgument;
  * <p>
  * Provides access to a set of data objects and ensures they have unique names.
  * </p>
+ * <p>
+ * In addition, immutable snapshots of the repository's content can be retrieved via
+ * {@link #getSnapshot()}. Snapshots are created lazily. The objects of each class are kept in
+ * snapshots in a fixed number of buckets (by their names' hash codes), and a new snapshot only
+ * copies the buckets containing objects that have been modified since the previous snapshot,
+ * sharing all others with it.
+ * </p>
+ * <p>
+ * The histories of replacing objects are limited according to an {@link ObjectHistoryRetention}.
+ * </p>
+ * <p>
+ * Secondary indexes registered via {@link #addIndex(ObjectIndex)} are kept up to date with the
+ * repository's content.
+ * </p>
  */
 public class TCSObjectRepository {
 
+  /**
+   * The number of buckets the objects of a class are distributed to in snapshots.
+   */
+  private static final int SNAPSHOT_BUCKET_COUNT = 128;
+  /**
+   * Limits the histories of objects in this pool.
+   */
+  private final ObjectHistoryRetention historyRetention;
   /**
    * The objects contained in this pool, mapped by their names, grouped by their classes.
    */
   private final Map<Class<?>, Map<String, TCSObject<?>>> objects = new HashMap<>();
+  /**
+   * The objects contained in this pool, mapped by their names.
+   */
+  private final Map<String, TCSObject<?>> objectsByName = new HashMap<>();
+  /**
+   * The objects that have been modified since the last snapshot was created, mapped by their
+   * names, grouped by their classes. Removed objects are mapped to {@code null}.
+   */
+  private final Map<Class<?>, Map<String, TCSObject<?>>> modifiedObjects = new HashMap<>();
+  /**
+   * The secondary indexes registered with this pool, mapped by the class of the indexed objects.
+   */
+  private final Map<Class<?>, List<ObjectIndex<?, ?>>> indexes = new HashMap<>();
+  /**
+   * The last snapshot created.
+   */
+  private Snapshot lastSnapshot = new Snapshot(Map.of());
+  /**
+   * The current snapshot, or {@code null}, if the repository has been modified since the last
+   * snapshot was created.
+   */
+  private volatile Snapshot currentSnapshot = lastSnapshot;
 
   /**
-   * Creates a new instance.
+   * Creates a new instance that does not limit the objects' histories.
    */
   public TCSObjectRepository() {
+    this(ObjectHistoryRetention.unlimited());
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param historyRetention Limits the histories of objects in this pool.
+   */
+  @Inject
+  public TCSObjectRepository(@Nonnull ObjectHistoryRetention historyRetention) {
+    this.historyRetention = requireNonNull(historyRetention, "historyRetention");
   }
 
   /**
@@ -55,24 +118,31 @@ public class TCSObjectRepository {
       throw new ObjectExistsException("Object name already exists: " + newObject.getName());
     }
 
-    Map<String, TCSObject<?>> objectsByName = objects.get(newObject.getClass());
-    if (objectsByName == null) {
-      objectsByName = new HashMap<>();
-      objects.put(newObject.getClass(), objectsByName);
+    synchronized (this) {
+      objects.computeIfAbsent(newObject.getClass(), clazz -> new HashMap<>())
+          .put(newObject.getName(), newObject);
+      objectsByName.put(newObject.getName(), newObject);
+      markModified(newObject.getClass(), newObject.getName(), newObject);
     }
-    objectsByName.put(newObject.getName(), newObject);
+    updateIndexes(newObject.getClass(), null, newObject);
   }
 
   /**
    * Uses the given object to replace an object in the pool with same name.
+   * The oldest entries of the replacing object's history may be removed before it is stored.
+   *
+   * Callers must use the returned object (e.g. for emitting events) instead of the given one, as
+   * only the returned one reflects the state actually stored.
    *
+   * @param <T> The object's type.
    * @param object The replacing object.
+   * @return The object actually stored, i.e. the given object with its history possibly limited.
    * @throws IllegalArgumentException If an object with the same name as the given object does not
    * exist in this repository, yet, or if an object with the same name does exist but is an instance
    * of a different class.
    */
   @Nonnull
-  public void replaceObject(@Nonnull TCSObject<?> object)
+  public <T extends TCSObject<?>> T replaceObject(@Nonnull T object)
       throws IllegalArgumentException {
     requireNonNull(object, "object");
     TCSObject<?> oldObject = getObjectOrNull(object.getName());
@@ -84,8 +154,15 @@ public class TCSObjectRepository {
                   object.getName(),
                   object.getClass().getName(),
                   oldObject.getClass().getName());
+    T retainedObject = historyRetention.apply(object);
 
-    objects.get(object.getClass()).put(object.getName(), object);
+    synchronized (this) {
+      objects.get(object.getClass()).put(object.getName(), retainedObject);
+      objectsByName.put(object.getName(), retainedObject);
+      markModified(object.getClass(), object.getName(), retainedObject);
+    }
+    updateIndexes(object.getClass(), oldObject, retainedObject);
+    return retainedObject;
   }
 
   /**
@@ -175,11 +252,7 @@ public class TCSObjectRepository {
   public TCSObject<?> getObjectOrNull(@Nonnull String name) {
     requireNonNull(name, "name");
 
-    return objects.values().stream()
-        .map(objectsByName -> objectsByName.get(name))
-        .filter(object -> object != null)
-        .findAny()
-        .orElse(null);
+    return objectsByName.get(name);
   }
 
   /**
@@ -291,14 +364,254 @@ public class TCSObjectRepository {
     requireNonNull(ref, "ref");
 
     Map<String, TCSObject<?>> map = objects.get(ref.getReferentClass());
-    TCSObject<?> obj = (map == null) ? null : map.remove(ref.getName());
-    if (obj == null) {
+    if (map == null || !map.containsKey(ref.getName())) {
       throw new ObjectUnknownException(ref);
     }
+
+    TCSObject<?> obj;
+    synchronized (this) {
+      obj = map.remove(ref.getName());
+      objectsByName.remove(ref.getName());
+      markModified(ref.getReferentClass(), ref.getName(), null);
+    }
+    updateIndexes(ref.getReferentClass(), obj, null);
     return obj;
   }
 
+  /**
+   * Registers a secondary index with this pool.
+   * The index is populated with the objects of its class currently contained in this pool and
+   * updated with every later modification of these objects.
+   *
+   * @param index The index.
+   */
+  public void addIndex(@Nonnull ObjectIndex<?, ?> index) {
+    requireNonNull(index, "index");
+
+    index.clear();
+    for (TCSObject<?> object : objects.getOrDefault(index.getIndexedClass(), Map.of()).values()) {
+      index.update(null, object);
+    }
+    indexes.computeIfAbsent(index.getIndexedClass(), clazz -> new ArrayList<>()).add(index);
+  }
+
+  /**
+   * Returns an immutable snapshot of this repository's current content.
+   * <p>
+   * As long as the repository is not modified, the same snapshot is returned without copying any
+   * data. Callers should hold the kernel's lock while retrieving a snapshot, so that it does not
+   * reflect a modification that is still in progress. The returned snapshot itself may be used
+   * without holding any lock.
+   * </p>
+   *
+   * @return An immutable snapshot of this repository's current content.
+   */
+  @Nonnull
+  public Snapshot getSnapshot() {
+    Snapshot result = currentSnapshot;
+    if (result != null) {
+      return result;
+    }
+
+    synchronized (this) {
+      if (currentSnapshot == null) {
+        Map<Class<?>, ClassSnapshot> snapshotObjects = new HashMap<>(lastSnapshot.objects);
+        for (Map.Entry<Class<?>, Map<String, TCSObject<?>>> entry : modifiedObjects.entrySet()) {
+          ClassSnapshot classSnapshot = lastSnapshot.objects
+              .getOrDefault(entry.getKey(), ClassSnapshot.EMPTY)
+              .withModifications(entry.getValue());
+          if (classSnapshot.isEmpty()) {
+            snapshotObjects.remove(entry.getKey());
+          }
+          else {
+            snapshotObjects.put(entry.getKey(), classSnapshot);
+          }
+        }
+        modifiedObjects.clear();
+        lastSnapshot = new Snapshot(snapshotObjects);
+        currentSnapshot = lastSnapshot;
+      }
+      return currentSnapshot;
+    }
+  }
+
   private boolean containsName(String name) {
-    return objects.values().stream().anyMatch(objectsByName -> objectsByName.containsKey(name));
+    return objectsByName.containsKey(name);
+  }
+
+  private void updateIndexes(Class<?> clazz,
+                            @Nullable TCSObject<?> previousState,
+                            @Nullable TCSObject<?> currentState) {
+    for (ObjectIndex<?, ?> index : indexes.getOrDefault(clazz, List.of())) {
+      index.update(previousState, currentState);
+    }
+  }
+
+  private void markModified(Class<?> clazz, String name, @Nullable TCSObject<?> object) {
+    modifiedObjects.computeIfAbsent(clazz, c -> new HashMap<>()).put(name, object);
+    currentSnapshot = null;
+  }
+
+  private static int bucketIndex(String name) {
+    return Math.floorMod(name.hashCode(), SNAPSHOT_BUCKET_COUNT);
+  }
+
+  /**
+   * An immutable snapshot of a repository's content.
+   */
+  public static class Snapshot {
+
+    /**
+     * The objects contained in this snapshot, grouped by their classes.
+     */
+    private final Map<Class<?>, ClassSnapshot> objects;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param objects The objects contained in this snapshot, grouped by their classes.
+     */
+    private Snapshot(Map<Class<?>, ClassSnapshot> objects) {
+      this.objects = Map.copyOf(objects);
+    }
+
+    /**
+     * Returns an object from this snapshot.
+     *
+     * @param <T> The object's type.
+     * @param clazz The class of the object to be returned.
+     * @param name The name of the object to be returned.
+     * @return The named object, or <code>null</code>, if no such object exists in this snapshot or
+     * if an object exists but is not an instance of the given class.
+     */
+    @Nullable
+    public <T extends TCSObject<T>> T getObjectOrNull(@Nonnull Class<T> clazz,
+                                                      @Nonnull String name) {
+      requireNonNull(clazz, "clazz");
+      requireNonNull(name, "name");
+
+      TCSObject<?> result = objects.getOrDefault(clazz, ClassSnapshot.EMPTY).get(name);
+      return clazz.isInstance(result) ? clazz.cast(result) : null;
+    }
+
+    /**
+     * Returns the objects belonging to the given class.
+     *
+     * @param <T> The objects' type.
+     * @param clazz The class of the objects to be returned.
+     * @return An unmodifiable collection of the objects belonging to the given class.
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <T extends TCSObject<T>> Collection<T> getObjects(@Nonnull Class<T> clazz) {
+      requireNonNull(clazz, "clazz");
+
+      return (Collection<T>) (Collection<?>) objects.getOrDefault(clazz, ClassSnapshot.EMPTY);
+    }
+
+    /**
+     * Returns a set of objects of the given class for which the given predicate is true.
+     *
+     * @param <T> The objects' type.
+     * @param clazz The class of the objects to be returned.
+     * @param predicate The predicate that must be true for returned objects.
+     * @return A (modifiable) set of objects of the given class for which the given predicate is
+     * true. If no such objects exist, the returned set is empty.
+     */
+    @Nonnull
+    public <T extends TCSObject<T>> Set<T> getObjects(@Nonnull Class<T> clazz,
+                                                      @Nonnull Predicate<? super T> predicate) {
+      requireNonNull(clazz, "clazz");
+      requireNonNull(predicate, "predicate");
+
+      Set<T> result = new HashSet<>();
+      for (T object : getObjects(clazz)) {
+        if (predicate.test(object)) {
+          result.add(object);
+        }
+      }
+      return result;
+    }
+  }
+
+  /**
+   * An immutable snapshot of the objects of a single class, distributed to buckets by their names.
+   */
+  private static class ClassSnapshot
+      extends AbstractCollection<TCSObject<?>> {
+
+    /**
+     * A snapshot without any objects.
+     */
+    static final ClassSnapshot EMPTY = new ClassSnapshot(emptyBuckets(), 0);
+    /**
+     * The objects, mapped by their names, in buckets indexed by {@link #bucketIndex(String)}.
+     * The bucket maps are immutable and may be shared with other snapshots.
+     */
+    private final Map<String, TCSObject<?>>[] buckets;
+    /**
+     * The number of objects in all buckets.
+     */
+    private final int size;
+
+    private ClassSnapshot(Map<String, TCSObject<?>>[] buckets, int size) {
+      this.buckets = buckets;
+      this.size = size;
+    }
+
+    @Nullable
+    public TCSObject<?> get(String name) {
+      return buckets[bucketIndex(name)].get(name);
+    }
+
+    /**
+     * Returns a snapshot with the given modifications applied to this one.
+     * Only the buckets affected by the modifications are copied.
+     *
+     * @param modifications The modified objects, mapped by their names. Removed objects are mapped
+     * to {@code null}.
+     * @return A snapshot with the given modifications applied.
+     */
+    public ClassSnapshot withModifications(Map<String, TCSObject<?>> modifications) {
+      Map<Integer, Map<String, TCSObject<?>>> modifiedBuckets = new HashMap<>();
+      for (Map.Entry<String, TCSObject<?>> entry : modifications.entrySet()) {
+        int index = bucketIndex(entry.getKey());
+        Map<String, TCSObject<?>> bucket
+            = modifiedBuckets.computeIfAbsent(index, i -> new HashMap<>(buckets[i]));
+        if (entry.getValue() == null) {
+          bucket.remove(entry.getKey());
+        }
+        else {
+          bucket.put(entry.getKey(), entry.getValue());
+        }
+      }
+
+      Map<String, TCSObject<?>>[] newBuckets = buckets.clone();
+      int newSize = size;
+      for (Map.Entry<Integer, Map<String, TCSObject<?>>> entry : modifiedBuckets.entrySet()) {
+        newSize += entry.getValue().size() - buckets[entry.getKey()].size();
+        newBuckets[entry.getKey()] = Map.copyOf(entry.getValue());
+      }
+      return new ClassSnapshot(newBuckets, newSize);
+    }
+
+    @Override
+    public Iterator<TCSObject<?>> iterator() {
+      return Arrays.stream(buckets)
+          .flatMap(bucket -> bucket.values().stream())
+          .iterator();
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, TCSObject<?>>[] emptyBuckets() {
+      Map<String, TCSObject<?>>[] result = new Map[SNAPSHOT_BUCKET_COUNT];
+      Arrays.fill(result, Map.of());
+      return result;
+    }
   }
 }
@@ -9,6 +9,7 @@ package org.opentcs.kernel.workingset;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -59,6 +60,23 @@ public class TransportOrderPoolManager
    * Provides names for transport orders and order sequences.
    */
   private final ObjectNameProvider objectNameProvider;
+  /**
+   * The transport orders, indexed by their states.
+   */
+  private final ObjectIndex<TransportOrder, TransportOrder.State> ordersByState
+      = new ObjectIndex<>(TransportOrder.class, TransportOrder::getState);
+  /**
+   * The transport orders in a final state, indexed by their creation times.
+   */
+  private final ObjectIndex<TransportOrder, Instant> finalOrdersByCreationTime
+      = new ObjectIndex<>(TransportOrder.class,
+                          order -> order.getState().isFinalState() ? order.getCreationTime() : null,
+                          Comparator.naturalOrder());
+  /**
+   * The finished order sequences.
+   */
+  private final ObjectIndex<OrderSequence, Boolean> finishedSequences
+      = new ObjectIndex<>(OrderSequence.class, seq -> seq.isFinished() ? Boolean.TRUE : null);
 
   /**
    * Creates a new instance.
@@ -73,6 +91,9 @@ public class TransportOrderPoolManager
                                    @Nonnull ObjectNameProvider orderNameProvider) {
     super(objectRepo, eventHandler);
     this.objectNameProvider = requireNonNull(orderNameProvider, "orderNameProvider");
+    objectRepo.addIndex(ordersByState);
+    objectRepo.addIndex(finalOrdersByCreationTime);
+    objectRepo.addIndex(finishedSequences);
   }
 
   /**
@@ -91,6 +112,41 @@ public class TransportOrderPoolManager
     }
   }
 
+  /**
+   * Returns the transport orders in the given state.
+   *
+   * @param state The state.
+   * @return The transport orders in the given state.
+   */
+  @Nonnull
+  public Set<TransportOrder> getTransportOrders(@Nonnull TransportOrder.State state) {
+    return ordersByState.getObjects(state);
+  }
+
+  /**
+   * Returns the transport orders in a final state that were created at or before the given point
+   * of time.
+   *
+   * @param creationTimeThreshold The point of time.
+   * @return The transport orders in a final state that were created at or before the given point
+   * of time, ordered by their creation times.
+   */
+  @Nonnull
+  public List<TransportOrder> getFinalTransportOrdersCreatedUntil(
+      @Nonnull Instant creationTimeThreshold) {
+    return finalOrdersByCreationTime.getObjectsWithKeysUpTo(creationTimeThreshold);
+  }
+
+  /**
+   * Returns the order sequences that have been finished.
+   *
+   * @return The order sequences that have been finished.
+   */
+  @Nonnull
+  public Set<OrderSequence> getFinishedOrderSequences() {
+    return finishedSequences.getObjects(Boolean.TRUE);
+  }
+
   /**
    * Adds a new transport order to the pool.
    * This method implicitly adds the transport order to its wrapping sequence, if any.
@@ -134,7 +190,7 @@ public class TransportOrderPoolManager
                                                          newOrder.getWrappingSequence());
       OrderSequence prevSeq = sequence;
       sequence = sequence.withOrder(newOrder.getReference());
-      getObjectRepo().replaceObject(sequence);
+      sequence = getObjectRepo().replaceObject(sequence);
       emitObjectEvent(sequence, prevSeq, TCSObjectEvent.Type.OBJECT_MODIFIED);
     }
 
@@ -142,6 +198,20 @@ public class TransportOrderPoolManager
     return newOrder;
   }
 
+  /**
+   * Adds a transport order restored from a previous run of the kernel to the pool.
+   *
+   * @param order The transport order.
+   * @throws ObjectExistsException If an object with the transport order's name already exists.
+   */
+  public void restoreTransportOrder(@Nonnull TransportOrder order)
+      throws ObjectExistsException {
+    requireNonNull(order, "order");
+
+    getObjectRepo().addObject(order);
+    emitObjectEvent(order, null, TCSObjectEvent.Type.OBJECT_CREATED);
+  }
+
   /**
    * Sets a transport order's state.
    *
@@ -168,7 +238,7 @@ public class TransportOrderPoolManager
              newState);
 
     TransportOrder order = previousState.withState(newState);
-    getObjectRepo().replaceObject(order);
+    order = getObjectRepo().replaceObject(order);
     emitObjectEvent(order,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -204,17 +274,17 @@ public class TransportOrderPoolManager
     TransportOrder previousState = order;
     if (vehicleRef == null) {
       order = order.withProcessingVehicle(null);
-      getObjectRepo().replaceObject(order);
+      order = getObjectRepo().replaceObject(order);
     }
     else {
       Vehicle vehicle = getObjectRepo().getObject(Vehicle.class, vehicleRef);
       order = order.withProcessingVehicle(vehicle.getReference())
           .withDriveOrders(driveOrders)
           .withCurrentDriveOrderIndex(0);
-      getObjectRepo().replaceObject(order);
+      order = getObjectRepo().replaceObject(order);
       if (order.getCurrentDriveOrder() != null) {
         order = order.withCurrentDriveOrderState(DriveOrder.State.TRAVELLING);
-        getObjectRepo().replaceObject(order);
+        order = getObjectRepo().replaceObject(order);
       }
     }
     emitObjectEvent(order,
@@ -242,7 +312,7 @@ public class TransportOrderPoolManager
       throws ObjectUnknownException, IllegalArgumentException {
     TransportOrder previousState = getObjectRepo().getObject(TransportOrder.class, orderRef);
     TransportOrder order = previousState.withDriveOrders(newOrders);
-    getObjectRepo().replaceObject(order);
+    order = getObjectRepo().replaceObject(order);
     emitObjectEvent(order,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -275,14 +345,14 @@ public class TransportOrderPoolManager
                order.getCurrentDriveOrder().getDestination());
 
       order = order.withCurrentDriveOrderState(DriveOrder.State.FINISHED);
-      getObjectRepo().replaceObject(order);
+      order = getObjectRepo().replaceObject(order);
       TransportOrder newState = order;
       emitObjectEvent(newState,
                       previousState,
                       TCSObjectEvent.Type.OBJECT_MODIFIED);
       previousState = newState;
       order = order.withCurrentDriveOrderIndex(order.getCurrentDriveOrderIndex() + 1);
-      getObjectRepo().replaceObject(order);
+      order = getObjectRepo().replaceObject(order);
       newState = order;
       emitObjectEvent(newState,
                       previousState,
@@ -290,7 +360,7 @@ public class TransportOrderPoolManager
       previousState = newState;
       if (order.getCurrentDriveOrder() != null) {
         order = order.withCurrentDriveOrderState(DriveOrder.State.TRAVELLING);
-        getObjectRepo().replaceObject(order);
+        order = getObjectRepo().replaceObject(order);
         newState = order;
         emitObjectEvent(newState,
                         previousState,
@@ -340,7 +410,7 @@ public class TransportOrderPoolManager
 
     TransportOrder previousState = order;
     order = order.withIntendedVehicle(vehicleRef);
-    getObjectRepo().replaceObject(order);
+    order = getObjectRepo().replaceObject(order);
     emitObjectEvent(order,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -395,6 +465,20 @@ public class TransportOrderPoolManager
     return newSequence;
   }
 
+  /**
+   * Adds an order sequence restored from a previous run of the kernel to the pool.
+   *
+   * @param sequence The order sequence.
+   * @throws ObjectExistsException If an object with the order sequence's name already exists.
+   */
+  public void restoreOrderSequence(@Nonnull OrderSequence sequence)
+      throws ObjectExistsException {
+    requireNonNull(sequence, "sequence");
+
+    getObjectRepo().addObject(sequence);
+    emitObjectEvent(sequence, null, TCSObjectEvent.Type.OBJECT_CREATED);
+  }
+
   /**
    * Sets an order sequence's finished index.
    *
@@ -409,7 +493,7 @@ public class TransportOrderPoolManager
       throws ObjectUnknownException {
     OrderSequence previousState = getObjectRepo().getObject(OrderSequence.class, seqRef);
     OrderSequence sequence = previousState.withFinishedIndex(index);
-    getObjectRepo().replaceObject(sequence);
+    sequence = getObjectRepo().replaceObject(sequence);
     emitObjectEvent(sequence,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -429,7 +513,7 @@ public class TransportOrderPoolManager
       throws ObjectUnknownException {
     OrderSequence previousState = getObjectRepo().getObject(OrderSequence.class, seqRef);
     OrderSequence sequence = previousState.withComplete(true);
-    getObjectRepo().replaceObject(sequence);
+    sequence = getObjectRepo().replaceObject(sequence);
     emitObjectEvent(sequence,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -448,7 +532,7 @@ public class TransportOrderPoolManager
       throws ObjectUnknownException {
     OrderSequence previousState = getObjectRepo().getObject(OrderSequence.class, seqRef);
     OrderSequence sequence = previousState.withFinished(true);
-    getObjectRepo().replaceObject(sequence);
+    sequence = getObjectRepo().replaceObject(sequence);
     emitObjectEvent(sequence,
                     previousState,
                     TCSObjectEvent.Type.OBJECT_MODIFIED);
@@ -478,12 +562,12 @@ public class TransportOrderPoolManager
     OrderSequence sequence = previousState;
     if (vehicleRef == null) {
       sequence = sequence.withProcessingVehicle(null);
-      getObjectRepo().replaceObject(sequence);
+      sequence = getObjectRepo().replaceObject(sequence);
     }
     else {
       Vehicle vehicle = getObjectRepo().getObject(Vehicle.class, vehicleRef);
       sequence = sequence.withProcessingVehicle(vehicle.getReference());
-      getObjectRepo().replaceObject(sequence);
+      sequence = getObjectRepo().replaceObject(sequence);
     }
     emitObjectEvent(sequence,
                     previousState,
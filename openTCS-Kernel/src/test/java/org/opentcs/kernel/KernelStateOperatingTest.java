@@ -9,10 +9,13 @@ package org.opentcs.kernel;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import javax.annotation.Nonnull;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,11 +31,15 @@ import org.opentcs.components.kernel.PeripheralJobDispatcher;
 import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.InternalVehicleService;
+import org.opentcs.customizations.kernel.KernelLock;
+import org.opentcs.customizations.kernel.VehicleLaneProvider;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.TransportOrder;
 import org.opentcs.kernel.extensions.controlcenter.vehicles.AttachmentManager;
 import org.opentcs.kernel.peripherals.LocalPeripheralControllerPool;
 import org.opentcs.kernel.peripherals.PeripheralAttachmentManager;
 import org.opentcs.kernel.persistence.ModelPersister;
+import org.opentcs.kernel.persistence.OrderPoolJournal;
 import org.opentcs.kernel.vehicles.LocalVehicleControllerPool;
 import org.opentcs.kernel.workingset.PlantModelManager;
 import org.opentcs.kernel.workingset.PeripheralJobPoolManager;
@@ -70,6 +77,8 @@ public class KernelStateOperatingTest {
 
   private InternalVehicleService vehicleService;
 
+  private OrderPoolJournal orderPoolJournal;
+
   @BeforeEach
   public void setUp() {
     objectID = 0;
@@ -83,6 +92,7 @@ public class KernelStateOperatingTest {
     attachmentManager = mock(AttachmentManager.class);
     vehicleService = mock(InternalVehicleService.class);
     when(vehicleService.fetchObjects(Vehicle.class)).thenReturn(vehicles);
+    orderPoolJournal = mock(OrderPoolJournal.class);
   }
 
   @Test
@@ -141,6 +151,26 @@ public class KernelStateOperatingTest {
     verify(vehicleService, times(2)).updateVehicleOrderSequence(vehicle.getReference(), null);
   }
 
+  @Test
+  public void failRestoredOrdersReferringToUnknownObjects() {
+    objectPool = new TCSObjectRepository();
+    Vehicle vehicle = new Vehicle("Vehicle-" + objectID++);
+    objectPool.addObject(vehicle);
+    when(orderPoolJournal.restore(any())).thenReturn(List.of(
+        new TransportOrder("order1", List.of()).withIntendedVehicle(vehicle.getReference()),
+        new TransportOrder("order2", List.of())
+            .withIntendedVehicle(new Vehicle("Vehicle-removed").getReference())
+    ));
+    operating = createKernel(new HashSet<>());
+
+    operating.initialize();
+
+    assertThat(objectPool.getObject(TransportOrder.class, "order1").getState(),
+               is(TransportOrder.State.RAW));
+    assertThat(objectPool.getObject(TransportOrder.class, "order2").getState(),
+               is(TransportOrder.State.FAILED));
+  }
+
   /**
    * Creates the kernel to test.
    *
@@ -155,7 +185,7 @@ public class KernelStateOperatingTest {
 
     return spy(
         new KernelStateOperating(
-            new Object(),
+            new KernelLock(new Object(), KernelLock.Mode.MONITOR),
             mock(PlantModelManager.class),
             new TransportOrderPoolManager(objectPool,
                                           new SimpleEventBus(),
@@ -170,9 +200,11 @@ public class KernelStateOperatingTest {
             dispatcher,
             peripheralJobDispatcher,
             controllerPool,
+            mock(VehicleLaneProvider.class),
             mock(LocalPeripheralControllerPool.class),
             executorMock,
             mock(OrderCleanerTask.class),
+            orderPoolJournal,
             extensions,
             attachmentManager,
             mock(PeripheralAttachmentManager.class),
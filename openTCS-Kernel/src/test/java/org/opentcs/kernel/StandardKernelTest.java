@@ -22,6 +22,7 @@ import static org.mockito.Mockito.when;
 import org.opentcs.access.Kernel;
 import org.opentcs.access.LocalKernel;
 import org.opentcs.components.kernel.services.NotificationService;
+import org.opentcs.kernel.workingset.ObjectHistoryRetention;
 import org.opentcs.util.event.SimpleEventBus;
 
 /**
@@ -60,7 +61,8 @@ public class StandardKernelTest {
     kernel = new StandardKernel(new SimpleEventBus(),
                                 mock(ScheduledExecutorService.class),
                                 stateMap,
-                                mock(NotificationService.class));
+                                mock(NotificationService.class),
+                                ObjectHistoryRetention.unlimited());
   }
 
   @Test
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.persistence;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectsRemovedEvent;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.order.OrderSequence;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.SimpleEventBus;
+
+/**
+ * Unit tests for {@link OrderPoolJournal}.
+ */
+public class OrderPoolJournalTest {
+
+  @TempDir
+  Path tempDir;
+
+  private SimpleEventBus eventBus;
+  private OrderPoolJournal journal;
+
+  @BeforeEach
+  public void setUp() {
+    eventBus = new SimpleEventBus();
+    journal = new OrderPoolJournal(eventBus, tempDir, true, 0, false);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    journal.stop();
+  }
+
+  @Test
+  public void restoreNothingWithoutFiles() {
+    assertThat(journal.restore("model"), is(empty()));
+  }
+
+  @Test
+  public void restoreOrderPoolFromSnapshot() {
+    TransportOrder order = new TransportOrder("order", List.of());
+    OrderSequence sequence = new OrderSequence("sequence");
+
+    journal.start("model", List.of(order));
+    eventBus.onEvent(new TCSObjectEvent(sequence, null, TCSObjectEvent.Type.OBJECT_CREATED));
+    eventBus.onEvent(new TCSObjectEvent(new Point("point"),
+                                        null,
+                                        TCSObjectEvent.Type.OBJECT_CREATED));
+    journal.stop();
+
+    List<TCSObject<?>> restoredObjects = journal.restore("model");
+    assertThat(restoredObjects, hasSize(2));
+    assertThat(restoredObjects.get(0).getName(), is("order"));
+    assertThat(restoredObjects.get(1).getName(), is("sequence"));
+  }
+
+  @Test
+  public void restoreOrderPoolFromSnapshotAndJournal()
+      throws Exception {
+    TransportOrder order1 = new TransportOrder("order1", List.of());
+    TransportOrder order2 = new TransportOrder("order2", List.of());
+    TransportOrder order3 = new TransportOrder("order3", List.of());
+    TransportOrder order2Active = order2.withState(TransportOrder.State.ACTIVE);
+
+    journal.start("model", List.of(order1, order2));
+    eventBus.onEvent(new TCSObjectEvent(order2Active,
+                                        order2,
+                                        TCSObjectEvent.Type.OBJECT_MODIFIED));
+    eventBus.onEvent(new TCSObjectEvent(order3, null, TCSObjectEvent.Type.OBJECT_CREATED));
+    eventBus.onEvent(new TCSObjectsRemovedEvent(List.of(order1)));
+
+    // The kernel "crashes" after the mutations have been written to the journal, with an incomplete
+    // record at the end of the journal.
+    journal.stopWithoutSnapshot();
+    Files.write(tempDir.resolve("orderpool-journal.bin"),
+                new byte[]{1, 0, 0},
+                StandardOpenOption.APPEND);
+
+    List<TCSObject<?>> restoredObjects = journal.restore("model");
+    assertThat(restoredObjects, hasSize(2));
+    assertThat(((TransportOrder) restoredObjects.get(0)).getState(),
+               is(TransportOrder.State.ACTIVE));
+    assertThat(restoredObjects.get(1).getName(), is("order3"));
+  }
+
+  @Test
+  public void restoreOrderPoolFromJournalWithoutSnapshotOnCrash() {
+    journal.start("model", List.of());
+    eventBus.onEvent(new TCSObjectEvent(new TransportOrder("order", List.of()),
+                                        null,
+                                        TCSObjectEvent.Type.OBJECT_CREATED));
+    journal.stopWithoutSnapshot();
+
+    assertThat(restoredNames(), contains("order"));
+  }
+
+  @Test
+  public void ignoreOrderPoolOfOtherPlantModel() {
+    journal.start("model", List.of(new TransportOrder("order", List.of())));
+    journal.stop();
+
+    assertThat(journal.restore("otherModel"), is(empty()));
+  }
+
+  @Test
+  public void restoreNothingIfDisabled() {
+    OrderPoolJournal disabledJournal = new OrderPoolJournal(eventBus, tempDir, false, 0, false);
+    journal.start("model", List.of(new TransportOrder("order", List.of())));
+    journal.stop();
+
+    assertThat(disabledJournal.restore("model"), is(empty()));
+    assertThat(restoredNames(), contains("order"));
+  }
+
+  private List<String> restoredNames() {
+    return journal.restore("model").stream()
+        .map(TCSObject::getName)
+        .collect(Collectors.toList());
+  }
+}
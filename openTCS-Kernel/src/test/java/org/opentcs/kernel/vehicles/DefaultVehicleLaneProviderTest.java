@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import java.util.concurrent.ScheduledExecutorService;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.kernel.KernelApplicationConfiguration;
+
+/**
+ * Unit tests for {@link DefaultVehicleLaneProvider}.
+ */
+public class DefaultVehicleLaneProviderTest {
+
+  private ScheduledExecutorService kernelExecutor;
+
+  private KernelApplicationConfiguration configuration;
+
+  private DefaultVehicleLaneProvider laneProvider;
+
+  @BeforeEach
+  public void setUp() {
+    kernelExecutor = mock(ScheduledExecutorService.class);
+    configuration = mock(KernelApplicationConfiguration.class);
+    when(configuration.vehicleLanePoolSize()).thenReturn(2);
+    laneProvider = new DefaultVehicleLaneProvider(kernelExecutor, configuration);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    laneProvider.terminate();
+  }
+
+  @Test
+  public void provideNoLanesWhenNotInitialized() {
+    assertThrows(IllegalStateException.class, () -> laneProvider.getLane("Vehicle-1"));
+  }
+
+  @Test
+  public void provideSameLaneForSameVehicle() {
+    laneProvider.initialize();
+
+    ScheduledExecutorService lane = laneProvider.getLane("Vehicle-1");
+
+    assertThat(laneProvider.getLane("Vehicle-1"), is(sameInstance(lane)));
+    assertThat(laneProvider.getLane("Vehicle-2"), is(not(sameInstance(lane))));
+  }
+
+  @Test
+  public void shutDownLanesOnTermination() {
+    laneProvider.initialize();
+    ScheduledExecutorService lane = laneProvider.getLane("Vehicle-1");
+
+    laneProvider.terminate();
+
+    assertTrue(lane.isShutdown());
+  }
+
+  @Test
+  public void provideNewLanesAfterReinitialization() {
+    laneProvider.initialize();
+    ScheduledExecutorService lane = laneProvider.getLane("Vehicle-1");
+    laneProvider.terminate();
+
+    laneProvider.initialize();
+
+    ScheduledExecutorService newLane = laneProvider.getLane("Vehicle-1");
+    assertThat(newLane, is(not(sameInstance(lane))));
+    assertThat(newLane.isShutdown(), is(false));
+  }
+
+  @Test
+  public void provideKernelExecutorIfPoolSizeIsZero() {
+    when(configuration.vehicleLanePoolSize()).thenReturn(0);
+    laneProvider = new DefaultVehicleLaneProvider(kernelExecutor, configuration);
+    laneProvider.initialize();
+
+    assertThat(laneProvider.getLane("Vehicle-1"), is(sameInstance(kernelExecutor)));
+  }
+}
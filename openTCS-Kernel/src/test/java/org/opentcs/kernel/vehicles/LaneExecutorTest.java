@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.vehicles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LaneExecutor}.
+ */
+public class LaneExecutorTest {
+
+  private ExecutorService pool;
+
+  private ScheduledExecutorService timer;
+
+  @BeforeEach
+  public void setUp() {
+    pool = Executors.newFixedThreadPool(4);
+    timer = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    pool.shutdownNow();
+    timer.shutdownNow();
+  }
+
+  @Test
+  public void executeTasksSequentiallyInSubmissionOrder()
+      throws Exception {
+    LaneExecutor lane = new LaneExecutor(pool, timer);
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    List<Integer> expected = new ArrayList<>();
+    Future<?> lastTask = null;
+    for (int i = 0; i < 200; i++) {
+      int taskNumber = i;
+      expected.add(taskNumber);
+      lastTask = lane.submit(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        executed.add(taskNumber);
+        running.decrementAndGet();
+      });
+    }
+    lastTask.get(10, TimeUnit.SECONDS);
+
+    assertThat(maxRunning.get(), is(1));
+    assertThat(executed, is(expected));
+  }
+
+  @Test
+  public void executeLanesIndependently()
+      throws Exception {
+    LaneExecutor blockedLane = new LaneExecutor(pool, timer);
+    LaneExecutor otherLane = new LaneExecutor(pool, timer);
+    CountDownLatch release = new CountDownLatch(1);
+
+    blockedLane.submit(() -> {
+      release.await();
+      return null;
+    });
+    Future<String> otherResult = otherLane.submit(() -> "done");
+
+    assertThat(otherResult.get(10, TimeUnit.SECONDS), is("done"));
+    release.countDown();
+  }
+
+  @Test
+  public void executeDelayedTasksInOrderOfDueTime()
+      throws Exception {
+    LaneExecutor lane = new LaneExecutor(pool, timer);
+    List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+    ScheduledFuture<?> late = lane.schedule(() -> executed.add("late"), 200, TimeUnit.MILLISECONDS);
+    lane.schedule(() -> executed.add("early"), 50, TimeUnit.MILLISECONDS);
+    lane.execute(() -> executed.add("immediate"));
+    late.get(10, TimeUnit.SECONDS);
+
+    assertThat(executed, contains("immediate", "early", "late"));
+  }
+
+  @Test
+  public void repeatPeriodicTasksUntilCancelled()
+      throws Exception {
+    LaneExecutor lane = new LaneExecutor(pool, timer);
+    CountDownLatch executions = new CountDownLatch(3);
+    AtomicInteger count = new AtomicInteger();
+
+    ScheduledFuture<?> future = lane.scheduleWithFixedDelay(() -> {
+      count.incrementAndGet();
+      executions.countDown();
+    }, 0, 10, TimeUnit.MILLISECONDS);
+
+    assertThat(executions.await(10, TimeUnit.SECONDS), is(true));
+    future.cancel(false);
+    assertThat(future.isCancelled(), is(true));
+    assertThat(count.get(), is(greaterThanOrEqualTo(3)));
+  }
+
+  @Test
+  public void continueAfterFailingTask()
+      throws Exception {
+    LaneExecutor lane = new LaneExecutor(pool, timer);
+
+    lane.execute(() -> {
+      throw new IllegalStateException("Failing on purpose.");
+    });
+    Future<String> result = lane.submit(() -> "done");
+
+    assertThat(result.get(10, TimeUnit.SECONDS), is("done"));
+  }
+
+  @Test
+  public void rejectTasksAfterShutdown()
+      throws Exception {
+    LaneExecutor lane = new LaneExecutor(pool, timer);
+    lane.shutdown();
+
+    assertThat(lane.awaitTermination(10, TimeUnit.SECONDS), is(true));
+    assertThrows(RejectedExecutionException.class, () -> lane.execute(() -> {
+    }));
+  }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.kernel.workingset;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.data.ObjectHistory;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.model.Point;
+
+/**
+ * Unit tests for {@link ObjectHistoryRetention}.
+ */
+public class ObjectHistoryRetentionTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void keepObjectWithinLimits() {
+    ObjectHistoryRetention retention = new ObjectHistoryRetention(10, Duration.ofHours(1), null, 0);
+    TCSObject<?> point = pointWithHistory(10, Instant.now());
+
+    assertThat(retention.apply(point), is(sameInstance(point)));
+  }
+
+  @Test
+  public void removeExcessEntriesInBatches() {
+    ObjectHistoryRetention retention = new ObjectHistoryRetention(10, Duration.ZERO, null, 0);
+    TCSObject<?> point = pointWithHistory(11, Instant.now());
+
+    List<ObjectHistory.Entry> entries = retention.apply(point).getHistory().getEntries();
+
+    assertThat(entries, hasSize(9));
+    assertThat(entries.get(0).getEventCode(), is("event2"));
+  }
+
+  @Test
+  public void removeExpiredEntries() {
+    ObjectHistoryRetention retention = new ObjectHistoryRetention(0, Duration.ofMinutes(1), null, 0);
+    TCSObject<?> point = pointWithHistory(3, Instant.now().minus(Duration.ofHours(1)))
+        .withHistoryEntry(new ObjectHistory.Entry("recentEvent"));
+
+    List<ObjectHistory.Entry> entries = retention.apply(point).getHistory().getEntries();
+
+    assertThat(entries, hasSize(1));
+    assertThat(entries.get(0).getEventCode(), is("recentEvent"));
+  }
+
+  @Test
+  public void writeRemovedEntriesToJournal()
+      throws Exception {
+    Path journalFile = tempDir.resolve("data").resolve("history-journal.log");
+    ObjectHistoryRetention retention
+        = new ObjectHistoryRetention(10, Duration.ZERO, journalFile, 0);
+
+    retention.apply(pointWithHistory(11, Instant.now()));
+    retention.apply(pointWithHistory(11, Instant.now()));
+    retention.awaitJournalWrites();
+
+    List<String> lines = Files.readAllLines(journalFile);
+    assertThat(lines, hasSize(4));
+    assertThat(lines.get(0), endsWith("\tpoint\tevent0\t"));
+    assertThat(lines.get(1), endsWith("\tpoint\tevent1\t"));
+    assertThat(lines.get(2), endsWith("\tpoint\tevent0\t"));
+    assertThat(lines.get(3), endsWith("\tpoint\tevent1\t"));
+  }
+
+  @Test
+  public void rotateJournalWhenFull()
+      throws Exception {
+    Path journalFile = tempDir.resolve("data").resolve("history-journal.log");
+    ObjectHistoryRetention retention
+        = new ObjectHistoryRetention(10, Duration.ZERO, journalFile, 1);
+
+    retention.apply(pointWithHistory(11, Instant.now()));
+    retention.apply(pointWithHistory(12, Instant.now()));
+    retention.apply(pointWithHistory(13, Instant.now()));
+    retention.shutdown();
+
+    // Every write finds the journal full, so only the last two writes are kept.
+    List<String> lines = Files.readAllLines(journalFile);
+    assertThat(lines, hasSize(4));
+    assertThat(Files.readAllLines(journalFile.resolveSibling("history-journal.log.1")),
+               hasSize(3));
+  }
+
+  @Test
+  public void discardEntriesAfterShutdown()
+      throws Exception {
+    Path journalFile = tempDir.resolve("data").resolve("history-journal.log");
+    ObjectHistoryRetention retention
+        = new ObjectHistoryRetention(10, Duration.ZERO, journalFile, 0);
+    retention.shutdown();
+
+    TCSObject<?> point = retention.apply(pointWithHistory(11, Instant.now()));
+
+    assertThat(point.getHistory().getEntries(), hasSize(9));
+    assertThat(Files.exists(journalFile), is(false));
+  }
+
+  private TCSObject<?> pointWithHistory(int entryCount, Instant timestamp) {
+    TCSObject<?> point = new Point("point");
+    for (int i = 0; i < entryCount; i++) {
+      point = point.withHistoryEntry(new ObjectHistory.Entry(timestamp, "event" + i));
+    }
+    return point;
+  }
+}
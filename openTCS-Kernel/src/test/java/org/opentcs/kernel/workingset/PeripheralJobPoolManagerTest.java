@@ -7,7 +7,11 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -17,9 +21,13 @@ import org.junit.jupiter.api.Test;
 import org.opentcs.access.to.model.LocationCreationTO;
 import org.opentcs.access.to.model.LocationTypeCreationTO;
 import org.opentcs.access.to.model.PlantModelCreationTO;
+import org.opentcs.access.to.model.PointCreationTO;
+import org.opentcs.access.to.order.DestinationCreationTO;
+import org.opentcs.access.to.order.TransportOrderCreationTO;
 import org.opentcs.access.to.peripherals.PeripheralJobCreationTO;
 import org.opentcs.access.to.peripherals.PeripheralOperationCreationTO;
 import org.opentcs.data.model.Triple;
+import org.opentcs.data.order.TransportOrder;
 import org.opentcs.data.peripherals.PeripheralJob;
 import org.opentcs.util.event.SimpleEventBus;
 
@@ -55,7 +63,9 @@ public class PeripheralJobPoolManagerTest {
             .withLocationType(new LocationTypeCreationTO("some-location-type"))
             .withLocation(new LocationCreationTO("some-location",
                                                  "some-location-type",
-                                                 new Triple(1, 2, 3)))
+                                                 new Triple(1, 2, 3))
+                .withLink("some-point", Set.of()))
+            .withPoint(new PointCreationTO("some-point"))
     );
   }
 
@@ -87,4 +97,40 @@ public class PeripheralJobPoolManagerTest {
 
     assertThat(objectRepo.getObjects(PeripheralJob.class), is(empty()));
   }
+
+  @Test
+  public void indexPeripheralJobsByRelatedTransportOrderAndFinalState() {
+    TransportOrderPoolManager orderPoolManager
+        = new TransportOrderPoolManager(objectRepo,
+                                        new SimpleEventBus(),
+                                        new PrefixedUlidObjectNameProvider());
+    TransportOrder order = orderPoolManager.createTransportOrder(
+        new TransportOrderCreationTO("some-order",
+                                     List.of(new DestinationCreationTO("some-location", "NOP")))
+    );
+    PeripheralJob relatedJob = jobPoolManager.createPeripheralJob(
+        new PeripheralJobCreationTO(
+            "related-job",
+            "some-token",
+            new PeripheralOperationCreationTO("some-operation", "some-location")
+        ).withRelatedTransportOrderName(order.getName())
+    );
+    PeripheralJob unrelatedJob = jobPoolManager.createPeripheralJob(
+        new PeripheralJobCreationTO(
+            "unrelated-job",
+            "some-token",
+            new PeripheralOperationCreationTO("some-operation", "some-location")
+        )
+    );
+
+    assertThat(jobPoolManager.getPeripheralJobsRelatedTo(order.getReference()),
+               contains(relatedJob));
+    assertThat(jobPoolManager.getFinalPeripheralJobsCreatedUntil(Instant.now()), is(empty()));
+
+    unrelatedJob = jobPoolManager.setPeripheralJobState(unrelatedJob.getReference(),
+                                                        PeripheralJob.State.FINISHED);
+
+    assertThat(jobPoolManager.getFinalPeripheralJobsCreatedUntil(Instant.now()),
+               contains(unrelatedJob));
+  }
 }
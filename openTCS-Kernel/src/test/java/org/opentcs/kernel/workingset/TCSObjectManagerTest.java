@@ -10,9 +10,11 @@ package org.opentcs.kernel.workingset;
 import java.util.ArrayList;
 import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectEvent;
 import org.opentcs.data.model.Point;
 import org.opentcs.util.event.EventBus;
@@ -49,4 +51,26 @@ public class TCSObjectManagerTest {
     assertThat(receivedEvents, hasSize(1));
   }
 
+  @Test
+  public void collectRemovedObjectsInsteadOfEmittingEvents() {
+    List<Object> receivedEvents = new ArrayList<>();
+    eventBus.subscribe(event -> receivedEvents.add(event));
+    List<TCSObject<?>> removedObjects = new ArrayList<>();
+    Point someObject = new Point("Point-00001");
+
+    objectManager.setRemovedObjectsCollector(removedObjects);
+    objectManager.emitObjectEvent(null, someObject, TCSObjectEvent.Type.OBJECT_REMOVED);
+    objectManager.emitObjectEvent(someObject.withType(Point.Type.PARK_POSITION),
+                                  someObject,
+                                  TCSObjectEvent.Type.OBJECT_MODIFIED);
+
+    assertThat(removedObjects, contains(someObject));
+    assertThat(receivedEvents, hasSize(1));
+
+    objectManager.setRemovedObjectsCollector(null);
+    objectManager.emitObjectEvent(null, someObject, TCSObjectEvent.Type.OBJECT_REMOVED);
+
+    assertThat(removedObjects, hasSize(1));
+    assertThat(receivedEvents, hasSize(2));
+  }
 }
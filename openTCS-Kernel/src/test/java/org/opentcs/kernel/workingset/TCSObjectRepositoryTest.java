@@ -7,13 +7,17 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -226,4 +230,81 @@ public class TCSObjectRepositoryTest {
     // Another object with the same name.
     assertThrows(ObjectExistsException.class, () -> pool.addObject(new Point("some-point")));
   }
+
+  @Test
+  public void removeObjectFromNameIndex() {
+    Point point1 = new Point("some-name");
+    LocationType locationType = new LocationType("some-name");
+
+    pool.addObject(point1);
+    pool.removeObject(point1.getReference());
+
+    assertThat(pool.getObjectOrNull("some-name"), is(nullValue()));
+    pool.addObject(locationType);
+    assertThat(pool.getObjectOrNull("some-name"), is(locationType));
+  }
+
+  @Test
+  public void returnSameSnapshotWhileUnmodified() {
+    pool.addObject(new Point("Point-00001"));
+
+    assertThat(pool.getSnapshot(), is(sameInstance(pool.getSnapshot())));
+  }
+
+  @Test
+  public void keepSnapshotUnaffectedByModifications() {
+    Point pointV1 = new Point("Point-00001").withType(Point.Type.HALT_POSITION);
+    Point pointV2 = pointV1.withType(Point.Type.PARK_POSITION);
+    Point point2 = new Point("Point-00002");
+    pool.addObject(pointV1);
+
+    TCSObjectRepository.Snapshot snapshot = pool.getSnapshot();
+    pool.replaceObject(pointV2);
+    pool.addObject(point2);
+
+    assertThat(snapshot.getObjects(Point.class), contains(pointV1));
+    assertThat(snapshot.getObjectOrNull(Point.class, "Point-00002"), is(nullValue()));
+    assertThat(pool.getSnapshot().getObjects(Point.class), containsInAnyOrder(pointV2, point2));
+  }
+
+  @Test
+  public void reflectSingleModificationAmongManyObjectsInSnapshot() {
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      Point point = new Point("Point-" + i);
+      points.add(point);
+      pool.addObject(point);
+    }
+    TCSObjectRepository.Snapshot snapshot = pool.getSnapshot();
+
+    Point modifiedPoint = points.get(500).withType(Point.Type.PARK_POSITION);
+    pool.replaceObject(modifiedPoint);
+    points.set(500, modifiedPoint);
+
+    assertThat(snapshot.getObjects(Point.class), hasSize(1000));
+    assertThat(snapshot.getObjectOrNull(Point.class, "Point-500").getType(),
+               is(Point.Type.HALT_POSITION));
+    assertThat(pool.getSnapshot().getObjects(Point.class), containsInAnyOrder(points.toArray()));
+    assertThat(pool.getSnapshot().getObjectOrNull(Point.class, "Point-500"),
+               is(sameInstance(modifiedPoint)));
+  }
+
+  @Test
+  public void reflectRemovalsInSnapshot() {
+    Point point1 = new Point("Point-00001");
+    Point point2 = new Point("Point-00002");
+    Path path1 = new Path("Path-00001", point1.getReference(), point2.getReference());
+    pool.addObject(point1);
+    pool.addObject(point2);
+    pool.addObject(path1);
+    pool.getSnapshot();
+
+    pool.removeObject(path1.getReference());
+    pool.removeObject(point1.getReference());
+
+    TCSObjectRepository.Snapshot snapshot = pool.getSnapshot();
+    assertThat(snapshot.getObjects(Path.class), is(empty()));
+    assertThat(snapshot.getObjects(Point.class), contains(point2));
+    assertThat(snapshot.getObjects(Point.class, point -> false), is(empty()));
+  }
 }
@@ -7,10 +7,12 @@
  */
 package org.opentcs.kernel.workingset;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -103,6 +105,31 @@ public class TransportOrderPoolManagerTest {
     assertThat(objectRepo.getObjects(OrderSequence.class), is(empty()));
   }
 
+  @Test
+  public void indexTransportOrdersByState() {
+    TransportOrder order = orderPoolManager.createTransportOrder(
+        new TransportOrderCreationTO("some-order",
+                                     List.of(new DestinationCreationTO("some-location", "NOP")))
+    );
+
+    assertThat(orderPoolManager.getTransportOrders(TransportOrder.State.RAW), contains(order));
+    assertThat(orderPoolManager.getFinalTransportOrdersCreatedUntil(Instant.now()), is(empty()));
+
+    order = orderPoolManager.setTransportOrderState(order.getReference(),
+                                                    TransportOrder.State.FAILED);
+
+    assertThat(orderPoolManager.getTransportOrders(TransportOrder.State.RAW), is(empty()));
+    assertThat(orderPoolManager.getTransportOrders(TransportOrder.State.FAILED), contains(order));
+    assertThat(orderPoolManager.getFinalTransportOrdersCreatedUntil(Instant.now()),
+               contains(order));
+    assertThat(orderPoolManager.getFinalTransportOrdersCreatedUntil(Instant.EPOCH), is(empty()));
+
+    orderPoolManager.removeTransportOrder(order.getReference());
+
+    assertThat(orderPoolManager.getTransportOrders(TransportOrder.State.FAILED), is(empty()));
+    assertThat(orderPoolManager.getFinalTransportOrdersCreatedUntil(Instant.now()), is(empty()));
+  }
+
   @ParameterizedTest
   @EnumSource(value = TransportOrder.State.class,
               names = {"RAW", "ACTIVE", "DISPATCHABLE"})
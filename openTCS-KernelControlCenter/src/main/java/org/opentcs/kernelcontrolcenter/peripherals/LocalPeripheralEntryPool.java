@@ -12,6 +12,7 @@ import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
 import javax.inject.Inject;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.KernelServicePortal;
 import org.opentcs.components.Lifecycle;
 import org.opentcs.customizations.ApplicationEventBus;
@@ -123,6 +124,10 @@ public class LocalPeripheralEntryPool
     else if (event instanceof PeripheralAttachmentEvent) {
       onPeripheralAttachmentEvent((PeripheralAttachmentEvent) event);
     }
+    else if (event instanceof EventsDroppedEvent) {
+      // Process model and attachment events may have been missed.
+      refreshEntries();
+    }
   }
 
   public Map<TCSResourceReference<Location>, LocalPeripheralEntry> getEntries() {
@@ -146,6 +151,25 @@ public class LocalPeripheralEntryPool
     }
   }
 
+  private void refreshEntries() {
+    try {
+      for (LocalPeripheralEntry entry : entries.values()) {
+        PeripheralAttachmentInformation ai = callWrapper.call(() -> {
+          return servicePortal.getPeripheralService().fetchAttachmentInformation(
+              entry.getLocation()
+          );
+        });
+        entry.setAttachedCommAdapter(ai.getAttachedCommAdapter());
+        entry.setProcessModel(callWrapper.call(
+            () -> servicePortal.getPeripheralService().fetchProcessModel(entry.getLocation())
+        ));
+      }
+    }
+    catch (Exception e) {
+      LOG.warn("Error refreshing local peripheral entry pool", e);
+    }
+  }
+
   private void onPeripheralProcessModelEvent(PeripheralProcessModelEvent event) {
     if (!entries.containsKey(event.getLocation())) {
       LOG.warn("Received an event for an unknown location: {}", event.getLocation().getName());
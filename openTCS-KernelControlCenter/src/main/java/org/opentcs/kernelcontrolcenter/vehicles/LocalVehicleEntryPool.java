@@ -14,6 +14,7 @@ import java.util.TreeMap;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.KernelServicePortal;
 import org.opentcs.components.Lifecycle;
 import org.opentcs.customizations.ApplicationEventBus;
@@ -149,6 +150,10 @@ public class LocalVehicleEntryPool
       }
       entry.setAttachmentInformation(e.getUpdatedAttachmentInformation());
     }
+    else if (event instanceof EventsDroppedEvent) {
+      // Process model and attachment events may have been missed.
+      refreshEntries();
+    }
   }
 
   @Nonnull
@@ -160,4 +165,27 @@ public class LocalVehicleEntryPool
   public LocalVehicleEntry getEntryFor(String vehicleName) {
     return vehicleName == null ? null : entries.get(vehicleName);
   }
+
+  private void refreshEntries() {
+    try {
+      Set<Vehicle> vehicles
+          = callWrapper.call(() -> servicePortal.getVehicleService().fetchObjects(Vehicle.class));
+      for (Vehicle vehicle : vehicles) {
+        LocalVehicleEntry entry = getEntryFor(vehicle.getName());
+        if (entry == null) {
+          continue;
+        }
+        entry.setAttachmentInformation(callWrapper.call(() -> {
+          return servicePortal.getVehicleService()
+              .fetchAttachmentInformation(vehicle.getReference());
+        }));
+        entry.setProcessModel(callWrapper.call(() -> {
+          return servicePortal.getVehicleService().fetchProcessModel(vehicle.getReference());
+        }));
+      }
+    }
+    catch (Exception ex) {
+      LOG.warn("Error refreshing local vehicle entry pool", ex);
+    }
+  }
 }
@@ -9,16 +9,22 @@ package org.opentcs.operationsdesk.exchange;
 
 import static java.util.Objects.requireNonNull;
 import javax.inject.Inject;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.Kernel;
 import org.opentcs.access.KernelStateTransitionEvent;
 import org.opentcs.access.SharedKernelServicePortal;
 import org.opentcs.access.SharedKernelServicePortalProvider;
 import org.opentcs.common.ClientConnectionMode;
 import org.opentcs.components.Lifecycle;
+import org.opentcs.components.kernel.services.PlantModelService;
 import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.TCSObjectEvent;
 import static org.opentcs.data.TCSObjectEvent.Type.OBJECT_MODIFIED;
+import org.opentcs.data.model.Location;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.OrderSequence;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.guing.base.model.ModelComponent;
@@ -165,6 +171,9 @@ public class OpenTCSEventDispatcher
     else if (event instanceof OperationModeChangeEvent) {
       handleOperationModeChange((OperationModeChangeEvent) event);
     }
+    else if (event instanceof EventsDroppedEvent) {
+      processEventsDropped();
+    }
     else if (event == ClientConnectionMode.OFFLINE) {
       eventBus.onEvent(new KernelStateChangeEvent(this,
                                                   KernelStateChangeEvent.State.DISCONNECTED));
@@ -196,6 +205,24 @@ public class OpenTCSEventDispatcher
     }
   }
 
+  /**
+   * Updates the model components with the current states of the objects that may be modified
+   * while operating, since modifications may have been missed.
+   */
+  private void processEventsDropped() {
+    LOG.warn("Kernel dropped events, updating model components.");
+
+    if (sharedPortal == null) {
+      return;
+    }
+
+    PlantModelService plantModelService = sharedPortal.getPortal().getPlantModelService();
+    plantModelService.fetchObjects(Vehicle.class).forEach(this::processObjectModifiedEvent);
+    plantModelService.fetchObjects(Point.class).forEach(this::processObjectModifiedEvent);
+    plantModelService.fetchObjects(Path.class).forEach(this::processObjectModifiedEvent);
+    plantModelService.fetchObjects(Location.class).forEach(this::processObjectModifiedEvent);
+  }
+
   private void processObjectModifiedEvent(TCSObject<?> tcsObject) {
     if (tcsObject instanceof TransportOrder
         || tcsObject instanceof OrderSequence) {
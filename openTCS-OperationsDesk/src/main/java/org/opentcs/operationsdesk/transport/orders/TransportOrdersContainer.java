@@ -16,12 +16,14 @@ import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.access.SharedKernelServicePortal;
 import org.opentcs.access.SharedKernelServicePortalProvider;
 import org.opentcs.components.Lifecycle;
 import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectsRemovedEvent;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.guing.common.event.OperationModeChangeEvent;
 import org.opentcs.guing.common.event.SystemModelTransitionEvent;
@@ -108,6 +110,9 @@ public class TransportOrdersContainer
     if (event instanceof TCSObjectEvent) {
       handleObjectEvent((TCSObjectEvent) event);
     }
+    else if (event instanceof TCSObjectsRemovedEvent) {
+      ((TCSObjectsRemovedEvent) event).toObjectEvents().forEach(this::handleObjectEvent);
+    }
     else if (event instanceof OperationModeChangeEvent) {
       initOrders();
     }
@@ -117,6 +122,10 @@ public class TransportOrdersContainer
     else if (event instanceof KernelStateChangeEvent) {
       initOrders();
     }
+    else if (event instanceof EventsDroppedEvent) {
+      // Creations, modifications and removals may have been missed.
+      initOrders();
+    }
   }
 
   public void addListener(TransportOrderContainerListener listener) {
@@ -14,12 +14,14 @@ import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
 import javax.inject.Inject;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.access.SharedKernelServicePortal;
 import org.opentcs.access.SharedKernelServicePortalProvider;
 import org.opentcs.components.Lifecycle;
 import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectsRemovedEvent;
 import org.opentcs.data.order.OrderSequence;
 import org.opentcs.guing.common.event.OperationModeChangeEvent;
 import org.opentcs.guing.common.event.SystemModelTransitionEvent;
@@ -98,6 +100,9 @@ public class OrderSequencesContainer
     if (event instanceof TCSObjectEvent) {
       handleObjectEvent((TCSObjectEvent) event);
     }
+    else if (event instanceof TCSObjectsRemovedEvent) {
+      ((TCSObjectsRemovedEvent) event).toObjectEvents().forEach(this::handleObjectEvent);
+    }
     else if (event instanceof OperationModeChangeEvent) {
       initSequences();
     }
@@ -107,6 +112,10 @@ public class OrderSequencesContainer
     else if (event instanceof KernelStateChangeEvent) {
       initSequences();
     }
+    else if (event instanceof EventsDroppedEvent) {
+      // Creations, modifications and removals may have been missed.
+      initSequences();
+    }
   }
 
   private void initSequences() {
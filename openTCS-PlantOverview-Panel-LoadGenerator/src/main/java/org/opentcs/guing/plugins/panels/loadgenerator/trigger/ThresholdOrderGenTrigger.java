@@ -10,10 +10,12 @@ package org.opentcs.guing.plugins.panels.loadgenerator.trigger;
 import java.util.LinkedHashSet;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.KernelRuntimeException;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.customizations.ApplicationEventBus;
 import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectsRemovedEvent;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.guing.plugins.panels.loadgenerator.batchcreator.OrderBatchCreator;
 import org.opentcs.util.event.EventHandler;
@@ -77,12 +79,7 @@ public class ThresholdOrderGenTrigger
   public void setTriggeringEnabled(boolean enabled) {
     synchronized (knownOrders) {
       if (enabled) {
-        // Remember all orders that are not finished, failed etc.
-        for (TransportOrder curOrder : objectService.fetchObjects(TransportOrder.class)) {
-          if (!curOrder.getState().isFinalState()) {
-            knownOrders.add(curOrder);
-          }
-        }
+        rememberUnfinishedOrders();
         eventSource.subscribe(this);
         if (knownOrders.size() <= threshold) {
           triggerOrderGeneration();
@@ -103,6 +100,18 @@ public class ThresholdOrderGenTrigger
 
   @Override
   public void onEvent(Object event) {
+    if (event instanceof EventsDroppedEvent) {
+      // Creations, modifications and removals of orders may have been missed.
+      synchronized (knownOrders) {
+        knownOrders.clear();
+        rememberUnfinishedOrders();
+      }
+      return;
+    }
+    if (event instanceof TCSObjectsRemovedEvent) {
+      ((TCSObjectsRemovedEvent) event).toObjectEvents().forEach(this::onEvent);
+      return;
+    }
     if (!(event instanceof TCSObjectEvent)) {
       return;
     }
@@ -136,6 +145,17 @@ public class ThresholdOrderGenTrigger
     }
   }
 
+  /**
+   * Remembers all orders that are not finished, failed etc.
+   */
+  private void rememberUnfinishedOrders() {
+    for (TransportOrder curOrder : objectService.fetchObjects(TransportOrder.class)) {
+      if (!curOrder.getState().isFinalState()) {
+        knownOrders.add(curOrder);
+      }
+    }
+  }
+
   private void trigger() {
     try {
       triggerOrderGeneration();
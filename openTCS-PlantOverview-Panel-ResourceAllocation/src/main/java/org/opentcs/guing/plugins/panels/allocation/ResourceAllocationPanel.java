@@ -14,6 +14,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.Kernel;
 import org.opentcs.access.SharedKernelServicePortal;
 import org.opentcs.access.SharedKernelServicePortalProvider;
@@ -125,6 +126,15 @@ public class ResourceAllocationPanel
     if (!enableUpdates) {
       return;
     }
+    //Vehicle updates may have been missed, so fetch all vehicles again
+    if (event instanceof EventsDroppedEvent) {
+      if (portalProvider != null
+          && portalProvider.portalShared()
+          && sharedPortal.getPortal().getState() == Kernel.State.OPERATING) {
+        updateAllVehicleAllocations();
+      }
+      return;
+    }
     //Skip non object events as were only interested in vehicle updates
     if (!(event instanceof TCSObjectEvent)) {
       LOG.debug("Event is not a TCSObjectEvent, ignoring.");
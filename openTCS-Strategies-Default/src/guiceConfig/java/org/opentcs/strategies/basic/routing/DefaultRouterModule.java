@@ -10,6 +10,7 @@ package org.opentcs.strategies.basic.routing;
 import javax.inject.Singleton;
 import org.opentcs.components.kernel.routing.GroupMapper;
 import org.opentcs.customizations.kernel.KernelInjectionModule;
+import org.opentcs.strategies.basic.routing.compact.CompactPointRouterFactory;
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorComposite;
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorDistance;
 import org.opentcs.strategies.basic.routing.edgeevaluator.EdgeEvaluatorExplicitProperties;
@@ -75,6 +76,11 @@ public class DefaultRouterModule
         bind(PointRouterFactory.class)
             .to(FloydWarshallPointRouterFactory.class);
         break;
+      case COMPACT_DIJKSTRA:
+      case COMPACT_A_STAR:
+        bind(PointRouterFactory.class)
+            .to(CompactPointRouterFactory.class);
+        break;
       default:
         LOG.warn("Unhandled algorithm selected ({}), falling back to Dijkstra's algorithm.",
                  spConfiguration.algorithm());
@@ -104,6 +110,8 @@ public class DefaultRouterModule
 
     bind(DefaultRoutingGroupMapper.class)
         .in(Singleton.class);
+    bind(VehicleOccupancyIndex.class)
+        .in(Singleton.class);
     bind(GroupMapper.class)
         .to(DefaultRoutingGroupMapper.class);
   }
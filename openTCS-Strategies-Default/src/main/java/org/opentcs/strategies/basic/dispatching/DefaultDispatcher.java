@@ -137,6 +137,7 @@ public class DefaultDispatcher
 
     transportOrderUtil.initialize();
     orderReservationPool.clear();
+    orderAssigner.initialize();
 
     fullDispatchTask.initialize();
 
@@ -170,6 +171,7 @@ public class DefaultDispatcher
     implicitDispatchTrigger = null;
 
     fullDispatchTask.terminate();
+    orderAssigner.terminate();
 
     initialized = false;
   }
@@ -166,6 +166,17 @@ public interface DefaultDispatcherConfiguration {
       orderKey = "9_misc")
   long idleVehicleRedispatchingInterval();
 
+  @ConfigurationEntry(
+      type = "Integer",
+      description = {
+        "The maximum number of threads computing routes for assignment candidates in parallel.",
+        "0 means one thread per available processor, 1 means computing routes sequentially on "
+        + "the kernel executor.",
+        "Values other than 1 require a thread-safe router."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START,
+      orderKey = "9_misc")
+  int routeComputationParallelism();
+
   @ConfigurationEntry(
           type = "String",
           description = "",
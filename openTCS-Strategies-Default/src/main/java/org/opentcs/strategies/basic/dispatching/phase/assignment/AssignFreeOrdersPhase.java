@@ -13,6 +13,7 @@ import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
+import org.opentcs.components.kernel.services.InternalTransportOrderService;
 import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
@@ -41,6 +42,10 @@ public class AssignFreeOrdersPhase
    * The object service.
    */
   private final TCSObjectService objectService;
+  /**
+   * The transport order service.
+   */
+  private final InternalTransportOrderService transportOrderService;
   /**
    * A collection of predicates for filtering vehicles.
    */
@@ -69,6 +74,7 @@ public class AssignFreeOrdersPhase
   @Inject
   public AssignFreeOrdersPhase(
       TCSObjectService objectService,
+      InternalTransportOrderService transportOrderService,
       CompositeVehicleSelectionFilter vehicleSelectionFilter,
       IsAvailableForAnyOrder isAvailableForAnyOrder,
       IsFreelyDispatchableToAnyVehicle isFreelyDispatchableToAnyVehicle,
@@ -76,6 +82,7 @@ public class AssignFreeOrdersPhase
       OrderAssigner orderAssigner,
       DispatchingStatusMarker dispatchingStatusMarker) {
     this.objectService = requireNonNull(objectService, "objectService");
+    this.transportOrderService = requireNonNull(transportOrderService, "transportOrderService");
     this.vehicleSelectionFilter = requireNonNull(vehicleSelectionFilter, "vehicleSelectionFilter");
     this.isAvailableForAnyOrder = requireNonNull(isAvailableForAnyOrder, "isAvailableForAnyOrder");
     this.isFreelyDispatchableToAnyVehicle = requireNonNull(isFreelyDispatchableToAnyVehicle,
@@ -128,8 +135,8 @@ public class AssignFreeOrdersPhase
     // Select only dispatchable orders first, then apply the composite filter, handle
     // the orders that can be tried as usual and mark the others as filtered (if they aren't, yet).
     Map<Boolean, List<OrderFilterResult>> ordersSplitByFilter
-        = objectService.fetchObjects(TransportOrder.class, isFreelyDispatchableToAnyVehicle)
-            .stream()
+        = transportOrderService.fetchTransportOrders(TransportOrder.State.DISPATCHABLE).stream()
+            .filter(isFreelyDispatchableToAnyVehicle)
             .map(order -> new OrderFilterResult(order, transportOrderSelectionFilter.apply(order)))
             .collect(Collectors.partitioningBy(filterResult -> !filterResult.isFiltered()));
 
@@ -14,14 +14,18 @@ import java.util.Map;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
 import org.opentcs.components.kernel.Router;
 import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.strategies.basic.dispatching.AssignmentCandidate;
+import org.opentcs.strategies.basic.dispatching.DefaultDispatcherConfiguration;
 import org.opentcs.strategies.basic.dispatching.OrderReservationPool;
 import org.opentcs.strategies.basic.dispatching.TransportOrderUtil;
 import org.opentcs.strategies.basic.dispatching.phase.AssignmentState;
@@ -36,8 +40,19 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Handles assignments of transport orders to vehicles.
+ * <p>
+ * Routes for assignment candidates may be computed in parallel, using a dedicated fork-join pool
+ * that exists while this instance is initialized.
+ * Computing routes accesses the kernel's data via the kernel lock, so they are computed
+ * sequentially if the calling thread holds that lock, e.g. when assigning a transport order
+ * immediately via the dispatcher service; the pool's threads would otherwise wait for the lock
+ * forever.
+ * Everything else, including filtering candidates and the actual assignment, is done sequentially
+ * on the calling thread.
+ * </p>
  */
-public class OrderAssigner {
+public class OrderAssigner
+    implements Lifecycle {
 
   /**
    * This class's Logger.
@@ -81,6 +96,23 @@ public class OrderAssigner {
    * Provides methods to check and update the dispatching status of transport orders.
    */
   private final DispatchingStatusMarker dispatchingStatusMarker;
+  /**
+   * Synchronizes access to the kernel's data.
+   */
+  private final KernelLock kernelLock;
+  /**
+   * The number of threads to compute routes with.
+   */
+  private final int routeComputationParallelism;
+  /**
+   * The pool for computing routes in parallel, or {@code null}, if routes are to be computed
+   * sequentially.
+   */
+  private ForkJoinPool routeComputationPool;
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
 
   @Inject
   public OrderAssigner(
@@ -93,7 +125,9 @@ public class OrderAssigner {
       CompositeVehicleCandidateComparator vehicleCandidateComparator,
       CompositeAssignmentCandidateSelectionFilter assignmentCandidateSelectionFilter,
       TransportOrderUtil transportOrderUtil,
-      DispatchingStatusMarker dispatchingStatusMarker) {
+      DispatchingStatusMarker dispatchingStatusMarker,
+      KernelLock kernelLock,
+      DefaultDispatcherConfiguration configuration) {
     this.router = requireNonNull(router, "router");
     this.objectService = requireNonNull(objectService, "objectService");
     this.orderReservationPool = requireNonNull(orderReservationPool, "orderReservationPool");
@@ -108,6 +142,44 @@ public class OrderAssigner {
     this.transportOrderUtil = requireNonNull(transportOrderUtil, "transportOrderUtil");
     this.dispatchingStatusMarker = requireNonNull(dispatchingStatusMarker,
                                                   "dispatchingStatusMarker");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
+    requireNonNull(configuration, "configuration");
+
+    this.routeComputationParallelism = configuration.routeComputationParallelism() > 0
+        ? configuration.routeComputationParallelism()
+        : Runtime.getRuntime().availableProcessors();
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    if (routeComputationParallelism > 1) {
+      routeComputationPool = new ForkJoinPool(routeComputationParallelism);
+    }
+
+    initialized = true;
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    if (routeComputationPool != null) {
+      routeComputationPool.shutdown();
+      routeComputationPool = null;
+    }
+
+    initialized = false;
   }
 
   /**
@@ -153,13 +225,14 @@ public class OrderAssigner {
 
     Point vehiclePosition = objectService.fetchObject(Point.class, vehicle.getCurrentPosition());
 
+    List<CandidateSource> candidateSources = availableOrders.stream()
+        .filter(order -> (!assignmentState.wasAssignedToVehicle(order)
+                          && orderAssignableToVehicle(order, vehicle)))
+        .map(order -> new CandidateSource(vehicle, vehiclePosition, order))
+        .collect(Collectors.toList());
+
     Map<Boolean, List<CandidateFilterResult>> ordersSplitByFilter
-        = availableOrders.stream()
-            .filter(order -> (!assignmentState.wasAssignedToVehicle(order)
-                              && orderAssignableToVehicle(order, vehicle)))
-            .map(order -> computeCandidate(vehicle, vehiclePosition, order))
-            .filter(optCandidate -> optCandidate.isPresent())
-            .map(optCandidate -> optCandidate.get())
+        = computeCandidates(candidateSources).stream()
             .map(
                 candidate -> new CandidateFilterResult(
                     candidate,
@@ -184,19 +257,20 @@ public class OrderAssigner {
                                 AssignmentState assignmentState) {
     LOG.debug("Trying to find vehicle for transport order '{}'...", order.getName());
 
-    Map<Boolean, List<CandidateFilterResult>> ordersSplitByFilter
-        = availableVehicles.stream()
-            .filter(vehicle -> (!assignmentState.wasAssignedToOrder(vehicle)
-                                && orderAssignableToVehicle(order, vehicle)))
-            .map(
-                vehicle -> computeCandidate(
-                    vehicle,
-                    objectService.fetchObject(Point.class, vehicle.getCurrentPosition()),
-                    order
-                )
+    List<CandidateSource> candidateSources = availableVehicles.stream()
+        .filter(vehicle -> (!assignmentState.wasAssignedToOrder(vehicle)
+                            && orderAssignableToVehicle(order, vehicle)))
+        .map(
+            vehicle -> new CandidateSource(
+                vehicle,
+                objectService.fetchObject(Point.class, vehicle.getCurrentPosition()),
+                order
             )
-            .filter(optCandidate -> optCandidate.isPresent())
-            .map(optCandidate -> optCandidate.get())
+        )
+        .collect(Collectors.toList());
+
+    Map<Boolean, List<CandidateFilterResult>> ordersSplitByFilter
+        = computeCandidates(candidateSources).stream()
             .map(
                 candidate -> new CandidateFilterResult(
                     candidate,
@@ -245,15 +319,58 @@ public class OrderAssigner {
     }
   }
 
-  private Optional<AssignmentCandidate> computeCandidate(Vehicle vehicle,
-                                                         Point vehiclePosition,
-                                                         TransportOrder order) {
-    return router.getRoute(vehicle, vehiclePosition, order)
-        .map(driveOrders -> new AssignmentCandidate(vehicle, order, driveOrders));
+  /**
+   * Computes the assignment candidates for the given sources, i.e. the routes for their vehicles
+   * and transport orders.
+   * If a pool for route computation is available, i.e. if this instance is initialized and
+   * configured to use more than one thread, the routes are computed in parallel - unless the
+   * calling thread holds the kernel lock, which the pool's threads need for computing routes.
+   *
+   * @param candidateSources The candidate sources.
+   * @return The candidates for which a route exists, in the order of the given sources.
+   */
+  private List<AssignmentCandidate> computeCandidates(List<CandidateSource> candidateSources) {
+    if (routeComputationPool == null
+        || candidateSources.size() < 2
+        || kernelLock.isHeldByCurrentThread()) {
+      return candidateSources.stream()
+          .map(this::computeCandidate)
+          .flatMap(Optional::stream)
+          .collect(Collectors.toList());
+    }
+
+    // Parallel streams run in the pool that the stream's terminal operation is invoked from.
+    return routeComputationPool.submit(
+        () -> candidateSources.parallelStream()
+            .map(this::computeCandidate)
+            .flatMap(Optional::stream)
+            .collect(Collectors.toList())
+    ).join();
+  }
+
+  private Optional<AssignmentCandidate> computeCandidate(CandidateSource source) {
+    return router.getRoute(source.vehicle, source.vehiclePosition, source.order)
+        .map(driveOrders -> new AssignmentCandidate(source.vehicle, source.order, driveOrders));
   }
 
   private boolean orderAssignableToVehicle(TransportOrder order, Vehicle vehicle) {
     return order.getIntendedVehicle() == null
         || Objects.equals(order.getIntendedVehicle(), vehicle.getReference());
   }
+
+  /**
+   * The data required for computing an assignment candidate.
+   */
+  private static class CandidateSource {
+
+    private final Vehicle vehicle;
+    private final Point vehiclePosition;
+    private final TransportOrder order;
+
+    CandidateSource(Vehicle vehicle, Point vehiclePosition, TransportOrder order) {
+      this.vehicle = requireNonNull(vehicle, "vehicle");
+      this.vehiclePosition = requireNonNull(vehiclePosition, "vehiclePosition");
+      this.order = requireNonNull(order, "order");
+    }
+  }
 }
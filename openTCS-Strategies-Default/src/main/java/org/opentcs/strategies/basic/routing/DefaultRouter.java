@@ -34,6 +34,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * A basic {@link Router} implementation.
+ * <p>
+ * This router is thread-safe. Routes and costs are computed using immutable point routers, so
+ * multiple routes can be computed concurrently.
+ * </p>
  */
 public class DefaultRouter
     implements Router {
@@ -58,6 +62,10 @@ public class DefaultRouter
    * Used to map vehicles to their routing groups.
    */
   private final GroupMapper routingGroupMapper;
+  /**
+   * Keeps track of the points occupied or targeted by vehicles.
+   */
+  private final VehicleOccupancyIndex occupancyIndex;
   /**
    * The routes selected for each vehicle.
    */
@@ -77,16 +85,19 @@ public class DefaultRouter
    * @param objectService      The object service providing the model data.
    * @param pointRouterFactory A factory for point routers.
    * @param routingGroupMapper Used to map vehicles to their routing groups.
+   * @param occupancyIndex     Keeps track of the points occupied or targeted by vehicles.
    * @param configuration      This class's configuration.
    */
   @Inject
   public DefaultRouter(TCSObjectService objectService,
                        PointRouterFactory pointRouterFactory,
                        GroupMapper routingGroupMapper,
+                       VehicleOccupancyIndex occupancyIndex,
                        DefaultRouterConfiguration configuration) {
     this.objectService = requireNonNull(objectService, "objectService");
     this.pointRouterFactory = requireNonNull(pointRouterFactory, "pointRouterFactory");
     this.routingGroupMapper = requireNonNull(routingGroupMapper, "routingGroupMapper");
+    this.occupancyIndex = requireNonNull(occupancyIndex, "occupancyIndex");
     this.configuration = requireNonNull(configuration, "configuration");
   }
 
@@ -99,6 +110,7 @@ public class DefaultRouter
     synchronized (this) {
       routesByVehicle.clear();
       topologyChanged();
+      occupancyIndex.initialize();
       initialized = true;
     }
   }
@@ -117,6 +129,7 @@ public class DefaultRouter
     synchronized (this) {
       routesByVehicle.clear();
       pointRoutersByVehicleGroup.clear();
+      occupancyIndex.terminate();
       initialized = false;
     }
   }
@@ -165,19 +178,21 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(transportOrder, "transportOrder");
 
+    // Point routers are immutable, so only getting the point router requires the lock. The route
+    // itself is computed without holding it, allowing routes to be computed concurrently.
+    PointRouter pointRouter;
     synchronized (this) {
-      List<DriveOrder> driveOrderList = transportOrder.getFutureDriveOrders();
-      DriveOrder[] driveOrders = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
-      // todo
-//      PointRouter pointRouter = getPointRouterForVehicle(vehicle);
-      PointRouter pointRouter = getActualPointRouter(sourcePoint,vehicle);
-      OrderRouteParameterStruct params = new OrderRouteParameterStruct(driveOrders, pointRouter);
-      OrderRouteResultStruct resultStruct = new OrderRouteResultStruct(driveOrderList.size());
-      computeCheapestOrderRoute(sourcePoint, params, 0, resultStruct);
-      return (resultStruct.bestCosts == Long.MAX_VALUE)
-          ? Optional.empty()
-          : Optional.of(Arrays.asList(resultStruct.bestRoute));
+      pointRouter = getActualPointRouter(sourcePoint, vehicle);
     }
+
+    List<DriveOrder> driveOrderList = transportOrder.getFutureDriveOrders();
+    DriveOrder[] driveOrders = driveOrderList.toArray(new DriveOrder[driveOrderList.size()]);
+    OrderRouteParameterStruct params = new OrderRouteParameterStruct(driveOrders, pointRouter);
+    OrderRouteResultStruct resultStruct = new OrderRouteResultStruct(driveOrderList.size());
+    computeCheapestOrderRoute(sourcePoint, params, 0, resultStruct);
+    return (resultStruct.bestCosts == Long.MAX_VALUE)
+        ? Optional.empty()
+        : Optional.of(Arrays.asList(resultStruct.bestRoute));
   }
 
   @Override
@@ -188,22 +203,22 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(destinationPoint, "destinationPoint");
 
+    PointRouter pointRouter;
     synchronized (this) {
-      // todo
-      PointRouter pointRouter = getActualPointRouter(sourcePoint,vehicle);
-//      PointRouter pointRouter = getPointRouterForVehicle(vehicle);
-      long costs = pointRouter.getCosts(sourcePoint, destinationPoint);
-      if (costs == INFINITE_COSTS) {
-        return Optional.empty();
-      }
-      List<Route.Step> steps = pointRouter.getRouteSteps(sourcePoint, destinationPoint);
-      if (steps.isEmpty()) {
-        // If the list of steps is empty, we're already at the destination point
-        // Create a single step without a path.
-        steps.add(new Route.Step(null, null, sourcePoint, Vehicle.Orientation.UNDEFINED, 0));
-      }
-      return Optional.of(new Route(steps, costs));
+      pointRouter = getActualPointRouter(sourcePoint, vehicle);
     }
+
+    long costs = pointRouter.getCosts(sourcePoint, destinationPoint);
+    if (costs == INFINITE_COSTS) {
+      return Optional.empty();
+    }
+    List<Route.Step> steps = pointRouter.getRouteSteps(sourcePoint, destinationPoint);
+    if (steps.isEmpty()) {
+      // If the list of steps is empty, we're already at the destination point
+      // Create a single step without a path.
+      steps.add(new Route.Step(null, null, sourcePoint, Vehicle.Orientation.UNDEFINED, 0));
+    }
+    return Optional.of(new Route(steps, costs));
   }
 
   @Override
@@ -214,9 +229,11 @@ public class DefaultRouter
     requireNonNull(sourcePoint, "sourcePoint");
     requireNonNull(destinationPoint, "destinationPoint");
 
+    PointRouter pointRouter;
     synchronized (this) {
-      return getPointRouterForVehicle(vehicle).getCosts(sourcePoint, destinationPoint);
+      pointRouter = getPointRouterForVehicle(vehicle);
     }
+    return pointRouter.getCosts(sourcePoint, destinationPoint);
   }
 
   @Override
@@ -227,9 +244,11 @@ public class DefaultRouter
     requireNonNull(srcPointRef, "srcPointRef");
     requireNonNull(dstPointRef, "dstPointRef");
 
+    PointRouter pointRouter;
     synchronized (this) {
-      return getPointRouterForVehicle(vehicle).getCosts(srcPointRef, dstPointRef);
+      pointRouter = getPointRouterForVehicle(vehicle);
     }
+    return pointRouter.getCosts(srcPointRef, dstPointRef);
   }
 
   @Override
@@ -543,117 +562,39 @@ public class DefaultRouter
       bestRoute = new DriveOrder[driveOrderCount];
       bestCosts = Long.MAX_VALUE;
     }
-
-
   }
 
+  /**
+   * Returns the points that should not be used for routing the given vehicle, i.e. points
+   * occupied or targeted by other vehicles.
+   *
+   * @param sourcePoint The point the route is supposed to start at.
+   * @param vehicle The vehicle to be routed.
+   * @return The points that should not be used for routing the given vehicle.
+   */
   private Collection<Point> getUnusablePoints(Point sourcePoint, Vehicle vehicle) {
     Collection<Point> unusablePoints = new HashSet<>();
-    Set<Vehicle> allVehicles = objectService.fetchObjects(Vehicle.class);
-    Set<Vehicle> occupyUnusablePointVehicles1 = new HashSet<>();
-    Set<Vehicle> occupyUnusablePointVehicles2 = new HashSet<>();
-    for (Vehicle ve : allVehicles) {
-      //Skip the given vehicle
-      if (ve.getName() == vehicle.getName()) {
-        continue;
-      }
-      if (ve.getCurrentPosition() == null) {
-        continue;
-      }
-      //For idle vehicle
-      if (ve.hasState(Vehicle.State.IDLE)) {
-        occupyUnusablePointVehicles1.add(ve);
-        continue;
-      }
-      //For vehicle processing order
-      if (ve.hasProcState(Vehicle.ProcState.PROCESSING_ORDER)) {
-        boolean willAdd = true;
-        for (TransportOrder to : objectService.fetchObjects(TransportOrder.class)) {
-          //The vehicle is intended for TOrder
-          if (to.getIntendedVehicle() != null && (to.hasState(TransportOrder.State.ACTIVE)
-              || to.hasState(TransportOrder.State.DISPATCHABLE))
-              && Objects.equals(to.getIntendedVehicle().getName(), ve.getName())) {
-            willAdd = false;
-            break;
-          }
-        }
-        if (willAdd) {
-          occupyUnusablePointVehicles2.add(ve);
-        }
+    for (String pointName : occupancyIndex.getUnusablePointNames(sourcePoint, vehicle)) {
+      Point point = objectService.fetchObject(Point.class, pointName);
+      if (point != null) {
+        unusablePoints.add(point);
       }
     }
-    //Get all idle vehicle's CurrentPosition
-    for (Vehicle ve : occupyUnusablePointVehicles1) {
-      for (Point curPoint : objectService.fetchObjects(Point.class)) {
-        //Skip the source point
-        if (curPoint.getName().equals(ve.getCurrentPosition().getName())
-            && !sourcePoint.getName().equals(ve.getCurrentPosition().getName())) {
-          unusablePoints.add(curPoint);
-          break;
-        }
-      }
-    }
-    //Get each vehicle which is processing TO and no subsequent TO for it,
-    //the destination is a dead point.
-    for (Vehicle ve : occupyUnusablePointVehicles2) {
-      TransportOrder to = objectService.fetchObject(TransportOrder.class, ve.getTransportOrder().getName());
-      List<DriveOrder> dos = to.getAllDriveOrders();
-      Point destinationPoint = dos.get(dos.size() - 1).getRoute().getFinalDestinationPoint();
-      /// 若车辆vehicle的当前位置是车辆ve尚未走完的路段的端点之一,则ve的终点并非真的不可用
-
-      String vehiclePositionName = vehicle.getCurrentPosition().getName();
-      boolean foundPN = false;
-      boolean will_skip = false;
-
-      /// 对于车辆ve,构造出其尚未走完的路段的终点的集合
-      Set<String> namesOfPointToTravel = new HashSet<>();
-      String positionName = ve.getCurrentPosition().getName();
-      if (positionName.equals(dos.get(0).getRoute().getSteps().get(0).getSourcePoint().getName())) {
-        foundPN = true;
-      }
-      for (DriveOrder do_: dos) {
-        List<Route.Step> steps = do_.getRoute().getSteps();
-        for (Route.Step step: steps) {
-          String pointName = step.getDestinationPoint().getName();
-          if (!foundPN && positionName.equals(pointName)) {
-            foundPN = true;
-            continue;
-          }
-          if (foundPN) {
-            namesOfPointToTravel.add(pointName);
-          }
-        }
-      }
-      /// 车辆vehicle的当前位置先于ve到达二者的公共路段
-      for (String name: namesOfPointToTravel) {
-        if (vehiclePositionName.equals(name)) {
-          will_skip = true;
-          break;
-        }
-      }
-      if (will_skip) {
-        continue;
-      }
-
-      for (Point curPoint : objectService.fetchObjects(Point.class)) {
-        //skip the source point
-        if (curPoint.getName().equals(destinationPoint.getName())
-            && !sourcePoint.getName().equals(ve.getCurrentPosition().getName())) {
-          unusablePoints.add(curPoint);
-          break;
-        }
-      }
-    }
-    //skip the source point
-    if (!unusablePoints.contains(sourcePoint)) {
-      unusablePoints.remove(sourcePoint);
-    }
     return unusablePoints;
   }
 
-
-  private PointRouter getActualPointRouter(Point sourcePoint,Vehicle vehicle) {
-    Collection<Point> unusablePoints = getUnusablePoints(sourcePoint, vehicle);
-    return pointRouterFactory.createMyPointRouter(vehicle,unusablePoints);
+  /**
+   * Returns the {@link PointRouter} for the given vehicle with all points currently unusable for it
+   * masked.
+   * The underlying point router for the vehicle's routing group is reused, i.e. the routing graph is
+   * not rebuilt for every query.
+   *
+   * @param sourcePoint The point the route is supposed to start at.
+   * @param vehicle The vehicle to get the point router for.
+   * @return The point router.
+   */
+  private PointRouter getActualPointRouter(Point sourcePoint, Vehicle vehicle) {
+    return getPointRouterForVehicle(vehicle)
+        .removeUnusablePoints(getUnusablePoints(sourcePoint, vehicle));
   }
 }
@@ -16,6 +16,10 @@ import org.opentcs.data.order.Route;
 
 /**
  * Computes routes between points.
+ * <p>
+ * Implementations are expected to be immutable and safe to be used by multiple threads
+ * concurrently.
+ * </p>
  */
 public interface PointRouter {
 
@@ -65,5 +69,17 @@ public interface PointRouter {
     return getCosts(srcPoint.getReference(), destPoint.getReference());
   }
 
+  /**
+   * Returns a point router that treats the given points (in addition to the ones already treated
+   * as unusable by this router) as if they did not exist.
+   * <p>
+   * Implementations are expected to make this operation cheap, i.e. to not rebuild any internal
+   * representation of the whole topology.
+   * </p>
+   *
+   * @param unusablePoints The points that must not be used for routing.
+   * @return A point router ignoring the given points, or this instance if the given points do not
+   * change the result of any route computation.
+   */
   PointRouter removeUnusablePoints(Collection<Point> unusablePoints);
 }
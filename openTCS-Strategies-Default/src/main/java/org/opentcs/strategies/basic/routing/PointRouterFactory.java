@@ -7,11 +7,8 @@
  */
 package org.opentcs.strategies.basic.routing;
 
-import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
 
-import java.util.Collection;
-
 /**
  * Implementations of this interface construct point routers.
  */
@@ -24,6 +21,4 @@ public interface PointRouterFactory {
    * @return The point router.
    */
   PointRouter createPointRouter(Vehicle vehicle);
-  PointRouter createMyPointRouter(Vehicle vehicle, Collection<Point> unusablePoints);
-
 }
@@ -0,0 +1,431 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import org.opentcs.components.Lifecycle;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.customizations.ApplicationEventBus;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.EventSource;
+import org.opentcs.util.event.SynchronousEventHandler;
+
+/**
+ * Keeps track of the points occupied or targeted by vehicles.
+ * <p>
+ * The index is populated once on initialization and then kept up to date via
+ * {@link TCSObjectEvent}s for vehicles and transport orders, so determining the points that are
+ * unusable for a vehicle does not require scanning all vehicles, transport orders and points.
+ * </p>
+ */
+public class VehicleOccupancyIndex
+    implements SynchronousEventHandler,
+               Lifecycle {
+
+  /**
+   * The object service providing the initial vehicle and transport order states.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * Where this instance registers for application events.
+   */
+  private final EventSource eventSource;
+  /**
+   * The current states of all vehicles, by vehicle name.
+   */
+  private final Map<String, Vehicle> vehicles = new HashMap<>();
+  /**
+   * The names of the vehicles occupying points, by point name.
+   */
+  private final Map<String, String> occupyingVehicles = new HashMap<>();
+  /**
+   * The names of active or dispatchable transport orders intended for a vehicle, by vehicle name.
+   */
+  private final Map<String, Set<String>> pendingOrdersByVehicle = new HashMap<>();
+  /**
+   * The intended vehicle's name for every active or dispatchable transport order, by order name.
+   */
+  private final Map<String, String> pendingOrderVehicles = new HashMap<>();
+  /**
+   * The routes of all routed transport orders not in a final state, by order name.
+   */
+  private final Map<String, OrderRoute> orderRoutes = new HashMap<>();
+  /**
+   * Whether this instance is initialized.
+   */
+  private boolean initialized;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param objectService The object service providing the initial vehicle and transport order
+   * states.
+   * @param eventSource Where this instance registers for application events.
+   */
+  @Inject
+  public VehicleOccupancyIndex(@Nonnull TCSObjectService objectService,
+                               @Nonnull @ApplicationEventBus EventSource eventSource) {
+    this.objectService = requireNonNull(objectService, "objectService");
+    this.eventSource = requireNonNull(eventSource, "eventSource");
+  }
+
+  @Override
+  public void initialize() {
+    if (isInitialized()) {
+      return;
+    }
+
+    synchronized (this) {
+      clear();
+      eventSource.subscribe(this);
+      for (Vehicle vehicle : objectService.fetchObjects(Vehicle.class)) {
+        updateVehicle(null, vehicle);
+      }
+      for (TransportOrder order : objectService.fetchObjects(TransportOrder.class)) {
+        updateTransportOrder(null, order);
+      }
+      initialized = true;
+    }
+  }
+
+  @Override
+  public boolean isInitialized() {
+    return initialized;
+  }
+
+  @Override
+  public void terminate() {
+    if (!isInitialized()) {
+      return;
+    }
+
+    synchronized (this) {
+      eventSource.unsubscribe(this);
+      clear();
+      initialized = false;
+    }
+  }
+
+  @Override
+  public void onEvent(Object event) {
+    if (!(event instanceof TCSObjectEvent)) {
+      return;
+    }
+
+    TCSObjectEvent objectEvent = (TCSObjectEvent) event;
+    if (objectEvent.getCurrentOrPreviousObjectState() instanceof Vehicle) {
+      synchronized (this) {
+        updateVehicle((Vehicle) objectEvent.getPreviousObjectState(),
+                      (Vehicle) objectEvent.getCurrentObjectState());
+      }
+    }
+    else if (objectEvent.getCurrentOrPreviousObjectState() instanceof TransportOrder) {
+      synchronized (this) {
+        updateTransportOrder((TransportOrder) objectEvent.getPreviousObjectState(),
+                             (TransportOrder) objectEvent.getCurrentObjectState());
+      }
+    }
+  }
+
+  /**
+   * Returns the name of the vehicle occupying the given point.
+   *
+   * @param pointName The name of the point.
+   * @return The name of the vehicle occupying the given point, or an empty optional, if the point
+   * is not occupied by any vehicle.
+   */
+  public synchronized Optional<String> getOccupyingVehicle(@Nonnull String pointName) {
+    requireNonNull(pointName, "pointName");
+
+    return Optional.ofNullable(occupyingVehicles.get(pointName));
+  }
+
+  /**
+   * Returns the name of the final destination point of the transport order currently processed by
+   * the given vehicle.
+   *
+   * @param vehicleName The name of the vehicle.
+   * @return The name of the final destination point, or an empty optional, if the vehicle is not
+   * processing a routed transport order.
+   */
+  public synchronized Optional<String> getFinalDestination(@Nonnull String vehicleName) {
+    requireNonNull(vehicleName, "vehicleName");
+
+    return Optional.ofNullable(getCurrentOrderRoute(vehicleName))
+        .map(route -> route.finalDestination);
+  }
+
+  /**
+   * Checks whether the given point is on the part of the route the given vehicle has yet to travel.
+   *
+   * @param vehicleName The name of the vehicle.
+   * @param pointName The name of the point.
+   * @return {@code true} if, and only if, the vehicle is processing a routed transport order and
+   * the given point is a destination of a route step after the vehicle's current position.
+   */
+  public synchronized boolean isRemainingRoutePoint(@Nonnull String vehicleName,
+                                                    @Nonnull String pointName) {
+    requireNonNull(vehicleName, "vehicleName");
+    requireNonNull(pointName, "pointName");
+
+    Vehicle vehicle = vehicles.get(vehicleName);
+    OrderRoute route = getCurrentOrderRoute(vehicleName);
+    if (vehicle == null || vehicle.getCurrentPosition() == null || route == null) {
+      return false;
+    }
+    return route.isAhead(vehicle.getCurrentPosition().getName(), pointName);
+  }
+
+  /**
+   * Returns the names of points that should not be used for routing the given vehicle.
+   * <p>
+   * These are the points occupied by other idle vehicles and the final destinations of other
+   * vehicles processing their last assigned transport order - unless the given vehicle is
+   * currently located on the route the other vehicle has yet to travel.
+   * </p>
+   *
+   * @param sourcePoint The point at which the route of the given vehicle starts.
+   * @param vehicle The vehicle to be routed.
+   * @return The names of the points that should not be used for routing the given vehicle.
+   */
+  public synchronized Set<String> getUnusablePointNames(@Nonnull Point sourcePoint,
+                                                        @Nonnull Vehicle vehicle) {
+    requireNonNull(sourcePoint, "sourcePoint");
+    requireNonNull(vehicle, "vehicle");
+
+    String vehiclePosition = vehicle.getCurrentPosition() == null
+        ? null
+        : vehicle.getCurrentPosition().getName();
+    Set<String> result = new HashSet<>();
+    for (Vehicle other : vehicles.values()) {
+      if (other.getName().equals(vehicle.getName()) || other.getCurrentPosition() == null) {
+        continue;
+      }
+
+      String otherPosition = other.getCurrentPosition().getName();
+      // Points occupied by idle vehicles are unusable, unless they are the route's source.
+      if (other.hasState(Vehicle.State.IDLE)) {
+        if (!sourcePoint.getName().equals(otherPosition)) {
+          result.add(otherPosition);
+        }
+        continue;
+      }
+
+      // The final destination of a vehicle processing its last assigned order is unusable, as the
+      // vehicle will stay there.
+      if (!other.hasProcState(Vehicle.ProcState.PROCESSING_ORDER)
+          || pendingOrdersByVehicle.containsKey(other.getName())) {
+        continue;
+      }
+      OrderRoute route = getCurrentOrderRoute(other.getName());
+      if (route == null) {
+        continue;
+      }
+      // If the given vehicle is located on the other vehicle's remaining route, it will get there
+      // first and the destination is not actually blocked for it.
+      if (vehiclePosition != null && route.isAhead(otherPosition, vehiclePosition)) {
+        continue;
+      }
+      if (!sourcePoint.getName().equals(otherPosition)) {
+        result.add(route.finalDestination);
+      }
+    }
+    return result;
+  }
+
+  private void clear() {
+    vehicles.clear();
+    occupyingVehicles.clear();
+    pendingOrdersByVehicle.clear();
+    pendingOrderVehicles.clear();
+    orderRoutes.clear();
+  }
+
+  @Nullable
+  private OrderRoute getCurrentOrderRoute(String vehicleName) {
+    Vehicle vehicle = vehicles.get(vehicleName);
+    if (vehicle == null || vehicle.getTransportOrder() == null) {
+      return null;
+    }
+    return orderRoutes.get(vehicle.getTransportOrder().getName());
+  }
+
+  private void updateVehicle(@Nullable Vehicle previous, @Nullable Vehicle current) {
+    if (previous != null && previous.getCurrentPosition() != null) {
+      occupyingVehicles.remove(previous.getCurrentPosition().getName(), previous.getName());
+    }
+
+    if (current == null) {
+      vehicles.remove(previous.getName());
+      return;
+    }
+
+    vehicles.put(current.getName(), current);
+    if (current.getCurrentPosition() != null) {
+      occupyingVehicles.put(current.getCurrentPosition().getName(), current.getName());
+    }
+  }
+
+  private void updateTransportOrder(@Nullable TransportOrder previous,
+                                    @Nullable TransportOrder current) {
+    String orderName = current == null ? previous.getName() : current.getName();
+
+    String formerVehicle = pendingOrderVehicles.remove(orderName);
+    if (formerVehicle != null) {
+      Set<String> pendingOrders = pendingOrdersByVehicle.get(formerVehicle);
+      pendingOrders.remove(orderName);
+      if (pendingOrders.isEmpty()) {
+        pendingOrdersByVehicle.remove(formerVehicle);
+      }
+    }
+
+    if (current == null || current.getState().isFinalState()) {
+      orderRoutes.remove(orderName);
+      return;
+    }
+
+    if (current.getIntendedVehicle() != null
+        && (current.hasState(TransportOrder.State.ACTIVE)
+            || current.hasState(TransportOrder.State.DISPATCHABLE))) {
+      String vehicleName = current.getIntendedVehicle().getName();
+      pendingOrderVehicles.put(orderName, vehicleName);
+      pendingOrdersByVehicle.computeIfAbsent(vehicleName, name -> new HashSet<>()).add(orderName);
+    }
+
+    // Route steps only need to be indexed again if any of the order's routes actually changed.
+    if (previous == null || !orderRoutes.containsKey(orderName) || !sameRoutes(previous, current)) {
+      OrderRoute route = OrderRoute.of(current);
+      if (route == null) {
+        orderRoutes.remove(orderName);
+      }
+      else {
+        orderRoutes.put(orderName, route);
+      }
+    }
+  }
+
+  private boolean sameRoutes(TransportOrder previous, TransportOrder current) {
+    List<DriveOrder> previousDriveOrders = previous.getAllDriveOrders();
+    List<DriveOrder> currentDriveOrders = current.getAllDriveOrders();
+    if (previousDriveOrders.size() != currentDriveOrders.size()) {
+      return false;
+    }
+    for (int i = 0; i < currentDriveOrders.size(); i++) {
+      if (previousDriveOrders.get(i).getRoute() != currentDriveOrders.get(i).getRoute()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The points along the complete route of a transport order.
+   */
+  private static final class OrderRoute {
+
+    /**
+     * The name of the source point of the route's first step, if any.
+     */
+    @Nullable
+    private final String sourcePoint;
+    /**
+     * The name of the route's final destination point.
+     */
+    private final String finalDestination;
+    /**
+     * The index of the first step with a point as its destination, by point name.
+     */
+    private final Map<String, Integer> firstIndices;
+    /**
+     * The index of the last step with a point as its destination, by point name.
+     */
+    private final Map<String, Integer> lastIndices;
+
+    private OrderRoute(@Nullable String sourcePoint,
+                       String finalDestination,
+                       Map<String, Integer> firstIndices,
+                       Map<String, Integer> lastIndices) {
+      this.sourcePoint = sourcePoint;
+      this.finalDestination = requireNonNull(finalDestination, "finalDestination");
+      this.firstIndices = requireNonNull(firstIndices, "firstIndices");
+      this.lastIndices = requireNonNull(lastIndices, "lastIndices");
+    }
+
+    /**
+     * Checks whether the given point is the destination of a step after the first step leading to
+     * the given position.
+     * If the given position is the route's source point, every step destination is ahead.
+     *
+     * @param position The name of the position on the route.
+     * @param pointName The name of the point to check.
+     * @return Whether the given point is ahead of the given position.
+     */
+    private boolean isAhead(String position, String pointName) {
+      if (position.equals(sourcePoint)) {
+        return lastIndices.containsKey(pointName);
+      }
+      Integer positionIndex = firstIndices.get(position);
+      Integer pointIndex = lastIndices.get(pointName);
+      return positionIndex != null && pointIndex != null && pointIndex > positionIndex;
+    }
+
+    /**
+     * Creates an instance for the given transport order.
+     *
+     * @param order The transport order.
+     * @return The instance, or {@code null}, if not all of the transport order's drive orders are
+     * routed.
+     */
+    @Nullable
+    private static OrderRoute of(TransportOrder order) {
+      List<DriveOrder> driveOrders = order.getAllDriveOrders();
+      if (driveOrders.isEmpty()
+          || driveOrders.stream().anyMatch(driveOrder -> driveOrder.getRoute() == null)) {
+        return null;
+      }
+
+      Route firstRoute = driveOrders.get(0).getRoute();
+      Point firstSource = firstRoute.getSteps().isEmpty()
+          ? null
+          : firstRoute.getSteps().get(0).getSourcePoint();
+
+      Map<String, Integer> firstIndices = new HashMap<>();
+      Map<String, Integer> lastIndices = new HashMap<>();
+      int index = 0;
+      for (DriveOrder driveOrder : driveOrders) {
+        for (Route.Step step : driveOrder.getRoute().getSteps()) {
+          String pointName = step.getDestinationPoint().getName();
+          firstIndices.putIfAbsent(pointName, index);
+          lastIndices.put(pointName, index);
+          index++;
+        }
+      }
+
+      return new OrderRoute(
+          firstSource == null ? null : firstSource.getName(),
+          driveOrders.get(driveOrders.size() - 1).getRoute().getFinalDestinationPoint().getName(),
+          firstIndices,
+          lastIndices
+      );
+    }
+  }
+}
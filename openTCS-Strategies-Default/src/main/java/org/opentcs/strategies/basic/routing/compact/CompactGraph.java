@@ -0,0 +1,327 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.compact;
+
+import java.nio.ByteBuffer;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.TreeSet;
+import javax.annotation.Nonnull;
+import org.jgrapht.Graph;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Triple;
+
+/**
+ * An immutable, int-indexed representation of a routing graph.
+ * <p>
+ * Vertices are numbered from 0 to {@code vertexCount() - 1}, in the order of their point names.
+ * Outgoing edges are stored in compressed sparse row format, i.e. the edges leaving vertex
+ * {@code v} have the indices {@code firstEdge(v)} (inclusive) to {@code firstEdge(v + 1)}
+ * (exclusive).
+ * Edge weights are rounded to whole numbers.
+ * </p>
+ */
+final class CompactGraph {
+
+  /**
+   * Orders the outgoing edges of a vertex.
+   */
+  private static final Comparator<Edge> EDGE_ORDER
+      = Comparator.comparing((Edge edge) -> edge.getPath().getName())
+          .thenComparing(Edge::isTravellingReverse);
+
+  /**
+   * The points represented by the vertices, by vertex index.
+   */
+  private final Point[] points;
+  /**
+   * The vertex indices, by point name.
+   */
+  private final Map<String, Integer> vertexIndices;
+  /**
+   * The index of the first outgoing edge for every vertex, plus the total number of edges.
+   */
+  private final int[] edgeOffsets;
+  /**
+   * The source vertex of every edge.
+   */
+  private final int[] edgeSources;
+  /**
+   * The target vertex of every edge.
+   */
+  private final int[] edgeTargets;
+  /**
+   * The weight of every edge.
+   */
+  private final long[] edgeWeights;
+  /**
+   * The model edge of every edge.
+   */
+  private final Edge[] edges;
+  /**
+   * The x coordinate of every vertex.
+   */
+  private final long[] xCoordinates;
+  /**
+   * The y coordinate of every vertex.
+   */
+  private final long[] yCoordinates;
+  /**
+   * The factor by which the euclidean distance between two vertices can be multiplied to get a
+   * lower bound for the costs of travelling between them.
+   * Zero if no such bound can be derived from the graph.
+   */
+  private final double distanceCostFactor;
+
+  private CompactGraph(Point[] points,
+                       Map<String, Integer> vertexIndices,
+                       int[] edgeOffsets,
+                       int[] edgeSources,
+                       int[] edgeTargets,
+                       long[] edgeWeights,
+                       Edge[] edges) {
+    this.points = points;
+    this.vertexIndices = vertexIndices;
+    this.edgeOffsets = edgeOffsets;
+    this.edgeSources = edgeSources;
+    this.edgeTargets = edgeTargets;
+    this.edgeWeights = edgeWeights;
+    this.edges = edges;
+
+    this.xCoordinates = new long[points.length];
+    this.yCoordinates = new long[points.length];
+    for (int v = 0; v < points.length; v++) {
+      Triple position = points[v].getPose().getPosition();
+      xCoordinates[v] = position.getX();
+      yCoordinates[v] = position.getY();
+    }
+    this.distanceCostFactor = computeDistanceCostFactor();
+  }
+
+  /**
+   * Compiles the given graph into a compact graph.
+   *
+   * @param graph The graph, with point names as vertices.
+   * @param points The points represented by the graph's vertices.
+   * @return The compact graph.
+   */
+  public static CompactGraph compile(@Nonnull Graph<String, Edge> graph,
+                                     @Nonnull Collection<Point> points) {
+    requireNonNull(graph, "graph");
+    requireNonNull(points, "points");
+
+    Map<String, Point> pointsByName = new HashMap<>();
+    for (Point point : points) {
+      pointsByName.put(point.getName(), point);
+    }
+
+    Point[] vertexPoints = new Point[graph.vertexSet().size()];
+    Map<String, Integer> vertexIndices = new HashMap<>();
+    // Number vertices and edges in a stable order, so that compiling the same graph always results
+    // in the same compact graph.
+    for (String vertex : new TreeSet<>(graph.vertexSet())) {
+      int index = vertexIndices.size();
+      vertexPoints[index] = requireNonNull(pointsByName.get(vertex), "point for " + vertex);
+      vertexIndices.put(vertex, index);
+    }
+
+    int edgeCount = 0;
+    for (Edge edge : graph.edgeSet()) {
+      if (isUsable(graph.getEdgeWeight(edge))) {
+        edgeCount++;
+      }
+    }
+
+    int[] edgeOffsets = new int[vertexPoints.length + 1];
+    int[] edgeSources = new int[edgeCount];
+    int[] edgeTargets = new int[edgeCount];
+    long[] edgeWeights = new long[edgeCount];
+    Edge[] edges = new Edge[edgeCount];
+    int e = 0;
+    for (int v = 0; v < vertexPoints.length; v++) {
+      edgeOffsets[v] = e;
+      List<Edge> outgoingEdges = new ArrayList<>(graph.outgoingEdgesOf(vertexPoints[v].getName()));
+      outgoingEdges.sort(EDGE_ORDER);
+      for (Edge edge : outgoingEdges) {
+        double weight = graph.getEdgeWeight(edge);
+        if (!isUsable(weight)) {
+          continue;
+        }
+        edgeSources[e] = v;
+        edgeTargets[e] = vertexIndices.get(graph.getEdgeTarget(edge));
+        edgeWeights[e] = Math.round(weight);
+        edges[e] = edge;
+        e++;
+      }
+    }
+    edgeOffsets[vertexPoints.length] = e;
+
+    return new CompactGraph(vertexPoints,
+                            vertexIndices,
+                            edgeOffsets,
+                            edgeSources,
+                            edgeTargets,
+                            edgeWeights,
+                            edges);
+  }
+
+  /**
+   * Returns the number of vertices.
+   *
+   * @return The number of vertices.
+   */
+  public int vertexCount() {
+    return points.length;
+  }
+
+  /**
+   * Returns the index of the vertex representing the point with the given name.
+   *
+   * @param pointName The point name.
+   * @return The vertex index, or -1, if the graph does not contain a vertex for the given point.
+   */
+  public int vertexIndex(String pointName) {
+    Integer index = vertexIndices.get(pointName);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Returns the point represented by the given vertex.
+   *
+   * @param vertex The vertex index.
+   * @return The point.
+   */
+  public Point point(int vertex) {
+    return points[vertex];
+  }
+
+  /**
+   * Returns the index of the first outgoing edge of the given vertex.
+   * The outgoing edges of a vertex {@code v} end before {@code firstEdge(v + 1)}.
+   *
+   * @param vertex The vertex index.
+   * @return The index of the first outgoing edge.
+   */
+  public int firstEdge(int vertex) {
+    return edgeOffsets[vertex];
+  }
+
+  /**
+   * Returns the source vertex of the given edge.
+   *
+   * @param edge The edge index.
+   * @return The source vertex.
+   */
+  public int edgeSource(int edge) {
+    return edgeSources[edge];
+  }
+
+  /**
+   * Returns the target vertex of the given edge.
+   *
+   * @param edge The edge index.
+   * @return The target vertex.
+   */
+  public int edgeTarget(int edge) {
+    return edgeTargets[edge];
+  }
+
+  /**
+   * Returns the weight of the given edge.
+   *
+   * @param edge The edge index.
+   * @return The weight.
+   */
+  public long edgeWeight(int edge) {
+    return edgeWeights[edge];
+  }
+
+  /**
+   * Returns the model edge represented by the given edge.
+   *
+   * @param edge The edge index.
+   * @return The model edge.
+   */
+  public Edge edge(int edge) {
+    return edges[edge];
+  }
+
+  /**
+   * Returns a lower bound for the costs of travelling from one vertex to another, based on the
+   * euclidean distance between their points.
+   *
+   * @param source The source vertex.
+   * @param target The target vertex.
+   * @return A lower bound for the costs.
+   */
+  public long estimateCosts(int source, int target) {
+    if (distanceCostFactor == 0.0) {
+      return 0;
+    }
+    double dx = xCoordinates[source] - xCoordinates[target];
+    double dy = yCoordinates[source] - yCoordinates[target];
+    return (long) (Math.sqrt(dx * dx + dy * dy) * distanceCostFactor);
+  }
+
+  /**
+   * Returns a hash of this graph's content, i.e. its vertices, edges and edge weights.
+   * Graphs with the same content hash yield the same costs between their vertices.
+   *
+   * @return A hash of this graph's content.
+   */
+  public long contentHash() {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException exc) {
+      throw new IllegalStateException("SHA-256 not available", exc);
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2);
+    for (Point point : points) {
+      digest.update(point.getName().getBytes(UTF_8));
+      digest.update((byte) 0);
+    }
+    for (int e = 0; e < edgeWeights.length; e++) {
+      buffer.clear();
+      buffer.putInt(edgeSources[e]).putInt(edgeTargets[e]).putLong(edgeWeights[e]);
+      digest.update(buffer.array());
+    }
+
+    return ByteBuffer.wrap(digest.digest()).getLong();
+  }
+
+  private double computeDistanceCostFactor() {
+    double factor = Double.POSITIVE_INFINITY;
+    for (int e = 0; e < edgeWeights.length; e++) {
+      double dx = xCoordinates[edgeSources[e]] - xCoordinates[edgeTargets[e]];
+      double dy = yCoordinates[edgeSources[e]] - yCoordinates[edgeTargets[e]];
+      double distance = Math.sqrt(dx * dx + dy * dy);
+      // Edges between points at the same position do not restrict the factor.
+      if (distance > 0.0) {
+        factor = Math.min(factor, edgeWeights[e] / distance);
+      }
+    }
+    // Stay slightly below the exact bound to compensate for rounding errors.
+    return (factor == Double.POSITIVE_INFINITY || factor <= 0.0) ? 0.0 : factor * 0.999;
+  }
+
+  private static boolean isUsable(double weight) {
+    return weight >= 0 && weight != Double.POSITIVE_INFINITY && !Double.isNaN(weight);
+  }
+}
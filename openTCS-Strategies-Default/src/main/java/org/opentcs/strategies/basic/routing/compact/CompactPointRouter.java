@@ -0,0 +1,441 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.compact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import static java.util.Objects.requireNonNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.Route;
+import org.opentcs.strategies.basic.routing.PointRouter;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * Computes routes between points using Dijkstra's algorithm or A* on a {@link CompactGraph}.
+ * <p>
+ * Searches work on primitive arrays that are allocated once per thread and reused for every
+ * query, so apart from the resulting list of route steps, queries do not allocate any memory.
+ * The result of the last search is kept, so that requesting the costs and then the steps for the
+ * same pair of points (as done by the router) requires only a single search.
+ * </p>
+ * <p>
+ * If a {@link CostTable} is attached, costs requested from a router without unusable points are
+ * looked up in the table instead of being searched for.
+ * </p>
+ * <p>
+ * <em>Note that this implementation does not integrate static routes.</em>
+ * </p>
+ */
+public class CompactPointRouter
+    implements PointRouter {
+
+  /**
+   * The graph to work on.
+   */
+  private final CompactGraph graph;
+  /**
+   * Whether to use the euclidean distance between points as a heuristic (A*).
+   */
+  private final boolean useHeuristic;
+  /**
+   * The indices of vertices that are masked for this router.
+   */
+  private final BitSet vertexMask;
+  /**
+   * The search state for each thread, shared with all routers working on the same graph.
+   */
+  private final ThreadLocal<SearchState> searchStates;
+  /**
+   * The precomputed costs between all vertices, or {@code null}.
+   */
+  @Nullable
+  private final CostTable costTable;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param graph The graph to work on.
+   * @param useHeuristic Whether to use the euclidean distance between points as a heuristic (A*).
+   */
+  CompactPointRouter(CompactGraph graph, boolean useHeuristic) {
+    this(graph,
+         useHeuristic,
+         new BitSet(),
+         ThreadLocal.withInitial(() -> new SearchState(graph.vertexCount())),
+         null);
+  }
+
+  private CompactPointRouter(CompactGraph graph,
+                             boolean useHeuristic,
+                             BitSet vertexMask,
+                             ThreadLocal<SearchState> searchStates,
+                             @Nullable CostTable costTable) {
+    this.graph = requireNonNull(graph, "graph");
+    this.useHeuristic = useHeuristic;
+    this.vertexMask = requireNonNull(vertexMask, "vertexMask");
+    this.searchStates = requireNonNull(searchStates, "searchStates");
+    this.costTable = costTable;
+  }
+
+  /**
+   * Returns a copy of this router that looks up costs in the given table.
+   *
+   * @param costTable The table containing the costs between all vertices of this router's graph.
+   * @return A copy of this router using the given table.
+   */
+  CompactPointRouter withCostTable(@Nonnull CostTable costTable) {
+    requireNonNull(costTable, "costTable");
+    checkArgument(costTable.vertexCount() == graph.vertexCount(),
+                  "Cost table does not match the graph's vertex count.");
+    return new CompactPointRouter(graph, useHeuristic, vertexMask, searchStates, costTable);
+  }
+
+  @Override
+  public List<Route.Step> getRouteSteps(Point srcPoint, Point destPoint) {
+    requireNonNull(srcPoint, "srcPoint");
+    requireNonNull(destPoint, "destPoint");
+
+    if (srcPoint.getName().equals(destPoint.getName())) {
+      return new ArrayList<>();
+    }
+
+    int source = graph.vertexIndex(srcPoint.getName());
+    int target = graph.vertexIndex(destPoint.getName());
+    SearchState state = searchStates.get();
+    if (search(state, source, target) == INFINITE_COSTS) {
+      return null;
+    }
+
+    int hopCount = 0;
+    for (int v = target; v != source; v = graph.edgeSource(state.predecessorEdges[v])) {
+      hopCount++;
+    }
+
+    List<Route.Step> result = new ArrayList<>(hopCount);
+    int routeIndex = hopCount - 1;
+    for (int v = target; v != source; v = graph.edgeSource(state.predecessorEdges[v])) {
+      int e = state.predecessorEdges[v];
+      Edge edge = graph.edge(e);
+      result.add(new Route.Step(edge.getPath(),
+                                graph.point(graph.edgeSource(e)),
+                                graph.point(v),
+                                edge.isTravellingReverse()
+                                ? Vehicle.Orientation.BACKWARD
+                                : Vehicle.Orientation.FORWARD,
+                                routeIndex));
+      routeIndex--;
+    }
+    Collections.reverse(result);
+
+    return result;
+  }
+
+  @Override
+  public long getCosts(TCSObjectReference<Point> srcPointRef,
+                       TCSObjectReference<Point> destPointRef) {
+    requireNonNull(srcPointRef, "srcPointRef");
+    requireNonNull(destPointRef, "destPointRef");
+
+    if (srcPointRef.getName().equals(destPointRef.getName())) {
+      return 0;
+    }
+
+    int source = graph.vertexIndex(srcPointRef.getName());
+    int target = graph.vertexIndex(destPointRef.getName());
+    if (costTable != null && vertexMask.isEmpty()) {
+      return (source < 0 || target < 0) ? INFINITE_COSTS : costTable.getCosts(source, target);
+    }
+    return search(searchStates.get(), source, target);
+  }
+
+  @Override
+  public PointRouter removeUnusablePoints(Collection<Point> unusablePoints) {
+    requireNonNull(unusablePoints, "unusablePoints");
+
+    BitSet mask = (BitSet) vertexMask.clone();
+    for (Point point : unusablePoints) {
+      int index = graph.vertexIndex(point.getName());
+      if (index >= 0) {
+        mask.set(index);
+      }
+    }
+
+    if (mask.equals(vertexMask)) {
+      return this;
+    }
+    return new CompactPointRouter(graph, useHeuristic, mask, searchStates, null);
+  }
+
+  /**
+   * Computes the costs of the cheapest paths from the given vertex to all vertices of the graph.
+   * Points this router considers unusable are ignored, i.e. treated as usable.
+   *
+   * @param source The source vertex.
+   * @param result The array to store the costs in, indexed by target vertex.
+   * Unreachable vertices get {@link #INFINITE_COSTS}.
+   */
+  void computeCostsFrom(int source, long[] result) {
+    checkArgument(result.length == graph.vertexCount(), "result has wrong length");
+
+    Arrays.fill(result, INFINITE_COSTS);
+    SearchState state = searchStates.get();
+    // The search state is used without a target, so the cached result must not be reused.
+    state.lastRouter = null;
+    state.begin();
+    state.reach(source, 0, -1, 0);
+    while (!state.isHeapEmpty()) {
+      int u = state.pop();
+      long costsU = state.costs[u];
+      result[u] = costsU;
+
+      int edgesEnd = graph.firstEdge(u + 1);
+      for (int e = graph.firstEdge(u); e < edgesEnd; e++) {
+        int v = graph.edgeTarget(e);
+        if (state.isSettled(v)) {
+          continue;
+        }
+        long costsV = costsU + graph.edgeWeight(e);
+        if (!state.isReached(v)) {
+          state.reach(v, costsV, e, costsV);
+        }
+        else if (costsV < state.costs[v]) {
+          state.improve(v, costsV, e, costsV);
+        }
+      }
+    }
+  }
+
+  /**
+   * Searches for the cheapest path between the given vertices.
+   * After a successful search, the path can be reconstructed from the given state's predecessor
+   * edges, starting at the target vertex.
+   *
+   * @param state The search state to use.
+   * @param source The source vertex.
+   * @param target The target vertex.
+   * @return The costs of the cheapest path, or {@link #INFINITE_COSTS} if there is no path.
+   */
+  private long search(SearchState state, int source, int target) {
+    if (source < 0 || target < 0 || vertexMask.get(source) || vertexMask.get(target)) {
+      return INFINITE_COSTS;
+    }
+    if (state.lastRouter == this && state.lastSource == source && state.lastTarget == target) {
+      return state.lastCosts;
+    }
+
+    state.begin();
+    state.reach(source, 0, -1, estimate(source, target));
+    long result = INFINITE_COSTS;
+    while (!state.isHeapEmpty()) {
+      int u = state.pop();
+      if (u == target) {
+        result = state.costs[u];
+        break;
+      }
+
+      long costsU = state.costs[u];
+      int edgesEnd = graph.firstEdge(u + 1);
+      for (int e = graph.firstEdge(u); e < edgesEnd; e++) {
+        int v = graph.edgeTarget(e);
+        if (state.isSettled(v) || vertexMask.get(v)) {
+          continue;
+        }
+        long costsV = costsU + graph.edgeWeight(e);
+        if (!state.isReached(v)) {
+          state.reach(v, costsV, e, costsV + estimate(v, target));
+        }
+        else if (costsV < state.costs[v]) {
+          state.improve(v, costsV, e, costsV + estimate(v, target));
+        }
+      }
+    }
+
+    state.lastRouter = this;
+    state.lastSource = source;
+    state.lastTarget = target;
+    state.lastCosts = result;
+    return result;
+  }
+
+  private long estimate(int vertex, int target) {
+    return useHeuristic ? graph.estimateCosts(vertex, target) : 0;
+  }
+
+  /**
+   * Scratch data for searches, reused across queries.
+   * Instead of clearing the arrays for every search, vertices are marked with the number of the
+   * search in which they have been reached or settled.
+   */
+  private static final class SearchState {
+
+    /**
+     * The costs of the cheapest known path to each vertex.
+     */
+    private final long[] costs;
+    /**
+     * The priority of each vertex in the heap, i.e. its costs plus the estimated remaining costs.
+     */
+    private final long[] priorities;
+    /**
+     * The last edge of the cheapest known path to each vertex.
+     */
+    private final int[] predecessorEdges;
+    /**
+     * The number of the search in which each vertex has been reached.
+     */
+    private final int[] reachedMarks;
+    /**
+     * The number of the search in which each vertex has been settled.
+     */
+    private final int[] settledMarks;
+    /**
+     * A binary min-heap of vertices, ordered by priority.
+     */
+    private final int[] heap;
+    /**
+     * The position of each vertex in the heap.
+     */
+    private final int[] heapPositions;
+    /**
+     * The number of vertices in the heap.
+     */
+    private int heapSize;
+    /**
+     * The number of the current search.
+     */
+    private int searchMark;
+    /**
+     * The router that performed the last search.
+     */
+    private CompactPointRouter lastRouter;
+    /**
+     * The source vertex of the last search.
+     */
+    private int lastSource = -1;
+    /**
+     * The target vertex of the last search.
+     */
+    private int lastTarget = -1;
+    /**
+     * The result of the last search.
+     */
+    private long lastCosts;
+
+    private SearchState(int vertexCount) {
+      costs = new long[vertexCount];
+      priorities = new long[vertexCount];
+      predecessorEdges = new int[vertexCount];
+      reachedMarks = new int[vertexCount];
+      settledMarks = new int[vertexCount];
+      heap = new int[vertexCount];
+      heapPositions = new int[vertexCount];
+    }
+
+    private void begin() {
+      heapSize = 0;
+      searchMark++;
+      if (searchMark == Integer.MAX_VALUE) {
+        Arrays.fill(reachedMarks, 0);
+        Arrays.fill(settledMarks, 0);
+        searchMark = 1;
+      }
+    }
+
+    private boolean isReached(int vertex) {
+      return reachedMarks[vertex] == searchMark;
+    }
+
+    private boolean isSettled(int vertex) {
+      return settledMarks[vertex] == searchMark;
+    }
+
+    private boolean isHeapEmpty() {
+      return heapSize == 0;
+    }
+
+    private void reach(int vertex, long vertexCosts, int predecessorEdge, long priority) {
+      reachedMarks[vertex] = searchMark;
+      costs[vertex] = vertexCosts;
+      predecessorEdges[vertex] = predecessorEdge;
+      priorities[vertex] = priority;
+      heap[heapSize] = vertex;
+      heapPositions[vertex] = heapSize;
+      heapSize++;
+      siftUp(heapPositions[vertex]);
+    }
+
+    private void improve(int vertex, long vertexCosts, int predecessorEdge, long priority) {
+      costs[vertex] = vertexCosts;
+      predecessorEdges[vertex] = predecessorEdge;
+      priorities[vertex] = priority;
+      siftUp(heapPositions[vertex]);
+    }
+
+    private int pop() {
+      int result = heap[0];
+      settledMarks[result] = searchMark;
+      heapSize--;
+      if (heapSize > 0) {
+        heap[0] = heap[heapSize];
+        heapPositions[heap[0]] = 0;
+        siftDown(0);
+      }
+      return result;
+    }
+
+    private void siftUp(int position) {
+      int vertex = heap[position];
+      long priority = priorities[vertex];
+      while (position > 0) {
+        int parentPosition = (position - 1) >>> 1;
+        int parent = heap[parentPosition];
+        if (priorities[parent] <= priority) {
+          break;
+        }
+        heap[position] = parent;
+        heapPositions[parent] = position;
+        position = parentPosition;
+      }
+      heap[position] = vertex;
+      heapPositions[vertex] = position;
+    }
+
+    private void siftDown(int position) {
+      int vertex = heap[position];
+      long priority = priorities[vertex];
+      while (true) {
+        int childPosition = 2 * position + 1;
+        if (childPosition >= heapSize) {
+          break;
+        }
+        if (childPosition + 1 < heapSize
+            && priorities[heap[childPosition + 1]] < priorities[heap[childPosition]]) {
+          childPosition++;
+        }
+        int child = heap[childPosition];
+        if (priorities[child] >= priority) {
+          break;
+        }
+        heap[position] = child;
+        heapPositions[child] = position;
+        position = childPosition;
+      }
+      heap[position] = vertex;
+      heapPositions[vertex] = position;
+    }
+  }
+}
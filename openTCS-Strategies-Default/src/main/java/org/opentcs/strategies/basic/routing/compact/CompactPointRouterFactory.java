@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.compact;
+
+import java.io.File;
+import java.io.IOException;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.inject.Inject;
+import org.jgrapht.Graph;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.components.kernel.routing.GroupMapper;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.customizations.ApplicationHome;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.strategies.basic.routing.PointRouter;
+import org.opentcs.strategies.basic.routing.PointRouterFactory;
+import org.opentcs.strategies.basic.routing.jgrapht.ModelGraphMapper;
+import org.opentcs.strategies.basic.routing.jgrapht.ShortestPathConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates {@link CompactPointRouter} instances.
+ * <p>
+ * The plant model is translated to a graph using the configured {@link ModelGraphMapper} and then
+ * compiled into a {@link CompactGraph}, so edge weights are the same as with the JGraphT-based
+ * point routers.
+ * </p>
+ * <p>
+ * If enabled in the configuration, the costs between all pairs of points are precomputed in a
+ * {@link CostTable} for each routing group. Persistent cost tables are stored in the kernel's data
+ * directory, with the graph's content hash in the file name, and reused as long as the graph does
+ * not change.
+ * </p>
+ */
+public class CompactPointRouterFactory
+    implements PointRouterFactory {
+
+  /**
+   * This class's Logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(CompactPointRouterFactory.class);
+  /**
+   * The object service providing the model data.
+   */
+  private final TCSObjectService objectService;
+  /**
+   * Maps the plant model to a graph.
+   */
+  private final ModelGraphMapper mapper;
+  /**
+   * The configuration.
+   */
+  private final ShortestPathConfiguration configuration;
+  /**
+   * Maps vehicles to their routing groups.
+   */
+  private final GroupMapper routingGroupMapper;
+  /**
+   * The directory persistent cost tables are stored in.
+   */
+  private final File costTableDirectory;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param objectService The object service providing model data.
+   * @param mapper Maps the plant model to a graph.
+   * @param configuration The configuration.
+   * @param routingGroupMapper Maps vehicles to their routing groups.
+   * @param homeDirectory The kernel's home directory.
+   */
+  @Inject
+  public CompactPointRouterFactory(@Nonnull TCSObjectService objectService,
+                                   @Nonnull ModelGraphMapper mapper,
+                                   @Nonnull ShortestPathConfiguration configuration,
+                                   @Nonnull GroupMapper routingGroupMapper,
+                                   @Nonnull @ApplicationHome File homeDirectory) {
+    this.objectService = requireNonNull(objectService, "objectService");
+    this.mapper = requireNonNull(mapper, "mapper");
+    this.configuration = requireNonNull(configuration, "configuration");
+    this.routingGroupMapper = requireNonNull(routingGroupMapper, "routingGroupMapper");
+    this.costTableDirectory = new File(new File(requireNonNull(homeDirectory, "homeDirectory"),
+                                                "data"),
+                                       "routing");
+  }
+
+  @Override
+  public PointRouter createPointRouter(Vehicle vehicle) {
+    requireNonNull(vehicle, "vehicle");
+
+    long timeStampBefore = System.currentTimeMillis();
+
+    Set<Point> points = objectService.fetchObjects(Point.class);
+    Graph<String, Edge> graph = mapper.translateModel(points,
+                                                      objectService.fetchObjects(Path.class),
+                                                      vehicle);
+    CompactGraph compactGraph = CompactGraph.compile(graph, points);
+    CompactPointRouter router = new CompactPointRouter(
+        compactGraph,
+        configuration.algorithm() == ShortestPathConfiguration.Algorithm.COMPACT_A_STAR
+    );
+    if (configuration.costTableEnabled()) {
+      router = router.withCostTable(
+          provideCostTable(compactGraph, router, routingGroupMapper.apply(vehicle))
+      );
+    }
+
+    LOG.debug("Created point router for {} in {} milliseconds.",
+              vehicle.getName(),
+              System.currentTimeMillis() - timeStampBefore);
+
+    return router;
+  }
+
+  private CostTable provideCostTable(CompactGraph graph,
+                                     CompactPointRouter router,
+                                     String routingGroup) {
+    if (!configuration.costTablePersistent()) {
+      return CostTable.compute(router, graph.vertexCount());
+    }
+
+    long contentHash = graph.contentHash();
+    File file = new File(costTableDirectory,
+                         costTableFilePrefix(routingGroup) + String.format("%016x", contentHash)
+                         + ".bin");
+    try {
+      Optional<CostTable> storedTable = CostTable.load(file, graph.vertexCount(), contentHash);
+      if (storedTable.isPresent()) {
+        LOG.debug("Reusing cost table for routing group '{}' from {}.", routingGroup, file);
+        return storedTable.get();
+      }
+
+      if (!costTableDirectory.isDirectory() && !costTableDirectory.mkdirs()) {
+        throw new IOException("Could not create directory " + costTableDirectory);
+      }
+      CostTable table = CostTable.computeAndStore(router, graph.vertexCount(), contentHash, file);
+      deleteOutdatedCostTables(routingGroup, file);
+      return table;
+    }
+    catch (IOException exc) {
+      LOG.warn("Could not use cost table file {}, keeping costs in memory instead.", file, exc);
+      return CostTable.compute(router, graph.vertexCount());
+    }
+  }
+
+  private void deleteOutdatedCostTables(String routingGroup, File currentFile) {
+    String prefix = costTableFilePrefix(routingGroup);
+    File[] files = costTableDirectory.listFiles(
+        file -> file.getName().startsWith(prefix) && !file.equals(currentFile)
+    );
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      // Files that are still mapped cannot be deleted on some platforms, so just try.
+      if (!file.delete()) {
+        LOG.debug("Could not delete outdated cost table file {}.", file);
+      }
+    }
+  }
+
+  private String costTableFilePrefix(String routingGroup) {
+    // The group's hash code distinguishes groups whose names differ only in replaced characters.
+    return "costs-" + routingGroup.replaceAll("[^A-Za-z0-9_]", "_")
+        + "-" + Integer.toHexString(routingGroup.hashCode()) + "-";
+  }
+}
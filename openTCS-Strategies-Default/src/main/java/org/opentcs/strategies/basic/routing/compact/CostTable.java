@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.compact;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import static java.util.Objects.requireNonNull;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import static org.opentcs.util.Assertions.checkArgument;
+
+/**
+ * The costs of the cheapest paths between all pairs of vertices of a {@link CompactGraph}.
+ * <p>
+ * The costs are stored outside of the Java heap, either in direct buffers or in a memory-mapped
+ * file. Files start with a header containing the graph's vertex count and content hash, so a
+ * table can be reused as long as the graph has not changed.
+ * </p>
+ */
+final class CostTable {
+
+  /**
+   * Identifies cost table files.
+   */
+  private static final long MAGIC = 0x6f54435343535431L;
+  /**
+   * The version of the file format.
+   */
+  private static final int FORMAT_VERSION = 1;
+  /**
+   * The size of the file header, in bytes.
+   */
+  private static final int HEADER_SIZE = 32;
+  /**
+   * The maximum number of costs in a single buffer.
+   */
+  private static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE / Long.BYTES;
+  /**
+   * The number of vertices.
+   */
+  private final int vertexCount;
+  /**
+   * The number of table rows per buffer.
+   */
+  private final int rowsPerChunk;
+  /**
+   * The buffers containing the table rows.
+   */
+  private final LongBuffer[] chunks;
+
+  private CostTable(int vertexCount, int rowsPerChunk, LongBuffer[] chunks) {
+    this.vertexCount = vertexCount;
+    this.rowsPerChunk = rowsPerChunk;
+    this.chunks = chunks;
+  }
+
+  /**
+   * Computes a cost table in direct buffers.
+   *
+   * @param router The router to compute the costs with. Must not have any unusable points.
+   * @param vertexCount The number of vertices of the router's graph.
+   * @return The cost table.
+   */
+  public static CostTable compute(@Nonnull CompactPointRouter router, int vertexCount) {
+    requireNonNull(router, "router");
+    checkArgument(vertexCount >= 0, "vertexCount < 0");
+
+    int rowsPerChunk = rowsPerChunk(vertexCount);
+    LongBuffer[] chunks = new LongBuffer[chunkCount(vertexCount, rowsPerChunk)];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = ByteBuffer.allocateDirect(chunkRows(i, vertexCount, rowsPerChunk)
+          * vertexCount * Long.BYTES)
+          .asLongBuffer();
+    }
+
+    CostTable table = new CostTable(vertexCount, rowsPerChunk, chunks);
+    table.fill(router);
+    return table;
+  }
+
+  /**
+   * Computes a cost table in a memory-mapped file.
+   * An existing file is overwritten.
+   *
+   * @param router The router to compute the costs with. Must not have any unusable points.
+   * @param vertexCount The number of vertices of the router's graph.
+   * @param contentHash The content hash of the router's graph.
+   * @param file The file to store the table in.
+   * @return The cost table.
+   * @throws IOException If the file could not be written.
+   */
+  public static CostTable computeAndStore(@Nonnull CompactPointRouter router,
+                                          int vertexCount,
+                                          long contentHash,
+                                          @Nonnull File file)
+      throws IOException {
+    requireNonNull(router, "router");
+    requireNonNull(file, "file");
+    checkArgument(vertexCount >= 0, "vertexCount < 0");
+
+    try (FileChannel channel = FileChannel.open(file.toPath(),
+                                                StandardOpenOption.CREATE,
+                                                StandardOpenOption.TRUNCATE_EXISTING,
+                                                StandardOpenOption.READ,
+                                                StandardOpenOption.WRITE)) {
+      // Write an invalid header first, so an incomplete file is never mistaken for a valid one.
+      writeHeader(channel, 0, vertexCount, contentHash);
+
+      int rowsPerChunk = rowsPerChunk(vertexCount);
+      LongBuffer[] chunks = mapChunks(channel, FileChannel.MapMode.READ_WRITE, vertexCount);
+      CostTable table = new CostTable(vertexCount, rowsPerChunk, chunks);
+      table.fill(router);
+      channel.force(false);
+
+      writeHeader(channel, MAGIC, vertexCount, contentHash);
+      channel.force(false);
+      return table;
+    }
+  }
+
+  /**
+   * Loads a cost table from a memory-mapped file.
+   *
+   * @param file The file containing the table.
+   * @param vertexCount The number of vertices of the graph the table is expected for.
+   * @param contentHash The content hash of the graph the table is expected for.
+   * @return The cost table, or an empty optional, if the file does not exist or does not contain
+   * a complete table for a graph with the given vertex count and content hash.
+   * @throws IOException If the file could not be read.
+   */
+  public static Optional<CostTable> load(@Nonnull File file, int vertexCount, long contentHash)
+      throws IOException {
+    requireNonNull(file, "file");
+
+    if (!file.isFile()) {
+      return Optional.empty();
+    }
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      if (channel.size() != HEADER_SIZE + (long) vertexCount * vertexCount * Long.BYTES) {
+        return Optional.empty();
+      }
+
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          break;
+        }
+      }
+      header.flip();
+      if (header.remaining() < HEADER_SIZE
+          || header.getLong() != MAGIC
+          || header.getInt() != FORMAT_VERSION
+          || header.getInt() != vertexCount
+          || header.getLong() != contentHash) {
+        return Optional.empty();
+      }
+
+      return Optional.of(new CostTable(vertexCount,
+                                       rowsPerChunk(vertexCount),
+                                       mapChunks(channel,
+                                                 FileChannel.MapMode.READ_ONLY,
+                                                 vertexCount)));
+    }
+  }
+
+  /**
+   * Returns the number of vertices.
+   *
+   * @return The number of vertices.
+   */
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * Returns the costs of the cheapest path between the given vertices.
+   *
+   * @param source The source vertex.
+   * @param target The target vertex.
+   * @return The costs, or {@link CompactPointRouter#INFINITE_COSTS} if there is no path.
+   */
+  public long getCosts(int source, int target) {
+    return chunks[source / rowsPerChunk].get((source % rowsPerChunk) * vertexCount + target);
+  }
+
+  /**
+   * Computes all rows of this table in parallel.
+   *
+   * @param router The router to compute the costs with.
+   */
+  private void fill(CompactPointRouter router) {
+    ThreadLocal<long[]> rows = ThreadLocal.withInitial(() -> new long[vertexCount]);
+    IntStream.range(0, vertexCount).parallel().forEach(source -> {
+      long[] row = rows.get();
+      router.computeCostsFrom(source, row);
+      // Work on a duplicate to not interfere with other threads writing to the same buffer.
+      LongBuffer chunk = chunks[source / rowsPerChunk].duplicate();
+      chunk.position((source % rowsPerChunk) * vertexCount);
+      chunk.put(row);
+    });
+  }
+
+  private static void writeHeader(FileChannel channel,
+                                  long magic,
+                                  int vertexCount,
+                                  long contentHash)
+      throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+        .putLong(magic)
+        .putInt(FORMAT_VERSION)
+        .putInt(vertexCount)
+        .putLong(contentHash);
+    header.clear();
+    while (header.hasRemaining()) {
+      channel.write(header, header.position());
+    }
+  }
+
+  private static LongBuffer[] mapChunks(FileChannel channel,
+                                        FileChannel.MapMode mode,
+                                        int vertexCount)
+      throws IOException {
+    int rowsPerChunk = rowsPerChunk(vertexCount);
+    LongBuffer[] chunks = new LongBuffer[chunkCount(vertexCount, rowsPerChunk)];
+    long rowSize = (long) vertexCount * Long.BYTES;
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = channel.map(mode,
+                              HEADER_SIZE + i * rowsPerChunk * rowSize,
+                              chunkRows(i, vertexCount, rowsPerChunk) * rowSize)
+          .asLongBuffer();
+    }
+    return chunks;
+  }
+
+  private static int rowsPerChunk(int vertexCount) {
+    return Math.max(1, MAX_CHUNK_SIZE / Math.max(1, vertexCount));
+  }
+
+  private static int chunkCount(int vertexCount, int rowsPerChunk) {
+    return (vertexCount + rowsPerChunk - 1) / rowsPerChunk;
+  }
+
+  private static int chunkRows(int chunk, int vertexCount, int rowsPerChunk) {
+    return Math.min(rowsPerChunk, vertexCount - chunk * rowsPerChunk);
+  }
+}
@@ -11,6 +11,7 @@ import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.jgrapht.Graph;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
 import org.jgrapht.alg.shortestpath.FloydWarshallShortestPaths;
 import org.opentcs.components.kernel.routing.Edge;
 import org.opentcs.components.kernel.services.TCSObjectService;
@@ -40,4 +41,12 @@ public class FloydWarshallPointRouterFactory
     return new FloydWarshallShortestPaths<>(graph);
   }
 
+  @Override
+  protected ShortestPathAlgorithm<String, Edge> createMaskedShortestPathAlgorithm(
+      Graph<String, Edge> graph) {
+    // Precomputing all pairs for every masked view would be far more expensive than searching
+    // lazily, and Floyd-Warshall is not configured to handle negative costs, anyway.
+    return new DijkstraShortestPath<>(graph);
+  }
+
 }
@@ -28,7 +28,11 @@ public interface ShortestPathConfiguration {
         "The routing algorithm to be used. Valid values:",
         "'DIJKSTRA': Routes are computed using Dijkstra's algorithm.",
         "'BELLMAN_FORD': Routes are computed using the Bellman-Ford algorithm.",
-        "'FLOYD_WARSHALL': Routes are computed using the Floyd-Warshall algorithm."},
+        "'FLOYD_WARSHALL': Routes are computed using the Floyd-Warshall algorithm.",
+        "'COMPACT_DIJKSTRA': Routes are computed using Dijkstra's algorithm on a compact, "
+        + "int-indexed graph.",
+        "'COMPACT_A_STAR': Routes are computed using the A* algorithm on a compact, int-indexed "
+        + "graph, with the distance between points' positions as the heuristic."},
       changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START
   )
   Algorithm algorithm();
@@ -48,6 +52,27 @@ public interface ShortestPathConfiguration {
   )
   List<String> edgeEvaluators();
 
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to precompute the costs between all pairs of points for every routing group, so "
+        + "that requests for costs do not require a search.",
+        "Requires memory (or disk space) for (number of points)^2 * 8 bytes per routing group.",
+        "Only applies to the algorithms 'COMPACT_DIJKSTRA' and 'COMPACT_A_STAR'."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START
+  )
+  boolean costTableEnabled();
+
+  @ConfigurationEntry(
+      type = "Boolean",
+      description = {
+        "Whether to store precomputed costs in memory-mapped files in the kernel's data directory "
+        + "and reuse them on restart if the routing graph has not changed.",
+        "If 'false', precomputed costs are kept in memory outside of the Java heap."},
+      changesApplied = ConfigurationEntry.ChangesApplied.ON_APPLICATION_START
+  )
+  boolean costTablePersistent();
+
   /**
    * The available algorithms.
    */
@@ -63,7 +88,15 @@ public interface ShortestPathConfiguration {
     /**
      * The Floyd-Warshall algorithm.
      */
-    FLOYD_WARSHALL(false);
+    FLOYD_WARSHALL(false),
+    /**
+     * Dijkstra's algorithm, working on a compact, int-indexed graph.
+     */
+    COMPACT_DIJKSTRA(false),
+    /**
+     * The A* algorithm, working on a compact, int-indexed graph.
+     */
+    COMPACT_A_STAR(false);
 
     private final boolean handlingNegativeCosts;
 
@@ -8,10 +8,13 @@
 package org.opentcs.strategies.basic.routing.jgrapht;
 
 import java.util.*;
+import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
+import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm;
+import org.jgrapht.graph.MaskSubgraph;
 import org.opentcs.components.kernel.routing.Edge;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Point;
@@ -24,6 +27,11 @@ import org.slf4j.LoggerFactory;
 /**
  * Computes routes between points using a JGraphT-based shortest path algorithm.
  * <p>
+ * Instances created via {@link #removeUnusablePoints(Collection)} share the underlying graph with
+ * the instance they were created from and only mask the unusable points, so the graph does not
+ * have to be rebuilt for every query.
+ * </p>
+ * <p>
  * <em>Note that this implementation does not integrate static routes.</em>
  * </p>
  */
@@ -37,17 +45,69 @@ public class ShortestPathPointRouter
 
   private final ShortestPathAlgorithm<String, Edge> algo;
 
-  private final Map<String, Point> points = new HashMap<>();
+  private final Map<String, Point> points;
+  /**
+   * The (unmasked) graph the algorithm works on.
+   */
+  private final Graph<String, Edge> graph;
+  /**
+   * Provides algorithm instances working on masked views of the graph.
+   */
+  private final Function<Graph<String, Edge>, ShortestPathAlgorithm<String, Edge>> maskedAlgoProvider;
+  /**
+   * The index of each vertex in the graph, used for addressing bits in vertex masks.
+   */
+  private final Map<String, Integer> vertexIndices;
+  /**
+   * The indices of vertices that are masked for this router.
+   */
+  private final BitSet vertexMask;
 
-  public ShortestPathPointRouter(ShortestPathAlgorithm<String, Edge> algo,
-                                 Collection<Point> points) {
+  /**
+   * Creates a new instance.
+   *
+   * @param graph The graph to work on.
+   * @param algo The shortest path algorithm working on the given graph.
+   * @param maskedAlgoProvider Provides algorithm instances for masked views of the given graph.
+   * @param points The points represented by the graph's vertices.
+   */
+  public ShortestPathPointRouter(
+      Graph<String, Edge> graph,
+      ShortestPathAlgorithm<String, Edge> algo,
+      Function<Graph<String, Edge>, ShortestPathAlgorithm<String, Edge>> maskedAlgoProvider,
+      Collection<Point> points) {
+    this.graph = requireNonNull(graph, "graph");
     this.algo = requireNonNull(algo, "algo");
+    this.maskedAlgoProvider = requireNonNull(maskedAlgoProvider, "maskedAlgoProvider");
     requireNonNull(points, "points");
 
+    this.points = new HashMap<>();
     for (Point point : points) {
       this.points.put(point.getName(), point);
     }
 
+    this.vertexIndices = new HashMap<>();
+    for (String vertex : graph.vertexSet()) {
+      vertexIndices.put(vertex, vertexIndices.size());
+    }
+    this.vertexMask = new BitSet();
+  }
+
+  /**
+   * Creates a new instance sharing the given router's graph, masking the given vertices.
+   *
+   * @param baseRouter The router to share the graph with.
+   * @param vertexMask The indices of vertices to be masked.
+   */
+  private ShortestPathPointRouter(ShortestPathPointRouter baseRouter, BitSet vertexMask) {
+    this.graph = baseRouter.graph;
+    this.maskedAlgoProvider = baseRouter.maskedAlgoProvider;
+    this.points = baseRouter.points;
+    this.vertexIndices = baseRouter.vertexIndices;
+    this.vertexMask = vertexMask;
+    this.algo = maskedAlgoProvider.apply(
+        new MaskSubgraph<>(graph, vertex -> isMasked(vertex), edge -> false)
+    );
   }
 
   @Override
@@ -59,6 +119,9 @@ public class ShortestPathPointRouter
     if (Objects.equals(srcPoint.getName(), destPoint.getName())) {
       return new ArrayList<>();
     }
+    if (isMasked(srcPoint.getName()) || isMasked(destPoint.getName())) {
+      return null;
+    }
 
     GraphPath<String, Edge> graphPath = algo.getPath(srcPoint.getName(), destPoint.getName());
     if (graphPath == null) {
@@ -84,47 +147,49 @@ public class ShortestPathPointRouter
     if (Objects.equals(srcPointRef.getName(), destPointRef.getName())) {
       return 0;
     }
-
-//    GraphPath<String, Edge> graphPath = algo.getPath(srcPointRef.getName(),
-//                                                          destPointRef.getName());
-//    if (graphPath == null) {
-//      return INFINITE_COSTS;
-//    }
-//
-//    return (long) graphPath.getWeight();
-    if (Objects.equals(srcPointRef.getName(), destPointRef.getName())) {
-      return 0;
+    if (isMasked(srcPointRef.getName()) || isMasked(destPointRef.getName())) {
+      return INFINITE_COSTS;
     }
 
-    GraphPath<String, Edge> graphPath = null;
-    try
-    {
+    GraphPath<String, Edge> graphPath;
+    try {
       graphPath = algo.getPath(srcPointRef.getName(), destPointRef.getName());
-      if (graphPath == null) {
-        return INFINITE_COSTS;
-      }
     }
-    catch (IllegalArgumentException e)
-    {
-      System.out.println(e.getMessage());
+    catch (IllegalArgumentException e) {
+      LOG.debug("Could not compute path from {} to {}: {}",
+                srcPointRef.getName(),
+                destPointRef.getName(),
+                e.getMessage());
+      return INFINITE_COSTS;
+    }
+    if (graphPath == null) {
       return INFINITE_COSTS;
     }
-
 
     return (long) graphPath.getWeight();
   }
 
   @Override
   public PointRouter removeUnusablePoints(Collection<Point> unusablePoints) {
-    if(unusablePoints.size()==0){
-      return this;
+    requireNonNull(unusablePoints, "unusablePoints");
+
+    BitSet mask = (BitSet) vertexMask.clone();
+    for (Point point : unusablePoints) {
+      Integer index = vertexIndices.get(point.getName());
+      if (index != null) {
+        mask.set(index);
+      }
     }
-    Collection<Point> _points = new HashSet<>();
-    _points.addAll(this.points.values());
-    for (Point pt:unusablePoints){
-      _points.remove(pt);
+
+    if (mask.equals(vertexMask)) {
+      return this;
     }
-    return new ShortestPathPointRouter(this.algo,_points);
+    return new ShortestPathPointRouter(this, mask);
+  }
+
+  private boolean isMasked(String vertex) {
+    Integer index = vertexIndices.get(vertex);
+    return index != null && vertexMask.get(index);
   }
 
   private List<Route.Step> translateToSteps(GraphPath<String, Edge> graphPath) {
@@ -7,10 +7,13 @@
  */
 package org.opentcs.strategies.basic.scheduling;
 
+import java.util.List;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.opentcs.components.kernel.Scheduler.Client;
 import org.opentcs.data.model.TCSResource;
+import static org.opentcs.util.Assertions.checkArgument;
 
 /**
  * A command for the scheduler's allocation task.
@@ -119,18 +122,48 @@ abstract class AllocatorCommand
       extends AllocatorCommand {
 
     /**
-     * Creates a new instance.
+     * The resources that have been freed, or <code>null</code>, if all deferred allocations are to
+     * be retried.
+     */
+    private final Set<TCSResource<?>> freedResources;
+
+    /**
+     * Creates a new instance for retrying all deferred allocations.
      *
      * @param client The scheduler client this command is associated with.
      */
     RetryAllocates(Client client) {
       super(3, client);
+      this.freedResources = null;
+    }
+
+    /**
+     * Creates a new instance for retrying the deferred allocations waiting for the given resources.
+     *
+     * @param client The scheduler client this command is associated with.
+     * @param freedResources The resources that have been freed.
+     */
+    RetryAllocates(Client client, Set<TCSResource<?>> freedResources) {
+      super(3, client);
+      this.freedResources = requireNonNull(freedResources, "freedResources");
+    }
+
+    /**
+     * Returns the resources that have been freed.
+     *
+     * @return The resources that have been freed, or <code>null</code>, if all deferred allocations
+     * are to be retried.
+     */
+    @Nullable
+    public Set<TCSResource<?>> getFreedResources() {
+      return freedResources;
     }
 
     @Override
     public String toString() {
       return "RetryAllocates{"
           + "client=" + getClient()
+          + ", freedResources=" + freedResources
           + '}';
     }
   }
@@ -177,15 +210,16 @@ abstract class AllocatorCommand
   }
 
   /**
-   * Indicates the receiving task should try to allocate a set of resources for a client.
+   * Indicates the receiving task should try to allocate a set of resources (or a sequence of
+   * resource sets, one after the other) for a client.
    */
   public static class Allocate
       extends AllocatorCommand {
 
     /**
-     * The resources to be allocated.
+     * The resource sets to be allocated, in the order they are to be allocated.
      */
-    private final Set<TCSResource<?>> resources;
+    private final List<Set<TCSResource<?>>> resourceSets;
 
     /**
      * Creates a new instance.
@@ -194,24 +228,44 @@ abstract class AllocatorCommand
      * @param resources The resources to be allocated.
      */
     Allocate(Client client, Set<TCSResource<?>> resources) {
+      this(client, List.of(requireNonNull(resources, "resources")));
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param client The scheduler client this command is associated with.
+     * @param resourceSets The resource sets to be allocated, in the order they are to be allocated.
+     */
+    Allocate(Client client, List<Set<TCSResource<?>>> resourceSets) {
       super(5, client);
-      this.resources = requireNonNull(resources, "resources");
+      this.resourceSets = List.copyOf(requireNonNull(resourceSets, "resourceSets"));
+      checkArgument(!this.resourceSets.isEmpty(), "resourceSets is empty");
     }
 
     /**
-     * Returns the resources to be allocated.
+     * Returns the resources to be allocated first.
      *
-     * @return The resources to be allocated.
+     * @return The resources to be allocated first.
      */
     public Set<TCSResource<?>> getResources() {
-      return resources;
+      return resourceSets.get(0);
+    }
+
+    /**
+     * Returns the resource sets to be allocated, in the order they are to be allocated.
+     *
+     * @return The resource sets to be allocated.
+     */
+    public List<Set<TCSResource<?>>> getResourceSets() {
+      return resourceSets;
     }
 
     @Override
     public String toString() {
       return "Allocate{"
           + "client=" + getClient()
-          + ", resources=" + resources
+          + ", resourceSets=" + resourceSets
           + '}';
     }
   }
@@ -7,14 +7,16 @@
  */
 package org.opentcs.strategies.basic.scheduling;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import static java.util.Objects.requireNonNull;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.annotation.Nonnull;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.Scheduler.Client;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.model.TCSResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,15 +42,15 @@ class AllocatorTask
   /**
    * Allocations deferred because they couldn't be granted, yet.
    */
-  private final Queue<AllocatorCommand.Allocate> deferredAllocations;
+  private final DeferredAllocations deferredAllocations;
   /**
    * Executes tasks.
    */
   private final ScheduledExecutorService kernelExecutor;
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * Describes the actual task.
    */
@@ -58,16 +60,16 @@ class AllocatorTask
    * Creates a new instance.
    */
   AllocatorTask(@Nonnull ReservationPool reservationPool,
-                @Nonnull Queue<AllocatorCommand.Allocate> deferredAllocations,
+                @Nonnull DeferredAllocations deferredAllocations,
                 @Nonnull Scheduler.Module allocationAdvisor,
                 @Nonnull ScheduledExecutorService kernelExecutor,
-                @Nonnull @GlobalSyncObject Object globalSyncObject,
+                @Nonnull KernelLock kernelLock,
                 @Nonnull AllocatorCommand command) {
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.deferredAllocations = requireNonNull(deferredAllocations, "deferredAllocations");
     this.allocationAdvisor = requireNonNull(allocationAdvisor, "allocationAdvisor");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
     this.command = requireNonNull(command, "command");
   }
 
@@ -79,7 +81,7 @@ class AllocatorTask
       processAllocate((AllocatorCommand.Allocate) command);
     }
     else if (command instanceof AllocatorCommand.RetryAllocates) {
-      scheduleRetryWaitingAllocations();
+      scheduleRetryWaitingAllocations((AllocatorCommand.RetryAllocates) command);
     }
     else if (command instanceof AllocatorCommand.CheckAllocationsPrepared) {
       checkAllocationsPrepared((AllocatorCommand.CheckAllocationsPrepared) command);
@@ -93,25 +95,68 @@ class AllocatorTask
   }
 
   private void processAllocate(AllocatorCommand.Allocate command) {
-    if (!tryAllocate(command)) {
-      LOG.debug("{}: Resources unavailable, deferring allocation...", command.getClient().getId());
-      deferredAllocations.add(command);
-      return;
+    Client client = command.getClient();
+    List<Set<TCSResource<?>>> resourceSets = command.getResourceSets();
+    List<Set<TCSResource<?>>> allocatedSets = new ArrayList<>();
+
+    // Allocate as many of the resource sets as possible, in order. This is not atomic: The ones
+    // allocated here are kept (and handed to the client) even if the remaining ones are deferred.
+    for (int i = 0; i < resourceSets.size(); i++) {
+      Set<TCSResource<?>> blockingResources = new HashSet<>();
+      if (!tryAllocate(client, resourceSets.get(i), blockingResources)) {
+        LOG.debug("{}: Resources unavailable, deferring allocation...", client.getId());
+        deferredAllocations.add(
+            i == 0 ? command : remainingAllocate(command, i),
+            blockingResources
+        );
+        break;
+      }
+
+      allocatedSets.add(resourceSets.get(i));
+
+      // The client has to be called back in claim order, so wait for a pending preparation before
+      // allocating any further resource sets.
+      if (i + 1 < resourceSets.size()
+          && !allocationAdvisor.hasPreparedAllocation(client, resourceSets.get(i))) {
+        LOG.debug("{}: Preparation of resources pending, deferring further allocations...",
+                  client.getId());
+        deferredAllocations.addAwaitingPreparation(remainingAllocate(command, i + 1));
+        break;
+      }
     }
 
-    checkAllocationsPrepared(command.getClient(), command.getResources());
+    for (Set<TCSResource<?>> resources : allocatedSets) {
+      checkAllocationsPrepared(client, resources);
+    }
   }
 
   private void checkAllocationsPrepared(AllocatorCommand.CheckAllocationsPrepared command) {
-    checkAllocationsPrepared(command.getClient(), command.getResources());
+    if (!checkAllocationsPrepared(command.getClient(), command.getResources())) {
+      return;
+    }
+
+    // Continue with any further resource sets that were waiting for the preparation.
+    AllocatorCommand.Allocate allocate
+        = deferredAllocations.pollAwaitingPreparation(command.getClient());
+    if (allocate != null) {
+      processAllocate(allocate);
+    }
   }
 
-  private void checkAllocationsPrepared(Client client, Set<TCSResource<?>> resources) {
+  /**
+   * Calls back the client if the preparation of the given resources is done.
+   *
+   * @param client The client.
+   * @param resources The allocated resources.
+   * @return <code>true</code> if, and only if, the preparation was done and the client was called
+   * back.
+   */
+  private boolean checkAllocationsPrepared(Client client, Set<TCSResource<?>> resources) {
     if (!allocationAdvisor.hasPreparedAllocation(client, resources)) {
       LOG.debug("{}: Preparation of resources not yet done.",
                 client.getId());
       // XXX remember the resources a client is waiting for preparation done?
-      return;
+      return false;
     }
 
     LOG.debug("Preparation of resources '{}' successful, calling back client '{}'...",
@@ -123,25 +168,28 @@ class AllocatorTask
                resources);
       undoAllocate(client, resources);
       // See if others want the resources this one didn't, then.
-      scheduleRetryWaitingAllocations();
+      scheduleRetryWaitingAllocations(deferredAllocations.pollWaitingFor(resources));
     }
     // Notify modules about the changes in claimed/allocated resources for this client.
     allocationAdvisor.setAllocationState(client,
                                          reservationPool.allocatedResources(client),
                                          reservationPool.getClaim(client));
+    return true;
   }
 
   /**
    * Allocates the given set of resources, if possible.
    *
-   * @param command Describes the requested allocation.
+   * @param client The client requesting the resources.
+   * @param resources The resources to be allocated.
+   * @param blockingResources Filled with the resources allocated by other clients, if these
+   * prevented the allocation.
    * @return <code>true</code> if, and only if, the given resources were allocated.
    */
-  private boolean tryAllocate(AllocatorCommand.Allocate command) {
-    Scheduler.Client client = command.getClient();
-    Set<TCSResource<?>> resources = command.getResources();
-
-    synchronized (globalSyncObject) {
+  private boolean tryAllocate(Client client,
+                              Set<TCSResource<?>> resources,
+                              Set<TCSResource<?>> blockingResources) {
+    return kernelLock.callWriting(() -> {
       if (!reservationPool.isNextInClaim(client, resources)) {
         LOG.error("{}: Not allocating resources that are not next claimed resources: {}",
                   client.getId(),
@@ -152,6 +200,7 @@ class AllocatorTask
       LOG.debug("{}: Checking resource availability: {}...", client.getId(), resources);
       if (!reservationPool.resourcesAvailableForUser(resources, client)) {
         LOG.debug("{}: Resources unavailable.", client.getId());
+        blockingResources.addAll(reservationPool.unavailableResources(resources, client));
         return false;
       }
 
@@ -166,7 +215,7 @@ class AllocatorTask
 
       LOG.debug("{}: All resources available, allocating...", client.getId());
       // Allocate resources.
-      for (TCSResource<?> curRes : command.getResources()) {
+      for (TCSResource<?> curRes : resources) {
         reservationPool.getReservationEntry(curRes).allocate(client);
       }
 
@@ -174,7 +223,14 @@ class AllocatorTask
       reservationPool.unclaim(client, resources);
 
       return true;
-    }
+    });
+  }
+
+  private AllocatorCommand.Allocate remainingAllocate(AllocatorCommand.Allocate command,
+                                                      int fromIndex) {
+    List<Set<TCSResource<?>>> resourceSets = command.getResourceSets();
+    return new AllocatorCommand.Allocate(command.getClient(),
+                                         resourceSets.subList(fromIndex, resourceSets.size()));
   }
 
   private void allocationsReleased(AllocatorCommand.AllocationsReleased command) {
@@ -190,23 +246,37 @@ class AllocatorTask
    * @param command Describes the allocated resources.
    */
   private void undoAllocate(Client client, Set<TCSResource<?>> resources) {
-    synchronized (globalSyncObject) {
-      reservationPool.free(client, resources);
-    }
+    kernelLock.runWriting(() -> reservationPool.free(client, resources));
   }
 
   /**
-   * Moves all waiting allocations back into the incoming queue so they can be rechecked.
+   * Moves waiting allocations back into the incoming queue so they can be rechecked - all of them
+   * or only those that may be granted after the resources given with the command have been freed.
+   *
+   * @param command Describes which waiting allocations to recheck.
    */
-  private void scheduleRetryWaitingAllocations() {
-    for (AllocatorCommand.Allocate allocate : deferredAllocations) {
+  private void scheduleRetryWaitingAllocations(AllocatorCommand.RetryAllocates command) {
+    if (command.getFreedResources() == null) {
+      scheduleRetryWaitingAllocations(deferredAllocations.pollAll());
+      return;
+    }
+
+    List<AllocatorCommand.Allocate> allocates
+        = deferredAllocations.pollWaitingFor(command.getFreedResources());
+    LOG.debug("Retrying {} deferred allocations, {} still waiting for other resources.",
+              allocates.size(),
+              deferredAllocations.size());
+    scheduleRetryWaitingAllocations(allocates);
+  }
+
+  private void scheduleRetryWaitingAllocations(List<AllocatorCommand.Allocate> allocates) {
+    for (AllocatorCommand.Allocate allocate : allocates) {
       kernelExecutor.submit(new AllocatorTask(reservationPool,
                                               deferredAllocations,
                                               allocationAdvisor,
                                               kernelExecutor,
-                                              globalSyncObject,
+                                              kernelLock,
                                               allocate));
     }
-    deferredAllocations.clear();
   }
 }
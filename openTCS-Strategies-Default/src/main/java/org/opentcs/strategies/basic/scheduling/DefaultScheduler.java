@@ -13,10 +13,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -24,7 +22,7 @@ import javax.inject.Inject;
 import org.opentcs.components.kernel.ResourceAllocationException;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.customizations.ApplicationEventBus;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.customizations.kernel.KernelExecutor;
 import org.opentcs.data.TCSObjectEvent;
 import org.opentcs.data.TCSObjectReference;
@@ -36,7 +34,7 @@ import org.opentcs.strategies.basic.scheduling.AllocatorCommand.CheckAllocations
 import org.opentcs.strategies.basic.scheduling.AllocatorCommand.RetryAllocates;
 import static org.opentcs.util.Assertions.checkArgument;
 import org.opentcs.util.event.EventBus;
-import org.opentcs.util.event.EventHandler;
+import org.opentcs.util.event.SynchronousEventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +44,7 @@ import org.slf4j.LoggerFactory;
  */
 public class DefaultScheduler
     implements Scheduler,
-               EventHandler {
+               SynchronousEventHandler {
 
   /**
    * This class's Logger.
@@ -63,7 +61,7 @@ public class DefaultScheduler
   /**
    * Allocations deferred because they couldn't be granted, yet.
    */
-  private final Queue<AllocatorCommand.Allocate> deferredAllocations = new LinkedBlockingQueue<>();
+  private final DeferredAllocations deferredAllocations = new DeferredAllocations();
   /**
    * Executes scheduling tasks.
    */
@@ -73,9 +71,9 @@ public class DefaultScheduler
    */
   private final EventBus eventBus;
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * Allocations that are scheduled for execution on the kernel executor.
    */
@@ -92,19 +90,19 @@ public class DefaultScheduler
    * @param reservationPool The reservation pool to be used.
    * @param kernelExecutor Executes scheduling tasks.
    * @param eventBus The kernel's event bus.
-   * @param globalSyncObject The kernel threads' global synchronization object.
+   * @param kernelLock Synchronizes access to the kernel's data.
    */
   @Inject
   public DefaultScheduler(AllocationAdvisor allocationAdvisor,
                           ReservationPool reservationPool,
                           @KernelExecutor ScheduledExecutorService kernelExecutor,
                           @ApplicationEventBus EventBus eventBus,
-                          @GlobalSyncObject Object globalSyncObject) {
+                          KernelLock kernelLock) {
     this.allocationAdvisor = requireNonNull(allocationAdvisor, "allocationAdvisor");
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.kernelExecutor = requireNonNull(kernelExecutor, "kernelExecutor");
     this.eventBus = requireNonNull(eventBus, "eventBus");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
   }
 
   @Override
@@ -136,6 +134,10 @@ public class DefaultScheduler
 
     allocationAdvisor.terminate();
 
+    LOG.info("Retried {} deferred allocations, avoided {} retries.",
+             deferredAllocations.getRetryCount(),
+             deferredAllocations.getAvoidedRetryCount());
+
     initialized = false;
   }
 
@@ -144,13 +146,13 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       reservationPool.setClaim(client, resources);
 
       allocationAdvisor.setAllocationState(client,
                                            reservationPool.allocatedResources(client),
                                            resources);
-    }
+    });
   }
 
   @Override
@@ -158,13 +160,13 @@ public class DefaultScheduler
   public void unclaim(Client client) {
     requireNonNull(client, "client");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       reservationPool.setClaim(client, new ArrayList<>());
 
       allocationAdvisor.setAllocationState(client,
                                            reservationPool.allocatedResources(client),
                                            new ArrayList<>());
-    }
+    });
   }
 
   @Override
@@ -172,7 +174,7 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       checkArgument(reservationPool.isNextInClaim(client, resources),
                     "Not the next claimed resources: %s",
                     resources);
@@ -182,7 +184,7 @@ public class DefaultScheduler
                             deferredAllocations,
                             allocationAdvisor,
                             kernelExecutor,
-                            globalSyncObject,
+                            kernelLock,
                             new Allocate(client, resources))
       );
 
@@ -193,7 +195,36 @@ public class DefaultScheduler
       // completed. This could also be done in other places, but doing it for every new allocation
       // should be sufficient.
       removeCompletedAllocateFutures(client);
-    }
+    });
+  }
+
+  @Override
+  public int allocateAhead(Client client, List<Set<TCSResource<?>>> resources) {
+    requireNonNull(client, "client");
+    requireNonNull(resources, "resources");
+    checkArgument(!resources.isEmpty(), "resources is empty");
+
+    kernelLock.runWriting(() -> {
+      List<Set<TCSResource<?>>> claim = reservationPool.getClaim(client);
+      checkArgument(claim.size() >= resources.size()
+          && claim.subList(0, resources.size()).equals(resources),
+                    "Not the next claimed resources: %s",
+                    resources);
+
+      Future<?> allocateFuture = kernelExecutor.submit(
+          new AllocatorTask(reservationPool,
+                            deferredAllocations,
+                            allocationAdvisor,
+                            kernelExecutor,
+                            kernelLock,
+                            new Allocate(client, resources))
+      );
+
+      addAllocateFuture(client, allocateFuture);
+      removeCompletedAllocateFutures(client);
+    });
+
+    return resources.size();
   }
 
   @Override
@@ -202,7 +233,7 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    return kernelLock.callWriting(() -> {
       for (TCSResource<?> curResource : resources) {
         ReservationEntry entry = reservationPool.getReservationEntry(curResource);
         if (!entry.isFree() && !entry.isAllocatedBy(client)) {
@@ -215,7 +246,7 @@ public class DefaultScheduler
       }
 
       return true;
-    }
+    });
   }
 
   @Override
@@ -224,7 +255,7 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       // Check if all resources are available.
       final Set<TCSResource<?>> availableResources = new HashSet<>();
       for (TCSResource<?> curResource : resources) {
@@ -245,7 +276,7 @@ public class DefaultScheduler
       for (TCSResource<?> curResource : availableResources) {
         reservationPool.getReservationEntry(curResource).allocate(client);
       }
-    }
+    });
   }
 
   @Override
@@ -253,36 +284,36 @@ public class DefaultScheduler
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    Set<TCSResource<?>> completelyFreeResources = kernelLock.callWriting(() -> {
       LOG.debug("{}: Releasing resources: {}", client.getId(), resources);
       reservationPool.free(client, resources);
 
       // Check which resources are now completely free
-      Set<TCSResource<?>> completelyFreeResources = resources.stream()
+      Set<TCSResource<?>> freeResources = resources.stream()
           .filter(resource -> reservationPool.getReservationEntry(resource).isFree())
           .collect(Collectors.toCollection(HashSet::new));
       kernelExecutor.submit(new AllocatorTask(reservationPool,
                                               deferredAllocations,
                                               allocationAdvisor,
                                               kernelExecutor,
-                                              globalSyncObject,
-                                              new AllocationsReleased(client,
-                                                                      completelyFreeResources)));
-    }
+                                              kernelLock,
+                                              new AllocationsReleased(client, freeResources)));
+      return freeResources;
+    });
     kernelExecutor.submit(new AllocatorTask(reservationPool,
                                             deferredAllocations,
                                             allocationAdvisor,
                                             kernelExecutor,
-                                            globalSyncObject,
-                                            new RetryAllocates(client)));
+                                            kernelLock,
+                                            new RetryAllocates(client, completelyFreeResources)));
   }
 
   @Override
   public void freeAll(Client client) {
     requireNonNull(client, "client");
 
-    synchronized (globalSyncObject) {
-      Set<TCSResource<?>> freedResources = reservationPool.allocatedResources(client);
+    Set<TCSResource<?>> freedResources = kernelLock.callWriting(() -> {
+      Set<TCSResource<?>> allocatedResources = reservationPool.allocatedResources(client);
 
       LOG.debug("{}: Releasing all resources...", client.getId());
       reservationPool.freeAll(client);
@@ -292,26 +323,27 @@ public class DefaultScheduler
                                               deferredAllocations,
                                               allocationAdvisor,
                                               kernelExecutor,
-                                              globalSyncObject,
+                                              kernelLock,
                                               new AllocationsReleased(client,
-                                                                      freedResources)));
-    }
+                                                                      allocatedResources)));
+      return allocatedResources;
+    });
     kernelExecutor.submit(new AllocatorTask(reservationPool,
                                             deferredAllocations,
                                             allocationAdvisor,
                                             kernelExecutor,
-                                            globalSyncObject,
-                                            new RetryAllocates(client)));
+                                            kernelLock,
+                                            new RetryAllocates(client, freedResources)));
   }
 
   @Override
   public void clearPendingAllocations(Client client) {
     requireNonNull(client, "client");
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       LOG.debug("{}: Clearing pending allocation requests...", client.getId());
-      deferredAllocations.removeIf(allocate -> client.equals(allocate.getClient()));
+      deferredAllocations.removeAll(client);
       cancelPendingAllocateFutures(client);
-    }
+    });
   }
 
   @Override
@@ -320,15 +352,13 @@ public class DefaultScheduler
                                             deferredAllocations,
                                             allocationAdvisor,
                                             kernelExecutor,
-                                            globalSyncObject,
+                                            kernelLock,
                                             new RetryAllocates(new DummyClient())));
   }
 
   @Override
   public Map<String, Set<TCSResource<?>>> getAllocations() {
-    synchronized (globalSyncObject) {
-      return reservationPool.getAllocations();
-    }
+    return kernelLock.callReading(() -> reservationPool.getAllocations());
   }
 
   @Override
@@ -343,7 +373,7 @@ public class DefaultScheduler
                                             deferredAllocations,
                                             allocationAdvisor,
                                             kernelExecutor,
-                                            globalSyncObject,
+                                            kernelLock,
                                             new CheckAllocationsPrepared(client, resources)));
   }
 
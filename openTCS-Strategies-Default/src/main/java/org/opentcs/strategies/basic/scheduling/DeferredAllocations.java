@@ -0,0 +1,236 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opentcs.components.kernel.Scheduler.Client;
+import org.opentcs.data.model.TCSResource;
+
+/**
+ * Keeps allocations deferred because they couldn't be granted, yet, indexed by the resources
+ * blocking them.
+ * <p>
+ * An allocation blocked by resources allocated by other clients only needs to be retried once one
+ * of these resources has been freed. Allocations that could not be granted for other reasons (e.g.
+ * because a scheduler module rejected them) are retried whenever any resource has been freed.
+ * </p>
+ * <p>
+ * Additionally, this class keeps the remainders of allocations of multiple resource sets that have
+ * to wait until the preparation of a previously allocated resource set has been completed. These
+ * are not affected by retries.
+ * </p>
+ * <p>
+ * Instances of this class are thread-safe.
+ * </p>
+ */
+class DeferredAllocations {
+
+  /**
+   * All deferred allocations, mapped to the resources blocking them, in the order they were added.
+   * Allocations not blocked by specific resources are mapped to an empty set.
+   */
+  private final Map<AllocatorCommand.Allocate, Set<TCSResource<?>>> blockingResourcesByAllocate
+      = new LinkedHashMap<>();
+  /**
+   * The deferred allocations blocked by a resource, mapped by resource.
+   */
+  private final Map<TCSResource<?>, Set<AllocatorCommand.Allocate>> allocatesByResource
+      = new HashMap<>();
+  /**
+   * The deferred allocations not blocked by specific resources.
+   */
+  private final Set<AllocatorCommand.Allocate> unblockedAllocates = new LinkedHashSet<>();
+  /**
+   * The allocations waiting for the preparation of a previously allocated resource set, mapped by
+   * client.
+   */
+  private final Map<Client, AllocatorCommand.Allocate> allocatesAwaitingPreparation
+      = new HashMap<>();
+  /**
+   * The number of deferred allocations returned for being retried.
+   */
+  private long retryCount;
+  /**
+   * The number of deferred allocations not returned for being retried because none of the resources
+   * blocking them had been freed.
+   */
+  private long avoidedRetryCount;
+
+  /**
+   * Creates a new instance.
+   */
+  DeferredAllocations() {
+  }
+
+  /**
+   * Adds a deferred allocation.
+   *
+   * @param allocate The deferred allocation.
+   * @param blockingResources The resources (allocated by other clients) blocking the allocation.
+   * If empty, the allocation is retried whenever any resource is freed.
+   */
+  public synchronized void add(@Nonnull AllocatorCommand.Allocate allocate,
+                               @Nonnull Set<TCSResource<?>> blockingResources) {
+    requireNonNull(allocate, "allocate");
+    requireNonNull(blockingResources, "blockingResources");
+
+    remove(allocate);
+
+    blockingResourcesByAllocate.put(allocate, Set.copyOf(blockingResources));
+    if (blockingResources.isEmpty()) {
+      unblockedAllocates.add(allocate);
+    }
+    else {
+      for (TCSResource<?> resource : blockingResources) {
+        allocatesByResource.computeIfAbsent(resource, res -> new LinkedHashSet<>()).add(allocate);
+      }
+    }
+  }
+
+  /**
+   * Removes all deferred allocations of the given client, including the one waiting for a
+   * preparation.
+   *
+   * @param client The client.
+   */
+  public synchronized void removeAll(@Nonnull Client client) {
+    requireNonNull(client, "client");
+
+    blockingResourcesByAllocate.keySet().stream()
+        .filter(allocate -> client.equals(allocate.getClient()))
+        .collect(Collectors.toList())
+        .forEach(this::remove);
+    allocatesAwaitingPreparation.remove(client);
+  }
+
+  /**
+   * Adds an allocation that has to wait until the preparation of the resource set previously
+   * allocated for the same client has been completed.
+   *
+   * @param allocate The allocation.
+   */
+  public synchronized void addAwaitingPreparation(@Nonnull AllocatorCommand.Allocate allocate) {
+    requireNonNull(allocate, "allocate");
+
+    allocatesAwaitingPreparation.put(allocate.getClient(), allocate);
+  }
+
+  /**
+   * Removes and returns the allocation waiting for the preparation of the resource set previously
+   * allocated for the given client.
+   *
+   * @param client The client.
+   * @return The allocation, or <code>null</code>, if there is none.
+   */
+  @Nullable
+  public synchronized AllocatorCommand.Allocate pollAwaitingPreparation(@Nonnull Client client) {
+    requireNonNull(client, "client");
+
+    return allocatesAwaitingPreparation.remove(client);
+  }
+
+  /**
+   * Removes and returns all deferred allocations.
+   *
+   * @return All deferred allocations, in the order in which they should be retried.
+   */
+  @Nonnull
+  public synchronized List<AllocatorCommand.Allocate> pollAll() {
+    List<AllocatorCommand.Allocate> result = new ArrayList<>(blockingResourcesByAllocate.keySet());
+    blockingResourcesByAllocate.clear();
+    allocatesByResource.clear();
+    unblockedAllocates.clear();
+
+    retryCount += result.size();
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Removes and returns the deferred allocations that may be granted now that the given resources
+   * have been freed, i.e. those blocked by any of the given resources and those not blocked by
+   * specific resources.
+   *
+   * @param freedResources The resources that have been freed.
+   * @return The deferred allocations to be retried, in the order in which they should be retried.
+   */
+  @Nonnull
+  public synchronized List<AllocatorCommand.Allocate> pollWaitingFor(
+      @Nonnull Set<TCSResource<?>> freedResources) {
+    requireNonNull(freedResources, "freedResources");
+
+    Set<AllocatorCommand.Allocate> waiting = new LinkedHashSet<>(unblockedAllocates);
+    for (TCSResource<?> resource : freedResources) {
+      waiting.addAll(allocatesByResource.getOrDefault(resource, Set.of()));
+    }
+    for (AllocatorCommand.Allocate allocate : waiting) {
+      remove(allocate);
+    }
+
+    retryCount += waiting.size();
+    avoidedRetryCount += blockingResourcesByAllocate.size();
+    List<AllocatorCommand.Allocate> result = new ArrayList<>(waiting);
+    Collections.sort(result);
+    return result;
+  }
+
+  /**
+   * Returns the number of deferred allocations.
+   *
+   * @return The number of deferred allocations.
+   */
+  public synchronized int size() {
+    return blockingResourcesByAllocate.size();
+  }
+
+  /**
+   * Returns the number of deferred allocations that have been returned for being retried.
+   *
+   * @return The number of deferred allocations that have been returned for being retried.
+   */
+  public synchronized long getRetryCount() {
+    return retryCount;
+  }
+
+  /**
+   * Returns the number of times a deferred allocation has not been returned for being retried
+   * because none of the resources blocking it had been freed.
+   *
+   * @return The number of retries avoided.
+   */
+  public synchronized long getAvoidedRetryCount() {
+    return avoidedRetryCount;
+  }
+
+  private void remove(AllocatorCommand.Allocate allocate) {
+    Set<TCSResource<?>> blockingResources = blockingResourcesByAllocate.remove(allocate);
+    if (blockingResources == null) {
+      return;
+    }
+
+    unblockedAllocates.remove(allocate);
+    for (TCSResource<?> resource : blockingResources) {
+      Set<AllocatorCommand.Allocate> allocates = allocatesByResource.get(resource);
+      allocates.remove(allocate);
+      if (allocates.isEmpty()) {
+        allocatesByResource.remove(resource);
+      }
+    }
+  }
+}
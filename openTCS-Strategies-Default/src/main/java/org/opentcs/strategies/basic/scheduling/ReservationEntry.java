@@ -29,6 +29,10 @@ public class ReservationEntry {
    * Instance of resource that vehicle may claim for exclusive usage.
    */
   private final TCSResource<?> resource;
+  /**
+   * The pool to be notified about the resource being allocated and freed, or <code>null</code>.
+   */
+  private final ReservationPool pool;
   /**
    * The client for which the resource is currently reserved.
    */
@@ -46,7 +50,19 @@ public class ReservationEntry {
    * @param reqResource The resource.
    */
   public ReservationEntry(final TCSResource<?> reqResource) {
+    this(reqResource, null);
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param reqResource The resource.
+   * @param pool The pool to be notified about the resource being allocated and freed, or
+   * <code>null</code>.
+   */
+  ReservationEntry(final TCSResource<?> reqResource, final ReservationPool pool) {
     this.resource = requireNonNull(reqResource, "reqResource");
+    this.pool = pool;
   }
 
   /**
@@ -79,6 +95,9 @@ public class ReservationEntry {
     if (this.client == null) {
       LOG.debug("Allocating resource {} for client {}", resource, client.getId());
       this.client = client;
+      if (pool != null) {
+        pool.allocated(client, resource);
+      }
     }
     else if (this.client != client) {
       // The resource is already allocated by someone else - may not happen.
@@ -102,7 +121,7 @@ public class ReservationEntry {
     checkState(counter > 0, "counter is already less than 1");
     counter--;
     if (counter == 0) {
-      client = null;
+      release();
     }
   }
 
@@ -112,7 +131,7 @@ public class ReservationEntry {
    */
   void freeCompletely() {
     counter = 0;
-    client = null;
+    release();
   }
 
   /**
@@ -136,6 +155,13 @@ public class ReservationEntry {
     return this.client == client;
   }
 
+  private void release() {
+    if (client != null && pool != null) {
+      pool.freed(client, resource);
+    }
+    client = null;
+  }
+
   @Override
   public String toString() {
     return "ReservationEntry{"
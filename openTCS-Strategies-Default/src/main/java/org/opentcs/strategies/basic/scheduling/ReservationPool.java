@@ -41,6 +41,10 @@ public class ReservationPool {
    * <code>ReservationEntry</code> instances for each <code>TCSResource</code>.
    */
   private final Map<TCSResource<?>, ReservationEntry> reservations = new HashMap<>();
+  /**
+   * The resources currently allocated by each client.
+   */
+  private final Map<Scheduler.Client, Set<TCSResource<?>>> allocationsByClient = new HashMap<>();
 
   /**
    * Creates a new instance.
@@ -61,7 +65,7 @@ public class ReservationPool {
 
     ReservationEntry entry = reservations.get(resource);
     if (entry == null) {
-      entry = new ReservationEntry(resource);
+      entry = new ReservationEntry(resource, this);
       reservations.put(resource, entry);
     }
     return entry;
@@ -159,10 +163,7 @@ public class ReservationPool {
   public Set<TCSResource<?>> allocatedResources(@Nonnull Scheduler.Client client) {
     requireNonNull(client, "client");
 
-    return reservations.entrySet().stream()
-        .filter(entry -> entry.getValue().isAllocatedBy(client))
-        .map(entry -> entry.getKey())
-        .collect(Collectors.toSet());
+    return new HashSet<>(allocationsByClient.getOrDefault(client, Set.of()));
   }
 
   /**
@@ -189,6 +190,28 @@ public class ReservationPool {
     return true;
   }
 
+  /**
+   * Returns the resources in the given set of resources that are not available for the given
+   * client, i.e. that are allocated by other clients.
+   *
+   * @param resources The set of resources to be checked.
+   * @param client The client for which to check.
+   * @return The resources in the given set that are not available for the given client.
+   */
+  @Nonnull
+  public Set<TCSResource<?>> unavailableResources(@Nonnull Set<TCSResource<?>> resources,
+                                                  @Nonnull Scheduler.Client client) {
+    requireNonNull(resources, "resources");
+    requireNonNull(client, "client");
+
+    return resources.stream()
+        .filter(resource -> {
+          ReservationEntry entry = getReservationEntry(resource);
+          return !entry.isFree() && !entry.isAllocatedBy(client);
+        })
+        .collect(Collectors.toSet());
+  }
+
   public void free(@Nonnull Scheduler.Client client, @Nonnull Set<TCSResource<?>> resources) {
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
@@ -202,32 +225,57 @@ public class ReservationPool {
   public void freeAll(@Nonnull Scheduler.Client client) {
     requireNonNull(client, "client");
 
-    reservations.values().stream()
-        .filter(reservationEntry -> reservationEntry.isAllocatedBy(client))
-        .forEach(reservationEntry -> reservationEntry.freeCompletely());
+    Set<TCSResource<?>> allocatedResources = allocationsByClient.remove(client);
+    if (allocatedResources == null) {
+      return;
+    }
+    for (TCSResource<?> curResource : allocatedResources) {
+      reservations.get(curResource).freeCompletely();
+    }
   }
 
   @Nonnull
   public Map<String, Set<TCSResource<?>>> getAllocations() {
     final Map<String, Set<TCSResource<?>>> result = new HashMap<>();
-    for (Map.Entry<TCSResource<?>, ReservationEntry> curEntry : reservations.entrySet()) {
-      final TCSResource<?> curResource = curEntry.getKey();
-      final Scheduler.Client curUser = curEntry.getValue().getClient();
-      if (curUser != null) {
-        Set<TCSResource<?>> userResources = result.get(curUser.getId());
-        if (userResources == null) {
-          userResources = new HashSet<>();
-        }
-        userResources.add(curResource);
-        result.put(curUser.getId(), userResources);
-      }
-    }
+    allocationsByClient.forEach(
+        (client, resources) -> result.computeIfAbsent(client.getId(), id -> new HashSet<>())
+            .addAll(resources)
+    );
     return result;
   }
 
   public void clear() {
     claimsByClient.clear();
     reservations.clear();
+    allocationsByClient.clear();
+  }
+
+  /**
+   * Called by a reservation entry when its resource has been allocated by a client that did not
+   * allocate it before.
+   *
+   * @param client The client.
+   * @param resource The resource.
+   */
+  void allocated(@Nonnull Scheduler.Client client, @Nonnull TCSResource<?> resource) {
+    allocationsByClient.computeIfAbsent(client, c -> new HashSet<>()).add(resource);
+  }
+
+  /**
+   * Called by a reservation entry when its resource has been freed completely by a client.
+   *
+   * @param client The client.
+   * @param resource The resource.
+   */
+  void freed(@Nonnull Scheduler.Client client, @Nonnull TCSResource<?> resource) {
+    Set<TCSResource<?>> allocatedResources = allocationsByClient.get(client);
+    if (allocatedResources == null) {
+      return;
+    }
+    allocatedResources.remove(resource);
+    if (allocatedResources.isEmpty()) {
+      allocationsByClient.remove(client);
+    }
   }
 
   /**
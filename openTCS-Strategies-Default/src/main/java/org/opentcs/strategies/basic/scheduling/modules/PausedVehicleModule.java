@@ -14,7 +14,7 @@ import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.TCSObjectService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.model.TCSResource;
 import org.opentcs.data.model.Vehicle;
 import org.slf4j.Logger;
@@ -39,9 +39,9 @@ public class PausedVehicleModule
    */
   private final TCSObjectService objectService;
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
   /**
    * Whether this module is initialized.
    */
@@ -49,9 +49,9 @@ public class PausedVehicleModule
 
   @Inject
   public PausedVehicleModule(@Nonnull TCSObjectService objectService,
-                             @Nonnull @GlobalSyncObject Object globalSyncObject) {
+                             @Nonnull KernelLock kernelLock) {
     this.objectService = requireNonNull(objectService, "objectService");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
   }
 
   @Override
@@ -89,7 +89,7 @@ public class PausedVehicleModule
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    return kernelLock.callReading(() -> {
       Vehicle vehicle = objectService.fetchObject(Vehicle.class, client.getId());
 
       if (vehicle == null) {
@@ -102,7 +102,7 @@ public class PausedVehicleModule
 
       LOG.debug("Not allowing allocation for paused vehicle '{}'.", client.getId());
       return false;
-    }
+    });
   }
 
   @Override
@@ -8,6 +8,7 @@
 package org.opentcs.strategies.basic.scheduling.modules;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -22,10 +23,11 @@ import javax.inject.Inject;
 import org.opentcs.components.kernel.Scheduler;
 import static org.opentcs.components.kernel.Scheduler.PROPKEY_BLOCK_ENTRY_DIRECTION;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.model.Block;
 import org.opentcs.data.model.Path;
 import org.opentcs.data.model.TCSResource;
+import org.opentcs.data.model.TCSResourceReference;
 import org.opentcs.strategies.basic.scheduling.ReservationPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,9 +57,13 @@ public class SameDirectionBlockModule
    */
   private final Map<Block, BlockPermission> permissions = new HashMap<>();
   /**
-   * A global object to be used for synchronization within the kernel.
+   * The {@link Block.Type#SAME_DIRECTION_ONLY} blocks, mapped by the resources they contain.
    */
-  private final Object globalSyncObject;
+  private Map<TCSResourceReference<?>, List<Block>> blocksByResource = Map.of();
+  /**
+   * Synchronizes access to the kernel's data.
+   */
+  private final KernelLock kernelLock;
   /**
    * Whether this module is initialized.
    */
@@ -66,10 +72,10 @@ public class SameDirectionBlockModule
   @Inject
   public SameDirectionBlockModule(@Nonnull ReservationPool reservationPool,
                                   @Nonnull InternalPlantModelService plantModelService,
-                                  @GlobalSyncObject Object globalSyncObject) {
+                                  KernelLock kernelLock) {
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
   }
 
   @Override
@@ -78,12 +84,20 @@ public class SameDirectionBlockModule
       return;
     }
 
+    // Blocks can only be changed while the kernel is in modelling state, i.e. while this module is
+    // not initialized, so it is sufficient to index them here.
     Set<Block> blocks = plantModelService.fetchObjects(Block.class);
+    Map<TCSResourceReference<?>, List<Block>> newBlocksByResource = new HashMap<>();
     for (Block block : blocks) {
       if (block.getType() == Block.Type.SAME_DIRECTION_ONLY) {
         permissions.put(block, new BlockPermission(block));
+        for (TCSResourceReference<?> member : block.getMembers()) {
+          newBlocksByResource.computeIfAbsent(member, ref -> new ArrayList<>()).add(block);
+        }
       }
     }
+    newBlocksByResource.replaceAll((ref, blocksWithResource) -> List.copyOf(blocksWithResource));
+    blocksByResource = Map.copyOf(newBlocksByResource);
 
     initialized = true;
   }
@@ -100,6 +114,7 @@ public class SameDirectionBlockModule
     }
 
     permissions.clear();
+    blocksByResource = Map.of();
 
     initialized = false;
   }
@@ -115,12 +130,11 @@ public class SameDirectionBlockModule
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    return kernelLock.callWriting(() -> {
       // Other modules may prevented the last allocation, discard any previous requests.
       discardPreviousRequests();
 
-      Set<Block> blocks = filterBlocksContainingResources(resources,
-                                                          Block.Type.SAME_DIRECTION_ONLY);
+      Set<Block> blocks = filterBlocksContainingResources(resources);
       if (blocks.isEmpty()) {
         LOG.debug("{}: No blocks to be checked, allocation allowed.", client.getId());
         return true;
@@ -146,7 +160,7 @@ public class SameDirectionBlockModule
 
       LOG.debug("{}: Resources available, allocation allowed.", client.getId());
       return true;
-    }
+    });
   }
 
   @Override
@@ -164,7 +178,7 @@ public class SameDirectionBlockModule
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
+    kernelLock.runWriting(() -> {
       for (Map.Entry<Block, BlockPermission> entry : permissions.entrySet()) {
         Block block = entry.getKey();
         BlockPermission permission = entry.getValue();
@@ -181,7 +195,7 @@ public class SameDirectionBlockModule
         // We don't need permissions any more.
         permission.removePermissionFor(client);
       }
-    }
+    });
   }
 
   private void discardPreviousRequests() {
@@ -189,17 +203,10 @@ public class SameDirectionBlockModule
     permissions.values().forEach(permission -> permission.clearPendingRequests());
   }
 
-  private Set<Block> filterBlocksContainingResources(Set<TCSResource<?>> resources,
-                                                     Block.Type type) {
+  private Set<Block> filterBlocksContainingResources(Set<TCSResource<?>> resources) {
     Set<Block> result = new HashSet<>();
-    Set<Block> blocks = plantModelService.fetchObjects(Block.class,
-                                                       block -> block.getType() == type);
     for (TCSResource<?> resource : resources) {
-      for (Block block : blocks) {
-        if (block.getMembers().contains(resource.getReference())) {
-          result.add(block);
-        }
-      }
+      result.addAll(blocksByResource.getOrDefault(resource.getReference(), List.of()));
     }
     return result;
   }
@@ -230,10 +237,8 @@ public class SameDirectionBlockModule
   }
 
   private boolean blockResourcesAllocatedByClient(Block block, Scheduler.Client client) {
-    Set<Block> clientBlocks
-        = filterBlocksContainingResources(reservationPool.allocatedResources(client),
-                                          Block.Type.SAME_DIRECTION_ONLY);
-    return clientBlocks.contains(block);
+    return reservationPool.allocatedResources(client).stream()
+        .anyMatch(resource -> block.getMembers().contains(resource.getReference()));
   }
 
   /**
@@ -7,8 +7,11 @@
  */
 package org.opentcs.strategies.basic.scheduling.modules;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -16,7 +19,7 @@ import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
-import org.opentcs.customizations.kernel.GlobalSyncObject;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.model.Block;
 import org.opentcs.data.model.TCSResource;
 import org.opentcs.data.model.TCSResourceReference;
@@ -45,9 +48,17 @@ public class SingleVehicleBlockModule
    */
   private final InternalPlantModelService plantModelService;
   /**
-   * A global object to be used for synchronization within the kernel.
+   * Synchronizes access to the kernel's data.
    */
-  private final Object globalSyncObject;
+  private final KernelLock kernelLock;
+  /**
+   * The {@link Block.Type#SINGLE_VEHICLE_ONLY} blocks, mapped by the resources they contain.
+   */
+  private Map<TCSResourceReference<?>, List<Block>> blocksByResource = Map.of();
+  /**
+   * The resources contained in each {@link Block.Type#SINGLE_VEHICLE_ONLY} block, mapped by block.
+   */
+  private Map<Block, Set<TCSResource<?>>> resourcesByBlock = Map.of();
   /**
    * Whether this module is initialized.
    */
@@ -56,10 +67,10 @@ public class SingleVehicleBlockModule
   @Inject
   public SingleVehicleBlockModule(@Nonnull ReservationPool reservationPool,
                                   @Nonnull InternalPlantModelService plantModelService,
-                                  @Nonnull @GlobalSyncObject Object globalSyncObject) {
+                                  @Nonnull KernelLock kernelLock) {
     this.reservationPool = requireNonNull(reservationPool, "reservationPool");
     this.plantModelService = requireNonNull(plantModelService, "plantModelService");
-    this.globalSyncObject = requireNonNull(globalSyncObject, "globalSyncObject");
+    this.kernelLock = requireNonNull(kernelLock, "kernelLock");
   }
 
   @Override
@@ -68,6 +79,24 @@ public class SingleVehicleBlockModule
       return;
     }
 
+    // Blocks can only be changed while the kernel is in modelling state, i.e. while this module is
+    // not initialized, so it is sufficient to index them here.
+    Set<Block> blocks = plantModelService.fetchObjects(
+        Block.class,
+        block -> block.getType() == Block.Type.SINGLE_VEHICLE_ONLY
+    );
+    Map<TCSResourceReference<?>, List<Block>> newBlocksByResource = new HashMap<>();
+    Map<Block, Set<TCSResource<?>>> newResourcesByBlock = new HashMap<>();
+    for (Block block : blocks) {
+      for (TCSResourceReference<?> member : block.getMembers()) {
+        newBlocksByResource.computeIfAbsent(member, ref -> new ArrayList<>()).add(block);
+      }
+      newResourcesByBlock.put(block, Set.copyOf(expandBlock(block)));
+    }
+    newBlocksByResource.replaceAll((ref, blocksWithResource) -> List.copyOf(blocksWithResource));
+    blocksByResource = Map.copyOf(newBlocksByResource);
+    resourcesByBlock = Map.copyOf(newResourcesByBlock);
+
     initialized = true;
   }
 
@@ -82,6 +111,9 @@ public class SingleVehicleBlockModule
       return;
     }
 
+    blocksByResource = Map.of();
+    resourcesByBlock = Map.of();
+
     initialized = false;
   }
 
@@ -97,17 +129,18 @@ public class SingleVehicleBlockModule
     requireNonNull(client, "client");
     requireNonNull(resources, "resources");
 
-    synchronized (globalSyncObject) {
-      Set<Block> blocks = filterBlocksContainingResources(resources,
-                                                          Block.Type.SINGLE_VEHICLE_ONLY);
+    return kernelLock.callWriting(() -> {
+      Set<Block> blocks = filterBlocksContainingResources(resources);
 
       if (blocks.isEmpty()) {
         LOG.debug("{}: No blocks to be checked, allocation allowed.", client.getId());
         return true;
       }
 
-      Set<TCSResource<?>> resourcesExpanded = expandResources(resources);
-      resourcesExpanded = filterRelevantResources(resourcesExpanded, blocks);
+      Set<TCSResource<?>> resourcesExpanded = new HashSet<>();
+      for (Block block : blocks) {
+        resourcesExpanded.addAll(resourcesByBlock.get(block));
+      }
 
       LOG.debug("{}: Checking resource availability: {}", client.getId(), resources);
       if (!reservationPool.resourcesAvailableForUser(resourcesExpanded, client)) {
@@ -117,7 +150,7 @@ public class SingleVehicleBlockModule
 
       LOG.debug("{}: Resources available, allocation allowed.", client.getId());
       return true;
-    }
+    });
   }
 
   @Override
@@ -136,50 +169,27 @@ public class SingleVehicleBlockModule
                                  Set<TCSResource<?>> resources) {
   }
 
-  private Set<Block> filterBlocksContainingResources(Set<TCSResource<?>> resources,
-                                                     Block.Type type) {
+  private Set<Block> filterBlocksContainingResources(Set<TCSResource<?>> resources) {
     Set<Block> result = new HashSet<>();
-    Set<Block> blocks = plantModelService.fetchObjects(Block.class,
-                                                       block -> block.getType() == type);
     for (TCSResource<?> resource : resources) {
-      for (Block block : blocks) {
-        if (block.getMembers().contains(resource.getReference())) {
-          result.add(block);
-        }
-      }
+      result.addAll(blocksByResource.getOrDefault(resource.getReference(), List.of()));
     }
     return result;
   }
 
-  private Set<TCSResource<?>> filterRelevantResources(Set<TCSResource<?>> resources,
-                                                      Set<Block> blocks) {
-    Set<TCSResourceReference<?>> blockResources = blocks.stream()
-        .flatMap(block -> block.getMembers().stream())
-        .collect(Collectors.toSet());
-
-    return resources.stream()
-        .filter(resource -> blockResources.contains(resource.getReference()))
-        .collect(Collectors.toSet());
-  }
-
   /**
-   * Returns the given set of resources after expansion (by resolution of blocks, for instance) by
-   * the kernel.
+   * Returns the resources contained in the given block.
    *
-   * @param resources The set of resources to be expanded.
-   * @return The given set of resources after expansion (by resolution of
-   * blocks, for instance) by the kernel.
+   * @param block The block.
+   * @return The resources contained in the given block.
    */
-  private Set<TCSResource<?>> expandResources(Set<TCSResource<?>> resources) {
-    requireNonNull(resources, "resources");
-    // Build a set of references
-    Set<TCSResourceReference<?>> refs = resources.stream()
-        .map((resource) -> resource.getReference())
+  private Set<TCSResource<?>> expandBlock(Block block) {
+    // Let the kernel look up the resources for us. Since the expansion also contains the members of
+    // other blocks sharing resources with the given one, filter the result.
+    Set<TCSResource<?>> result = plantModelService.expandResources(block.getMembers()).stream()
+        .filter(resource -> block.getMembers().contains(resource.getReference()))
         .collect(Collectors.toSet());
-    // Let the kernel expand the resources for us.
-    Set<TCSResource<?>> result = plantModelService.expandResources(refs);
-    LOG.debug("Set {} expanded to {}", resources, result);
+    LOG.debug("Block {} expanded to {}", block.getName(), result);
     return result;
   }
-
 }
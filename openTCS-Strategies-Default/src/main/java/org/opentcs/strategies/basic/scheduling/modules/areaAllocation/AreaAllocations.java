@@ -8,20 +8,39 @@
 package org.opentcs.strategies.basic.scheduling.modules.areaAllocation;
 
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import static java.util.Objects.requireNonNull;
 import javax.inject.Inject;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.quadtree.Quadtree;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Vehicle;
 
 /**
  * A container for keeping track of areas allocated by vehicles.
+ * <p>
+ * The single areas allocated by all vehicles are kept in a spatial index, so that checking a
+ * requested area only requires exact intersection tests with allocated areas whose bounding boxes
+ * overlap the requested area's bounding box.
+ * </p>
  */
 public class AreaAllocations {
 
-  private final Map<TCSObjectReference<Vehicle>, GeometryCollection> allocatedAreasByVehicles
+  /**
+   * The areas allocated by each vehicle, mapped by the (identity of the) geometry they were created
+   * for.
+   */
+  private final Map<TCSObjectReference<Vehicle>, Map<Geometry, AllocatedArea>> areasByVehicles
       = new HashMap<>();
+  /**
+   * A spatial index of the areas allocated by all vehicles.
+   */
+  private final Quadtree allocatedAreasIndex = new Quadtree();
 
   @Inject
   public AreaAllocations() {
@@ -31,7 +50,8 @@ public class AreaAllocations {
    * Clears the area allocations for all vehicles.
    */
   public void clearAreaAllocations() {
-    allocatedAreasByVehicles.clear();
+    areasByVehicles.values().forEach(this::removeFromIndex);
+    areasByVehicles.clear();
   }
 
   /**
@@ -43,7 +63,40 @@ public class AreaAllocations {
    */
   public void setAreaAllocation(TCSObjectReference<Vehicle> vehicleRef,
                                 GeometryCollection allocatedAreas) {
-    allocatedAreasByVehicles.put(vehicleRef, allocatedAreas);
+    requireNonNull(vehicleRef, "vehicleRef");
+    requireNonNull(allocatedAreas, "allocatedAreas");
+
+    Map<Geometry, AllocatedArea> previousAreas
+        = areasByVehicles.getOrDefault(vehicleRef, Map.of());
+    Map<Geometry, AllocatedArea> currentAreas = new IdentityHashMap<>();
+
+    for (int i = 0; i < allocatedAreas.getNumGeometries(); i++) {
+      Geometry geometry = allocatedAreas.getGeometryN(i);
+      if (geometry.isEmpty() || currentAreas.containsKey(geometry)) {
+        continue;
+      }
+
+      // Areas usually remain allocated across several updates, so keep their (prepared) entries.
+      AllocatedArea area = previousAreas.get(geometry);
+      if (area == null) {
+        area = new AllocatedArea(vehicleRef, geometry);
+        allocatedAreasIndex.insert(geometry.getEnvelopeInternal(), area);
+      }
+      currentAreas.put(geometry, area);
+    }
+
+    for (Map.Entry<Geometry, AllocatedArea> entry : previousAreas.entrySet()) {
+      if (!currentAreas.containsKey(entry.getKey())) {
+        allocatedAreasIndex.remove(entry.getKey().getEnvelopeInternal(), entry.getValue());
+      }
+    }
+
+    if (currentAreas.isEmpty()) {
+      areasByVehicles.remove(vehicleRef);
+    }
+    else {
+      areasByVehicles.put(vehicleRef, currentAreas);
+    }
   }
 
   /**
@@ -52,7 +105,10 @@ public class AreaAllocations {
    * @param vehicleRef The vehicle reference.
    */
   public void clearAreaAllocation(TCSObjectReference<Vehicle> vehicleRef) {
-    allocatedAreasByVehicles.remove(vehicleRef);
+    Map<Geometry, AllocatedArea> areas = areasByVehicles.remove(vehicleRef);
+    if (areas != null) {
+      removeFromIndex(areas);
+    }
   }
 
   /**
@@ -66,9 +122,65 @@ public class AreaAllocations {
    */
   public boolean isAreaAllocationAllowed(TCSObjectReference<Vehicle> vehicleRef,
                                          GeometryCollection requestedAreas) {
-    return allocatedAreasByVehicles.entrySet().stream()
+    for (int i = 0; i < requestedAreas.getNumGeometries(); i++) {
+      Geometry requestedArea = requestedAreas.getGeometryN(i);
+      if (requestedArea.isEmpty()) {
+        continue;
+      }
+
+      // The index only returns candidates whose bounding boxes may overlap the requested area's.
+      for (Object candidate : allocatedAreasIndex.query(requestedArea.getEnvelopeInternal())) {
+        AllocatedArea allocatedArea = (AllocatedArea) candidate;
         // Only check areas allocated by vehicles other than the given vehicle.
-        .filter(entry -> !Objects.equals(entry.getKey(), vehicleRef))
-        .noneMatch(entry -> entry.getValue().intersects(requestedAreas));
+        if (!Objects.equals(allocatedArea.getVehicleRef(), vehicleRef)
+            && allocatedArea.intersects(requestedArea)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the number of single areas currently allocated by all vehicles.
+   *
+   * @return The number of single areas currently allocated by all vehicles.
+   */
+  int getAllocatedAreaCount() {
+    return allocatedAreasIndex.size();
+  }
+
+  private void removeFromIndex(Map<Geometry, AllocatedArea> areas) {
+    for (Map.Entry<Geometry, AllocatedArea> entry : areas.entrySet()) {
+      allocatedAreasIndex.remove(entry.getKey().getEnvelopeInternal(), entry.getValue());
+    }
+  }
+
+  /**
+   * A single area allocated by a vehicle.
+   */
+  private static class AllocatedArea {
+
+    private final TCSObjectReference<Vehicle> vehicleRef;
+    private final PreparedGeometry area;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param vehicleRef The vehicle allocating the area.
+     * @param area The area.
+     */
+    AllocatedArea(TCSObjectReference<Vehicle> vehicleRef, Geometry area) {
+      this.vehicleRef = requireNonNull(vehicleRef, "vehicleRef");
+      this.area = PreparedGeometryFactory.prepare(requireNonNull(area, "area"));
+    }
+
+    public TCSObjectReference<Vehicle> getVehicleRef() {
+      return vehicleRef;
+    }
+
+    public boolean intersects(Geometry geometry) {
+      return area.intersects(geometry);
+    }
   }
 }
@@ -28,6 +28,11 @@ import static org.opentcs.strategies.basic.scheduling.modules.areaAllocation.Cus
 /**
  * An {@link AreaProvider} implementation that, upon initialization, computes and caches the areas
  * for the {@link Envelope}s defined at all {@link Point}s and {@link Path}s.
+ * <p>
+ * The provided {@link GeometryCollection}s always contain the same cached {@link Geometry}
+ * instances for the same resources, which allows {@link AreaAllocations} to keep the (prepared)
+ * areas of a vehicle across updates of its allocation.
+ * </p>
  */
 public class CachingAreaProvider
     implements AreaProvider {
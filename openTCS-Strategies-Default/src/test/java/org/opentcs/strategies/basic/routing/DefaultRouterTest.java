@@ -26,6 +26,7 @@ import org.opentcs.components.kernel.services.TCSObjectService;
 import org.opentcs.data.TCSObject;
 import org.opentcs.data.model.Point;
 import org.opentcs.data.model.Vehicle;
+import org.opentcs.util.event.EventSource;
 
 /**
  * Test cases for the {@link DefaultRouter}.
@@ -157,7 +158,11 @@ public class DefaultRouterTest {
   private Router createRouter() {
     when(builder.createPointRouter(any())).thenReturn(mock(PointRouter.class));
 
-    return new DefaultRouter(objectService, builder, routingGroupMapper, configuration);
+    return new DefaultRouter(objectService,
+                             builder,
+                             routingGroupMapper,
+                             new VehicleOccupancyIndex(objectService, mock(EventSource.class)),
+                             configuration);
   }
 
   /**
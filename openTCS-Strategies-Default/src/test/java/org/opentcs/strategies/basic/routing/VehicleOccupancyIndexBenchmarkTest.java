@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.EventSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the {@link VehicleOccupancyIndex} with the linear scan over all vehicles, transport
+ * orders and points that {@code DefaultRouter} used before, on a synthetic plant with
+ * {@value #POINT_COUNT} points, {@value #VEHICLE_COUNT} vehicles and {@value #ORDER_COUNT}
+ * transport orders.
+ * <p>
+ * Both implementations are checked to yield the same unusable points for every vehicle. The
+ * measured times are only logged, as timings depend too much on the machine's load to be asserted.
+ * </p>
+ */
+public class VehicleOccupancyIndexBenchmarkTest {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG
+      = LoggerFactory.getLogger(VehicleOccupancyIndexBenchmarkTest.class);
+  /**
+   * The number of points in the synthetic plant.
+   */
+  private static final int POINT_COUNT = 3000;
+  /**
+   * The number of vehicles in the synthetic plant.
+   */
+  private static final int VEHICLE_COUNT = 60;
+  /**
+   * The number of transport orders in the synthetic plant.
+   */
+  private static final int ORDER_COUNT = 1000;
+  /**
+   * The number of steps in the route of each transport order.
+   */
+  private static final int ROUTE_LENGTH = 20;
+  /**
+   * The number of queries (one per vehicle) in a warm-up or measurement round.
+   */
+  private static final int ROUNDS = 20;
+
+  private final List<Point> points = new ArrayList<>();
+
+  private final Set<Vehicle> vehicles = new HashSet<>();
+
+  private final Map<String, TransportOrder> orders = new HashMap<>();
+
+  private VehicleOccupancyIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    for (int i = 0; i < POINT_COUNT; i++) {
+      points.add(new Point("Point-" + i));
+    }
+    for (int i = 0; i < ORDER_COUNT; i++) {
+      int start = (i * 37) % (POINT_COUNT - ROUTE_LENGTH);
+      TransportOrder order = routedOrder("Order-" + i, start);
+      orders.put(order.getName(), order.withState(TransportOrder.State.FINISHED));
+    }
+    for (int i = 0; i < VEHICLE_COUNT; i++) {
+      Vehicle vehicle = new Vehicle("Vehicle-" + i)
+          .withCurrentPosition(points.get(i * (POINT_COUNT / VEHICLE_COUNT)).getReference());
+      if (i % 3 == 0) {
+        vehicles.add(vehicle.withState(Vehicle.State.IDLE));
+        continue;
+      }
+      // Let the vehicle process an order it is in the middle of.
+      TransportOrder order = orders.get("Order-" + i)
+          .withState(TransportOrder.State.BEING_PROCESSED);
+      orders.put(order.getName(), order);
+      Route.Step currentStep = order.getAllDriveOrders().get(0).getRoute().getSteps().get(5);
+      vehicles.add(vehicle.withState(Vehicle.State.EXECUTING)
+          .withProcState(Vehicle.ProcState.PROCESSING_ORDER)
+          .withTransportOrder(order.getReference())
+          .withCurrentPosition(currentStep.getDestinationPoint().getReference()));
+      // Let some vehicles have further orders waiting for them.
+      if (i % 4 == 0) {
+        TransportOrder pendingOrder = orders.get("Order-" + (VEHICLE_COUNT + i))
+            .withState(TransportOrder.State.DISPATCHABLE)
+            .withIntendedVehicle(vehicle.getReference());
+        orders.put(pendingOrder.getName(), pendingOrder);
+      }
+    }
+
+    TCSObjectService objectService = mock(TCSObjectService.class);
+    when(objectService.fetchObjects(Vehicle.class)).thenReturn(vehicles);
+    when(objectService.fetchObjects(TransportOrder.class))
+        .thenReturn(new HashSet<>(orders.values()));
+
+    index = new VehicleOccupancyIndex(objectService, mock(EventSource.class));
+    index.initialize();
+  }
+
+  @Test
+  public void determineSameUnusablePointsAsLinearScan() {
+    for (Vehicle vehicle : vehicles) {
+      Point sourcePoint = pointAt(vehicle);
+      assertThat(index.getUnusablePointNames(sourcePoint, vehicle),
+                 is(equalTo(namesOf(scanUnusablePoints(sourcePoint, vehicle)))));
+    }
+
+    // Warm up both implementations before measuring.
+    measureScan();
+    measureIndex();
+    long scanNanos = measureScan();
+    long indexNanos = measureIndex();
+
+    int queries = ROUNDS * VEHICLE_COUNT;
+    LOG.info("Unusable points for {} queries: linear scan {} us/query, index {} us/query",
+             queries,
+             scanNanos / queries / 1000.0,
+             indexNanos / queries / 1000.0);
+  }
+
+  private long measureScan() {
+    long start = System.nanoTime();
+    int count = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      for (Vehicle vehicle : vehicles) {
+        count += scanUnusablePoints(pointAt(vehicle), vehicle).size();
+      }
+    }
+    long duration = System.nanoTime() - start;
+    LOG.debug("Linear scan found {} unusable points.", count);
+    return duration;
+  }
+
+  private long measureIndex() {
+    long start = System.nanoTime();
+    int count = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      for (Vehicle vehicle : vehicles) {
+        count += index.getUnusablePointNames(pointAt(vehicle), vehicle).size();
+      }
+    }
+    long duration = System.nanoTime() - start;
+    LOG.debug("Index found {} unusable points.", count);
+    return duration;
+  }
+
+  /**
+   * The former implementation of {@code DefaultRouter.getUnusablePoints()}, with the object
+   * service's lookups replaced by the corresponding collections.
+   */
+  private Collection<Point> scanUnusablePoints(Point sourcePoint, Vehicle vehicle) {
+    Collection<Point> unusablePoints = new HashSet<>();
+    Set<Vehicle> idleVehicles = new HashSet<>();
+    Set<Vehicle> processingVehicles = new HashSet<>();
+    for (Vehicle ve : vehicles) {
+      if (ve.getName().equals(vehicle.getName()) || ve.getCurrentPosition() == null) {
+        continue;
+      }
+      if (ve.hasState(Vehicle.State.IDLE)) {
+        idleVehicles.add(ve);
+        continue;
+      }
+      if (ve.hasProcState(Vehicle.ProcState.PROCESSING_ORDER)) {
+        boolean willAdd = true;
+        for (TransportOrder to : orders.values()) {
+          if (to.getIntendedVehicle() != null
+              && (to.hasState(TransportOrder.State.ACTIVE)
+                  || to.hasState(TransportOrder.State.DISPATCHABLE))
+              && Objects.equals(to.getIntendedVehicle().getName(), ve.getName())) {
+            willAdd = false;
+            break;
+          }
+        }
+        if (willAdd) {
+          processingVehicles.add(ve);
+        }
+      }
+    }
+    for (Vehicle ve : idleVehicles) {
+      for (Point curPoint : points) {
+        if (curPoint.getName().equals(ve.getCurrentPosition().getName())
+            && !sourcePoint.getName().equals(ve.getCurrentPosition().getName())) {
+          unusablePoints.add(curPoint);
+          break;
+        }
+      }
+    }
+    for (Vehicle ve : processingVehicles) {
+      TransportOrder to = orders.get(ve.getTransportOrder().getName());
+      List<DriveOrder> dos = to.getAllDriveOrders();
+      Point destinationPoint = dos.get(dos.size() - 1).getRoute().getFinalDestinationPoint();
+
+      boolean foundPN = false;
+      Set<String> namesOfPointToTravel = new HashSet<>();
+      String positionName = ve.getCurrentPosition().getName();
+      if (positionName.equals(dos.get(0).getRoute().getSteps().get(0).getSourcePoint().getName())) {
+        foundPN = true;
+      }
+      for (DriveOrder driveOrder : dos) {
+        for (Route.Step step : driveOrder.getRoute().getSteps()) {
+          String pointName = step.getDestinationPoint().getName();
+          if (!foundPN && positionName.equals(pointName)) {
+            foundPN = true;
+            continue;
+          }
+          if (foundPN) {
+            namesOfPointToTravel.add(pointName);
+          }
+        }
+      }
+      if (namesOfPointToTravel.contains(vehicle.getCurrentPosition().getName())) {
+        continue;
+      }
+
+      for (Point curPoint : points) {
+        if (curPoint.getName().equals(destinationPoint.getName())
+            && !sourcePoint.getName().equals(ve.getCurrentPosition().getName())) {
+          unusablePoints.add(curPoint);
+          break;
+        }
+      }
+    }
+    return unusablePoints;
+  }
+
+  private Point pointAt(Vehicle vehicle) {
+    String name = vehicle.getCurrentPosition().getName();
+    return points.get(Integer.parseInt(name.substring(name.indexOf('-') + 1)));
+  }
+
+  private Set<String> namesOf(Collection<Point> points) {
+    Set<String> result = new HashSet<>();
+    for (Point point : points) {
+      result.add(point.getName());
+    }
+    return result;
+  }
+
+  private TransportOrder routedOrder(String name, int firstPointIndex) {
+    List<Route.Step> steps = new ArrayList<>();
+    for (int i = 0; i < ROUTE_LENGTH; i++) {
+      Point source = points.get(firstPointIndex + i);
+      Point destination = points.get(firstPointIndex + i + 1);
+      Path path = new Path(source.getName() + "--" + destination.getName(),
+                           source.getReference(),
+                           destination.getReference());
+      steps.add(new Route.Step(path, source, destination, Vehicle.Orientation.FORWARD, i));
+    }
+    DriveOrder driveOrder
+        = new DriveOrder(new DriveOrder.Destination(
+            points.get(firstPointIndex + ROUTE_LENGTH).getReference()
+        ))
+            .withRoute(new Route(steps, 1));
+    return new TransportOrder(name, List.of(driveOrder));
+  }
+}
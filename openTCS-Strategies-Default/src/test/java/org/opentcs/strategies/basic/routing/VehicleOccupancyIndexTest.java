@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.DriveOrder;
+import org.opentcs.data.order.Route;
+import org.opentcs.data.order.TransportOrder;
+import org.opentcs.util.event.EventSource;
+
+/**
+ * Test cases for the {@link VehicleOccupancyIndex}.
+ */
+public class VehicleOccupancyIndexTest {
+
+  private final Set<Vehicle> vehicles = new HashSet<>();
+
+  private final Set<TransportOrder> orders = new HashSet<>();
+
+  private Point pointA;
+  private Point pointB;
+  private Point pointC;
+  private Point pointD;
+
+  private VehicleOccupancyIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    pointA = new Point("A");
+    pointB = new Point("B");
+    pointC = new Point("C");
+    pointD = new Point("D");
+
+    TCSObjectService objectService = mock(TCSObjectService.class);
+    when(objectService.fetchObjects(Vehicle.class)).thenReturn(vehicles);
+    when(objectService.fetchObjects(TransportOrder.class)).thenReturn(orders);
+
+    index = new VehicleOccupancyIndex(objectService, mock(EventSource.class));
+  }
+
+  @Test
+  public void considerPositionOfIdleVehicleUnusable() {
+    Vehicle routedVehicle = vehicleAt("Vehicle-1", pointA);
+    vehicles.add(routedVehicle);
+    vehicles.add(vehicleAt("Vehicle-2", pointC).withState(Vehicle.State.IDLE));
+    index.initialize();
+
+    assertThat(index.getUnusablePointNames(pointA, routedVehicle), contains("C"));
+    assertThat(index.getOccupyingVehicle("C").get(), is("Vehicle-2"));
+  }
+
+  @Test
+  public void considerSourcePointUsable() {
+    Vehicle routedVehicle = vehicleAt("Vehicle-1", pointA);
+    vehicles.add(routedVehicle);
+    vehicles.add(vehicleAt("Vehicle-2", pointC).withState(Vehicle.State.IDLE));
+    index.initialize();
+
+    assertThat(index.getUnusablePointNames(pointC, routedVehicle), is(empty()));
+  }
+
+  @Test
+  public void considerFinalDestinationOfProcessingVehicleUnusable() {
+    Vehicle routedVehicle = vehicleAt("Vehicle-1", pointA);
+    TransportOrder order = routedOrder("Order-1", pointB, pointC, pointD);
+    vehicles.add(routedVehicle);
+    vehicles.add(processingVehicle("Vehicle-2", pointB, order));
+    orders.add(order);
+    index.initialize();
+
+    assertThat(index.getFinalDestination("Vehicle-2").get(), is("D"));
+    assertThat(index.getUnusablePointNames(pointA, routedVehicle), contains("D"));
+  }
+
+  @Test
+  public void considerFinalDestinationUsableIfFurtherOrdersArePending() {
+    Vehicle routedVehicle = vehicleAt("Vehicle-1", pointA);
+    TransportOrder order = routedOrder("Order-1", pointB, pointC, pointD);
+    vehicles.add(routedVehicle);
+    Vehicle processingVehicle = processingVehicle("Vehicle-2", pointB, order);
+    vehicles.add(processingVehicle);
+    orders.add(order);
+    orders.add(new TransportOrder("Order-2", List.of())
+        .withIntendedVehicle(processingVehicle.getReference())
+        .withState(TransportOrder.State.DISPATCHABLE));
+    index.initialize();
+
+    assertThat(index.getUnusablePointNames(pointA, routedVehicle), is(empty()));
+  }
+
+  @Test
+  public void considerFinalDestinationUsableIfVehicleIsOnRemainingRoute() {
+    Vehicle routedVehicle = vehicleAt("Vehicle-1", pointC);
+    TransportOrder order = routedOrder("Order-1", pointA, pointB, pointC, pointD);
+    vehicles.add(routedVehicle);
+    vehicles.add(processingVehicle("Vehicle-2", pointB, order));
+    orders.add(order);
+    index.initialize();
+
+    assertTrue(index.isRemainingRoutePoint("Vehicle-2", "C"));
+    assertFalse(index.isRemainingRoutePoint("Vehicle-2", "A"));
+    assertThat(index.getUnusablePointNames(pointC, routedVehicle), is(empty()));
+  }
+
+  @Test
+  public void updateOccupiedPointsOnVehicleEvents() {
+    Vehicle routedVehicle = vehicleAt("Vehicle-1", pointA);
+    Vehicle idleVehicle = vehicleAt("Vehicle-2", pointC).withState(Vehicle.State.IDLE);
+    vehicles.add(routedVehicle);
+    vehicles.add(idleVehicle);
+    index.initialize();
+
+    Vehicle movedVehicle = idleVehicle.withCurrentPosition(pointD.getReference());
+    index.onEvent(new TCSObjectEvent(movedVehicle,
+                                     idleVehicle,
+                                     TCSObjectEvent.Type.OBJECT_MODIFIED));
+
+    assertFalse(index.getOccupyingVehicle("C").isPresent());
+    assertThat(index.getUnusablePointNames(pointA, routedVehicle), contains("D"));
+
+    index.onEvent(new TCSObjectEvent(null, movedVehicle, TCSObjectEvent.Type.OBJECT_REMOVED));
+
+    assertThat(index.getUnusablePointNames(pointA, routedVehicle), is(empty()));
+  }
+
+  @Test
+  public void updateFinalDestinationsOnTransportOrderEvents() {
+    Vehicle routedVehicle = vehicleAt("Vehicle-1", pointA);
+    TransportOrder order = routedOrder("Order-1", pointB, pointC);
+    vehicles.add(routedVehicle);
+    vehicles.add(processingVehicle("Vehicle-2", pointB, order));
+    index.initialize();
+
+    assertThat(index.getUnusablePointNames(pointA, routedVehicle), is(empty()));
+
+    index.onEvent(new TCSObjectEvent(order, null, TCSObjectEvent.Type.OBJECT_CREATED));
+
+    assertThat(index.getUnusablePointNames(pointA, routedVehicle), contains("C"));
+
+    TransportOrder finishedOrder = order.withState(TransportOrder.State.FINISHED);
+    index.onEvent(new TCSObjectEvent(finishedOrder, order, TCSObjectEvent.Type.OBJECT_MODIFIED));
+
+    assertThat(index.getUnusablePointNames(pointA, routedVehicle), is(empty()));
+  }
+
+  private Vehicle vehicleAt(String name, Point position) {
+    return new Vehicle(name).withCurrentPosition(position.getReference());
+  }
+
+  private Vehicle processingVehicle(String name, Point position, TransportOrder order) {
+    return vehicleAt(name, position)
+        .withState(Vehicle.State.EXECUTING)
+        .withProcState(Vehicle.ProcState.PROCESSING_ORDER)
+        .withTransportOrder(order.getReference());
+  }
+
+  private TransportOrder routedOrder(String name, Point... points) {
+    List<Route.Step> steps = new ArrayList<>();
+    for (int i = 1; i < points.length; i++) {
+      Path path = new Path(points[i - 1].getName() + "--" + points[i].getName(),
+                           points[i - 1].getReference(),
+                           points[i].getReference());
+      steps.add(new Route.Step(path, points[i - 1], points[i], Vehicle.Orientation.FORWARD, i - 1));
+    }
+    DriveOrder driveOrder
+        = new DriveOrder(new DriveOrder.Destination(points[points.length - 1].getReference()))
+            .withRoute(new Route(steps, 1));
+    return new TransportOrder(name, List.of(driveOrder))
+        .withState(TransportOrder.State.BEING_PROCESSED);
+  }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.compact;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import org.jgrapht.graph.MaskSubgraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Pose;
+import org.opentcs.data.model.Triple;
+import org.opentcs.data.model.Vehicle;
+import org.opentcs.data.order.Route.Step;
+import org.opentcs.strategies.basic.routing.PointRouter;
+
+/**
+ * Test cases for the {@link CompactPointRouter}.
+ */
+public class CompactPointRouterTest {
+
+  /**
+   * The number of points per row/column of the grid.
+   */
+  private static final int GRID_SIZE = 10;
+  /**
+   * The distance between neighbouring points of the grid.
+   */
+  private static final int GRID_SPACING = 1000;
+
+  private final List<Point> points = new ArrayList<>();
+
+  private Graph<String, Edge> graph;
+
+  @BeforeEach
+  public void setUp() {
+    // Create a grid of bidirectionally connected points with random edge weights that are never
+    // lower than the distance between the points.
+    Random random = new Random(4711);
+    graph = new DirectedWeightedMultigraph<>(Edge.class);
+    for (int y = 0; y < GRID_SIZE; y++) {
+      for (int x = 0; x < GRID_SIZE; x++) {
+        Point point = new Point(pointName(x, y))
+            .withPose(new Pose(new Triple(x * GRID_SPACING, y * GRID_SPACING, 0), 0.0));
+        points.add(point);
+        graph.addVertex(point.getName());
+      }
+    }
+    for (int y = 0; y < GRID_SIZE; y++) {
+      for (int x = 0; x < GRID_SIZE; x++) {
+        if (x + 1 < GRID_SIZE) {
+          connect(point(x, y), point(x + 1, y), GRID_SPACING + random.nextInt(GRID_SPACING));
+        }
+        if (y + 1 < GRID_SIZE) {
+          connect(point(x, y), point(x, y + 1), GRID_SPACING + random.nextInt(GRID_SPACING));
+        }
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void returnZeroCostsAndNoStepsIfDestinationIsSource(boolean useHeuristic) {
+    PointRouter router = createRouter(useHeuristic);
+
+    assertEquals(0, router.getCosts(point(1, 1).getReference(), point(1, 1).getReference()));
+    assertThat(router.getRouteSteps(point(1, 1), point(1, 1)), is(empty()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void returnSameCostsAsJGraphTDijkstra(boolean useHeuristic) {
+    PointRouter router = createRouter(useHeuristic);
+    DijkstraShortestPath<String, Edge> reference = new DijkstraShortestPath<>(graph);
+
+    for (Point source : points) {
+      for (Point destination : List.of(point(0, 0), point(5, 3), point(9, 9), point(2, 8))) {
+        long expectedCosts = source.equals(destination)
+            ? 0
+            : (long) reference.getPathWeight(source.getName(), destination.getName());
+        assertEquals(expectedCosts,
+                     router.getCosts(source.getReference(), destination.getReference()));
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void returnConnectedStepsForExistingRoute(boolean useHeuristic) {
+    PointRouter router = createRouter(useHeuristic);
+    GraphPath<String, Edge> expectedPath
+        = new DijkstraShortestPath<>(graph).getPath(pointName(0, 0), pointName(9, 9));
+
+    List<Step> steps = router.getRouteSteps(point(0, 0), point(9, 9));
+
+    assertNotNull(steps);
+    assertEquals(expectedPath.getLength(), steps.size());
+    Point previousPoint = point(0, 0);
+    for (int i = 0; i < steps.size(); i++) {
+      assertEquals(i, steps.get(i).getRouteIndex());
+      assertEquals(previousPoint, steps.get(i).getSourcePoint());
+      previousPoint = steps.get(i).getDestinationPoint();
+    }
+    assertEquals(point(9, 9), previousPoint);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void setOrientationAccordingToTravellingDirection(boolean useHeuristic) {
+    PointRouter router = createRouter(useHeuristic);
+
+    List<Step> forwardSteps = router.getRouteSteps(point(0, 0), point(1, 0));
+    List<Step> backwardSteps = router.getRouteSteps(point(1, 0), point(0, 0));
+
+    assertEquals(Vehicle.Orientation.FORWARD, forwardSteps.get(0).getVehicleOrientation());
+    assertEquals(Vehicle.Orientation.BACKWARD, backwardSteps.get(0).getVehicleOrientation());
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void returnInfiniteCostsIfRouteIsBlockedByUnusablePoints(boolean useHeuristic) {
+    PointRouter router = createRouter(useHeuristic)
+        .removeUnusablePoints(Set.of(point(1, 0), point(0, 1)));
+
+    assertEquals(PointRouter.INFINITE_COSTS,
+                 router.getCosts(point(0, 0).getReference(), point(5, 5).getReference()));
+    assertNull(router.getRouteSteps(point(0, 0), point(5, 5)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {false, true})
+  public void routeAroundUnusablePoints(boolean useHeuristic) {
+    PointRouter router = createRouter(useHeuristic).removeUnusablePoints(Set.of(point(1, 0)));
+    DijkstraShortestPath<String, Edge> reference = new DijkstraShortestPath<>(
+        new MaskSubgraph<>(graph, vertex -> vertex.equals(pointName(1, 0)), edge -> false)
+    );
+
+    List<Step> steps = router.getRouteSteps(point(0, 0), point(2, 0));
+
+    assertNotNull(steps);
+    assertThat(steps.stream().anyMatch(step -> step.getDestinationPoint().equals(point(1, 0))),
+               is(false));
+    assertEquals((long) reference.getPathWeight(pointName(0, 0), pointName(2, 0)),
+                 router.getCosts(point(0, 0).getReference(), point(2, 0).getReference()));
+  }
+
+  private PointRouter createRouter(boolean useHeuristic) {
+    return new CompactPointRouter(CompactGraph.compile(graph, points), useHeuristic);
+  }
+
+  private void connect(Point pointA, Point pointB, double weight) {
+    Path path = new Path(pointA.getName() + "--" + pointB.getName(),
+                         pointA.getReference(),
+                         pointB.getReference());
+    Edge forwardEdge = new Edge(path, false);
+    graph.addEdge(pointA.getName(), pointB.getName(), forwardEdge);
+    graph.setEdgeWeight(forwardEdge, weight);
+    Edge reverseEdge = new Edge(path, true);
+    graph.addEdge(pointB.getName(), pointA.getName(), reverseEdge);
+    graph.setEdgeWeight(reverseEdge, weight);
+  }
+
+  private Point point(int x, int y) {
+    return points.get(y * GRID_SIZE + x);
+  }
+
+  private String pointName(int x, int y) {
+    return "Point-" + x + "-" + y;
+  }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.compact;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.Pose;
+import org.opentcs.data.model.Triple;
+import org.opentcs.strategies.basic.routing.PointRouter;
+
+/**
+ * Test cases for the {@link CostTable}.
+ */
+public class CostTableTest {
+
+  /**
+   * The number of points in the chain.
+   */
+  private static final int POINT_COUNT = 30;
+
+  private final List<Point> points = new ArrayList<>();
+
+  @TempDir
+  File tempDir;
+
+  private CompactGraph graph;
+
+  private CompactPointRouter router;
+
+  @BeforeEach
+  public void setUp() {
+    // Create a chain of points, with shortcuts and some one-way paths, plus an isolated point.
+    Random random = new Random(4711);
+    Graph<String, Edge> modelGraph = new DirectedWeightedMultigraph<>(Edge.class);
+    for (int i = 0; i <= POINT_COUNT; i++) {
+      Point point = new Point("Point-" + i)
+          .withPose(new Pose(new Triple(i * 1000, 0, 0), 0.0));
+      points.add(point);
+      modelGraph.addVertex(point.getName());
+    }
+    for (int i = 0; i + 1 < POINT_COUNT; i++) {
+      connect(modelGraph,
+              points.get(i),
+              points.get(i + 1),
+              1000 + random.nextInt(1000),
+              i % 4 != 0);
+      if (i + 3 < POINT_COUNT) {
+        connect(modelGraph, points.get(i), points.get(i + 3), 3000 + random.nextInt(3000), true);
+      }
+    }
+
+    graph = CompactGraph.compile(modelGraph, points);
+    router = new CompactPointRouter(graph, false);
+  }
+
+  @Test
+  public void containSameCostsAsSearches() {
+    CostTable table = CostTable.compute(router, graph.vertexCount());
+
+    assertTableMatchesSearches(table);
+  }
+
+  @Test
+  public void reloadStoredTableForSameGraph()
+      throws IOException {
+    File file = new File(tempDir, "costs.bin");
+    CostTable.computeAndStore(router, graph.vertexCount(), graph.contentHash(), file);
+
+    Optional<CostTable> table = CostTable.load(file, graph.vertexCount(), graph.contentHash());
+
+    assertTrue(table.isPresent());
+    assertTableMatchesSearches(table.get());
+  }
+
+  @Test
+  public void ignoreStoredTableForDifferentGraph()
+      throws IOException {
+    File file = new File(tempDir, "costs.bin");
+    CostTable.computeAndStore(router, graph.vertexCount(), graph.contentHash(), file);
+
+    assertFalse(CostTable.load(file, graph.vertexCount(), graph.contentHash() + 1).isPresent());
+    assertFalse(CostTable.load(file, graph.vertexCount() + 1, graph.contentHash()).isPresent());
+    assertFalse(CostTable.load(new File(tempDir, "missing.bin"),
+                               graph.vertexCount(),
+                               graph.contentHash()).isPresent());
+  }
+
+  @Test
+  public void ignoreTableForRoutersWithUnusablePoints() {
+    PointRouter tableRouter = router.withCostTable(CostTable.compute(router, graph.vertexCount()));
+    Set<Point> unusablePoints = Set.of(points.get(5));
+
+    PointRouter maskedRouter = router.removeUnusablePoints(unusablePoints);
+    PointRouter maskedTableRouter = tableRouter.removeUnusablePoints(unusablePoints);
+
+    for (Point destination : points) {
+      assertEquals(maskedRouter.getCosts(points.get(0).getReference(), destination.getReference()),
+                   maskedTableRouter.getCosts(points.get(0).getReference(),
+                                              destination.getReference()));
+      assertEquals(router.getCosts(points.get(0).getReference(), destination.getReference()),
+                   tableRouter.getCosts(points.get(0).getReference(), destination.getReference()));
+    }
+  }
+
+  private void assertTableMatchesSearches(CostTable table) {
+    for (Point source : points) {
+      for (Point destination : points) {
+        int sourceIndex = graph.vertexIndex(source.getName());
+        int destinationIndex = graph.vertexIndex(destination.getName());
+        assertEquals(router.getCosts(source.getReference(), destination.getReference()),
+                     table.getCosts(sourceIndex, destinationIndex));
+      }
+    }
+  }
+
+  private void connect(Graph<String, Edge> modelGraph,
+                       Point pointA,
+                       Point pointB,
+                       double weight,
+                       boolean bidirectional) {
+    Path path = new Path(pointA.getName() + "--" + pointB.getName(),
+                         pointA.getReference(),
+                         pointB.getReference());
+    Edge forwardEdge = new Edge(path, false);
+    modelGraph.addEdge(pointA.getName(), pointB.getName(), forwardEdge);
+    modelGraph.setEdgeWeight(forwardEdge, weight);
+    if (bidirectional) {
+      Edge reverseEdge = new Edge(path, true);
+      modelGraph.addEdge(pointB.getName(), pointA.getName(), reverseEdge);
+      modelGraph.setEdgeWeight(reverseEdge, weight);
+    }
+  }
+}
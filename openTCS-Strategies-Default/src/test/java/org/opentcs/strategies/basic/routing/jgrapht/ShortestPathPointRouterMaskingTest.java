@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.routing.jgrapht;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DirectedWeightedMultigraph;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.components.kernel.routing.Edge;
+import org.opentcs.data.model.Path;
+import org.opentcs.data.model.Point;
+import org.opentcs.strategies.basic.routing.PointRouter;
+
+/**
+ * Tests for {@link ShortestPathPointRouter#removeUnusablePoints(java.util.Set)}.
+ */
+public class ShortestPathPointRouterMaskingTest {
+
+  private Point pointA;
+  private Point pointB;
+  private Point pointC;
+  private Point pointD;
+
+  private ShortestPathPointRouter pointRouter;
+
+  @BeforeEach
+  public void setUp() {
+    pointA = new Point("A");
+    pointB = new Point("B");
+    pointC = new Point("C");
+    pointD = new Point("D");
+
+    Edge edgeAC = new Edge(new Path("A-->C", pointA.getReference(), pointC.getReference()), false);
+    Edge edgeAD = new Edge(new Path("A-->D", pointA.getReference(), pointD.getReference()), false);
+    Edge edgeDB = new Edge(new Path("D-->B", pointD.getReference(), pointB.getReference()), false);
+
+    Graph<String, Edge> graph = new DirectedWeightedMultigraph<>(Edge.class);
+
+    graph.addVertex(pointA.getName());
+    graph.addVertex(pointB.getName());
+    graph.addVertex(pointC.getName());
+    graph.addVertex(pointD.getName());
+
+    graph.addEdge(pointA.getName(), pointC.getName(), edgeAC);
+    graph.setEdgeWeight(edgeAC, 1234);
+    graph.addEdge(pointA.getName(), pointD.getName(), edgeAD);
+    graph.setEdgeWeight(edgeAD, 10);
+    graph.addEdge(pointD.getName(), pointB.getName(), edgeDB);
+    graph.setEdgeWeight(edgeDB, 20);
+
+    pointRouter = new ShortestPathPointRouter(
+        graph,
+        new DijkstraShortestPath<>(graph),
+        DijkstraShortestPath::new,
+        new HashSet<>(Arrays.asList(pointA, pointB, pointC, pointD))
+    );
+  }
+
+  @Test
+  public void returnInfiniteCostsIfRouteLeadsViaUnusablePoint() {
+    PointRouter maskedRouter = pointRouter.removeUnusablePoints(Set.of(pointD));
+
+    assertEquals(PointRouter.INFINITE_COSTS,
+                 maskedRouter.getCosts(pointA.getReference(), pointB.getReference()));
+    assertNull(maskedRouter.getRouteSteps(pointA, pointB));
+  }
+
+  @Test
+  public void returnInfiniteCostsIfDestinationIsUnusablePoint() {
+    PointRouter maskedRouter = pointRouter.removeUnusablePoints(Set.of(pointC));
+
+    assertEquals(PointRouter.INFINITE_COSTS,
+                 maskedRouter.getCosts(pointA.getReference(), pointC.getReference()));
+    assertNull(maskedRouter.getRouteSteps(pointA, pointC));
+  }
+
+  @Test
+  public void keepRoutesNotAffectedByUnusablePoints() {
+    PointRouter maskedRouter = pointRouter.removeUnusablePoints(Set.of(pointC));
+
+    assertEquals(30, maskedRouter.getCosts(pointA.getReference(), pointB.getReference()));
+    assertThat(maskedRouter.getRouteSteps(pointA, pointB).size(), is(2));
+  }
+
+  @Test
+  public void leaveOriginalRouterUnaffectedByMasking() {
+    pointRouter.removeUnusablePoints(Set.of(pointD));
+
+    assertEquals(30, pointRouter.getCosts(pointA.getReference(), pointB.getReference()));
+  }
+
+  @Test
+  public void returnSameRouterIfNoPointsAreUnusable() {
+    assertThat(pointRouter.removeUnusablePoints(Set.of()), is(pointRouter));
+  }
+}
@@ -61,7 +61,9 @@ public class ShortestPathPointRouterTest {
     graph.addEdge(pointA.getName(), pointC.getName(), edgeAC);
     graph.setEdgeWeight(edgeAC, 1234);
 
-    pointRouter = new ShortestPathPointRouter(new DijkstraShortestPath<>(graph),
+    pointRouter = new ShortestPathPointRouter(graph,
+                                              new DijkstraShortestPath<>(graph),
+                                              DijkstraShortestPath::new,
                                               new HashSet<>(Arrays.asList(pointA, pointB, pointC)));
   }
 
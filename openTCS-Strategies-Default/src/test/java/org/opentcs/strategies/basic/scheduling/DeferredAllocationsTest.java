@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.data.model.Point;
+
+/**
+ * Unit tests for {@link DeferredAllocations}.
+ */
+public class DeferredAllocationsTest {
+
+  private Scheduler.Client client1;
+  private Scheduler.Client client2;
+  private Point point1;
+  private Point point2;
+  private DeferredAllocations deferredAllocations;
+
+  @BeforeEach
+  public void setUp() {
+    client1 = mock(Scheduler.Client.class);
+    when(client1.getId()).thenReturn("client1");
+    client2 = mock(Scheduler.Client.class);
+    when(client2.getId()).thenReturn("client2");
+    point1 = new Point("point1");
+    point2 = new Point("point2");
+    deferredAllocations = new DeferredAllocations();
+  }
+
+  @Test
+  public void retryOnlyAllocationsWaitingForFreedResources() {
+    AllocatorCommand.Allocate waitingForPoint1 = new AllocatorCommand.Allocate(client1,
+                                                                               Set.of(point1));
+    AllocatorCommand.Allocate waitingForPoint2 = new AllocatorCommand.Allocate(client2,
+                                                                               Set.of(point2));
+    deferredAllocations.add(waitingForPoint1, Set.of(point1));
+    deferredAllocations.add(waitingForPoint2, Set.of(point2));
+
+    assertThat(deferredAllocations.pollWaitingFor(Set.of(point1)), contains(waitingForPoint1));
+    assertThat(deferredAllocations.size(), is(1));
+    assertThat(deferredAllocations.getRetryCount(), is(1L));
+    assertThat(deferredAllocations.getAvoidedRetryCount(), is(1L));
+
+    assertThat(deferredAllocations.pollWaitingFor(Set.of(point1)), is(empty()));
+    assertThat(deferredAllocations.pollWaitingFor(Set.of(point2)), contains(waitingForPoint2));
+    assertThat(deferredAllocations.size(), is(0));
+  }
+
+  @Test
+  public void alwaysRetryAllocationsNotBlockedBySpecificResources() {
+    AllocatorCommand.Allocate unblocked = new AllocatorCommand.Allocate(client1, Set.of(point1));
+    deferredAllocations.add(unblocked, Set.of());
+
+    assertThat(deferredAllocations.pollWaitingFor(Set.of(point2)), contains(unblocked));
+  }
+
+  @Test
+  public void retryAllocationsInOrderOfAddition() {
+    AllocatorCommand.Allocate first = new AllocatorCommand.Allocate(client1, Set.of(point1));
+    AllocatorCommand.Allocate second = new AllocatorCommand.Allocate(client2, Set.of(point1));
+    deferredAllocations.add(first, Set.of(point1));
+    deferredAllocations.add(second, Set.of(point1, point2));
+
+    assertThat(deferredAllocations.pollWaitingFor(Set.of(point2, point1)),
+               contains(first, second));
+  }
+
+  @Test
+  public void retryAllAllocations() {
+    AllocatorCommand.Allocate allocate1 = new AllocatorCommand.Allocate(client1, Set.of(point1));
+    AllocatorCommand.Allocate allocate2 = new AllocatorCommand.Allocate(client2, Set.of(point2));
+    deferredAllocations.add(allocate1, Set.of(point1));
+    deferredAllocations.add(allocate2, Set.of());
+
+    assertThat(deferredAllocations.pollAll(), contains(allocate1, allocate2));
+    assertThat(deferredAllocations.size(), is(0));
+    assertThat(deferredAllocations.pollWaitingFor(Set.of(point1)), is(empty()));
+  }
+
+  @Test
+  public void removeAllocationsOfClient() {
+    AllocatorCommand.Allocate allocate1 = new AllocatorCommand.Allocate(client1, Set.of(point1));
+    AllocatorCommand.Allocate allocate2 = new AllocatorCommand.Allocate(client2, Set.of(point1));
+    deferredAllocations.add(allocate1, Set.of(point1));
+    deferredAllocations.add(allocate2, Set.of(point1));
+
+    deferredAllocations.removeAll(client1);
+
+    assertThat(deferredAllocations.pollWaitingFor(Set.of(point1)), contains(allocate2));
+  }
+
+  @Test
+  public void keepAllocationsAwaitingPreparationSeparately() {
+    AllocatorCommand.Allocate allocate = new AllocatorCommand.Allocate(client1, Set.of(point1));
+    deferredAllocations.addAwaitingPreparation(allocate);
+
+    assertThat(deferredAllocations.pollAll(), is(empty()));
+    assertThat(deferredAllocations.pollAwaitingPreparation(client2), is(nullValue()));
+    assertThat(deferredAllocations.pollAwaitingPreparation(client1), is(sameInstance(allocate)));
+    assertThat(deferredAllocations.pollAwaitingPreparation(client1), is(nullValue()));
+  }
+
+  @Test
+  public void removeAllocationsAwaitingPreparationOfClient() {
+    deferredAllocations.addAwaitingPreparation(new AllocatorCommand.Allocate(client1,
+                                                                             Set.of(point1)));
+
+    deferredAllocations.removeAll(client1);
+
+    assertThat(deferredAllocations.pollAwaitingPreparation(client1), is(nullValue()));
+  }
+}
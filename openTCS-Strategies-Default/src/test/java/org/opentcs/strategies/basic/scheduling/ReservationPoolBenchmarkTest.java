@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) The openTCS Authors.
+ *
+ * This program is free software and subject to the MIT license. (For details,
+ * see the licensing information (LICENSE.txt) you should have received with
+ * this copy of the software.)
+ */
+package org.opentcs.strategies.basic.scheduling;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentcs.components.kernel.Scheduler;
+import org.opentcs.data.TCSObjectReference;
+import org.opentcs.data.model.Point;
+import org.opentcs.data.model.TCSResource;
+import org.opentcs.data.model.Vehicle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the allocation throughput of the {@link ReservationPool}'s index of allocated resources
+ * with the scan over all reservation entries it used before.
+ * <p>
+ * {@value #CLIENT_COUNT} clients allocate {@value #RESOURCE_COUNT} resources, each allocation
+ * followed by a lookup of the client's allocated resources, as done by the scheduler's allocator
+ * task. Both variants are checked to yield the same allocated resources. The measured throughput
+ * is only logged, as timings depend too much on the machine's load to be asserted.
+ * </p>
+ */
+public class ReservationPoolBenchmarkTest {
+
+  /**
+   * This class's logger.
+   */
+  private static final Logger LOG = LoggerFactory.getLogger(ReservationPoolBenchmarkTest.class);
+  /**
+   * The number of clients allocating resources.
+   */
+  private static final int CLIENT_COUNT = 100;
+  /**
+   * The number of resources allocated.
+   */
+  private static final int RESOURCE_COUNT = 10000;
+
+  private final List<Scheduler.Client> clients = new ArrayList<>();
+
+  private final List<Point> resources = new ArrayList<>();
+
+  @BeforeEach
+  public void setUp() {
+    for (int i = 0; i < CLIENT_COUNT; i++) {
+      clients.add(new TestClient("client" + i));
+    }
+    for (int i = 0; i < RESOURCE_COUNT; i++) {
+      resources.add(new Point("point" + i));
+    }
+  }
+
+  @Test
+  public void lookUpSameAllocationsAsScan() {
+    ReservationPool pool = new ReservationPool();
+    allocateAll(pool, false);
+    for (Scheduler.Client client : clients) {
+      assertThat(pool.allocatedResources(client),
+                 is(equalTo(scanAllocatedResources(pool, client, RESOURCE_COUNT))));
+    }
+
+    // Warm up both variants before measuring.
+    allocateAll(new ReservationPool(), true);
+    allocateAll(new ReservationPool(), false);
+    long scanNanos = allocateAll(new ReservationPool(), true);
+    long indexNanos = allocateAll(new ReservationPool(), false);
+
+    LOG.info("Allocations per second for {} clients and {} resources: scan {}, index {}",
+             CLIENT_COUNT,
+             RESOURCE_COUNT,
+             RESOURCE_COUNT * 1_000_000_000L / scanNanos,
+             RESOURCE_COUNT * 1_000_000_000L / indexNanos);
+  }
+
+  /**
+   * Lets the clients allocate all resources, each allocation followed by a lookup of the client's
+   * allocated resources.
+   *
+   * @param pool The pool to allocate the resources in.
+   * @param scan Whether to look up the allocated resources by scanning all reservation entries.
+   * @return The duration of the allocations, in nanoseconds.
+   */
+  private long allocateAll(ReservationPool pool, boolean scan) {
+    long start = System.nanoTime();
+    int count = 0;
+    for (int i = 0; i < RESOURCE_COUNT; i++) {
+      Scheduler.Client client = clients.get(i % CLIENT_COUNT);
+      pool.getReservationEntry(resources.get(i)).allocate(client);
+      count += scan
+          ? scanAllocatedResources(pool, client, i + 1).size()
+          : pool.allocatedResources(client).size();
+    }
+    long duration = System.nanoTime() - start;
+    LOG.debug("Looked up {} allocated resources.", count);
+    return duration;
+  }
+
+  /**
+   * The former implementation of {@link ReservationPool#allocatedResources(Scheduler.Client)},
+   * checking the reservation entries of all resources allocated so far.
+   */
+  private Set<TCSResource<?>> scanAllocatedResources(ReservationPool pool,
+                                                     Scheduler.Client client,
+                                                     int resourceCount) {
+    Set<TCSResource<?>> result = new HashSet<>();
+    for (Point resource : resources.subList(0, resourceCount)) {
+      if (pool.getReservationEntry(resource).isAllocatedBy(client)) {
+        result.add(resource);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A dummy client allocating resources.
+   */
+  private static class TestClient
+      implements Scheduler.Client {
+
+    private final String id;
+
+    TestClient(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public TCSObjectReference<Vehicle> getRelatedVehicle() {
+      return null;
+    }
+
+    @Override
+    public boolean allocationSuccessful(Set<TCSResource<?>> resources) {
+      return false;
+    }
+
+    @Override
+    public void allocationFailed(Set<TCSResource<?>> resources) {
+    }
+  }
+}
@@ -7,11 +7,13 @@
  */
 package org.opentcs.strategies.basic.scheduling;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
@@ -126,15 +128,87 @@ public class ReservationPoolTest {
     assertThat(reservationPool.getAllocations(), is(anEmptyMap()));
   }
 
+  @Test
+  public void keepResourceAllocatedUntilFreedCompletely() {
+    Point point = new Point("point1");
+    reservationPool.getReservationEntry(point).allocate(client);
+    reservationPool.getReservationEntry(point).allocate(client);
+
+    reservationPool.free(client, Set.of(point));
+    assertThat(reservationPool.allocatedResources(client), contains(point));
+
+    reservationPool.free(client, Set.of(point));
+    assertThat(reservationPool.allocatedResources(client), is(empty()));
+    assertThat(reservationPool.getAllocations(), is(anEmptyMap()));
+  }
+
+  @Test
+  public void freeAllOnlyAffectsGivenClient() {
+    Scheduler.Client otherClient = new TestClient("otherClient");
+    Point point1 = new Point("point1");
+    Point point2 = new Point("point2");
+    reservationPool.getReservationEntry(point1).allocate(client);
+    reservationPool.getReservationEntry(point2).allocate(otherClient);
+
+    reservationPool.freeAll(client);
+
+    assertThat(reservationPool.allocatedResources(client), is(empty()));
+    assertThat(reservationPool.allocatedResources(otherClient), contains(point2));
+    assertThat(reservationPool.getReservationEntry(point1).isFree(), is(true));
+    assertThat(reservationPool.getAllocations(), is(aMapWithSize(1)));
+    assertThat(reservationPool.getAllocations().get("otherClient"), contains(point2));
+  }
+
+  @Test
+  public void returnCopyOfAllocatedResources() {
+    Point point = new Point("point1");
+    reservationPool.getReservationEntry(point).allocate(client);
+
+    reservationPool.allocatedResources(client).clear();
+
+    assertThat(reservationPool.allocatedResources(client), contains(point));
+  }
+
+  @Test
+  public void reflectAllocationsOfManyClients() {
+    List<Scheduler.Client> clients = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      clients.add(new TestClient("client" + i));
+    }
+    // Each client allocates every 100th of 10,000 resources.
+    for (int i = 0; i < 10000; i++) {
+      reservationPool.getReservationEntry(new Point("point" + i)).allocate(clients.get(i % 100));
+    }
+    for (int i = 0; i < 100; i += 2) {
+      reservationPool.freeAll(clients.get(i));
+    }
+
+    for (int i = 0; i < 100; i++) {
+      assertThat(reservationPool.allocatedResources(clients.get(i)), hasSize(i % 2 == 0 ? 0 : 100));
+    }
+    assertThat(reservationPool.getAllocations(), is(aMapWithSize(50)));
+    assertThat(reservationPool.getAllocations().get("client1"), hasItems(new Point("point9901")));
+  }
+
   /**
    * A dummy client for cases in which we need to provide a client but do not have a real one.
    */
   private static class TestClient
       implements Scheduler.Client {
 
+    private final String id;
+
+    TestClient() {
+      this(TestClient.class.getName());
+    }
+
+    TestClient(String id) {
+      this.id = id;
+    }
+
     @Override
     public String getId() {
-      return getClass().getName();
+      return id;
     }
 
     @Override
@@ -18,6 +18,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.TCSObjectService;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.TCSResource;
 import org.opentcs.data.model.Vehicle;
@@ -37,7 +38,7 @@ public class PausedVehicleModuleTest {
   @BeforeEach
   public void setUp() {
     objectService = mock(TCSObjectService.class);
-    module = new PausedVehicleModule(objectService, new Object());
+    module = new PausedVehicleModule(objectService, new KernelLock(new Object(), KernelLock.Mode.MONITOR));
   }
 
   @Test
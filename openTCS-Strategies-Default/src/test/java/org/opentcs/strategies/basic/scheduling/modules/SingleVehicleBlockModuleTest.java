@@ -17,9 +17,12 @@ import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.opentcs.components.kernel.Scheduler;
 import org.opentcs.components.kernel.services.InternalPlantModelService;
+import org.opentcs.customizations.kernel.KernelLock;
 import org.opentcs.data.TCSObjectReference;
 import org.opentcs.data.model.Block;
 import org.opentcs.data.model.Path;
@@ -47,7 +50,7 @@ public class SingleVehicleBlockModuleTest {
   public void setUp() {
     reservationPool = mock(ReservationPool.class);
     plantModelService = mock(InternalPlantModelService.class);
-    module = new SingleVehicleBlockModule(reservationPool, plantModelService, new Object());
+    module = new SingleVehicleBlockModule(reservationPool, plantModelService, new KernelLock(new Object(), KernelLock.Mode.MONITOR));
   }
 
   @Test
@@ -56,6 +59,7 @@ public class SingleVehicleBlockModuleTest {
     ModelData model = new ModelData();
 
     when(plantModelService.fetchObjects(eq(Block.class), any())).thenReturn(new HashSet<>());
+    module.initialize();
     assertTrue(module.mayAllocate(client, model.resourcesToAllocate));
   }
 
@@ -69,6 +73,7 @@ public class SingleVehicleBlockModuleTest {
     when(plantModelService.expandResources(any())).thenReturn(model.getBlockResources());
     when(reservationPool.resourcesAvailableForUser(model.getBlockResources(), client))
         .thenReturn(true);
+    module.initialize();
     assertTrue(module.mayAllocate(client, model.getResourcesToAllocate()));
   }
 
@@ -82,9 +87,56 @@ public class SingleVehicleBlockModuleTest {
     when(plantModelService.expandResources(any())).thenReturn(model.getBlockResources());
     when(reservationPool.resourcesAvailableForUser(model.getBlockResources(), client))
         .thenReturn(false);
+    module.initialize();
     assertFalse(module.mayAllocate(client, model.getResourcesToAllocate()));
   }
 
+  @Test
+  public void shouldNotCheckResourcesOfOtherBlocks() {
+    Scheduler.Client client = new SampleClient();
+    ModelData model = new ModelData();
+    Point pointX = new Point("X");
+    Block otherBlock = new Block("Other block")
+        .withMembers(Set.of(pointX.getReference()))
+        .withType(Block.Type.SINGLE_VEHICLE_ONLY);
+
+    when(plantModelService.fetchObjects(eq(Block.class), any()))
+        .thenReturn(new HashSet<>(Arrays.asList(model.getBlock(), otherBlock)));
+    when(plantModelService.expandResources(model.getBlock().getMembers()))
+        .thenReturn(model.getBlockResources());
+    when(plantModelService.expandResources(otherBlock.getMembers())).thenReturn(Set.of(pointX));
+    when(reservationPool.resourcesAvailableForUser(model.getBlockResources(), client))
+        .thenReturn(true);
+    module.initialize();
+
+    assertTrue(module.mayAllocate(client, model.getResourcesToAllocate()));
+    TCSResource<?> blockResource = model.getResourcesToAllocate().iterator().next();
+    assertTrue(module.mayAllocate(client, Set.of(blockResource)));
+    // The blocks are fetched and expanded only once, when the module is initialized.
+    verify(plantModelService, times(1)).fetchObjects(eq(Block.class), any());
+    verify(plantModelService, times(2)).expandResources(any());
+  }
+
+  @Test
+  public void shouldAllowAllocationForResourcesNotInBlockAfterReinitialization() {
+    Scheduler.Client client = new SampleClient();
+    ModelData model = new ModelData();
+
+    when(plantModelService.fetchObjects(eq(Block.class), any()))
+        .thenReturn(new HashSet<>(Arrays.asList(model.getBlock())));
+    when(plantModelService.expandResources(any())).thenReturn(model.getBlockResources());
+    when(reservationPool.resourcesAvailableForUser(model.getBlockResources(), client))
+        .thenReturn(false);
+    module.initialize();
+    assertFalse(module.mayAllocate(client, model.getResourcesToAllocate()));
+
+    // Simulate a new plant model without blocks.
+    module.terminate();
+    when(plantModelService.fetchObjects(eq(Block.class), any())).thenReturn(new HashSet<>());
+    module.initialize();
+    assertTrue(module.mayAllocate(client, model.getResourcesToAllocate()));
+  }
+
   private class ModelData {
 
     private final Set<TCSResource<?>> blockResources = new HashSet<>();
@@ -7,6 +7,8 @@
  */
 package org.opentcs.strategies.basic.scheduling.modules.areaAllocation;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -98,6 +100,108 @@ public class AreaAllocationsTest {
     assertTrue(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(), requestedArea));
   }
 
+  @Test
+  public void allowAreaAllocationWhenOnlyBoundingBoxesOfAllocatedAreasOverlap() {
+    // Arrange: A triangle whose bounding box, but not the triangle itself, contains the requested
+    // area.
+    GeometryCollection allocatedArea = createCollectionWithOneGeometry(new Coordinate(0, 0),
+                                                                       new Coordinate(0, 10),
+                                                                       new Coordinate(10, 0),
+                                                                       new Coordinate(0, 0));
+    GeometryCollection requestedArea = createCollectionWithOneGeometry(new Coordinate(8, 8),
+                                                                       new Coordinate(8, 9),
+                                                                       new Coordinate(9, 9),
+                                                                       new Coordinate(9, 8),
+                                                                       new Coordinate(8, 8));
+    Vehicle vehicle2 = new Vehicle("some-other-vehicle");
+    areaAllocations.setAreaAllocation(vehicle2.getReference(), allocatedArea);
+
+    // Act & Assert
+    assertTrue(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(), requestedArea));
+  }
+
+  @Test
+  public void allowAreaAllocationAfterAreaAllocationOfAnotherVehicleChanged() {
+    // Arrange
+    GeometryCollection requestedArea = createSquare(0, 0);
+    Vehicle vehicle2 = new Vehicle("some-other-vehicle");
+    areaAllocations.setAreaAllocation(vehicle2.getReference(), requestedArea);
+    areaAllocations.setAreaAllocation(vehicle2.getReference(), createSquare(20, 0));
+
+    // Act & Assert
+    assertTrue(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(), requestedArea));
+    assertThat(areaAllocations.getAllocatedAreaCount(), is(1));
+  }
+
+  @Test
+  public void allowAreaAllocationAfterAreaAllocationOfAnotherVehicleCleared() {
+    // Arrange
+    GeometryCollection requestedArea = createSquare(0, 0);
+    Vehicle vehicle2 = new Vehicle("some-other-vehicle");
+    areaAllocations.setAreaAllocation(vehicle2.getReference(), requestedArea);
+    areaAllocations.clearAreaAllocation(vehicle2.getReference());
+
+    // Act & Assert
+    assertTrue(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(), requestedArea));
+    assertThat(areaAllocations.getAllocatedAreaCount(), is(0));
+  }
+
+  @Test
+  public void keepAreasAllocatedAcrossUpdates() {
+    // Arrange
+    GeometryFactory geometryFactory = new GeometryFactory();
+    Geometry area1 = createSquare(0, 0).getGeometryN(0);
+    Geometry area2 = createSquare(10, 0).getGeometryN(0);
+    Geometry area3 = createSquare(20, 0).getGeometryN(0);
+    Vehicle vehicle2 = new Vehicle("some-other-vehicle");
+
+    // Act: Move the allocation forward by one area.
+    areaAllocations.setAreaAllocation(vehicle2.getReference(),
+                                      geometryFactory.createGeometryCollection(
+                                          new Geometry[]{area1, area2}
+                                      ));
+    areaAllocations.setAreaAllocation(vehicle2.getReference(),
+                                      geometryFactory.createGeometryCollection(
+                                          new Geometry[]{area2, area3}
+                                      ));
+
+    // Assert
+    assertThat(areaAllocations.getAllocatedAreaCount(), is(2));
+    assertTrue(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(),
+                                                       createSquare(-5, 0)));
+    assertFalse(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(),
+                                                        createSquare(11, 1)));
+    assertFalse(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(),
+                                                        createSquare(21, 1)));
+  }
+
+  @Test
+  public void checkAreaAllocationsOfManyVehicles() {
+    // Arrange: A row of vehicles, each allocating a square of its own.
+    for (int i = 0; i < 1000; i++) {
+      Vehicle otherVehicle = new Vehicle("vehicle-" + i);
+      areaAllocations.setAreaAllocation(otherVehicle.getReference(), createSquare(i * 20, 0));
+    }
+
+    // Act & Assert
+    assertTrue(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(),
+                                                       createSquare(5005, 20)));
+    assertFalse(areaAllocations.isAreaAllocationAllowed(vehicle.getReference(),
+                                                        createSquare(5005, 0)));
+    assertThat(areaAllocations.getAllocatedAreaCount(), is(1000));
+
+    areaAllocations.clearAreaAllocations();
+    assertThat(areaAllocations.getAllocatedAreaCount(), is(0));
+  }
+
+  private GeometryCollection createSquare(double x, double y) {
+    return createCollectionWithOneGeometry(new Coordinate(x, y),
+                                           new Coordinate(x, y + 10),
+                                           new Coordinate(x + 10, y + 10),
+                                           new Coordinate(x + 10, y),
+                                           new Coordinate(x, y));
+  }
+
   private GeometryCollection createCollectionWithOneGeometry(Coordinate... coordinates) {
     GeometryFactory geometryFactory = new GeometryFactory();
     return geometryFactory.createGeometryCollection(
@@ -1,52 +1,169 @@
 package com.server.web.job;
 
-import com.server.common.utils.bean.BeanUtils;
 import com.server.system.domain.TbTransportOrder;
 import com.server.system.service.ITbTransportOrderService;
 import com.server.web.kernel.KernelServiceConfig;
 import com.server.web.model.vo.OrdersVO;
 import com.server.web.service.OrderService;
+import org.opentcs.access.EventsDroppedEvent;
 import org.opentcs.access.KernelServicePortal;
-import org.opentcs.components.kernel.services.TransportOrderService;
+import org.opentcs.data.TCSObject;
+import org.opentcs.data.TCSObjectEvent;
+import org.opentcs.data.TCSObjectsRemovedEvent;
 import org.opentcs.data.order.TransportOrder;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.opentcs.util.ClassMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
-import java.util.Set;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * 订单同步任务：订阅内核的 {@link TCSObjectEvent}，只将发生变化的订单批量写入数据库。
+ * <p>
+ * 连接内核（或重连）后先全量同步一次，此后只处理事件中的订单，数据库写入量与订单变化频率成正比，
+ * 与订单总数无关。内核丢弃了发给本连接的事件（{@link EventsDroppedEvent}）时，重新全量同步。
+ * <p>
+ * 等待内核事件会阻塞线程，因此同步在单独的线程中运行，不占用 Spring 的定时任务线程。
+ */
 @Component
 public class TransportOrderUpdateTask {
+    private static final Logger log = LoggerFactory.getLogger(TransportOrderUpdateTask.class);
+    /** 等待内核事件的最长时间（毫秒） */
+    private static final long EVENT_TIMEOUT = 1000;
+    /** 同步失败后重新连接内核前的等待时间（毫秒） */
+    private static final long RECONNECT_DELAY = 1000;
+
     @Resource
     OrderService orderService;
     @Resource
-    private ScheduledExecutorService scheduledExecutorService;
-    @Resource
     ITbTransportOrderService tbTransportOrderService;
-    private static final KernelServicePortal kernelServicePortal = KernelServiceConfig.getKernelServicePortal();
-    private static final TransportOrderService transportOrderService = kernelServicePortal.getTransportOrderService();
-
-    @Scheduled(cron = "*/5 * * * * *")
-    public void projectInstanceArchivingHandler() {
-        //从内核中拿数据
-        scheduledExecutorService.submit(() -> {
-            Set<TransportOrder> transportOrders = transportOrderService.fetchObjects(TransportOrder.class);
-            for (TransportOrder transportOrder : transportOrders) {
-                OrdersVO vo = OrdersVO.fromTransportOrder(transportOrder);
-                TbTransportOrder tbTransportOrder = tbTransportOrderService.selectTbTransportOrderById(vo.getName());
-                if (tbTransportOrder != null) {
-                    TbTransportOrder kernel = orderService.convert2entity(vo);
-                    BeanUtils.copyProperties(kernel, tbTransportOrder, "id");
-                    tbTransportOrderService.updateTbTransportOrder(tbTransportOrder);
-                } else {
-                    TbTransportOrder newOrder = new TbTransportOrder();
-                    TbTransportOrder kernel = orderService.convert2entity(vo);
-                    BeanUtils.copyProperties(kernel, newOrder);
-                    tbTransportOrderService.insertTbTransportOrder(kernel);
+    /** 用于接收订单事件的内核连接，未连接时为 null */
+    private KernelServicePortal eventPortal;
+    /** 执行同步的线程，未启动时为 null */
+    private Thread syncThread;
+    /** 同步线程是否应继续运行 */
+    private volatile boolean running;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (syncThread != null) {
+            return;
+        }
+        running = true;
+        syncThread = new Thread(this::runSync, "transportOrderSync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            thread = syncThread;
+            syncThread = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        try {
+            // 线程最迟在当前的事件等待结束后退出，并断开内核连接
+            thread.join(EVENT_TIMEOUT * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runSync() {
+        while (running) {
+            try {
+                syncTransportOrders();
+            } catch (RuntimeException e) {
+                log.warn("订单同步失败，将重新连接内核并全量同步", e);
+                disconnect();
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException ie) {
+                    // 被 stop() 中断，循环条件会结束线程
                 }
             }
-        });
+        }
+        disconnect();
     }
 
+    private void syncTransportOrders() {
+        if (eventPortal == null) {
+            // 内核端只转发对象事件和事件丢弃通知，订单之外的对象在本地过滤
+            eventPortal = KernelServiceConfig.createEventPortal(
+                    new ClassMatcher(TCSObjectEvent.class, TCSObjectsRemovedEvent.class, EventsDroppedEvent.class));
+            // 登录后产生的事件会被缓存，因此全量同步后不会遗漏变化
+            syncAllTransportOrders();
+        }
+
+        // 同一订单在一批事件中多次变化时只写入最新状态
+        Map<String, TransportOrder> changedOrders = new LinkedHashMap<>();
+        boolean eventsDropped = false;
+        for (Object event : eventPortal.fetchEvents(EVENT_TIMEOUT)) {
+            if (event instanceof TCSObjectEvent) {
+                // 内核清理订单时保留数据库中的历史记录，只写入订单被删除前的最终状态
+                addChangedOrder(changedOrders, ((TCSObjectEvent) event).getCurrentOrPreviousObjectState());
+            } else if (event instanceof TCSObjectsRemovedEvent) {
+                for (TCSObject<?> removedObject : ((TCSObjectsRemovedEvent) event).getRemovedObjects()) {
+                    addChangedOrder(changedOrders, removedObject);
+                }
+            } else if (event instanceof EventsDroppedEvent) {
+                log.warn("内核丢弃了 {} 个事件，重新全量同步订单",
+                        ((EventsDroppedEvent) event).getDroppedEventCount());
+                eventsDropped = true;
+            }
+        }
+        upsert(changedOrders.values());
+        if (eventsDropped) {
+            // 本连接错过了订单的创建、变化和删除，在写入本批变化之后读取订单的当前状态
+            syncAllTransportOrders();
+        }
+    }
+
+    private void syncAllTransportOrders() {
+        upsert(eventPortal.getTransportOrderService().fetchObjects(TransportOrder.class));
+    }
+
+    private void addChangedOrder(Map<String, TransportOrder> changedOrders, TCSObject<?> object) {
+        if (object instanceof TransportOrder) {
+            changedOrders.put(object.getName(), (TransportOrder) object);
+        }
+    }
+
+    private void disconnect() {
+        if (eventPortal == null) {
+            return;
+        }
+        try {
+            eventPortal.logout();
+        } catch (RuntimeException e) {
+            log.debug("断开内核连接失败", e);
+        }
+        eventPortal = null;
+    }
+
+    private void upsert(Collection<TransportOrder> transportOrders) {
+        if (transportOrders.isEmpty()) {
+            return;
+        }
+        List<TbTransportOrder> entities = new ArrayList<>(transportOrders.size());
+        for (TransportOrder transportOrder : transportOrders) {
+            entities.add(orderService.convert2entity(OrdersVO.fromTransportOrder(transportOrder)));
+        }
+        tbTransportOrderService.batchUpsertTbTransportOrder(entities);
+    }
 }
@@ -2,21 +2,87 @@ package com.server.web.kernel;
 
 import org.opentcs.access.KernelServicePortal;
 import org.opentcs.access.rmi.KernelServicePortalBuilder;
-import org.springframework.beans.factory.config.ConfigurableBeanFactory;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Scope;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.function.Predicate;
 
+/**
+ * 内核连接配置，所有内核连接共用同一组地址和登录参数（opentcs.kernel.*）
+ */
+@Component
+@ConfigurationProperties(prefix = "opentcs.kernel")
 public class KernelServiceConfig {
   private static KernelServicePortal kernelServicePortal = null;
 
+  /** 内核地址 */
+  private static String host = "127.0.0.1";
+
+  /** 内核 RMI 端口 */
+  private static int port = 1099;
+
+  /** 登录用户名 */
+  private static String user = "Alice";
+
+  /** 登录密码 */
+  private static String password = "xyz";
+
+  public static String getHost() {
+    return host;
+  }
+
+  public void setHost(String host) {
+    KernelServiceConfig.host = host;
+  }
+
+  public static int getPort() {
+    return port;
+  }
+
+  public void setPort(int port) {
+    KernelServiceConfig.port = port;
+  }
+
+  public static String getUser() {
+    return user;
+  }
+
+  public void setUser(String user) {
+    KernelServiceConfig.user = user;
+  }
+
+  public static String getPassword() {
+    return password;
+  }
+
+  public void setPassword(String password) {
+    KernelServiceConfig.password = password;
+  }
+
   public static KernelServicePortal getKernelServicePortal() {
     if (kernelServicePortal == null) {
-      // 在此处配置连接参数，例如用户名、密码等
-      kernelServicePortal = new KernelServicePortalBuilder("Alice", "xyz").build();
-      kernelServicePortal.login("127.0.0.1", 1099);
+      kernelServicePortal = login(new KernelServicePortalBuilder(user, password));
     }
     return kernelServicePortal;
   }
+
+  /**
+   * 创建一个只接收指定事件的内核连接，用于事件订阅（每个订阅者单独缓存事件）。
+   * <p>
+   * 事件以紧凑形式传输（只包含变化的属性和新增的历史记录），由连接在本地还原为完整事件。
+   *
+   * @param eventFilter 在内核端执行的事件过滤器，必须可序列化且在内核的类路径中可用
+   * @return 已登录的内核连接
+   */
+  public static KernelServicePortal createEventPortal(Predicate<Object> eventFilter) {
+    return login(new KernelServicePortalBuilder(user, password)
+        .setEventFilter(eventFilter)
+        .setCompactEvents(true));
+  }
+
+  private static KernelServicePortal login(KernelServicePortalBuilder builder) {
+    KernelServicePortal portal = builder.build();
+    portal.login(host, port);
+    return portal;
+  }
 }
@@ -8,6 +8,7 @@ import org.opentcs.components.kernel.services.RouterService;
 import org.opentcs.data.model.Location;
 import org.opentcs.data.model.PlantModel;
 import org.opentcs.data.model.Point;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
@@ -15,6 +16,7 @@ import java.util.List;
 import java.util.Set;
 
 @Service
+@DependsOn("kernelServiceConfig")
 public class MapServiceImpl implements MapService {
 
   private static final KernelServicePortal kernelServicePortal = KernelServiceConfig.getKernelServicePortal();
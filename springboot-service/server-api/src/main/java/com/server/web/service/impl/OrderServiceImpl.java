@@ -22,6 +22,7 @@ import org.opentcs.components.kernel.services.VehicleService;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.kernel.extensions.servicewebapi.v1.binding.GetTransportOrderResponseTO;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,12 +32,14 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
+@DependsOn("kernelServiceConfig")
 public class OrderServiceImpl implements OrderService {
 
     @Resource
@@ -91,7 +94,8 @@ public class OrderServiceImpl implements OrderService {
         TransportOrder order = vehicleService.fetchObject(TransportOrder.class, number);
         OrdersVO vo = OrdersVO.fromTransportOrder(order);
         TbTransportOrder tbTransportOrder = convert2entity(vo);
-        tbTransportOrderService.insertTbTransportOrder(tbTransportOrder);
+        // 订单同步任务可能已写入该订单，按订单编号新增或修改
+        tbTransportOrderService.batchUpsertTbTransportOrder(Collections.singletonList(tbTransportOrder));
     }
 
     @Override
@@ -26,11 +26,13 @@ import org.opentcs.data.model.TCSResourceReference;
 import org.opentcs.data.model.Vehicle;
 import org.opentcs.data.order.TransportOrder;
 import org.opentcs.virtualvehicle.commands.SetPositionCommand;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 
 @Service
+@DependsOn("kernelServiceConfig")
 public class VehiclesServiceImpl
     implements VehiclesService {
 
@@ -40,6 +40,14 @@ public interface TbTransportOrderMapper
      */
     public int insertTbTransportOrder(TbTransportOrder tbTransportOrder);
 
+    /**
+     * 批量新增或修改订单表（按订单编号唯一索引）
+     *
+     * @param tbTransportOrders 订单表集合
+     * @return 结果
+     */
+    public int batchUpsertTbTransportOrder(List<TbTransportOrder> tbTransportOrders);
+
     /**
      * 修改订单表
      *
@@ -1,6 +1,7 @@
 package com.server.system.service.impl;
 
 import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import com.server.system.mapper.TbTransportOrderMapper;
@@ -16,6 +17,9 @@ import com.server.system.service.ITbTransportOrderService;
 @Service
 public class TbTransportOrderServiceImpl implements ITbTransportOrderService
 {
+    /** 每条批量语句包含的最大订单数 */
+    private static final int BATCH_SIZE = 500;
+
     @Autowired
     private TbTransportOrderMapper tbTransportOrderMapper;
 
@@ -55,6 +59,25 @@ public class TbTransportOrderServiceImpl implements ITbTransportOrderService
         return tbTransportOrderMapper.insertTbTransportOrder(tbTransportOrder);
     }
 
+    /**
+     * 批量新增或修改订单表（按订单编号唯一索引），每批最多 BATCH_SIZE 条
+     *
+     * @param tbTransportOrders 订单表集合
+     * @return 结果
+     */
+    @Override
+    @Transactional
+    public int batchUpsertTbTransportOrder(List<TbTransportOrder> tbTransportOrders)
+    {
+        int rows = 0;
+        for (int i = 0; i < tbTransportOrders.size(); i += BATCH_SIZE)
+        {
+            rows += tbTransportOrderMapper.batchUpsertTbTransportOrder(
+                    tbTransportOrders.subList(i, Math.min(i + BATCH_SIZE, tbTransportOrders.size())));
+        }
+        return rows;
+    }
+
     /**
      * 修改订单表
      *
@@ -33,7 +33,8 @@ CREATE TABLE `tb_transport_order`  (
   `creation_time` datetime NULL DEFAULT NULL,
   `deadline` datetime NULL DEFAULT NULL,
   `finished_time` datetime NULL DEFAULT NULL,
-  PRIMARY KEY (`id`) USING BTREE
+  PRIMARY KEY (`id`) USING BTREE,
+  UNIQUE INDEX `uk_tb_transport_order_name`(`name`) USING BTREE
 ) ENGINE = InnoDB AUTO_INCREMENT = 14 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci ROW_FORMAT = Dynamic;
 
 -- ----------------------------
@@ -0,0 +1,19 @@
+/*
+ 为已有数据库的 tb_transport_order 表添加订单名称的唯一索引
+
+ 订单同步任务按订单名称执行 INSERT ... ON DUPLICATE KEY UPDATE，没有唯一索引时每次更新都会新增一行。
+ 新建数据库时 ry.sql 和 tb_transport_order.sql 已包含该索引，无需执行本脚本。
+ 添加索引前删除重复的订单，同名订单只保留 id 最大（最后写入）的一行。
+
+ Target Server Type    : MySQL
+ Target Server Version : 80033
+*/
+
+SET NAMES utf8mb4;
+
+DELETE `older`
+FROM `tb_transport_order` AS `older`
+  INNER JOIN `tb_transport_order` AS `newer`
+    ON `older`.`name` = `newer`.`name` AND `older`.`id` < `newer`.`id`;
+
+ALTER TABLE `tb_transport_order` ADD UNIQUE INDEX `uk_tb_transport_order_name`(`name`) USING BTREE;